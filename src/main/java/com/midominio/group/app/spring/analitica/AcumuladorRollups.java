@@ -0,0 +1,128 @@
+package com.midominio.group.app.spring.analitica;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumulador en memoria de intentos calificados por temática × tipo × hora.
+ * 
+ * Las calificaciones solo incrementan contadores LongAdder (sin bloqueos ni acceso a BD);
+ * drenar() devuelve los deltas acumulados desde el último drenado para volcarlos
+ * a los buckets horarios de rollups_calificacion.
+ * 
+ * Las puntuaciones se guardan en milésimas para sumar enteros (1.0 = 1000).
+ */
+public class AcumuladorRollups {
+    
+    /**
+     * Bucket horario en memoria
+     */
+    public record Clave(String tematica, String tipoPregunta, LocalDateTime inicioHora) {
+    }
+    
+    /**
+     * Deltas drenados de un bucket
+     */
+    public record Delta(Clave clave, long intentos, long aciertos, long puntosMilesimas) {
+    }
+    
+    private static final class Contadores {
+        final LongAdder intentos = new LongAdder();
+        final LongAdder aciertos = new LongAdder();
+        final LongAdder puntosMilesimas = new LongAdder();
+    }
+    
+    private final ConcurrentHashMap<Clave, Contadores> buckets = new ConcurrentHashMap<>();
+    // Buckets eliminados en el último drenado (solo se accede desde drenar())
+    private final List<Map.Entry<Clave, Contadores>> retirados = new ArrayList<>();
+    
+    /**
+     * Registra un intento calificado
+     * 
+     * @param tematica temática de la pregunta (null se agrupa como "")
+     * @param tipoPregunta tipo de pregunta (valor del discriminador)
+     * @param puntuacion puntuación entre 0.0 y 1.0 (1.0 = acierto)
+     * @param instante momento de la calificación
+     */
+    public void registrar(String tematica, String tipoPregunta, double puntuacion, LocalDateTime instante) {
+        Clave clave = new Clave(tematica == null ? "" : tematica, tipoPregunta,
+                Granularidad.HORA.inicioBucket(instante));
+        Contadores contadores = buckets.computeIfAbsent(clave, k -> new Contadores());
+        
+        contadores.intentos.increment();
+        if (puntuacion >= 1.0) {
+            contadores.aciertos.increment();
+        }
+        contadores.puntosMilesimas.add(Math.round(puntuacion * 1000));
+    }
+    
+    /**
+     * Devuelve y pone a cero los deltas acumulados
+     * Los buckets de horas ya cerradas se eliminan del mapa tras drenarlos
+     * 
+     * sumThenReset() vacía cada celda de un LongAdder con getAndSet: un incremento concurrente
+     * queda en este drenado o en el siguiente, nunca se pierde. Queda el caso de un registro que
+     * obtuvo el bucket antes de eliminarlo y suma después de drenarlo: los buckets eliminados se
+     * drenan una vez más en el drenado siguiente (un intervalo de volcado de margen).
+     * 
+     * @param horaActual inicio de la hora en curso (su bucket se conserva)
+     * @return deltas no vacíos, uno por bucket
+     */
+    public synchronized List<Delta> drenar(LocalDateTime horaActual) {
+        Map<Clave, long[]> sumas = new LinkedHashMap<>();
+        for (Map.Entry<Clave, Contadores> retirado : retirados) {
+            sumar(sumas, retirado.getKey(), retirado.getValue());
+        }
+        retirados.clear();
+        
+        for (Map.Entry<Clave, Contadores> entrada : buckets.entrySet()) {
+            Clave clave = entrada.getKey();
+            Contadores contadores = entrada.getValue();
+            if (clave.inicioHora().isBefore(horaActual) && buckets.remove(clave, contadores)) {
+                retirados.add(Map.entry(clave, contadores));
+            }
+            sumar(sumas, clave, contadores);
+        }
+        
+        List<Delta> deltas = new ArrayList<>(sumas.size());
+        sumas.forEach((clave, suma) -> {
+            // Los tres contadores se vacían por separado: un delta puede traer puntos de intentos
+            // que se cuentan en el drenado siguiente, y no se puede descartar
+            if (suma[0] > 0 || suma[1] > 0 || suma[2] > 0) {
+                deltas.add(new Delta(clave, suma[0], suma[1], suma[2]));
+            }
+        });
+        return deltas;
+    }
+    
+    private static void sumar(Map<Clave, long[]> sumas, Clave clave, Contadores contadores) {
+        long[] suma = sumas.computeIfAbsent(clave, k -> new long[3]);
+        suma[0] += contadores.intentos.sumThenReset();
+        suma[1] += contadores.aciertos.sumThenReset();
+        suma[2] += contadores.puntosMilesimas.sumThenReset();
+    }
+    
+    /**
+     * Devuelve deltas al acumulador (volcado fallido)
+     */
+    public void restaurar(List<Delta> deltas) {
+        for (Delta delta : deltas) {
+            Contadores contadores = buckets.computeIfAbsent(delta.clave(), k -> new Contadores());
+            contadores.intentos.add(delta.intentos());
+            contadores.aciertos.add(delta.aciertos());
+            contadores.puntosMilesimas.add(delta.puntosMilesimas());
+        }
+    }
+    
+    /**
+     * Número de buckets en memoria
+     */
+    public int tamano() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.midominio.group.app.spring.analitica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de las estadísticas pre-agregadas de calificación.
+ * Propiedades con prefijo app.analitica en application.properties.
+ * 
+ * @param intervaloVolcado cada cuánto se vuelcan a BD los intentos acumulados en memoria
+ * @param retencionHoraria antigüedad a partir de la cual los buckets horarios se compactan en diarios
+ * @param cronCompactacion cron de Spring de la compactación ("-" para desactivar)
+ */
+@ConfigurationProperties(prefix = "app.analitica")
+public record AnaliticaProperties(Duration intervaloVolcado, Duration retencionHoraria, String cronCompactacion) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public AnaliticaProperties {
+        intervaloVolcado = intervaloVolcado == null ? Duration.ofSeconds(10) : intervaloVolcado;
+        retencionHoraria = retencionHoraria == null ? Duration.ofDays(7) : retencionHoraria;
+        cronCompactacion = cronCompactacion == null ? "0 15 3 * * *" : cronCompactacion;
+    }
+}
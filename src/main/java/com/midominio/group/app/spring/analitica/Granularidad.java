@@ -0,0 +1,29 @@
+package com.midominio.group.app.spring.analitica;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularidad de los buckets de estadísticas.
+ * 
+ * - HORA: buckets recientes, actualizados de forma incremental al calificar
+ * - DIA: buckets compactados a partir de los horarios antiguos
+ */
+public enum Granularidad {
+    
+    HORA(ChronoUnit.HOURS),
+    DIA(ChronoUnit.DAYS);
+    
+    private final ChronoUnit unidad;
+    
+    Granularidad(ChronoUnit unidad) {
+        this.unidad = unidad;
+    }
+    
+    /**
+     * Inicio del bucket que contiene el instante indicado
+     */
+    public LocalDateTime inicioBucket(LocalDateTime instante) {
+        return instante.truncatedTo(unidad);
+    }
+}
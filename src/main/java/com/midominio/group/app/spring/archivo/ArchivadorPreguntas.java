@@ -0,0 +1,134 @@
+package com.midominio.group.app.spring.archivo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mueve filas de preguntas entre las tablas calientes (preguntas, preguntas_*) y las de
+ * archivo (preguntas_archivo, preguntas_*_archivo) con INSERT ... SELECT y DELETE por lotes,
+ * sin cargar entidades. Los IDs se conservan en ambos sentidos.
+ * 
+ * Con herencia JOINED cada pregunta ocupa una fila en la tabla base y otra en la de su tipo:
+ * se copian primero las filas base (las de tipo las referencian) y se borran primero las de tipo.
+ * 
+ * Debe llamarse dentro de una transacción (ver ArchivoPreguntasService).
+ * Las columnas deben mantenerse alineadas con Pregunta, sus subclases y PreguntaArchivada.
+ */
+public class ArchivadorPreguntas {
+    
+    private static final String COLUMNAS_BASE =
+            "id, tipo_pregunta, enunciado, tematica, fecha_creacion, activa, fecha_desactivacion, version";
+    
+    /**
+     * Tabla caliente de un tipo de pregunta, su tabla de archivo y sus columnas propias
+     */
+    private record TablaTipo(String caliente, String archivo, String columnas) {
+    }
+    
+    private static final List<TablaTipo> TABLAS_TIPO = List.of(
+            new TablaTipo("preguntas_verdadero_falso", "preguntas_verdadero_falso_archivo",
+                    "id, respuesta_correcta, explicacion"),
+            new TablaTipo("preguntas_seleccion_unica", "preguntas_seleccion_unica_archivo",
+                    "id, opciones, numero_opciones, mascara_correcta, explicacion"),
+            new TablaTipo("preguntas_seleccion_multiple", "preguntas_seleccion_multiple_archivo",
+                    "id, opciones, numero_opciones, mascara_correcta, explicacion"));
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public ArchivadorPreguntas(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * IDs de preguntas inactivas desde antes del límite (las más antiguas primero)
+     * Las preguntas desactivadas antes de existir fecha_desactivacion usan su fecha de creación
+     */
+    public List<Long> buscarCandidatas(LocalDateTime limite, int maximo) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM preguntas WHERE activa = FALSE "
+                + "AND COALESCE(fecha_desactivacion, fecha_creacion) < ? ORDER BY id LIMIT ?",
+                Long.class, limite, maximo);
+    }
+    
+    /**
+     * Número de preguntas inactivas desde antes del límite
+     */
+    public long contarCandidatas(LocalDateTime limite) {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM preguntas WHERE activa = FALSE "
+                + "AND COALESCE(fecha_desactivacion, fecha_creacion) < ?",
+                Long.class, limite);
+        return total == null ? 0 : total;
+    }
+    
+    /**
+     * Mueve las preguntas indicadas a las tablas de archivo
+     * 
+     * @return número de preguntas archivadas
+     */
+    public int archivar(List<Long> ids, LocalDateTime fechaArchivado) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String enIds = marcadores(ids.size());
+        Object[] parametros = ids.toArray();
+        
+        List<Object> conFecha = new ArrayList<>(ids.size() + 1);
+        conFecha.add(fechaArchivado);
+        conFecha.addAll(ids);
+        jdbcTemplate.update("INSERT INTO preguntas_archivo (" + COLUMNAS_BASE + ", fecha_archivado) "
+                + "SELECT " + COLUMNAS_BASE + ", ? FROM preguntas WHERE activa = FALSE AND id IN (" + enIds + ")",
+                conFecha.toArray());
+        for (TablaTipo tabla : TABLAS_TIPO) {
+            jdbcTemplate.update("INSERT INTO " + tabla.archivo() + " (" + tabla.columnas() + ") "
+                    + "SELECT t." + tabla.columnas().replace(", ", ", t.") + " FROM " + tabla.caliente() + " t "
+                    + "JOIN preguntas_archivo a ON a.id = t.id WHERE t.id IN (" + enIds + ")", parametros);
+        }
+        
+        // Solo se borran de las tablas calientes las que se han copiado (y siguen inactivas)
+        String copiadas = "id IN (" + enIds + ") AND id IN (SELECT id FROM preguntas_archivo)";
+        for (TablaTipo tabla : TABLAS_TIPO) {
+            jdbcTemplate.update("DELETE FROM " + tabla.caliente() + " WHERE " + copiadas, parametros);
+        }
+        return jdbcTemplate.update("DELETE FROM preguntas WHERE " + copiadas, parametros);
+    }
+    
+    /**
+     * Devuelve una pregunta archivada a las tablas calientes con su mismo ID
+     * 
+     * @return true si la pregunta estaba archivada
+     */
+    public boolean restaurar(long id) {
+        int restauradas = jdbcTemplate.update("INSERT INTO preguntas (" + COLUMNAS_BASE + ") "
+                + "SELECT " + COLUMNAS_BASE + " FROM preguntas_archivo WHERE id = ?", id);
+        if (restauradas == 0) {
+            return false;
+        }
+        for (TablaTipo tabla : TABLAS_TIPO) {
+            jdbcTemplate.update("INSERT INTO " + tabla.caliente() + " (" + tabla.columnas() + ") "
+                    + "SELECT " + tabla.columnas() + " FROM " + tabla.archivo() + " WHERE id = ?", id);
+        }
+        eliminar(id);
+        return true;
+    }
+    
+    /**
+     * Borra definitivamente una pregunta archivada
+     * 
+     * @return true si la pregunta estaba archivada
+     */
+    public boolean eliminar(long id) {
+        for (TablaTipo tabla : TABLAS_TIPO) {
+            jdbcTemplate.update("DELETE FROM " + tabla.archivo() + " WHERE id = ?", id);
+        }
+        return jdbcTemplate.update("DELETE FROM preguntas_archivo WHERE id = ?", id) > 0;
+    }
+    
+    private static String marcadores(int cantidad) {
+        return String.join(", ", Collections.nCopies(cantidad, "?"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.midominio.group.app.spring.archivo;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del archivado de preguntas inactivas (niveles caliente/frío).
+ * Propiedades con prefijo app.archivo en application.properties.
+ * 
+ * @param inactividadMinima tiempo que una pregunta debe llevar inactiva para archivarse
+ * @param tamanoLote preguntas movidas por transacción
+ * @param cron cron de Spring del archivado periódico ("-" para desactivar)
+ */
+@ConfigurationProperties(prefix = "app.archivo")
+public record ArchivoProperties(Duration inactividadMinima, Integer tamanoLote, String cron) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public ArchivoProperties {
+        inactividadMinima = inactividadMinima == null ? Duration.ofDays(180) : inactividadMinima;
+        tamanoLote = tamanoLote == null ? 500 : tamanoLote;
+        cron = cron == null ? "0 30 2 * * *" : cron;
+    }
+}
@@ -0,0 +1,266 @@
+package com.midominio.group.app.spring.autocompletado;
+
+import com.midominio.group.app.spring.cambios.CacheLocalPreguntas;
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Autocompletado en memoria de temáticas y de términos de enunciados (typeahead del panel
+ * de administración y de la app móvil), sin consultar la base de datos en cada pulsación.
+ * 
+ * - Dos TriePrefijos: temáticas normalizadas y palabras iniciales de los enunciados,
+ *   con el número de preguntas de cada una como popularidad
+ * - Al arrancar se carga por bloques de id leyendo solo id, temática y enunciado
+ *   (de todos los fragmentos si hay varios)
+ * - Las altas, cambios y bajas le llegan desde ListenerAutocompletadoPregunta tras el commit;
+ *   de cada pregunta se recuerda lo indexado para restarlo al cambiarla o eliminarla
+ * - El archivado retira las preguntas con eliminarTrasCommit()
+ * - Los cambios hechos en otros nodos llegan por el outbox (SondeoCambios)
+ * - recargar() construye tries y mapa nuevos aparte y los sustituye de golpe; los cambios que
+ *   llegan mientras tanto se repiten sobre ellos antes del cambio, así que una recarga no pisa
+ *   lo aplicado durante la lectura ni resucita preguntas eliminadas
+ * 
+ * Usado en:
+ * - AutocompletadoController
+ * - ArchivoPreguntasService (archivado por lotes)
+ * - ListenerAutocompletadoPregunta
+ * - SondeoCambios (como CacheLocalPreguntas)
+ */
+@Component
+public class IndiceAutocompletado implements CacheLocalPreguntas {
+    
+    private static final Logger log = LoggerFactory.getLogger(IndiceAutocompletado.class);
+    
+    private static final int TAMANO_BLOQUE = 10_000;
+    private static final int MAX_PALABRAS_ENUNCIADO = 12;
+    private static final int LONGITUD_MINIMA_TERMINO = 3;
+    private static final int SUGERENCIAS_POR_DEFECTO = 10;
+    private static final int MAX_SUGERENCIAS = 50;
+    
+    /**
+     * Lo indexado de una pregunta (para restarlo cuando cambie o se elimine)
+     * 
+     * @param tematica temática normalizada ("" si no tiene)
+     * @param formaTematica temática tal como se escribió
+     * @param terminos término normalizado -> forma para mostrar
+     */
+    private record Entrada(String tematica, String formaTematica, Map<String, String> terminos) {
+    }
+    
+    /**
+     * Columnas de una pregunta leídas al reconstruir
+     */
+    private record FilaTextos(long id, String tematica, String enunciado) {
+    }
+    
+    /**
+     * Un cambio aplicado durante una reconstrucción (nueva = null para retirar la pregunta)
+     */
+    private record Cambio(long id, Entrada nueva) {
+    }
+    
+    /**
+     * Tries y lo indexado de cada pregunta; se sustituye entero al reconstruir
+     */
+    private static final class Contenido {
+        final TriePrefijos tematicas = new TriePrefijos();
+        final TriePrefijos terminos = new TriePrefijos();
+        final Map<Long, Entrada> porPregunta = new HashMap<>();
+        
+        /**
+         * Sustituye lo indexado de una pregunta (nueva = null para retirarla)
+         */
+        void aplicar(long id, Entrada nueva) {
+            Entrada anterior = nueva == null ? porPregunta.remove(id) : porPregunta.put(id, nueva);
+            if (anterior != null) {
+                tematicas.sumar(anterior.tematica(), null, -1);
+                anterior.terminos().keySet().forEach(termino -> terminos.sumar(termino, null, -1));
+            }
+            if (nueva != null) {
+                tematicas.sumar(nueva.tematica(), nueva.formaTematica(), 1);
+                nueva.terminos().forEach((termino, forma) -> terminos.sumar(termino, forma, 1));
+            }
+        }
+    }
+    
+    // Se escribe bajo this; las consultas lo leen sin bloquear
+    private volatile Contenido contenido = new Contenido();
+    
+    // Cambios aplicados durante una reconstrucción (null si no hay ninguna en curso); protegido por this
+    private List<Cambio> pendientes;
+    
+    // Serializa las reconstrucciones (arranque y recargas del outbox)
+    private final Object reconstruccion = new Object();
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    /**
+     * Carga los tries al arrancar, leyendo solo id, temática y enunciado por bloques de id
+     * en un contenido nuevo que sustituye al actual al terminar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (reconstruccion) {
+            long inicio = System.nanoTime();
+            synchronized (this) {
+                pendientes = new ArrayList<>();
+            }
+            Contenido nuevo = new Contenido();
+            try {
+                fragmentos.recorrerPorId(
+                        desdeId -> jdbcTemplate.query(
+                                "SELECT id, tematica, enunciado FROM preguntas WHERE id > ? ORDER BY id LIMIT ?",
+                                (fila, numero) -> new FilaTextos(fila.getLong("id"), fila.getString("tematica"),
+                                        fila.getString("enunciado")),
+                                desdeId, TAMANO_BLOQUE),
+                        TAMANO_BLOQUE,
+                        FilaTextos::id,
+                        fila -> nuevo.aplicar(fila.id(), entrada(fila.tematica(), fila.enunciado())));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendientes = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                pendientes.forEach(cambio -> nuevo.aplicar(cambio.id(), cambio.nueva()));
+                pendientes = null;
+                contenido = nuevo;
+            }
+            log.info("Autocompletado cargado: {} temáticas y {} términos en {} ms",
+                    nuevo.tematicas.tamano(), nuevo.terminos.tamano(), (System.nanoTime() - inicio) / 1_000_000L);
+        }
+    }
+    
+    /**
+     * Temáticas que empiezan por el prefijo, de más a menos preguntas
+     * 
+     * Usado en:
+     * - API REST GET /api/autocompletado/tematicas?prefijo=pro&limite=10
+     * 
+     * @param prefijo texto escrito (sin distinguir mayúsculas ni tildes)
+     * @param limite número de sugerencias (1 a 50, 10 si es null)
+     * @throws DatosInvalidosException si el prefijo está vacío o el límite fuera de rango
+     */
+    public List<TriePrefijos.Completado> completarTematicas(String prefijo, Integer limite) {
+        return completar(contenido.tematicas, prefijo, limite);
+    }
+    
+    /**
+     * Palabras iniciales de enunciados que empiezan por el prefijo, de más a menos preguntas
+     * 
+     * Usado en:
+     * - API REST GET /api/autocompletado/enunciados?prefijo=hered&limite=10
+     * 
+     * @param prefijo texto escrito (sin distinguir mayúsculas ni tildes)
+     * @param limite número de sugerencias (1 a 50, 10 si es null)
+     * @throws DatosInvalidosException si el prefijo está vacío o el límite fuera de rango
+     */
+    public List<TriePrefijos.Completado> completarEnunciados(String prefijo, Integer limite) {
+        return completar(contenido.terminos, prefijo, limite);
+    }
+    
+    /**
+     * Registra el estado actual de una pregunta (tras el commit si hay transacción)
+     */
+    public void guardar(Pregunta pregunta) {
+        long id = pregunta.getId();
+        Entrada entrada = entrada(pregunta.getTematica(), pregunta.getEnunciado());
+        trasCommit(() -> aplicar(id, entrada));
+    }
+    
+    /**
+     * Retira una pregunta (tras el commit si hay transacción)
+     */
+    public void eliminar(Long id) {
+        trasCommit(() -> aplicar(id, null));
+    }
+    
+    /**
+     * Retira varias preguntas tras el commit (archivado por lotes con JDBC)
+     */
+    public void eliminarTrasCommit(Collection<Long> ids) {
+        trasCommit(() -> ids.forEach(id -> aplicar(id, null)));
+    }
+    
+    @Override
+    public void actualizada(Pregunta pregunta) {
+        guardar(pregunta);
+    }
+    
+    @Override
+    public void eliminada(Long id) {
+        eliminar(id);
+    }
+    
+    /**
+     * Vuelve a cargar los tries; mientras tanto se sigue respondiendo con los actuales
+     */
+    @Override
+    public void recargar() {
+        reconstruir();
+    }
+    
+    private List<TriePrefijos.Completado> completar(TriePrefijos trie, String prefijo, Integer limite) {
+        String normalizado = NormalizadorTexto.normalizar(prefijo);
+        if (normalizado.isEmpty()) {
+            throw new DatosInvalidosException("prefijo", "El prefijo no puede estar vacío");
+        }
+        int k = limite == null ? SUGERENCIAS_POR_DEFECTO : limite;
+        if (k < 1 || k > MAX_SUGERENCIAS) {
+            throw new DatosInvalidosException("limite", "El límite debe estar entre 1 y " + MAX_SUGERENCIAS);
+        }
+        return trie.completar(normalizado, k);
+    }
+    
+    private static Entrada entrada(String tematica, String enunciado) {
+        return new Entrada(
+                NormalizadorTexto.normalizar(tematica),
+                tematica == null ? null : tematica.trim(),
+                NormalizadorTexto.terminosIniciales(enunciado, MAX_PALABRAS_ENUNCIADO, LONGITUD_MINIMA_TERMINO));
+    }
+    
+    /**
+     * Sustituye lo indexado de una pregunta (nueva = null para retirarla), y lo anota
+     * para repetirlo sobre el contenido nuevo si hay una reconstrucción en curso
+     */
+    private synchronized void aplicar(long id, Entrada nueva) {
+        contenido.aplicar(id, nueva);
+        if (pendientes != null) {
+            pendientes.add(new Cambio(id, nueva));
+        }
+    }
+    
+    private void trasCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
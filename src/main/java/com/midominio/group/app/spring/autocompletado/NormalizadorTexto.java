@@ -0,0 +1,60 @@
+package com.midominio.group.app.spring.autocompletado;
+
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de textos para el autocompletado: minúsculas, sin tildes ni diéresis
+ * y con los espacios colapsados, de modo que "Programación  Java" y "programacion java"
+ * tienen la misma clave.
+ * 
+ * Usado en:
+ * - IndiceAutocompletado (al indexar y al buscar)
+ */
+public final class NormalizadorTexto {
+    
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private NormalizadorTexto() {
+    }
+    
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinMarcas.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+    
+    /**
+     * Términos iniciales de un enunciado: palabras distintas de al menos longitudMinima caracteres
+     * entre las primeras maxPalabras palabras
+     * 
+     * @return término normalizado -> forma para mostrar (en minúsculas, con tildes), en orden de aparición
+     */
+    public static Map<String, String> terminosIniciales(String enunciado, int maxPalabras, int longitudMinima) {
+        Map<String, String> terminos = new LinkedHashMap<>();
+        if (enunciado == null) {
+            return terminos;
+        }
+        String texto = Normalizer.normalize(enunciado, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int palabras = 0;
+        for (String palabra : NO_ALFANUMERICO.split(texto)) {
+            if (palabra.isEmpty()) {
+                continue;
+            }
+            if (palabras++ == maxPalabras) {
+                break;
+            }
+            if (palabra.length() >= longitudMinima) {
+                terminos.putIfAbsent(normalizar(palabra), palabra);
+            }
+        }
+        return terminos;
+    }
+}
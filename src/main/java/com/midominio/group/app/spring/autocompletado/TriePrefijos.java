@@ -0,0 +1,265 @@
+package com.midominio.group.app.spring.autocompletado;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie comprimido (radix) de términos normalizados con un contador de popularidad por término.
+ * 
+ * - Cada arista guarda un fragmento de texto, no un solo carácter: las cadenas sin bifurcaciones
+ *   ocupan un nodo
+ * - Cada nodo guarda el contador máximo de su subárbol, así completar() recorre primero las ramas
+ *   más populares y se detiene en cuanto tiene k resultados, sin visitar todo el subárbol del prefijo
+ * - sumar() actualiza un término de forma incremental; con contador 0 el término desaparece y
+ *   las ramas vacías se podan o se fusionan
+ * 
+ * Lecturas concurrentes, escrituras exclusivas (ReadWriteLock).
+ * 
+ * Usado en:
+ * - IndiceAutocompletado (temáticas y términos de enunciados)
+ */
+public class TriePrefijos {
+    
+    /**
+     * Un término que completa el prefijo pedido
+     * 
+     * @param texto forma del término para mostrar (la última registrada con sumar())
+     * @param cuenta popularidad (número de preguntas que lo contienen)
+     */
+    public record Completado(String texto, int cuenta) {
+    }
+    
+    private static final class Nodo {
+        String etiqueta;
+        final TreeMap<Character, Nodo> hijos = new TreeMap<>();
+        int cuenta;
+        int maximo;
+        String forma;
+        
+        Nodo(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+        
+        void recalcularMaximo() {
+            int nuevo = cuenta;
+            for (Nodo hijo : hijos.values()) {
+                nuevo = Math.max(nuevo, hijo.maximo);
+            }
+            maximo = nuevo;
+        }
+    }
+    
+    /**
+     * Entrada de la búsqueda por popularidad: un subárbol pendiente o un término ya encontrado
+     */
+    private record Candidato(Nodo nodo, String clave, boolean termino, int prioridad) {
+    }
+    
+    private static final Comparator<Candidato> POR_POPULARIDAD = Comparator
+            .comparingInt(Candidato::prioridad).reversed()
+            .thenComparing(Candidato::clave)
+            .thenComparing(candidato -> !candidato.termino());
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Nodo raiz = new Nodo("");
+    private int terminos;
+    
+    /**
+     * Suma delta al contador de un término (negativo para restar)
+     * 
+     * @param clave término normalizado
+     * @param forma forma para mostrar en las sugerencias (si delta es positivo)
+     * @param delta cantidad a sumar
+     */
+    public void sumar(String clave, String forma, int delta) {
+        if (clave.isEmpty() || delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            List<Nodo> camino = caminoHasta(clave, delta > 0);
+            if (camino == null) {
+                return; // restar de un término que no existe
+            }
+            Nodo nodo = camino.get(camino.size() - 1);
+            int anterior = nodo.cuenta;
+            nodo.cuenta = Math.max(0, anterior + delta);
+            if (delta > 0) {
+                nodo.forma = forma;
+            }
+            if (anterior == 0 && nodo.cuenta > 0) {
+                terminos++;
+            } else if (anterior > 0 && nodo.cuenta == 0) {
+                terminos--;
+                nodo.forma = null;
+            }
+            ajustar(camino);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Los k términos más populares que empiezan por el prefijo (a igual cuenta, en orden alfabético)
+     * 
+     * @param prefijo prefijo normalizado
+     * @param k número máximo de resultados
+     */
+    public List<Completado> completar(String prefijo, int k) {
+        lock.readLock().lock();
+        try {
+            List<Completado> resultado = new ArrayList<>(k);
+            Candidato inicio = subarbol(prefijo);
+            if (inicio == null || k <= 0) {
+                return resultado;
+            }
+            PriorityQueue<Candidato> pendientes = new PriorityQueue<>(POR_POPULARIDAD);
+            pendientes.add(inicio);
+            while (!pendientes.isEmpty() && resultado.size() < k) {
+                Candidato candidato = pendientes.poll();
+                Nodo nodo = candidato.nodo();
+                if (candidato.termino()) {
+                    resultado.add(new Completado(nodo.forma, nodo.cuenta));
+                    continue;
+                }
+                if (nodo.cuenta > 0) {
+                    pendientes.add(new Candidato(nodo, candidato.clave(), true, nodo.cuenta));
+                }
+                for (Nodo hijo : nodo.hijos.values()) {
+                    pendientes.add(new Candidato(hijo, candidato.clave() + hijo.etiqueta, false, hijo.maximo));
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Número de términos con contador mayor que 0
+     */
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return terminos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public void vaciar() {
+        lock.writeLock().lock();
+        try {
+            raiz.hijos.clear();
+            raiz.cuenta = 0;
+            raiz.maximo = 0;
+            terminos = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Nodos desde la raíz hasta el del término; con crear, añade o divide los nodos necesarios.
+     * Sin crear devuelve null si el término no está en el trie.
+     */
+    private List<Nodo> caminoHasta(String clave, boolean crear) {
+        List<Nodo> camino = new ArrayList<>();
+        Nodo nodo = raiz;
+        int posicion = 0;
+        camino.add(nodo);
+        while (posicion < clave.length()) {
+            Nodo hijo = nodo.hijos.get(clave.charAt(posicion));
+            if (hijo == null) {
+                if (!crear) {
+                    return null;
+                }
+                hijo = new Nodo(clave.substring(posicion));
+                nodo.hijos.put(hijo.etiqueta.charAt(0), hijo);
+                camino.add(hijo);
+                return camino;
+            }
+            int comun = prefijoComun(hijo.etiqueta, clave, posicion);
+            if (comun < hijo.etiqueta.length()) {
+                if (!crear) {
+                    return null;
+                }
+                hijo = dividir(nodo, hijo, comun);
+            }
+            nodo = hijo;
+            posicion += comun;
+            camino.add(nodo);
+        }
+        return camino;
+    }
+    
+    /**
+     * Parte la arista de hijo tras sus primeros "comun" caracteres con un nodo intermedio
+     */
+    private static Nodo dividir(Nodo padre, Nodo hijo, int comun) {
+        Nodo intermedio = new Nodo(hijo.etiqueta.substring(0, comun));
+        hijo.etiqueta = hijo.etiqueta.substring(comun);
+        intermedio.hijos.put(hijo.etiqueta.charAt(0), hijo);
+        intermedio.maximo = hijo.maximo;
+        padre.hijos.put(intermedio.etiqueta.charAt(0), intermedio);
+        return intermedio;
+    }
+    
+    /**
+     * Recalcula los máximos desde el término hasta la raíz, podando los nodos vacíos y
+     * fusionando los que se quedan sin término y con un solo hijo
+     */
+    private void ajustar(List<Nodo> camino) {
+        for (int i = camino.size() - 1; i > 0; i--) {
+            Nodo nodo = camino.get(i);
+            Nodo padre = camino.get(i - 1);
+            if (nodo.cuenta == 0 && nodo.hijos.isEmpty()) {
+                padre.hijos.remove(nodo.etiqueta.charAt(0));
+            } else if (nodo.cuenta == 0 && nodo.hijos.size() == 1) {
+                Nodo unico = nodo.hijos.firstEntry().getValue();
+                unico.etiqueta = nodo.etiqueta + unico.etiqueta;
+                padre.hijos.put(unico.etiqueta.charAt(0), unico);
+            } else {
+                nodo.recalcularMaximo();
+            }
+        }
+        raiz.recalcularMaximo();
+    }
+    
+    /**
+     * Subárbol de todos los términos que empiezan por el prefijo, o null si no hay ninguno
+     */
+    private Candidato subarbol(String prefijo) {
+        Nodo nodo = raiz;
+        StringBuilder clave = new StringBuilder();
+        while (clave.length() < prefijo.length()) {
+            int posicion = clave.length();
+            Nodo hijo = nodo.hijos.get(prefijo.charAt(posicion));
+            if (hijo == null) {
+                return null;
+            }
+            int comun = prefijoComun(hijo.etiqueta, prefijo, posicion);
+            if (comun < hijo.etiqueta.length() && posicion + comun < prefijo.length()) {
+                return null; // el prefijo se desvía a mitad de la arista
+            }
+            // si el prefijo acaba a mitad de la arista, todo el subárbol de hijo lo completa
+            nodo = hijo;
+            clave.append(hijo.etiqueta);
+        }
+        return nodo.maximo == 0 ? null : new Candidato(nodo, clave.toString(), false, nodo.maximo);
+    }
+    
+    private static int prefijoComun(String etiqueta, String texto, int desde) {
+        int limite = Math.min(etiqueta.length(), texto.length() - desde);
+        int i = 0;
+        while (i < limite && etiqueta.charAt(i) == texto.charAt(desde + i)) {
+            i++;
+        }
+        return i;
+    }
+}
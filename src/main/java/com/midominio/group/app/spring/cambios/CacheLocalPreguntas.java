@@ -0,0 +1,30 @@
+package com.midominio.group.app.spring.cambios;
+
+import com.midominio.group.app.spring.entity.Pregunta;
+
+/**
+ * Caché en memoria de datos de preguntas que debe reflejar los cambios hechos en otros nodos.
+ * SondeoCambios llama a estos métodos fuera de cualquier transacción.
+ * 
+ * Implementado por:
+ * - IndicePreguntas (metadatos para listados y recuentos)
+ * - DetectorDuplicados (índice MinHash/LSH de enunciados)
+ * - IndiceAutocompletado (tries de temáticas y términos de enunciados)
+ */
+public interface CacheLocalPreguntas {
+    
+    /**
+     * La pregunta se ha creado o modificado en otro nodo (estado actual leído de la base de datos)
+     */
+    void actualizada(Pregunta pregunta);
+    
+    /**
+     * La pregunta se ha eliminado o archivado en otro nodo
+     */
+    void eliminada(Long id);
+    
+    /**
+     * Se han perdido cambios: vaciar y volver a cargar todo desde la base de datos
+     */
+    void recargar();
+}
@@ -0,0 +1,32 @@
+package com.midominio.group.app.spring.cambios;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del outbox de cambios de preguntas y de su sondeo entre nodos.
+ * Propiedades con prefijo app.cambios en application.properties.
+ * 
+ * @param intervaloSondeo cada cuánto lee cada nodo los cambios nuevos (latencia de invalidación)
+ * @param tamanoBloque cambios leídos por consulta
+ * @param esperaHuecos tiempo que se espera a que aparezca una secuencia que falta (transacción
+ *                     aún sin confirmar) antes de darla por perdida y recargar las cachés
+ * @param retencion antigüedad a partir de la cual se borran los cambios
+ * @param cronLimpieza expresión cron de la limpieza ("-" para desactivar)
+ */
+@ConfigurationProperties(prefix = "app.cambios")
+public record CambiosProperties(Duration intervaloSondeo, Integer tamanoBloque, Duration esperaHuecos,
+                                Duration retencion, String cronLimpieza) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public CambiosProperties {
+        intervaloSondeo = intervaloSondeo == null ? Duration.ofMillis(200) : intervaloSondeo;
+        tamanoBloque = tamanoBloque == null ? 500 : tamanoBloque;
+        esperaHuecos = esperaHuecos == null ? Duration.ofSeconds(5) : esperaHuecos;
+        retencion = retencion == null ? Duration.ofDays(1) : retencion;
+        cronLimpieza = cronLimpieza == null ? "0 45 * * * *" : cronLimpieza;
+    }
+}
@@ -0,0 +1,33 @@
+package com.midominio.group.app.spring.cambios;
+
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.entity.TipoCambioPregunta;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Listener JPA de Pregunta que publica cada cambio en el outbox, dentro de la misma transacción.
+ * Igual que ListenerMetadatosPregunta, Hibernate lo instancia a través del contenedor de Spring.
+ * 
+ * Usado en:
+ * - Pregunta (@EntityListeners)
+ */
+public class ListenerCambiosPregunta {
+    
+    @Autowired
+    private ObjectProvider<OutboxCambios> outbox;
+    
+    @PostPersist
+    @PostUpdate
+    public void guardada(Pregunta pregunta) {
+        outbox.ifAvailable(o -> o.registrar(pregunta.getId(), TipoCambioPregunta.GUARDADA));
+    }
+    
+    @PostRemove
+    public void eliminada(Pregunta pregunta) {
+        outbox.ifAvailable(o -> o.registrar(pregunta.getId(), TipoCambioPregunta.ELIMINADA));
+    }
+}
@@ -0,0 +1,67 @@
+package com.midominio.group.app.spring.cambios;
+
+import com.midominio.group.app.spring.entity.TipoCambioPregunta;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Escritura de cambios de preguntas en el outbox (tabla cambios_pregunta, ver CambioPregunta).
+ * 
+ * Usa JdbcTemplate, que comparte la conexión de la transacción JPA en curso: el cambio y su
+ * evento se confirman o se revierten juntos. Se puede llamar desde callbacks de JPA
+ * (no toca el EntityManager).
+ * 
+ * Usado en:
+ * - ListenerCambiosPregunta (altas, modificaciones y borrados por JPA)
+ * - ArchivoPreguntasService (archivado por lotes con JDBC)
+ * - SondeoCambios (identificador de este nodo)
+ */
+@Component
+public class OutboxCambios {
+    
+    private static final String INSERTAR =
+            "INSERT INTO cambios_pregunta (pregunta_id, tipo, nodo, fecha) VALUES (?, ?, ?, ?)";
+    
+    // Identifica los cambios hechos por esta instancia, que ya actualizó sus cachés tras el commit
+    private final String nodo = UUID.randomUUID().toString();
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public OutboxCambios(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Registra el cambio de una pregunta en la transacción actual
+     */
+    public void registrar(Long preguntaId, TipoCambioPregunta tipo) {
+        jdbcTemplate.update(INSERTAR, preguntaId, tipo.name(), nodo, LocalDateTime.now());
+    }
+    
+    /**
+     * Registra el mismo cambio para varias preguntas con una sola sentencia por lotes
+     */
+    public void registrar(List<Long> preguntaIds, TipoCambioPregunta tipo) {
+        if (preguntaIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Object[]> filas = new ArrayList<>(preguntaIds.size());
+        for (Long id : preguntaIds) {
+            filas.add(new Object[] {id, tipo.name(), nodo, ahora});
+        }
+        jdbcTemplate.batchUpdate(INSERTAR, filas);
+    }
+    
+    /**
+     * Identificador de esta instancia en la columna nodo
+     */
+    public String nodo() {
+        return nodo;
+    }
+}
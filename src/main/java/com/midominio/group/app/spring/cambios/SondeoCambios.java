@@ -0,0 +1,258 @@
+package com.midominio.group.app.spring.cambios;
+
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.repository.PreguntaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Sigue el outbox de cambios (cambios_pregunta) para mantener al día las cachés locales
+ * de este nodo (CacheLocalPreguntas) cuando otras instancias modifican preguntas.
+ * 
+ * Cada sondeo lee los cambios con secuencia mayor que la última vista, relee de la base de datos
+ * el estado actual de las preguntas afectadas (una consulta por bloque) y lo aplica a las cachés.
+ * Los cambios hechos por este mismo nodo se ignoran: sus cachés ya se actualizaron tras el commit.
+ * 
+ * Huecos en la secuencia: las secuencias se asignan al insertar, no al confirmar, así que una
+ * transacción lenta puede confirmar después que otra posterior. Las secuencias que faltan se
+ * vuelven a pedir en cada sondeo durante app.cambios.espera-huecos; si no aparecen (transacción
+ * revertida, o cambios ya borrados por la limpieza mientras el nodo iba retrasado) no se puede
+ * saber qué se ha perdido y las cachés se recargan por completo.
+ * 
+ * Con varios fragmentos (ver Fragmentos) cada uno tiene su outbox, con su propia secuencia:
+ * el cambio se registra en la transacción de la pregunta, en su fragmento. Se sigue cada uno
+ * con su posición y sus huecos, y las preguntas se releen en su fragmento.
+ * 
+ * Usado en:
+ * - Tarea programada (sondeo cada app.cambios.intervalo-sondeo y limpieza por app.cambios.cron-limpieza)
+ */
+@Component
+@EnableConfigurationProperties(CambiosProperties.class)
+public class SondeoCambios {
+    
+    private static final Logger log = LoggerFactory.getLogger(SondeoCambios.class);
+    
+    // Con más huecos abiertos que esto no compensa esperar: se recarga directamente
+    private static final int MAX_HUECOS = 10_000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PreguntaRepository repository;
+    private final OutboxCambios outbox;
+    private final CambiosProperties propiedades;
+    private final TransactionTemplate lectura;
+    private final ObjectProvider<CacheLocalPreguntas> caches;
+    private final Fragmentos fragmentos;
+    
+    // Posición en el outbox de cada fragmento (índice = fragmento)
+    private final List<Posicion> posiciones = new ArrayList<>();
+    private volatile boolean iniciado;
+    
+    /**
+     * Cambio leído del outbox
+     */
+    private record Cambio(long secuencia, long preguntaId, String nodo) {
+    }
+    
+    /**
+     * Última secuencia leída del outbox de un fragmento y secuencias que faltan -> instante (ms)
+     * a partir del cual se dan por perdidas
+     */
+    private static final class Posicion {
+        private long ultimaSecuencia;
+        private final Map<Long, Long> huecos = new HashMap<>();
+    }
+    
+    public SondeoCambios(JdbcTemplate jdbcTemplate, PreguntaRepository repository, OutboxCambios outbox,
+                         CambiosProperties propiedades, PlatformTransactionManager transactionManager,
+                         ObjectProvider<CacheLocalPreguntas> caches, Fragmentos fragmentos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repository = repository;
+        this.outbox = outbox;
+        this.propiedades = propiedades;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.caches = caches;
+        this.fragmentos = fragmentos;
+    }
+    
+    /**
+     * Fija la posición inicial antes de que las cachés se carguen (también en ApplicationReadyEvent):
+     * los cambios que lleguen durante la carga se vuelven a aplicar, lo que no tiene efecto
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void iniciar() {
+        posiciones.clear();
+        for (int fragmento = 0; fragmento < fragmentos.total(); fragmento++) {
+            Posicion posicion = new Posicion();
+            posicion.ultimaSecuencia = secuenciaMaxima(fragmento);
+            posiciones.add(posicion);
+        }
+        iniciado = true;
+    }
+    
+    /**
+     * Lee y aplica los cambios nuevos y los que llegaron tarde a huecos abiertos, de todos los fragmentos
+     */
+    @Scheduled(fixedDelayString = "${app.cambios.intervalo-sondeo:200ms}")
+    public synchronized void sondear() {
+        if (!iniciado) {
+            return;
+        }
+        long ahora = System.currentTimeMillis();
+        List<Cambio> cambios = new ArrayList<>();
+        
+        for (int fragmento = 0; fragmento < posiciones.size(); fragmento++) {
+            String motivo = leer(fragmento, posiciones.get(fragmento), ahora, cambios);
+            if (motivo != null) {
+                recargar(motivo);
+                return;
+            }
+        }
+        aplicar(cambios);
+    }
+    
+    /**
+     * Borra los cambios más antiguos que app.cambios.retencion (en el outbox de cada fragmento)
+     */
+    @Scheduled(cron = "${app.cambios.cron-limpieza:0 45 * * * *}")
+    public void limpiar() {
+        LocalDateTime limite = LocalDateTime.now().minus(propiedades.retencion());
+        int borrados = 0;
+        for (int fragmento = 0; fragmento < fragmentos.total(); fragmento++) {
+            borrados += fragmentos.escribirEn(fragmento,
+                    () -> jdbcTemplate.update("DELETE FROM cambios_pregunta WHERE fecha < ?", limite));
+        }
+        if (borrados > 0) {
+            log.info("Outbox de cambios: {} cambios antiguos borrados", borrados);
+        }
+    }
+    
+    /**
+     * Última secuencia leída del outbox de un fragmento
+     */
+    public synchronized long ultimaSecuencia(int fragmento) {
+        return posiciones.get(fragmento).ultimaSecuencia;
+    }
+    
+    /**
+     * Lee los cambios de un fragmento: los que llegaron tarde a sus huecos y los nuevos
+     * 
+     * @return motivo para recargar las cachés, o null si se puede seguir
+     */
+    private String leer(int fragmento, Posicion posicion, long ahora, List<Cambio> cambios) {
+        if (!posicion.huecos.isEmpty()) {
+            List<Cambio> tardios = leerHuecos(fragmento, posicion.huecos.keySet());
+            tardios.forEach(cambio -> posicion.huecos.remove(cambio.secuencia()));
+            cambios.addAll(tardios);
+        }
+        
+        List<Cambio> nuevos = fragmentos.enFragmento(fragmento, () -> jdbcTemplate.query(
+                "SELECT id, pregunta_id, nodo FROM cambios_pregunta WHERE id > ? ORDER BY id LIMIT ?",
+                (fila, n) -> new Cambio(fila.getLong("id"), fila.getLong("pregunta_id"), fila.getString("nodo")),
+                posicion.ultimaSecuencia, propiedades.tamanoBloque()));
+        long limiteEspera = ahora + propiedades.esperaHuecos().toMillis();
+        for (Cambio cambio : nuevos) {
+            if (cambio.secuencia() - posicion.ultimaSecuencia - 1 + posicion.huecos.size() > MAX_HUECOS) {
+                return "demasiadas secuencias sin confirmar";
+            }
+            for (long falta = posicion.ultimaSecuencia + 1; falta < cambio.secuencia(); falta++) {
+                posicion.huecos.put(falta, limiteEspera);
+            }
+            posicion.ultimaSecuencia = cambio.secuencia();
+        }
+        cambios.addAll(nuevos);
+        
+        if (posicion.huecos.values().stream().anyMatch(limite -> limite <= ahora)) {
+            return "secuencias perdidas en el outbox";
+        }
+        return null;
+    }
+    
+    private void aplicar(List<Cambio> cambios) {
+        Set<Long> ids = cambios.stream()
+                .filter(cambio -> !outbox.nodo().equals(cambio.nodo()))
+                .map(Cambio::preguntaId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return;
+        }
+        
+        // Da igual el tipo de cambio: lo que cuenta es el estado actual de la pregunta
+        // Las cachés reciben las preguntas dentro de la transacción de lectura (columnas perezosas)
+        fragmentos.agruparPorId(ids).forEach((fragmento, grupo) -> leerEn(fragmento, () -> {
+            for (Pregunta pregunta : repository.findAllById(grupo)) {
+                ids.remove(pregunta.getId());
+                caches.orderedStream().forEach(cache -> cache.actualizada(pregunta));
+            }
+            return null;
+        }));
+        for (Long eliminada : ids) {
+            caches.orderedStream().forEach(cache -> cache.eliminada(eliminada));
+        }
+    }
+    
+    private List<Cambio> leerHuecos(int fragmento, Set<Long> huecos) {
+        List<Long> pendientes = new ArrayList<>(huecos);
+        List<Cambio> encontrados = new ArrayList<>();
+        for (int desde = 0; desde < pendientes.size(); desde += propiedades.tamanoBloque()) {
+            List<Long> bloque = pendientes.subList(desde, Math.min(pendientes.size(), desde + propiedades.tamanoBloque()));
+            String marcadores = String.join(", ", Collections.nCopies(bloque.size(), "?"));
+            encontrados.addAll(fragmentos.enFragmento(fragmento, () -> jdbcTemplate.query(
+                    "SELECT id, pregunta_id, nodo FROM cambios_pregunta WHERE id IN (" + marcadores + ")",
+                    (fila, n) -> new Cambio(fila.getLong("id"), fila.getLong("pregunta_id"), fila.getString("nodo")),
+                    bloque.toArray())));
+        }
+        return encontrados;
+    }
+    
+    /**
+     * Lectura en un fragmento dentro de una transacción de solo lectura
+     * (enFragmento() solo abre una propia con varios fragmentos)
+     */
+    private <R> R leerEn(int fragmento, Supplier<R> consulta) {
+        if (fragmentos.total() == 1) {
+            return lectura.execute(estado -> consulta.get());
+        }
+        return fragmentos.enFragmento(fragmento, consulta);
+    }
+    
+    private void recargar(String motivo) {
+        log.warn("Outbox de cambios: {}, recargando las cachés locales", motivo);
+        for (int fragmento = 0; fragmento < posiciones.size(); fragmento++) {
+            Posicion posicion = posiciones.get(fragmento);
+            posicion.ultimaSecuencia = secuenciaMaxima(fragmento);
+            posicion.huecos.clear();
+        }
+        caches.orderedStream().forEach(CacheLocalPreguntas::recargar);
+    }
+    
+    private long secuenciaMaxima(int fragmento) {
+        Long maxima = fragmentos.enFragmento(fragmento, () -> jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM cambios_pregunta", Long.class));
+        return maxima == null ? 0L : maxima;
+    }
+}
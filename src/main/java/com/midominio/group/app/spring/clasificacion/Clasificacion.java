@@ -0,0 +1,118 @@
+package com.midominio.group.app.spring.clasificacion;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Clasificación de una temática (o la general): ListaSaltosClasificacion con su propio cerrojo
+ * de lectura/escritura y los puntos sumados desde el último volcado a BD.
+ * 
+ * Cada clasificación tiene su cerrojo: las actualizaciones de temáticas distintas no compiten
+ * entre sí y las consultas (top-k, posición) se hacen a la vez.
+ * 
+ * Los puntos pendientes son incrementos, no totales: el volcado los suma a la fila de cada
+ * usuario (UPDATE ... SET puntos = puntos + ?), así que varias instancias pueden volcar a la vez.
+ * 
+ * Usado en:
+ * - ClasificacionService
+ */
+public class Clasificacion {
+    
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private final ListaSaltosClasificacion lista = new ListaSaltosClasificacion();
+    private Map<String, Long> pendientes = new HashMap<>();
+    
+    /**
+     * Suma puntos a un usuario y los deja pendientes de volcar
+     */
+    public void sumar(String usuario, long puntos) {
+        cerrojo.writeLock().lock();
+        try {
+            lista.fijar(usuario, lista.puntos(usuario, 0L) + puntos);
+            pendientes.merge(usuario, puntos, Long::sum);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Suma puntos ya guardados en BD (recuperación al arrancar), sin dejarlos pendientes.
+     * Se suman a los que haya en memoria: las respuestas calificadas antes de la recuperación no se pierden.
+     */
+    public void cargar(String usuario, long puntos) {
+        cerrojo.writeLock().lock();
+        try {
+            lista.fijar(usuario, lista.puntos(usuario, 0L) + puntos);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Posición y puntos de un usuario, o null si no está en la clasificación
+     */
+    public ListaSaltosClasificacion.Entrada posicion(String usuario) {
+        cerrojo.readLock().lock();
+        try {
+            int posicion = lista.posicion(usuario);
+            return posicion == 0 ? null : new ListaSaltosClasificacion.Entrada(posicion, usuario, lista.puntos(usuario, 0L));
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Usuarios a partir de una posición (1 = primero)
+     */
+    public List<ListaSaltosClasificacion.Entrada> rango(int desde, int cantidad) {
+        cerrojo.readLock().lock();
+        try {
+            return lista.rango(desde, cantidad);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Usuarios en la clasificación
+     */
+    public int tamano() {
+        cerrojo.readLock().lock();
+        try {
+            return lista.tamano();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Saca los puntos pendientes de volcar (usuario -> puntos sumados desde el último volcado)
+     */
+    public Map<String, Long> drenar() {
+        cerrojo.writeLock().lock();
+        try {
+            if (pendientes.isEmpty()) {
+                return Map.of();
+            }
+            Map<String, Long> drenados = pendientes;
+            pendientes = new HashMap<>();
+            return drenados;
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Devuelve puntos drenados cuyo volcado ha fallado, para el siguiente intento
+     */
+    public void restaurar(Map<String, Long> drenados) {
+        cerrojo.writeLock().lock();
+        try {
+            drenados.forEach((usuario, puntos) -> pendientes.merge(usuario, puntos, Long::sum));
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.midominio.group.app.spring.clasificacion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de las clasificaciones de alumnos.
+ * Propiedades con prefijo app.clasificaciones en application.properties.
+ * 
+ * @param intervaloVolcado cada cuánto se suman a BD los puntos acumulados en memoria
+ *                         (los que se pierden como mucho si la instancia cae)
+ * @param tamanoLote filas por lote al volcar y al recuperar las clasificaciones al arrancar
+ */
+@ConfigurationProperties(prefix = "app.clasificaciones")
+public record ClasificacionProperties(Duration intervaloVolcado, Integer tamanoLote) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public ClasificacionProperties {
+        intervaloVolcado = intervaloVolcado == null ? Duration.ofSeconds(10) : intervaloVolcado;
+        tamanoLote = tamanoLote == null ? 1000 : tamanoLote;
+    }
+}
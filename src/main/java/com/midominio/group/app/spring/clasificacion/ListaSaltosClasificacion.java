@@ -0,0 +1,233 @@
+package com.midominio.group.app.spring.clasificacion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lista de saltos (skip list) con estadísticas de orden: usuarios ordenados por puntos
+ * (de más a menos; a igualdad de puntos, por nombre) con posición y rango en O(log n).
+ * 
+ * - Cada enlace guarda cuántos nodos salta (saltos): sumándolos en la búsqueda se obtiene
+ *   la posición de un nodo, y siguiéndolos se llega a la posición k sin recorrer la lista
+ * - fijar() elimina el nodo anterior del usuario e inserta el nuevo: O(log n) esperado
+ * - Un mapa usuario -> nodo da los puntos de un usuario en O(1)
+ * 
+ * No es segura para varios hilos: ver Clasificacion.
+ * 
+ * Usado en:
+ * - Clasificacion
+ */
+public class ListaSaltosClasificacion {
+    
+    static final int NIVEL_MAXIMO = 32;
+    
+    /**
+     * Usuario en una posición de la clasificación
+     * 
+     * @param posicion posición (1 = primero)
+     * @param usuario nombre del usuario
+     * @param puntos puntos del usuario
+     */
+    public record Entrada(int posicion, String usuario, long puntos) {
+    }
+    
+    private static final class Nodo {
+        
+        private final String usuario;
+        private final long puntos;
+        private final Nodo[] siguientes;
+        // Nodos que avanza cada enlace (hasta el final de la lista si no hay siguiente)
+        private final int[] saltos;
+        
+        private Nodo(String usuario, long puntos, int niveles) {
+            this.usuario = usuario;
+            this.puntos = puntos;
+            this.siguientes = new Nodo[niveles];
+            this.saltos = new int[niveles];
+        }
+    }
+    
+    private final Nodo cabecera = new Nodo(null, 0L, NIVEL_MAXIMO);
+    private final Map<String, Nodo> nodos = new HashMap<>();
+    private int nivel = 1;
+    // Nodos enlazados (durante fijar() el mapa aún incluye el nodo que se sustituye)
+    private int longitud;
+    
+    /**
+     * Fija los puntos de un usuario (lo añade si no estaba)
+     */
+    public void fijar(String usuario, long puntos) {
+        Nodo anterior = nodos.get(usuario);
+        if (anterior != null) {
+            if (anterior.puntos == puntos) {
+                return;
+            }
+            desenlazar(anterior);
+        }
+        nodos.put(usuario, enlazar(usuario, puntos));
+    }
+    
+    /**
+     * Quita a un usuario de la clasificación
+     * 
+     * @return true si estaba
+     */
+    public boolean eliminar(String usuario) {
+        Nodo nodo = nodos.remove(usuario);
+        if (nodo == null) {
+            return false;
+        }
+        desenlazar(nodo);
+        return true;
+    }
+    
+    /**
+     * Puntos de un usuario, o el valor indicado si no está
+     */
+    public long puntos(String usuario, long porDefecto) {
+        Nodo nodo = nodos.get(usuario);
+        return nodo == null ? porDefecto : nodo.puntos;
+    }
+    
+    /**
+     * Posición de un usuario (1 = primero), o 0 si no está
+     */
+    public int posicion(String usuario) {
+        Nodo nodo = nodos.get(usuario);
+        if (nodo == null) {
+            return 0;
+        }
+        int posicion = 0;
+        Nodo actual = cabecera;
+        for (int i = nivel - 1; i >= 0; i--) {
+            while (actual.siguientes[i] != null
+                    && (actual.siguientes[i] == nodo || precede(actual.siguientes[i], nodo.puntos, nodo.usuario))) {
+                posicion += actual.saltos[i];
+                actual = actual.siguientes[i];
+            }
+            if (actual == nodo) {
+                return posicion;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Usuarios a partir de una posición
+     * 
+     * @param desde primera posición (1 = primero)
+     * @param cantidad número máximo de usuarios
+     * @return entradas en orden de clasificación (vacía si desde supera el tamaño)
+     */
+    public List<Entrada> rango(int desde, int cantidad) {
+        List<Entrada> entradas = new ArrayList<>(Math.max(0, Math.min(cantidad, nodos.size() - desde + 1)));
+        Nodo nodo = enPosicion(desde);
+        for (int posicion = desde; nodo != null && entradas.size() < cantidad; posicion++) {
+            entradas.add(new Entrada(posicion, nodo.usuario, nodo.puntos));
+            nodo = nodo.siguientes[0];
+        }
+        return entradas;
+    }
+    
+    /**
+     * Usuarios en la clasificación
+     */
+    public int tamano() {
+        return nodos.size();
+    }
+    
+    private Nodo enPosicion(int posicion) {
+        if (posicion < 1 || posicion > nodos.size()) {
+            return null;
+        }
+        int recorrido = 0;
+        Nodo actual = cabecera;
+        for (int i = nivel - 1; i >= 0; i--) {
+            while (actual.siguientes[i] != null && recorrido + actual.saltos[i] <= posicion) {
+                recorrido += actual.saltos[i];
+                actual = actual.siguientes[i];
+            }
+            if (recorrido == posicion) {
+                return actual;
+            }
+        }
+        return null;
+    }
+    
+    private Nodo enlazar(String usuario, long puntos) {
+        Nodo[] previos = new Nodo[NIVEL_MAXIMO];
+        int[] posiciones = new int[NIVEL_MAXIMO];
+        Nodo actual = cabecera;
+        for (int i = nivel - 1; i >= 0; i--) {
+            posiciones[i] = i == nivel - 1 ? 0 : posiciones[i + 1];
+            while (actual.siguientes[i] != null && precede(actual.siguientes[i], puntos, usuario)) {
+                posiciones[i] += actual.saltos[i];
+                actual = actual.siguientes[i];
+            }
+            previos[i] = actual;
+        }
+        
+        int niveles = nivelAleatorio();
+        if (niveles > nivel) {
+            for (int i = nivel; i < niveles; i++) {
+                posiciones[i] = 0;
+                previos[i] = cabecera;
+                cabecera.saltos[i] = longitud;
+            }
+            nivel = niveles;
+        }
+        
+        Nodo nuevo = new Nodo(usuario, puntos, niveles);
+        for (int i = 0; i < niveles; i++) {
+            nuevo.siguientes[i] = previos[i].siguientes[i];
+            previos[i].siguientes[i] = nuevo;
+            nuevo.saltos[i] = previos[i].saltos[i] - (posiciones[0] - posiciones[i]);
+            previos[i].saltos[i] = posiciones[0] - posiciones[i] + 1;
+        }
+        for (int i = niveles; i < nivel; i++) {
+            previos[i].saltos[i]++;
+        }
+        longitud++;
+        return nuevo;
+    }
+    
+    private void desenlazar(Nodo nodo) {
+        Nodo actual = cabecera;
+        for (int i = nivel - 1; i >= 0; i--) {
+            while (actual.siguientes[i] != null && precede(actual.siguientes[i], nodo.puntos, nodo.usuario)) {
+                actual = actual.siguientes[i];
+            }
+            if (actual.siguientes[i] == nodo) {
+                actual.saltos[i] += nodo.saltos[i] - 1;
+                actual.siguientes[i] = nodo.siguientes[i];
+            } else {
+                actual.saltos[i]--;
+            }
+        }
+        while (nivel > 1 && cabecera.siguientes[nivel - 1] == null) {
+            nivel--;
+        }
+        longitud--;
+    }
+    
+    /**
+     * true si el nodo va antes que (puntos, usuario) en la clasificación
+     */
+    private static boolean precede(Nodo nodo, long puntos, String usuario) {
+        return nodo.puntos > puntos || (nodo.puntos == puntos && nodo.usuario.compareTo(usuario) < 0);
+    }
+    
+    /**
+     * Nivel de un nodo nuevo: cada nivel extra con probabilidad 1/4
+     */
+    private static int nivelAleatorio() {
+        int niveles = 1;
+        while (niveles < NIVEL_MAXIMO && (ThreadLocalRandom.current().nextInt() & 3) == 0) {
+            niveles++;
+        }
+        return niveles;
+    }
+}
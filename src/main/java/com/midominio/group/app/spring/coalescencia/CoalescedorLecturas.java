@@ -0,0 +1,191 @@
+package com.midominio.group.app.spring.coalescencia;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalescencia de lecturas idénticas simultáneas ("single flight").
+ * 
+ * La primera llamada con una clave hace la carga; las que llegan con la misma clave mientras
+ * está en curso esperan y reciben el mismo resultado, o la misma excepción. Al terminar, la
+ * clave se olvida: no es una caché, la siguiente llamada vuelve a cargar.
+ * 
+ * Las claves en curso están acotadas (maxClaves): por encima, las claves nuevas se cargan
+ * directamente, sin seguimiento.
+ * 
+ * Con resultados mutables (entidades JPA) se usa cargar(clave, carga, copiar): la llamada que
+ * carga se queda su resultado y, solo si alguna llamada espera, publica una copia que nadie
+ * recibe directamente; cada llamada que espera recibe su propia copia de esa. Así ningún objeto
+ * pasa de un hilo a otro, y una lectura sin llamadas simultáneas no copia nada.
+ * 
+ * Con cargar(clave, carga, copiar, ambito) solo la llamada que carga entra en el ámbito (la
+ * transacción de solo lectura de la consulta): las que esperan no tienen conexión del pool
+ * mientras tanto.
+ * 
+ * Usado en:
+ * - AbstractPreguntaService y PreguntaService (lecturas de solo lectura)
+ * - CoalescenciaController (métricas)
+ */
+public class CoalescedorLecturas {
+    
+    private final ConcurrentHashMap<Clave, EnCurso> enCurso = new ConcurrentHashMap<>();
+    private final boolean habilitado;
+    private final int maxClaves;
+    
+    private final AtomicLong cargas = new AtomicLong();
+    private final AtomicLong compartidas = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+    private final AtomicLong desbordadas = new AtomicLong();
+    
+    /**
+     * Clave de una lectura: operación y argumentos (admite null; los argumentos deben tener equals/hashCode)
+     */
+    public record Clave(String operacion, List<Object> argumentos) {
+    }
+    
+    /**
+     * Carga en curso: resultado publicado y llamadas que lo esperan
+     */
+    private static final class EnCurso {
+        
+        private final CompletableFuture<Object> resultado = new CompletableFuture<>();
+        private int esperando;
+        private boolean cerrada;
+        
+        /**
+         * Apunta una llamada que esperará el resultado
+         * @return false si la carga ya ha terminado y su resultado no se va a publicar
+         */
+        synchronized boolean unirse() {
+            if (cerrada) {
+                return false;
+            }
+            esperando++;
+            return true;
+        }
+        
+        /**
+         * No admite más llamadas
+         * @return true si alguna llamada espera el resultado
+         */
+        synchronized boolean cerrar() {
+            cerrada = true;
+            return esperando > 0;
+        }
+    }
+    
+    public CoalescedorLecturas(CoalescenciaProperties propiedades) {
+        this.habilitado = propiedades.habilitado();
+        this.maxClaves = propiedades.maxClaves();
+    }
+    
+    /**
+     * Construye la clave de una lectura
+     * 
+     * Ejemplo: clave("obtenerPorId", PreguntaVerdaderoFalso.class, 42L)
+     */
+    public static Clave clave(String operacion, Object... argumentos) {
+        return new Clave(operacion, Arrays.asList(argumentos));
+    }
+    
+    /**
+     * Ejecuta la carga, o espera a la que ya esté en curso con la misma clave
+     * Solo para resultados inmutables: las llamadas simultáneas reciben el mismo objeto
+     * 
+     * @param clave identifica la lectura
+     * @param carga lectura a ejecutar si no hay ninguna en curso
+     * @return el resultado de la carga (compartido con las llamadas simultáneas)
+     */
+    public <T> T cargar(Clave clave, Supplier<T> carga) {
+        return cargar(clave, carga, UnaryOperator.identity());
+    }
+    
+    /**
+     * Ejecuta la carga, o espera a la que ya esté en curso con la misma clave, sin compartir objetos
+     * 
+     * @param clave identifica la lectura
+     * @param carga lectura a ejecutar si no hay ninguna en curso
+     * @param copiar copia profunda del resultado; la primera se hace en el hilo de la carga
+     *               (que aún tiene su sesión abierta) y las demás a partir de ella
+     * @return el resultado de la carga (propio) o una copia del cargado por otra llamada
+     */
+    public <T> T cargar(Clave clave, Supplier<T> carga, UnaryOperator<T> copiar) {
+        return cargar(clave, carga, copiar, Supplier::get);
+    }
+    
+    /**
+     * Como cargar(clave, carga, copiar), pero la carga y la copia publicada se ejecutan dentro
+     * del ámbito; las llamadas que esperan no entran en él
+     * 
+     * @param ambito ejecuta lo que recibe, p. ej. en una transacción de solo lectura propia
+     * @return el resultado de la carga (propio) o una copia del cargado por otra llamada
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T cargar(Clave clave, Supplier<T> carga, UnaryOperator<T> copiar, Function<Supplier<T>, T> ambito) {
+        if (!habilitado) {
+            return ambito.apply(carga);
+        }
+        
+        EnCurso existente = enCurso.get(clave);
+        if (existente == null) {
+            if (enCurso.size() >= maxClaves) {
+                desbordadas.incrementAndGet();
+                return ambito.apply(carga);
+            }
+            EnCurso propia = new EnCurso();
+            existente = enCurso.putIfAbsent(clave, propia);
+            if (existente == null) {
+                return ejecutar(clave, propia, carga, copiar, ambito);
+            }
+        }
+        if (!existente.unirse()) {
+            // La carga acaba de terminar sin publicar su resultado: se carga de nuevo
+            return ambito.apply(carga);
+        }
+        
+        compartidas.incrementAndGet();
+        try {
+            return copiar.apply((T) existente.resultado.join());
+        } catch (CompletionException e) {
+            // Misma excepción que recibió la llamada que hizo la carga
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+    
+    public MetricasCoalescencia metricas() {
+        return new MetricasCoalescencia(cargas.get(), compartidas.get(), errores.get(), desbordadas.get(), enCurso.size());
+    }
+    
+    private <T> T ejecutar(Clave clave, EnCurso propia, Supplier<T> carga, UnaryOperator<T> copiar,
+            Function<Supplier<T>, T> ambito) {
+        cargas.incrementAndGet();
+        try {
+            return ambito.apply(() -> {
+                T resultado = carga.get();
+                // La copia publicada se hace aquí, dentro del ámbito, con la sesión de la carga abierta
+                propia.resultado.complete(propia.cerrar() ? copiar.apply(resultado) : null);
+                return resultado;
+            });
+        } catch (RuntimeException | Error e) {
+            errores.incrementAndGet();
+            propia.cerrar();
+            propia.resultado.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+}
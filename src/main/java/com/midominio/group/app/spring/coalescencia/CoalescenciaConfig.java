@@ -0,0 +1,20 @@
+package com.midominio.group.app.spring.coalescencia;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la coalescencia de lecturas (ver CoalescedorLecturas).
+ * 
+ * Se desactiva con app.coalescencia.habilitado=false
+ */
+@Configuration
+@EnableConfigurationProperties(CoalescenciaProperties.class)
+public class CoalescenciaConfig {
+    
+    @Bean
+    public CoalescedorLecturas coalescedorLecturas(CoalescenciaProperties propiedades) {
+        return new CoalescedorLecturas(propiedades);
+    }
+}
@@ -0,0 +1,23 @@
+package com.midominio.group.app.spring.coalescencia;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de la coalescencia de lecturas idénticas simultáneas.
+ * Propiedades con prefijo app.coalescencia en application.properties.
+ * 
+ * @param habilitado activa o desactiva la coalescencia (desactivada, cada llamada consulta la base de datos)
+ * @param maxClaves lecturas distintas en curso que se siguen a la vez; por encima, las nuevas
+ *                  claves se cargan sin coalescer
+ */
+@ConfigurationProperties(prefix = "app.coalescencia")
+public record CoalescenciaProperties(Boolean habilitado, Integer maxClaves) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public CoalescenciaProperties {
+        habilitado = habilitado == null ? Boolean.TRUE : habilitado;
+        maxClaves = maxClaves == null ? 10_000 : maxClaves;
+    }
+}
@@ -0,0 +1,13 @@
+package com.midominio.group.app.spring.coalescencia;
+
+/**
+ * Métricas acumuladas de la coalescencia de lecturas desde el arranque.
+ * 
+ * @param cargas lecturas que han ido a la base de datos
+ * @param compartidas llamadas que han recibido el resultado de otra carga en curso (consultas ahorradas)
+ * @param errores cargas que han terminado con excepción (propagada a todas las llamadas que esperaban)
+ * @param desbordadas llamadas cargadas sin coalescer por haber maxClaves claves en curso
+ * @param enCurso claves con una carga en curso ahora
+ */
+public record MetricasCoalescencia(long cargas, long compartidas, long errores, long desbordadas, int enCurso) {
+}
@@ -0,0 +1,154 @@
+package com.midominio.group.app.spring.compartimentos;
+
+import com.midominio.group.app.spring.ratelimit.CategoriaLimite;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compartimento (bulkhead) de una clase de carga: permisos de ejecución con una cola acotada
+ * y, opcionalmente, un tope de conexiones a la base de datos.
+ * 
+ * Los permisos son justos (FIFO) y la cola solo cuenta las peticiones que esperan: si está
+ * llena la petición se rechaza sin esperar, para no acumular hilos bloqueados.
+ * 
+ * Usado en:
+ * - PlanificadorCompartimentos (uno por CategoriaLimite)
+ * - DataSourceCompartimentado (partición de conexiones)
+ */
+public class Compartimento {
+    
+    /**
+     * Resultado de una admisión
+     */
+    public enum Admision {
+        ADMITIDA,
+        COLA_LLENA,
+        ESPERA_AGOTADA,
+        PRIORIDAD
+    }
+    
+    private final CategoriaLimite categoria;
+    private final Semaphore ejecucion;
+    private final int colaMaxima;
+    private final long esperaMaximaNanos;
+    private final Semaphore conexiones; // null = sin tope propio
+    private final int conexionesMaximas;
+    
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicInteger enCola = new AtomicInteger();
+    private final AtomicLong admitidas = new AtomicLong();
+    private final AtomicLong rechazadasColaLlena = new AtomicLong();
+    private final AtomicLong rechazadasEsperaAgotada = new AtomicLong();
+    private final AtomicLong rechazadasPrioridad = new AtomicLong();
+    private final AtomicLong esperasConexionAgotadas = new AtomicLong();
+    private final AtomicLong esperaTotalNanos = new AtomicLong();
+    
+    public Compartimento(CategoriaLimite categoria, CompartimentosProperties.Particion particion) {
+        this.categoria = categoria;
+        this.ejecucion = new Semaphore(particion.concurrencia(), true);
+        this.colaMaxima = particion.cola();
+        this.esperaMaximaNanos = particion.esperaMaxima().toNanos();
+        this.conexionesMaximas = particion.conexiones();
+        this.conexiones = particion.conexiones() > 0 ? new Semaphore(particion.conexiones(), true) : null;
+    }
+    
+    /**
+     * Intenta ocupar un permiso de ejecución, esperando en cola si hay sitio
+     * 
+     * @return ADMITIDA (hay que llamar a salir()), COLA_LLENA o ESPERA_AGOTADA
+     */
+    public Admision entrar() throws InterruptedException {
+        if (ejecucion.tryAcquire()) {
+            return admitir(0L);
+        }
+        if (enCola.incrementAndGet() > colaMaxima) {
+            enCola.decrementAndGet();
+            rechazadasColaLlena.incrementAndGet();
+            return Admision.COLA_LLENA;
+        }
+        long inicio = System.nanoTime();
+        boolean admitida;
+        try {
+            admitida = ejecucion.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            enCola.decrementAndGet();
+        }
+        if (!admitida) {
+            rechazadasEsperaAgotada.incrementAndGet();
+            return Admision.ESPERA_AGOTADA;
+        }
+        return admitir(System.nanoTime() - inicio);
+    }
+    
+    /**
+     * Libera el permiso de una petición admitida
+     */
+    public void salir() {
+        enCurso.decrementAndGet();
+        ejecucion.release();
+    }
+    
+    /**
+     * Cuenta una petición rechazada antes de entrar por la saturación de una clase prioritaria
+     */
+    public void rechazarPorPrioridad() {
+        rechazadasPrioridad.incrementAndGet();
+    }
+    
+    /**
+     * true si la clase tiene tope propio de conexiones
+     */
+    public boolean tieneParticionConexiones() {
+        return conexiones != null;
+    }
+    
+    /**
+     * Ocupa una conexión de la partición, esperando como mucho esperaMaxima
+     * 
+     * @return false si no queda ninguna libre a tiempo
+     */
+    public boolean adquirirConexion() throws InterruptedException {
+        if (conexiones.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        esperasConexionAgotadas.incrementAndGet();
+        return false;
+    }
+    
+    public void liberarConexion() {
+        conexiones.release();
+    }
+    
+    public int enCola() {
+        return enCola.get();
+    }
+    
+    public CategoriaLimite categoria() {
+        return categoria;
+    }
+    
+    public MetricasCompartimento metricas() {
+        long totalAdmitidas = admitidas.get();
+        return new MetricasCompartimento(
+                categoria,
+                enCurso.get(),
+                enCola.get(),
+                conexiones == null ? 0 : conexionesMaximas - conexiones.availablePermits(),
+                totalAdmitidas,
+                rechazadasColaLlena.get(),
+                rechazadasEsperaAgotada.get(),
+                rechazadasPrioridad.get(),
+                esperasConexionAgotadas.get(),
+                totalAdmitidas == 0 ? 0 : esperaTotalNanos.get() / totalAdmitidas / 1000);
+    }
+    
+    private Admision admitir(long esperaNanos) {
+        enCurso.incrementAndGet();
+        admitidas.incrementAndGet();
+        esperaTotalNanos.addAndGet(esperaNanos);
+        return Admision.ADMITIDA;
+    }
+}
@@ -0,0 +1,61 @@
+package com.midominio.group.app.spring.compartimentos;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración de los compartimentos por clase de carga.
+ * 
+ * - Registra FiltroCompartimentos para la API REST (/api/*), después de RateLimitFilter
+ * - Envuelve el DataSource de la aplicación con DataSourceCompartimentado (particiones de conexiones)
+ * 
+ * Se desactiva con app.compartimentos.habilitado=false
+ */
+@Configuration
+@EnableConfigurationProperties(CompartimentosProperties.class)
+public class CompartimentosConfig {
+    
+    // Justo después de RateLimitFilter (0)
+    private static final int ORDEN_FILTRO = 1;
+    
+    @Bean
+    public PlanificadorCompartimentos planificadorCompartimentos(CompartimentosProperties propiedades) {
+        return new PlanificadorCompartimentos(propiedades);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<FiltroCompartimentos> filtroCompartimentos(CompartimentosProperties propiedades,
+            PlanificadorCompartimentos planificador) {
+        FilterRegistrationBean<FiltroCompartimentos> registro =
+                new FilterRegistrationBean<>(new FiltroCompartimentos(planificador));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(ORDEN_FILTRO);
+        registro.setEnabled(propiedades.habilitado());
+        return registro;
+    }
+    
+    /**
+     * Estático para no adelantar la creación de esta configuración (es un BeanPostProcessor)
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceCompartimentadoPostProcessor(Environment entorno,
+            ObjectProvider<PlanificadorCompartimentos> planificador) {
+        boolean habilitado = entorno.getProperty("app.compartimentos.habilitado", Boolean.class, Boolean.TRUE);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if (habilitado && bean instanceof DataSource dataSource && !(bean instanceof DataSourceCompartimentado)) {
+                    return new DataSourceCompartimentado(dataSource, planificador);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.midominio.group.app.spring.compartimentos;
+
+import com.midominio.group.app.spring.ratelimit.CategoriaLimite;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de los compartimentos (bulkheads) por clase de carga.
+ * Propiedades con prefijo app.compartimentos en application.properties.
+ * 
+ * Ejemplo:
+ *   app.compartimentos.busqueda.concurrencia=40
+ *   app.compartimentos.busqueda.conexiones=4
+ *   app.compartimentos.umbral-saturacion=20
+ * 
+ * Las particiones de conexiones son topes por clase dentro del pool único: con el pool por
+ * defecto (10 conexiones), búsqueda (4) y administración (2) dejan siempre 4 a la calificación.
+ * 
+ * @param habilitado activa o desactiva el filtro y las particiones de conexiones
+ * @param calificacion compartimento de validarRespuesta
+ * @param busqueda compartimento de listados y búsquedas
+ * @param administracion compartimento de operaciones de escritura
+ * @param umbralSaturacion peticiones de calificación en cola a partir de las cuales se rechaza
+ *                         la búsqueda (la administración se rechaza ya con la mitad)
+ */
+@ConfigurationProperties(prefix = "app.compartimentos")
+public record CompartimentosProperties(
+        Boolean habilitado,
+        Particion calificacion,
+        Particion busqueda,
+        Particion administracion,
+        Integer umbralSaturacion) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public CompartimentosProperties {
+        habilitado = habilitado == null ? Boolean.TRUE : habilitado;
+        calificacion = calificacion == null ? new Particion(150, 300, Duration.ofSeconds(2), 0) : calificacion;
+        busqueda = busqueda == null ? new Particion(40, 40, Duration.ofMillis(500), 4) : busqueda;
+        administracion = administracion == null ? new Particion(8, 8, Duration.ofMillis(500), 2) : administracion;
+        umbralSaturacion = umbralSaturacion == null ? 20 : umbralSaturacion;
+    }
+    
+    /**
+     * Devuelve la partición configurada para una clase de carga
+     */
+    public Particion particionPara(CategoriaLimite categoria) {
+        return switch (categoria) {
+            case CALIFICACION -> calificacion;
+            case BUSQUEDA -> busqueda;
+            case ADMINISTRACION -> administracion;
+        };
+    }
+    
+    /**
+     * Recursos de una clase de carga
+     * 
+     * @param concurrencia peticiones de la clase ejecutándose a la vez
+     * @param cola peticiones que pueden esperar turno (las demás se rechazan al momento)
+     * @param esperaMaxima espera máxima en cola (y por una conexión de la partición)
+     * @param conexiones conexiones del pool que puede ocupar la clase a la vez (0 = sin tope propio)
+     */
+    public record Particion(int concurrencia, int cola, Duration esperaMaxima, int conexiones) {
+    }
+}
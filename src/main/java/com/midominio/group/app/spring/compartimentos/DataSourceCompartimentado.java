@@ -0,0 +1,100 @@
+package com.midominio.group.app.spring.compartimentos;
+
+import com.midominio.group.app.spring.ratelimit.CategoriaLimite;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que reparte el pool de conexiones entre clases de carga.
+ * 
+ * Antes de pedir una conexión al pool ocupa un permiso de la partición de la clase del hilo
+ * actual (PlanificadorCompartimentos.categoriaActual()) y lo devuelve al cerrarla. Los hilos
+ * sin clase (tareas programadas, trabajos en segundo plano con su propio pool) y las clases
+ * sin tope propio van directamente al pool.
+ * 
+ * Si la partición está agotada durante esperaMaxima se lanza SQLTransientConnectionException,
+ * igual que cuando el propio pool se agota.
+ * 
+ * Usado en:
+ * - CompartimentosConfig (envuelve el DataSource de la aplicación)
+ */
+public class DataSourceCompartimentado extends DelegatingDataSource {
+    
+    /**
+     * Obtención de una conexión del DataSource envuelto
+     */
+    private interface Obtencion {
+        Connection obtener() throws SQLException;
+    }
+    
+    // Se resuelve al primer uso: el DataSource se crea antes que el resto de beans
+    private final ObjectProvider<PlanificadorCompartimentos> proveedorPlanificador;
+    
+    public DataSourceCompartimentado(DataSource dataSource, ObjectProvider<PlanificadorCompartimentos> proveedorPlanificador) {
+        super(dataSource);
+        this.proveedorPlanificador = proveedorPlanificador;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conPermiso(() -> obtainTargetDataSource().getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conPermiso(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+    
+    private Connection conPermiso(Obtencion obtencion) throws SQLException {
+        PlanificadorCompartimentos planificador = proveedorPlanificador.getIfAvailable();
+        CategoriaLimite categoria = planificador == null ? null : planificador.categoriaActual();
+        if (categoria == null || !planificador.compartimento(categoria).tieneParticionConexiones()) {
+            return obtencion.obtener();
+        }
+        
+        Compartimento compartimento = planificador.compartimento(categoria);
+        try {
+            if (!compartimento.adquirirConexion()) {
+                throw new SQLTransientConnectionException(
+                        "Partición de conexiones agotada para " + categoria);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+        
+        try {
+            return liberarAlCerrar(obtencion.obtener(), compartimento);
+        } catch (SQLException | RuntimeException e) {
+            compartimento.liberarConexion();
+            throw e;
+        }
+    }
+    
+    /**
+     * Envuelve la conexión para devolver el permiso de la partición en el primer close()
+     */
+    private static Connection liberarAlCerrar(Connection conexion, Compartimento compartimento) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    try {
+                        return metodo.invoke(conexion, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if ("close".equals(metodo.getName()) && liberada.compareAndSet(false, true)) {
+                            compartimento.liberarConexion();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,68 @@
+package com.midominio.group.app.spring.compartimentos;
+
+import com.midominio.group.app.spring.ratelimit.CategoriaLimite;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filtro que hace pasar cada petición de la API por el compartimento de su clase de carga.
+ * 
+ * Se registra justo después de RateLimitFilter: las peticiones que superan el límite de tasa
+ * o el descarte de carga no llegan a ocupar sitio en la cola de un compartimento.
+ * 
+ * Respuesta de rechazo: HTTP 503 con cabecera Retry-After y cuerpo JSON fijo.
+ */
+public class FiltroCompartimentos extends OncePerRequestFilter {
+    
+    private static final byte[] CUERPO_RECHAZO = (
+            "{\"status\":503,\"error\":\"Servicio ocupado\","
+            + "\"mensaje\":\"No hay capacidad para esta operación ahora mismo. Inténtelo más tarde.\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    
+    private final PlanificadorCompartimentos planificador;
+    
+    public FiltroCompartimentos(PlanificadorCompartimentos planificador) {
+        this.planificador = planificador;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        CategoriaLimite categoria = CategoriaLimite.clasificar(request.getMethod(), request.getRequestURI());
+        
+        Compartimento.Admision admision;
+        try {
+            admision = planificador.admitir(categoria);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admision = Compartimento.Admision.ESPERA_AGOTADA;
+        }
+        if (admision != Compartimento.Admision.ADMITIDA) {
+            rechazar(response);
+            return;
+        }
+        
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            planificador.finalizar(categoria);
+        }
+    }
+    
+    private void rechazar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(CUERPO_RECHAZO.length);
+        response.getOutputStream().write(CUERPO_RECHAZO);
+    }
+}
@@ -0,0 +1,30 @@
+package com.midominio.group.app.spring.compartimentos;
+
+import com.midominio.group.app.spring.ratelimit.CategoriaLimite;
+
+/**
+ * Métricas acumuladas de un compartimento desde el arranque.
+ * 
+ * @param categoria clase de carga
+ * @param enCurso peticiones ejecutándose ahora
+ * @param enCola peticiones esperando turno ahora
+ * @param conexionesEnUso conexiones de la partición ocupadas ahora
+ * @param admitidas peticiones admitidas
+ * @param rechazadasColaLlena rechazadas por cola llena
+ * @param rechazadasEsperaAgotada rechazadas por esperar más de esperaMaxima
+ * @param rechazadasPrioridad rechazadas por saturación de la calificación
+ * @param esperasConexionAgotadas peticiones que no obtuvieron conexión de su partición a tiempo
+ * @param esperaMediaMicros espera media en cola de las peticiones admitidas
+ */
+public record MetricasCompartimento(
+        CategoriaLimite categoria,
+        int enCurso,
+        int enCola,
+        int conexionesEnUso,
+        long admitidas,
+        long rechazadasColaLlena,
+        long rechazadasEsperaAgotada,
+        long rechazadasPrioridad,
+        long esperasConexionAgotadas,
+        long esperaMediaMicros) {
+}
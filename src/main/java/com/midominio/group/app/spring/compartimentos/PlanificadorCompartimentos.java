@@ -0,0 +1,94 @@
+package com.midominio.group.app.spring.compartimentos;
+
+import com.midominio.group.app.spring.ratelimit.CategoriaLimite;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admisión de peticiones por clase de carga con compartimentos separados y prioridad
+ * para la calificación (el camino con SLA durante los exámenes).
+ * 
+ * - Cada clase (CategoriaLimite) tiene su propio Compartimento: un informe de administración
+ *   lento solo agota los permisos y las conexiones de su clase
+ * - Si la cola de la calificación alcanza app.compartimentos.umbral-saturacion, la búsqueda
+ *   se rechaza sin entrar; la administración ya con la mitad de ese umbral
+ * - La clase de la petición en curso se guarda por hilo para que DataSourceCompartimentado
+ *   aplique la partición de conexiones que corresponde
+ * 
+ * Usado en:
+ * - FiltroCompartimentos (admitir/finalizar en cada petición de la API)
+ * - DataSourceCompartimentado (clase del hilo actual)
+ * - CompartimentoController (métricas)
+ */
+public class PlanificadorCompartimentos {
+    
+    private static final ThreadLocal<CategoriaLimite> CATEGORIA_ACTUAL = new ThreadLocal<>();
+    
+    private final Map<CategoriaLimite, Compartimento> compartimentos = new EnumMap<>(CategoriaLimite.class);
+    private final int umbralSaturacion;
+    
+    public PlanificadorCompartimentos(CompartimentosProperties propiedades) {
+        for (CategoriaLimite categoria : CategoriaLimite.values()) {
+            compartimentos.put(categoria, new Compartimento(categoria, propiedades.particionPara(categoria)));
+        }
+        this.umbralSaturacion = propiedades.umbralSaturacion();
+    }
+    
+    /**
+     * Intenta admitir una petición de una clase (puede esperar en la cola de su compartimento)
+     * 
+     * @return ADMITIDA (hay que llamar a finalizar()) o el motivo del rechazo
+     */
+    public Compartimento.Admision admitir(CategoriaLimite categoria) throws InterruptedException {
+        Compartimento compartimento = compartimentos.get(categoria);
+        if (saturadaCalificacion(categoria)) {
+            compartimento.rechazarPorPrioridad();
+            return Compartimento.Admision.PRIORIDAD;
+        }
+        Compartimento.Admision admision = compartimento.entrar();
+        if (admision == Compartimento.Admision.ADMITIDA) {
+            CATEGORIA_ACTUAL.set(categoria);
+        }
+        return admision;
+    }
+    
+    /**
+     * Libera el permiso de una petición admitida
+     */
+    public void finalizar(CategoriaLimite categoria) {
+        CATEGORIA_ACTUAL.remove();
+        compartimentos.get(categoria).salir();
+    }
+    
+    /**
+     * Clase de la petición que se ejecuta en este hilo (null fuera de la API: tareas, trabajos...)
+     */
+    public CategoriaLimite categoriaActual() {
+        return CATEGORIA_ACTUAL.get();
+    }
+    
+    public Compartimento compartimento(CategoriaLimite categoria) {
+        return compartimentos.get(categoria);
+    }
+    
+    /**
+     * Métricas de todos los compartimentos, de mayor a menor prioridad
+     */
+    public List<MetricasCompartimento> metricas() {
+        List<MetricasCompartimento> metricas = new ArrayList<>(compartimentos.size());
+        compartimentos.values().forEach(compartimento -> metricas.add(compartimento.metricas()));
+        return metricas;
+    }
+    
+    private boolean saturadaCalificacion(CategoriaLimite categoria) {
+        int enCola = compartimentos.get(CategoriaLimite.CALIFICACION).enCola();
+        return switch (categoria) {
+            case CALIFICACION -> false;
+            case BUSQUEDA -> enCola >= umbralSaturacion;
+            case ADMINISTRACION -> enCola >= Math.max(1, umbralSaturacion / 2);
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.midominio.group.app.spring.consultas;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sentencias SQL ejecutadas por el hilo actual mientras la captura está abierta.
+ * Se obtiene con MedidorConsultas.capturar() y se cierra con close() (try-with-resources).
+ * 
+ * Solo ve el hilo que la abrió: las tareas programadas y los trabajos en segundo plano
+ * que consultan a la vez no se cuentan.
+ * 
+ * Usado en:
+ * - Tests de presupuesto de consultas (número de sentencias y filas devueltas por método de service)
+ */
+public class CapturaConsultas implements AutoCloseable {
+    
+    private final List<ConsultaEjecutada> consultas = new ArrayList<>();
+    private final Runnable alCerrar;
+    
+    CapturaConsultas(Runnable alCerrar) {
+        this.alCerrar = alCerrar;
+    }
+    
+    void registrar(ConsultaEjecutada consulta) {
+        consultas.add(consulta);
+    }
+    
+    public List<ConsultaEjecutada> consultas() {
+        return Collections.unmodifiableList(consultas);
+    }
+    
+    /**
+     * Número de sentencias ejecutadas
+     */
+    public int total() {
+        return consultas.size();
+    }
+    
+    /**
+     * Máximo de filas devueltas por una sola sentencia (las leídas de sus resultados por la
+     * aplicación, no las que la base de datos recorrió para obtenerlas)
+     */
+    public long filasDevueltasMaximas() {
+        long maximo = 0;
+        for (ConsultaEjecutada consulta : consultas) {
+            maximo = Math.max(maximo, consulta.filas());
+        }
+        return maximo;
+    }
+    
+    /**
+     * Huellas de las sentencias, en orden de ejecución (para los mensajes de error de los tests)
+     */
+    public List<String> huellas() {
+        return consultas.stream().map(ConsultaEjecutada::huella).toList();
+    }
+    
+    @Override
+    public void close() {
+        alCerrar.run();
+    }
+}
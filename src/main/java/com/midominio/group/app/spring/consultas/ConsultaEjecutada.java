@@ -0,0 +1,12 @@
+package com.midominio.group.app.spring.consultas;
+
+/**
+ * Una sentencia SQL medida por DataSourceMedido.
+ * 
+ * @param sql texto de la sentencia tal como se preparó (con marcadores ?, sin valores de los parámetros)
+ * @param huella texto normalizado (ver HuellaConsulta)
+ * @param nanos tiempo desde la ejecución hasta cerrar sus resultados
+ * @param filas filas leídas de sus resultados (0 en escrituras)
+ */
+public record ConsultaEjecutada(String sql, String huella, long nanos, long filas) {
+}
@@ -0,0 +1,13 @@
+package com.midominio.group.app.spring.consultas;
+
+/**
+ * Ejecuciones acumuladas de una consulta lenta desde el arranque.
+ * 
+ * @param huella texto normalizado de la consulta (ver HuellaConsulta)
+ * @param ejecuciones veces que ha superado app.consultas.umbral-lenta
+ * @param milisTotales tiempo total de esas ejecuciones
+ * @param milisMaximos la ejecución más lenta
+ * @param filasMaximas máximo de filas leídas en una ejecución
+ */
+public record ConsultaLenta(String huella, long ejecuciones, long milisTotales, long milisMaximos, long filasMaximas) {
+}
@@ -0,0 +1,46 @@
+package com.midominio.group.app.spring.consultas;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración de la medición de sentencias SQL.
+ * 
+ * - Crea el MedidorConsultas (log de consultas lentas y capturas para los tests)
+ * - Envuelve el DataSource de la aplicación con DataSourceMedido
+ * 
+ * Solo con app.consultas.habilitado=true (desactivado por defecto: cada sentencia pasaría por el proxy)
+ */
+@Configuration
+@EnableConfigurationProperties(ConsultasProperties.class)
+public class ConsultasConfig {
+    
+    @Bean
+    public MedidorConsultas medidorConsultas(ConsultasProperties propiedades) {
+        return new MedidorConsultas(propiedades);
+    }
+    
+    /**
+     * Estático para no adelantar la creación de esta configuración (es un BeanPostProcessor)
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceMedidoPostProcessor(Environment entorno,
+            ObjectProvider<MedidorConsultas> medidor) {
+        boolean habilitado = entorno.getProperty("app.consultas.habilitado", Boolean.class, Boolean.FALSE);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if (habilitado && bean instanceof DataSource dataSource && !(bean instanceof DataSourceMedido)) {
+                    return new DataSourceMedido(dataSource, medidor);
+                }
+                return bean;
+            }
+        };
+    }
+}
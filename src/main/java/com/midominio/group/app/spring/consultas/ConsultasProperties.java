@@ -0,0 +1,27 @@
+package com.midominio.group.app.spring.consultas;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la medición de sentencias SQL y del log de consultas lentas.
+ * Propiedades con prefijo app.consultas en application.properties.
+ * 
+ * @param habilitado envuelve el DataSource para medir cada sentencia (por defecto desactivado: lo activan
+ *                   los tests de presupuesto, o producción para buscar consultas lentas)
+ * @param umbralLenta duración (ejecución y lectura de filas) a partir de la cual una sentencia se registra como lenta
+ * @param maxHuellas huellas distintas de consultas lentas que se acumulan; por encima solo se registran en el log
+ */
+@ConfigurationProperties(prefix = "app.consultas")
+public record ConsultasProperties(Boolean habilitado, Duration umbralLenta, Integer maxHuellas) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public ConsultasProperties {
+        habilitado = habilitado == null ? Boolean.FALSE : habilitado;
+        umbralLenta = umbralLenta == null ? Duration.ofMillis(200) : umbralLenta;
+        maxHuellas = maxHuellas == null ? 1_000 : maxHuellas;
+    }
+}
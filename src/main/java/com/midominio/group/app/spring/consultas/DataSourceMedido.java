@@ -0,0 +1,187 @@
+package com.midominio.group.app.spring.consultas;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource que mide cada sentencia SQL (JPA y JdbcTemplate por igual).
+ * 
+ * Envuelve conexiones, sentencias y resultados con proxies del JDK: una sentencia se mide desde
+ * su execute*() hasta que se cierran sus resultados (o la propia sentencia), contando las filas
+ * leídas con next(). Las escrituras se miden solo durante la ejecución.
+ * Cada medida se entrega a MedidorConsultas en el hilo que ejecutó la sentencia.
+ * 
+ * Usado en:
+ * - ConsultasConfig (envuelve el DataSource de la aplicación)
+ */
+public class DataSourceMedido extends DelegatingDataSource {
+    
+    private static final String LOTE_SIN_TEXTO = "(lote de sentencias)";
+    
+    // Se resuelve al primer uso: el DataSource se crea antes que el resto de beans
+    private final ObjectProvider<MedidorConsultas> proveedorMedidor;
+    
+    public DataSourceMedido(DataSource dataSource, ObjectProvider<MedidorConsultas> proveedorMedidor) {
+        super(dataSource);
+        this.proveedorMedidor = proveedorMedidor;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return medir(obtainTargetDataSource().getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return medir(obtainTargetDataSource().getConnection(username, password));
+    }
+    
+    private Connection medir(Connection conexion) {
+        MedidorConsultas medidor = proveedorMedidor.getIfAvailable();
+        if (medidor == null) {
+            return conexion;
+        }
+        return proxy(Connection.class, (proxy, metodo, argumentos) -> {
+            Object resultado = invocar(conexion, metodo, argumentos);
+            if (resultado instanceof Statement sentencia) {
+                String sql = metodo.getName().startsWith("prepare") ? (String) argumentos[0] : null;
+                return new SentenciaMedida(sentencia, sql, medidor).proxy();
+            }
+            return resultado;
+        });
+    }
+    
+    /**
+     * Una sentencia y su ejecución en curso (la que aún tiene resultados abiertos)
+     */
+    private static final class SentenciaMedida implements InvocationHandler {
+        
+        private final Statement sentencia;
+        private final String sql;
+        private final MedidorConsultas medidor;
+        private Ejecucion pendiente;
+        
+        SentenciaMedida(Statement sentencia, String sql, MedidorConsultas medidor) {
+            this.sentencia = sentencia;
+            this.sql = sql;
+            this.medidor = medidor;
+        }
+        
+        Statement proxy() {
+            Class<? extends Statement> tipo = sentencia instanceof CallableStatement ? CallableStatement.class
+                    : sentencia instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return DataSourceMedido.proxy(tipo, this);
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            String nombre = metodo.getName();
+            if (nombre.startsWith("execute")) {
+                return ejecutar(metodo, argumentos);
+            }
+            if ("getResultSet".equals(nombre) && pendiente != null) {
+                ResultSet resultados = (ResultSet) invocar(sentencia, metodo, argumentos);
+                return resultados == null ? null : pendiente.medir(resultados);
+            }
+            if ("close".equals(nombre)) {
+                terminarPendiente();
+            }
+            return invocar(sentencia, metodo, argumentos);
+        }
+        
+        private Object ejecutar(Method metodo, Object[] argumentos) throws Throwable {
+            terminarPendiente();
+            String texto = sql != null ? sql
+                    : argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String s ? s
+                    : LOTE_SIN_TEXTO;
+            Ejecucion ejecucion = new Ejecucion(texto, medidor);
+            
+            Object resultado;
+            try {
+                resultado = invocar(sentencia, metodo, argumentos);
+            } catch (Throwable e) {
+                ejecucion.terminar();
+                throw e;
+            }
+            if (resultado instanceof ResultSet resultados) {
+                pendiente = ejecucion;
+                return ejecucion.medir(resultados);
+            }
+            if (Boolean.TRUE.equals(resultado) && "execute".equals(metodo.getName())) {
+                // execute() con resultados: se leen después con getResultSet()
+                pendiente = ejecucion;
+                return resultado;
+            }
+            ejecucion.terminar();
+            return resultado;
+        }
+        
+        private void terminarPendiente() {
+            if (pendiente != null) {
+                pendiente.terminar();
+                pendiente = null;
+            }
+        }
+    }
+    
+    /**
+     * Medida de una ejecución: duración y filas leídas hasta cerrar sus resultados
+     */
+    private static final class Ejecucion {
+        
+        private final String sql;
+        private final MedidorConsultas medidor;
+        private final long inicio = System.nanoTime();
+        private long filas;
+        private boolean terminada;
+        
+        Ejecucion(String sql, MedidorConsultas medidor) {
+            this.sql = sql;
+            this.medidor = medidor;
+        }
+        
+        ResultSet medir(ResultSet resultados) {
+            return proxy(ResultSet.class, (proxy, metodo, argumentos) -> {
+                Object resultado = invocar(resultados, metodo, argumentos);
+                if ("next".equals(metodo.getName()) && Boolean.TRUE.equals(resultado)) {
+                    filas++;
+                } else if ("close".equals(metodo.getName())) {
+                    terminar();
+                }
+                return resultado;
+            });
+        }
+        
+        void terminar() {
+            if (!terminada) {
+                terminada = true;
+                medidor.registrar(sql, System.nanoTime() - inicio, filas);
+            }
+        }
+    }
+    
+    private static <T> T proxy(Class<T> tipo, InvocationHandler manejador) {
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo}, manejador));
+    }
+    
+    private static Object invocar(Object destino, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(destino, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.midominio.group.app.spring.consultas;
+
+import java.util.regex.Pattern;
+
+/**
+ * Huella de una sentencia SQL: el texto sin valores concretos, para agrupar las ejecuciones
+ * de la misma consulta con distintos parámetros.
+ * 
+ * - Literales de texto y números -> ?
+ * - Listas IN de cualquier longitud -> (?...)
+ * - Espacios y saltos de línea consecutivos -> un espacio
+ * 
+ * Los números dentro de identificadores (alias de Hibernate como p1_0) se conservan.
+ * Como no quedan valores, la huella se puede mostrar en el log y en la API sin exponer datos.
+ */
+public final class HuellaConsulta {
+    
+    private static final Pattern TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERO = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern LISTA = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    
+    private HuellaConsulta() {
+    }
+    
+    public static String de(String sql) {
+        String huella = TEXTO.matcher(sql).replaceAll("?");
+        huella = NUMERO.matcher(huella).replaceAll("?");
+        huella = ESPACIOS.matcher(huella).replaceAll(" ");
+        huella = LISTA.matcher(huella).replaceAll("(?...)");
+        return huella.trim();
+    }
+}
@@ -0,0 +1,118 @@
+package com.midominio.group.app.spring.consultas;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recibe cada sentencia SQL medida por DataSourceMedido y:
+ * 
+ * - la añade a la captura abierta en el hilo actual, si la hay (tests de presupuesto de consultas)
+ * - si supera app.consultas.umbral-lenta, la registra en el log (WARN, con su huella, duración y filas)
+ *   y la acumula por huella para GET /api/consultas/lentas
+ * 
+ * Usado en:
+ * - DataSourceMedido
+ * - ConsultaController
+ */
+public class MedidorConsultas {
+    
+    private static final Logger log = LoggerFactory.getLogger(MedidorConsultas.class);
+    
+    /**
+     * Ejecuciones lentas acumuladas de una huella
+     */
+    private static final class Acumulado {
+        final LongAdder ejecuciones = new LongAdder();
+        final LongAdder nanosTotales = new LongAdder();
+        final AtomicLong nanosMaximos = new AtomicLong();
+        final AtomicLong filasMaximas = new AtomicLong();
+    }
+    
+    private final ConsultasProperties propiedades;
+    private final long umbralNanos;
+    private final ThreadLocal<CapturaConsultas> capturas = new ThreadLocal<>();
+    private final ConcurrentHashMap<String, Acumulado> lentas = new ConcurrentHashMap<>();
+    
+    public MedidorConsultas(ConsultasProperties propiedades) {
+        this.propiedades = propiedades;
+        this.umbralNanos = propiedades.umbralLenta().toNanos();
+    }
+    
+    /**
+     * Registra una sentencia ejecutada en el hilo actual
+     * 
+     * @param sql texto de la sentencia
+     * @param nanos tiempo desde la ejecución hasta cerrar sus resultados
+     * @param filas filas leídas
+     */
+    public void registrar(String sql, long nanos, long filas) {
+        CapturaConsultas captura = capturas.get();
+        boolean lenta = nanos >= umbralNanos;
+        if (captura == null && !lenta) {
+            return;
+        }
+        
+        String huella = HuellaConsulta.de(sql);
+        if (captura != null) {
+            captura.registrar(new ConsultaEjecutada(sql, huella, nanos, filas));
+        }
+        if (lenta) {
+            log.warn("Consulta lenta ({} ms, {} filas): {}", TimeUnit.NANOSECONDS.toMillis(nanos), filas, huella);
+            acumular(huella, nanos, filas);
+        }
+    }
+    
+    /**
+     * Empieza a capturar las sentencias del hilo actual (hasta cerrar la captura).
+     * Una captura anidada sustituye a la exterior mientras está abierta.
+     */
+    public CapturaConsultas capturar() {
+        CapturaConsultas anterior = capturas.get();
+        CapturaConsultas captura = new CapturaConsultas(() -> {
+            if (anterior == null) {
+                capturas.remove();
+            } else {
+                capturas.set(anterior);
+            }
+        });
+        capturas.set(captura);
+        return captura;
+    }
+    
+    /**
+     * Consultas lentas desde el arranque, de mayor a menor tiempo total
+     */
+    public List<ConsultaLenta> lentas() {
+        List<ConsultaLenta> resultado = new ArrayList<>(lentas.size());
+        lentas.forEach((huella, acumulado) -> resultado.add(new ConsultaLenta(
+                huella,
+                acumulado.ejecuciones.sum(),
+                TimeUnit.NANOSECONDS.toMillis(acumulado.nanosTotales.sum()),
+                TimeUnit.NANOSECONDS.toMillis(acumulado.nanosMaximos.get()),
+                acumulado.filasMaximas.get())));
+        resultado.sort(Comparator.comparingLong(ConsultaLenta::milisTotales).reversed());
+        return resultado;
+    }
+    
+    private void acumular(String huella, long nanos, long filas) {
+        Acumulado acumulado = lentas.get(huella);
+        if (acumulado == null) {
+            if (lentas.size() >= propiedades.maxHuellas()) {
+                return;
+            }
+            acumulado = lentas.computeIfAbsent(huella, h -> new Acumulado());
+        }
+        acumulado.ejecuciones.increment();
+        acumulado.nanosTotales.add(nanos);
+        acumulado.nanosMaximos.accumulateAndGet(nanos, Math::max);
+        acumulado.filasMaximas.accumulateAndGet(filas, Math::max);
+    }
+}
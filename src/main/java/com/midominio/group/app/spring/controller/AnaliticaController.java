@@ -0,0 +1,52 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.analitica.Granularidad;
+import com.midominio.group.app.spring.dto.EstadisticaTematicaResponse;
+import com.midominio.group.app.spring.dto.PuntoSerieResponse;
+import com.midominio.group.app.spring.service.AnaliticaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Controller REST de estadísticas de calificación para instructores.
+ * Sin lógica de negocio: delega en AnaliticaService (lee solo rollups pre-agregados).
+ * 
+ * Endpoints:
+ * - GET /api/analitica/tematicas?desde=...&hasta=...                          -> precisión, volumen y dificultad por temática × tipo
+ * - GET /api/analitica/serie?tematica=Java&tipo=...&granularidad=HORA&desde=... -> serie temporal
+ * 
+ * Fechas en formato ISO (2025-01-31T10:00:00). Por defecto, los últimos 7 días.
+ */
+@Lazy
+@RestController
+@RequestMapping("/api/analitica")
+public class AnaliticaController {
+    
+    @Autowired
+    private AnaliticaService service;
+    
+    @GetMapping("/tematicas")
+    public List<EstadisticaTematicaResponse> estadisticasPorTematica(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        return service.estadisticasPorTematica(desde, hasta);
+    }
+    
+    @GetMapping("/serie")
+    public List<PuntoSerieResponse> serie(
+            @RequestParam(required = false) String tematica,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) Granularidad granularidad,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        return service.serie(tematica, tipo, granularidad, desde, hasta);
+    }
+}
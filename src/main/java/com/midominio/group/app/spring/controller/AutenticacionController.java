@@ -0,0 +1,47 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.TokenResponse;
+import com.midominio.group.app.spring.seguridad.FirmaTokens;
+import com.midominio.group.app.spring.seguridad.TokenProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Controller REST de emisión de tokens de acceso.
+ * 
+ * Endpoints:
+ * - POST /api/auth/token (HTTP Basic) -> token firmado para usar como Authorization: Bearer
+ *   (solo con contraseña: con un Bearer la petición no llega aquí, SecurityConfig responde 403)
+ * 
+ * Las credenciales (y su hash) se comprueban una sola vez al pedir el token;
+ * el resto de peticiones solo verifican la firma del token.
+ */
+@RestController
+@RequestMapping("/api/auth")
+public class AutenticacionController {
+    
+    private static final String TIPO_TOKEN = "Bearer";
+    
+    @Autowired
+    private FirmaTokens firmaTokens;
+    
+    @Autowired
+    private TokenProperties propiedades;
+    
+    @PostMapping("/token")
+    public TokenResponse emitirToken(Authentication autenticacion) {
+        long duracion = propiedades.duracion().toSeconds();
+        List<String> roles = autenticacion.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .toList();
+        String token = firmaTokens.emitir(autenticacion.getName(), roles, Instant.now().getEpochSecond() + duracion);
+        return new TokenResponse(token, TIPO_TOKEN, duracion);
+    }
+}
@@ -0,0 +1,42 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.autocompletado.IndiceAutocompletado;
+import com.midominio.group.app.spring.autocompletado.TriePrefijos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller REST de autocompletado (typeahead) de temáticas y enunciados.
+ * Sin lógica de negocio: delega en IndiceAutocompletado, que responde desde memoria.
+ * 
+ * Endpoints:
+ * - GET /api/autocompletado/tematicas?prefijo=pro&limite=10  -> temáticas más usadas con ese prefijo
+ * - GET /api/autocompletado/enunciados?prefijo=her&limite=10 -> palabras iniciales de enunciados con ese prefijo
+ * 
+ * Cada sugerencia lleva su texto y el número de preguntas que lo usan.
+ * Los errores se convierten en respuestas HTTP en GlobalExceptionHandler.
+ */
+@RestController
+@RequestMapping("/api/autocompletado")
+public class AutocompletadoController {
+    
+    @Autowired
+    private IndiceAutocompletado indice;
+    
+    @GetMapping("/tematicas")
+    public List<TriePrefijos.Completado> tematicas(@RequestParam String prefijo,
+            @RequestParam(required = false) Integer limite) {
+        return indice.completarTematicas(prefijo, limite);
+    }
+    
+    @GetMapping("/enunciados")
+    public List<TriePrefijos.Completado> enunciados(@RequestParam String prefijo,
+            @RequestParam(required = false) Integer limite) {
+        return indice.completarEnunciados(prefijo, limite);
+    }
+}
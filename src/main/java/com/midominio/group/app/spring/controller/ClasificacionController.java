@@ -0,0 +1,40 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.PosicionClasificacionResponse;
+import com.midominio.group.app.spring.service.ClasificacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller REST de clasificaciones de alumnos (por temática y general).
+ * Sin lógica de negocio: delega en ClasificacionService.
+ * 
+ * Endpoints:
+ * - GET /api/clasificaciones?tematica=Java&desde=1&cantidad=10  -> top-k o un tramo (sin tematica: general)
+ * - GET /api/clasificaciones/posicion?tematica=Java            -> posición del usuario autenticado
+ */
+@RestController
+@RequestMapping("/api/clasificaciones")
+public class ClasificacionController {
+    
+    @Autowired
+    private ClasificacionService service;
+    
+    @GetMapping
+    public List<PosicionClasificacionResponse> rango(
+            @RequestParam(required = false) String tematica,
+            @RequestParam(defaultValue = "1") Integer desde,
+            @RequestParam(defaultValue = "10") Integer cantidad) {
+        return service.rango(tematica, desde, cantidad);
+    }
+    
+    @GetMapping("/posicion")
+    public PosicionClasificacionResponse posicion(@RequestParam(required = false) String tematica) {
+        return service.posicion(tematica);
+    }
+}
@@ -0,0 +1,30 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.coalescencia.CoalescedorLecturas;
+import com.midominio.group.app.spring.coalescencia.MetricasCoalescencia;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST de métricas de la coalescencia de lecturas.
+ * Sin lógica de negocio: delega en CoalescedorLecturas.
+ * 
+ * Endpoints:
+ * - GET /api/coalescencia -> cargas, consultas ahorradas, errores y claves en curso
+ */
+@Lazy
+@RestController
+@RequestMapping("/api/coalescencia")
+public class CoalescenciaController {
+    
+    @Autowired
+    private CoalescedorLecturas coalescedor;
+    
+    @GetMapping
+    public MetricasCoalescencia metricas() {
+        return coalescedor.metricas();
+    }
+}
@@ -0,0 +1,32 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.compartimentos.MetricasCompartimento;
+import com.midominio.group.app.spring.compartimentos.PlanificadorCompartimentos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller REST de métricas de los compartimentos por clase de carga.
+ * Sin lógica de negocio: delega en PlanificadorCompartimentos.
+ * 
+ * Endpoints:
+ * - GET /api/compartimentos -> en curso, en cola, conexiones, admitidas y rechazos por clase
+ */
+@Lazy
+@RestController
+@RequestMapping("/api/compartimentos")
+public class CompartimentoController {
+    
+    @Autowired
+    private PlanificadorCompartimentos planificador;
+    
+    @GetMapping
+    public List<MetricasCompartimento> metricas() {
+        return planificador.metricas();
+    }
+}
@@ -0,0 +1,32 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.consultas.ConsultaLenta;
+import com.midominio.group.app.spring.consultas.MedidorConsultas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller REST del log de consultas lentas.
+ * Sin lógica de negocio: delega en MedidorConsultas.
+ * 
+ * Endpoints:
+ * - GET /api/consultas/lentas -> consultas por encima de app.consultas.umbral-lenta, agrupadas por huella
+ */
+@Lazy
+@RestController
+@RequestMapping("/api/consultas")
+public class ConsultaController {
+    
+    @Autowired
+    private MedidorConsultas medidor;
+    
+    @GetMapping("/lentas")
+    public List<ConsultaLenta> lentas() {
+        return medidor.lentas();
+    }
+}
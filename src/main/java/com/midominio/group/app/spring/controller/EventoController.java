@@ -0,0 +1,32 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.PaginaEventosResponse;
+import com.midominio.group.app.spring.service.EventoRespuestaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST de lectura del log de eventos de respuestas (auditoría).
+ * Sin lógica de negocio: delega en EventoRespuestaService.
+ * 
+ * Endpoints:
+ * - GET /api/eventos/respuestas?desde=0&limite=1000 -> bloque de eventos y secuencia siguiente
+ */
+@Lazy
+@RestController
+@RequestMapping("/api/eventos")
+public class EventoController {
+    
+    @Autowired
+    private EventoRespuestaService service;
+    
+    @GetMapping("/respuestas")
+    public PaginaEventosResponse leer(@RequestParam(defaultValue = "0") long desde,
+                                      @RequestParam(defaultValue = "1000") int limite) {
+        return service.leer(desde, limite);
+    }
+}
@@ -0,0 +1,59 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.ExamenCronometradoResponse;
+import com.midominio.group.app.spring.dto.RespuestaVerdaderoFalsoRequest;
+import com.midominio.group.app.spring.service.ExamenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST de exámenes cronometrados (preguntas Verdadero/Falso) del usuario autenticado.
+ * Sin lógica de negocio: delega en ExamenService.
+ * 
+ * Endpoints:
+ * - POST /api/examenes?cantidad=20&minutos=30                        -> iniciar
+ * - GET  /api/examenes/{id}                                          -> consultar (y ver la nota)
+ * - PUT  /api/examenes/{id}/respuestas/{idPregunta} {"respuesta": true} -> responder (409 sin tiempo)
+ * - POST /api/examenes/{id}/entregar                                 -> entregar y calificar
+ * 
+ * Al acabarse el tiempo el examen se entrega y se califica solo (ver TemporizadorExamenes).
+ */
+@RestController
+@RequestMapping("/api/examenes")
+public class ExamenController {
+    
+    @Autowired
+    private ExamenService service;
+    
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ExamenCronometradoResponse iniciar(@RequestParam(defaultValue = "10") Integer cantidad,
+            @RequestParam Integer minutos) {
+        return service.iniciar(cantidad, minutos);
+    }
+    
+    @GetMapping("/{id}")
+    public ExamenCronometradoResponse obtener(@PathVariable Long id) {
+        return service.obtener(id);
+    }
+    
+    @PutMapping("/{id}/respuestas/{idPregunta}")
+    public ExamenCronometradoResponse responder(@PathVariable Long id, @PathVariable Long idPregunta,
+            @RequestBody RespuestaVerdaderoFalsoRequest respuesta) {
+        return service.responder(id, idPregunta, respuesta.respuesta());
+    }
+    
+    @PostMapping("/{id}/entregar")
+    public ExamenCronometradoResponse entregar(@PathVariable Long id) {
+        return service.entregar(id);
+    }
+}
@@ -0,0 +1,68 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.AdjuntoResponse;
+import com.midominio.group.app.spring.multimedia.ServidorMultimedia;
+import com.midominio.group.app.spring.service.AdjuntoService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controller REST de imágenes y diagramas de las preguntas.
+ * Sin lógica de negocio: delega en AdjuntoService y ServidorMultimedia.
+ * 
+ * Endpoints:
+ * - POST   /api/preguntas/{id}/adjuntos (multipart, campo "fichero") -> adjuntar
+ * - GET    /api/preguntas/{id}/adjuntos                              -> listar adjuntos
+ * - DELETE /api/preguntas/{id}/adjuntos/{adjuntoId}                  -> desvincular
+ * - GET    /api/multimedia/{hash}                                    -> contenido (ETag, Range, caché inmutable)
+ */
+@RestController
+@RequestMapping("/api")
+public class MultimediaController {
+    
+    // Proxy perezoso: AdjuntoService (y PreguntaService, que usa) se crea en la primera petición de adjuntos,
+    // no al arrancar; GET /api/multimedia/{hash} solo necesita ServidorMultimedia
+    @Lazy
+    @Autowired
+    private AdjuntoService service;
+    
+    @Autowired
+    private ServidorMultimedia servidor;
+    
+    @PostMapping("/preguntas/{id}/adjuntos")
+    @ResponseStatus(HttpStatus.CREATED)
+    public AdjuntoResponse adjuntar(@PathVariable Long id, @RequestParam("fichero") MultipartFile fichero) {
+        return service.adjuntar(id, fichero);
+    }
+    
+    @GetMapping("/preguntas/{id}/adjuntos")
+    public List<AdjuntoResponse> listar(@PathVariable Long id) {
+        return service.listar(id);
+    }
+    
+    @DeleteMapping("/preguntas/{id}/adjuntos/{adjuntoId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void eliminar(@PathVariable Long id, @PathVariable Long adjuntoId) {
+        service.eliminar(id, adjuntoId);
+    }
+    
+    @GetMapping("/multimedia/{hash}")
+    public void servir(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        servidor.servir(hash, request, response);
+    }
+}
@@ -0,0 +1,41 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.RespuestaVerdaderoFalsoRequest;
+import com.midominio.group.app.spring.dto.ResultadoValidacionResponse;
+import com.midominio.group.app.spring.dto.SiguientePracticaResponse;
+import com.midominio.group.app.spring.service.PracticaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST del modo práctica (repaso espaciado de preguntas Verdadero/Falso) del usuario autenticado.
+ * Sin lógica de negocio: delega en PracticaService.
+ * 
+ * Endpoints:
+ * - GET  /api/practica/siguiente?tematica=Java                                 -> siguiente pregunta
+ * - POST /api/practica/{idPregunta}/validar?tematica=Java {"respuesta": true}  -> responder y reprogramar
+ */
+@RestController
+@RequestMapping("/api/practica")
+public class PracticaController {
+    
+    @Autowired
+    private PracticaService service;
+    
+    @GetMapping("/siguiente")
+    public SiguientePracticaResponse siguiente(@RequestParam String tematica) {
+        return service.siguiente(tematica);
+    }
+    
+    @PostMapping("/{idPregunta}/validar")
+    public ResultadoValidacionResponse validar(@PathVariable Long idPregunta, @RequestParam String tematica,
+            @RequestBody RespuestaVerdaderoFalsoRequest respuesta) {
+        return service.responder(tematica, idPregunta, respuesta.respuesta());
+    }
+}
@@ -0,0 +1,137 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.LotePreguntasRequest;
+import com.midominio.group.app.spring.dto.LotePreguntasResponse;
+import com.midominio.group.app.spring.duplicados.IndiceLsh;
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.entity.Trabajo;
+import com.midominio.group.app.spring.service.PreguntaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Controller REST genérico para todas las preguntas (polimórfico).
+ * Sin lógica de negocio: delega en PreguntaService.
+ * 
+ * Endpoints:
+ * - GET    /api/preguntas?tematica=Java&activa=true&page=0&size=10 -> listar/filtrar
+ *          (también tipo=SeleccionUnica, desde/hasta=2025-01-01T00:00:00
+ *          y campos=enunciado,tematica para recibir solo esos campos)
+ * - GET    /api/preguntas/contar?tematica=Java&activa=true           -> contar con los mismos filtros
+ * - GET    /api/preguntas/tipo/{tipo}                               -> filtrar por tipo
+ * - GET    /api/preguntas/tematicas                                 -> temáticas disponibles
+ * - GET    /api/preguntas/duplicados                                -> clusters de casi duplicados
+ * - GET    /api/preguntas/duplicados/similares?enunciado=...        -> casi duplicados de un texto
+ * - GET    /api/preguntas/{id}                                      -> obtener por ID
+ * - POST   /api/preguntas/lote  {"ids": [...], "versiones": {...}}    -> obtener varias por ID (solo lectura)
+ * - PATCH  /api/preguntas/{id}/estado?activa=false                  -> activar/desactivar
+ * - DELETE /api/preguntas/{id}                                      -> eliminar
+ * - POST   /api/preguntas/archivar                                  -> archivar inactivas antiguas (202, trabajo)
+ * - POST   /api/preguntas/estado-masivo?tematica=Java&activa=false  -> activar/desactivar en bloque (202, trabajo)
+ * 
+ * Las respuestas pueden pedirse en JSON, CBOR o Smile con la cabecera Accept
+ * (application/json, application/cbor, application/x-jackson-smile).
+ */
+@Lazy
+@RestController
+@RequestMapping("/api/preguntas")
+public class PreguntaController {
+    
+    @Autowired
+    private PreguntaService service;
+    
+    @GetMapping
+    public PagedModel<?> listar(
+            @RequestParam(required = false) String tematica,
+            @RequestParam(required = false) Boolean activa,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) String campos,
+            Pageable pageable) {
+        if (campos != null) {
+            return new PagedModel<>(service.filtrarCampos(tematica, activa, tipo, desde, hasta, campos, pageable));
+        }
+        return new PagedModel<>(service.filtrar(tematica, activa, tipo, desde, hasta, pageable));
+    }
+    
+    @GetMapping("/contar")
+    public long contar(
+            @RequestParam(required = false) String tematica,
+            @RequestParam(required = false) Boolean activa,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        return service.contar(tematica, activa, tipo, desde, hasta);
+    }
+    
+    @GetMapping("/tipo/{tipo}")
+    public PagedModel<Pregunta> filtrarPorTipo(@PathVariable String tipo, Pageable pageable) {
+        return new PagedModel<>(service.filtrarPorTipo(tipo, pageable));
+    }
+    
+    @GetMapping("/tematicas")
+    public List<String> obtenerTematicas() {
+        return service.obtenerTematicasDisponibles();
+    }
+    
+    @GetMapping("/duplicados")
+    public List<List<Long>> informeDuplicados() {
+        return service.informeDuplicados();
+    }
+    
+    @GetMapping("/duplicados/similares")
+    public List<IndiceLsh.Similar> buscarCasiDuplicados(@RequestParam String enunciado) {
+        return service.buscarCasiDuplicados(enunciado);
+    }
+    
+    @GetMapping("/{id}")
+    public Pregunta obtenerPorId(@PathVariable Long id) {
+        return service.obtenerPorId(id);
+    }
+    
+    @PostMapping("/lote")
+    public LotePreguntasResponse obtenerLote(@RequestBody LotePreguntasRequest peticion) {
+        return service.obtenerLote(peticion.ids(), peticion.versiones());
+    }
+    
+    @PatchMapping("/{id}/estado")
+    public Pregunta cambiarEstado(@PathVariable Long id, @RequestParam Boolean activa) {
+        return service.cambiarEstado(id, activa);
+    }
+    
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void eliminar(@PathVariable Long id) {
+        service.eliminar(id);
+    }
+    
+    @PostMapping("/archivar")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Trabajo archivarInactivas() {
+        return service.archivarInactivas();
+    }
+    
+    @PostMapping("/estado-masivo")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Trabajo cambiarEstadoMasivo(@RequestParam(required = false) String tematica, @RequestParam Boolean activa) {
+        return service.cambiarEstadoMasivo(tematica, activa);
+    }
+}
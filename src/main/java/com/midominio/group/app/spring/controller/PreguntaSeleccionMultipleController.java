@@ -0,0 +1,66 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.ActualizacionSeleccionRequest;
+import com.midominio.group.app.spring.dto.RespuestaSeleccionMultipleRequest;
+import com.midominio.group.app.spring.dto.ResultadoPuntuacionResponse;
+import com.midominio.group.app.spring.entity.PreguntaSeleccionMultiple;
+import com.midominio.group.app.spring.service.PreguntaSeleccionMultipleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para operaciones específicas de preguntas de Selección Múltiple.
+ * Sin lógica de negocio: delega todas las validaciones en PreguntaSeleccionMultipleService.
+ * 
+ * Endpoints:
+ * - POST /api/preguntas/seleccion-multiple              -> crear
+ * - GET  /api/preguntas/seleccion-multiple/{id}         -> obtener por ID
+ * - PUT  /api/preguntas/seleccion-multiple/{id}         -> actualizar
+ * - PATCH /api/preguntas/seleccion-multiple/{id}        -> actualización parcial (con versión, 409 si hay conflicto)
+ * - POST /api/preguntas/seleccion-multiple/{id}/validar -> validar respuesta con puntuación parcial
+ */
+@RestController
+@RequestMapping("/api/preguntas/seleccion-multiple")
+public class PreguntaSeleccionMultipleController {
+    
+    @Autowired
+    private PreguntaSeleccionMultipleService service;
+    
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public PreguntaSeleccionMultiple crear(@RequestBody PreguntaSeleccionMultiple pregunta) {
+        return service.crear(pregunta);
+    }
+    
+    @GetMapping("/{id}")
+    public PreguntaSeleccionMultiple obtenerPorId(@PathVariable Long id) {
+        return service.obtenerPorId(id);
+    }
+    
+    @PutMapping("/{id}")
+    public PreguntaSeleccionMultiple actualizar(@PathVariable Long id, @RequestBody PreguntaSeleccionMultiple pregunta) {
+        return service.actualizar(id, pregunta);
+    }
+    
+    @PatchMapping("/{id}")
+    public PreguntaSeleccionMultiple actualizarParcial(@PathVariable Long id, @RequestBody ActualizacionSeleccionRequest cambios) {
+        return service.actualizarParcial(id, cambios);
+    }
+    
+    @PostMapping("/{id}/validar")
+    public ResultadoPuntuacionResponse validarRespuesta(@PathVariable Long id,
+            @RequestBody RespuestaSeleccionMultipleRequest request) {
+        // Una puntuación de 1.0 equivale a respuesta exacta: una sola consulta
+        double puntuacion = service.calcularPuntuacion(id, request.opciones());
+        return new ResultadoPuntuacionResponse(id, puntuacion == 1.0, puntuacion);
+    }
+}
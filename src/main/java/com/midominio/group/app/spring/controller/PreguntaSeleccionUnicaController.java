@@ -0,0 +1,65 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.ActualizacionSeleccionRequest;
+import com.midominio.group.app.spring.dto.RespuestaSeleccionUnicaRequest;
+import com.midominio.group.app.spring.dto.ResultadoValidacionResponse;
+import com.midominio.group.app.spring.entity.PreguntaSeleccionUnica;
+import com.midominio.group.app.spring.service.PreguntaSeleccionUnicaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para operaciones específicas de preguntas de Selección Única.
+ * Sin lógica de negocio: delega todas las validaciones en PreguntaSeleccionUnicaService.
+ * 
+ * Endpoints:
+ * - POST /api/preguntas/seleccion-unica              -> crear
+ * - GET  /api/preguntas/seleccion-unica/{id}         -> obtener por ID
+ * - PUT  /api/preguntas/seleccion-unica/{id}         -> actualizar
+ * - PATCH /api/preguntas/seleccion-unica/{id}        -> actualización parcial (con versión, 409 si hay conflicto)
+ * - POST /api/preguntas/seleccion-unica/{id}/validar -> validar respuesta
+ */
+@RestController
+@RequestMapping("/api/preguntas/seleccion-unica")
+public class PreguntaSeleccionUnicaController {
+    
+    @Autowired
+    private PreguntaSeleccionUnicaService service;
+    
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public PreguntaSeleccionUnica crear(@RequestBody PreguntaSeleccionUnica pregunta) {
+        return service.crear(pregunta);
+    }
+    
+    @GetMapping("/{id}")
+    public PreguntaSeleccionUnica obtenerPorId(@PathVariable Long id) {
+        return service.obtenerPorId(id);
+    }
+    
+    @PutMapping("/{id}")
+    public PreguntaSeleccionUnica actualizar(@PathVariable Long id, @RequestBody PreguntaSeleccionUnica pregunta) {
+        return service.actualizar(id, pregunta);
+    }
+    
+    @PatchMapping("/{id}")
+    public PreguntaSeleccionUnica actualizarParcial(@PathVariable Long id, @RequestBody ActualizacionSeleccionRequest cambios) {
+        return service.actualizarParcial(id, cambios);
+    }
+    
+    @PostMapping("/{id}/validar")
+    public ResultadoValidacionResponse validarRespuesta(@PathVariable Long id,
+            @RequestBody RespuestaSeleccionUnicaRequest request) {
+        boolean correcta = service.validarRespuesta(id, request.opcion());
+        return new ResultadoValidacionResponse(id, correcta);
+    }
+}
@@ -0,0 +1,78 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.ActualizacionVerdaderoFalsoRequest;
+import com.midominio.group.app.spring.dto.PreguntaTestResponse;
+import com.midominio.group.app.spring.dto.PreguntaVerdaderoFalsoResponse;
+import com.midominio.group.app.spring.dto.RespuestaVerdaderoFalsoRequest;
+import com.midominio.group.app.spring.dto.ResultadoValidacionResponse;
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.service.PreguntaVerdaderoFalsoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller REST para operaciones específicas de preguntas Verdadero/Falso.
+ * Sin lógica de negocio: delega todas las validaciones en PreguntaVerdaderoFalsoService.
+ * 
+ * Endpoints:
+ * - POST /api/preguntas/verdadero-falso              -> crear
+ * - GET  /api/preguntas/verdadero-falso/aleatorias   -> test aleatorio (?cantidad=10, sin respuestas)
+ * - GET  /api/preguntas/verdadero-falso/{id}         -> obtener por ID (sin respuesta correcta)
+ * - PUT  /api/preguntas/verdadero-falso/{id}         -> actualizar
+ * - PATCH /api/preguntas/verdadero-falso/{id}        -> actualización parcial (con versión, 409 si hay conflicto)
+ * - POST /api/preguntas/verdadero-falso/{id}/validar -> validar respuesta
+ * 
+ * Los errores se convierten en respuestas HTTP en GlobalExceptionHandler.
+ */
+@RestController
+@RequestMapping("/api/preguntas/verdadero-falso")
+public class PreguntaVerdaderoFalsoController {
+    
+    @Autowired
+    private PreguntaVerdaderoFalsoService service;
+    
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public PreguntaVerdaderoFalso crear(@RequestBody PreguntaVerdaderoFalso pregunta) {
+        return service.crear(pregunta);
+    }
+    
+    @GetMapping("/aleatorias")
+    public List<PreguntaTestResponse> generarTest(@RequestParam(defaultValue = "10") Integer cantidad) {
+        return service.generarTest(cantidad);
+    }
+    
+    @GetMapping("/{id}")
+    public PreguntaVerdaderoFalsoResponse obtenerPorId(@PathVariable Long id) {
+        return PreguntaVerdaderoFalsoResponse.de(service.obtenerPorId(id));
+    }
+    
+    @PutMapping("/{id}")
+    public PreguntaVerdaderoFalso actualizar(@PathVariable Long id, @RequestBody PreguntaVerdaderoFalso pregunta) {
+        return service.actualizar(id, pregunta);
+    }
+    
+    @PatchMapping("/{id}")
+    public PreguntaVerdaderoFalso actualizarParcial(@PathVariable Long id, @RequestBody ActualizacionVerdaderoFalsoRequest cambios) {
+        return service.actualizarParcial(id, cambios);
+    }
+    
+    @PostMapping("/{id}/validar")
+    public ResultadoValidacionResponse validarRespuesta(@PathVariable Long id,
+            @RequestBody RespuestaVerdaderoFalsoRequest request) {
+        boolean correcta = service.validarRespuesta(id, request.respuesta());
+        return new ResultadoValidacionResponse(id, correcta);
+    }
+}
@@ -0,0 +1,50 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.dto.RecalificacionRequest;
+import com.midominio.group.app.spring.recalificacion.TrabajoRecalificacion;
+import com.midominio.group.app.spring.service.RecalificacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para la recalificación masiva de entregas archivadas.
+ * Sin lógica de negocio: delega en RecalificacionService.
+ * 
+ * Endpoints:
+ * - POST   /api/recalificaciones       -> iniciar (HTTP 202, devuelve el trabajo)
+ * - GET    /api/recalificaciones/{id}  -> progreso y estado
+ * - DELETE /api/recalificaciones/{id}  -> cancelar
+ */
+@Lazy
+@RestController
+@RequestMapping("/api/recalificaciones")
+public class RecalificacionController {
+    
+    @Autowired
+    private RecalificacionService service;
+    
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public TrabajoRecalificacion iniciar(@RequestBody RecalificacionRequest request) {
+        return service.iniciar(request.archivo());
+    }
+    
+    @GetMapping("/{id}")
+    public TrabajoRecalificacion obtenerEstado(@PathVariable String id) {
+        return service.obtenerEstado(id);
+    }
+    
+    @DeleteMapping("/{id}")
+    public TrabajoRecalificacion cancelar(@PathVariable String id) {
+        return service.cancelar(id);
+    }
+}
@@ -0,0 +1,48 @@
+package com.midominio.group.app.spring.controller;
+
+import com.midominio.group.app.spring.entity.EstadoTrabajo;
+import com.midominio.group.app.spring.entity.Trabajo;
+import com.midominio.group.app.spring.service.TrabajoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST de trabajos en segundo plano (operaciones masivas).
+ * Sin lógica de negocio: delega en TrabajoService.
+ * 
+ * Endpoints:
+ * - GET    /api/trabajos?estado=EN_CURSO&page=0&size=20 -> listar (más recientes primero)
+ * - GET    /api/trabajos/{id}                           -> estado y progreso (sondeo)
+ * - DELETE /api/trabajos/{id}                           -> cancelar
+ */
+@Lazy
+@RestController
+@RequestMapping("/api/trabajos")
+public class TrabajoController {
+    
+    @Autowired
+    private TrabajoService service;
+    
+    @GetMapping
+    public PagedModel<Trabajo> listar(@RequestParam(required = false) EstadoTrabajo estado, Pageable pageable) {
+        return new PagedModel<>(service.listar(estado, pageable));
+    }
+    
+    @GetMapping("/{id}")
+    public Trabajo obtenerEstado(@PathVariable String id) {
+        return service.obtenerEstado(id);
+    }
+    
+    @DeleteMapping("/{id}")
+    public Trabajo cancelar(@PathVariable String id) {
+        return service.cancelar(id);
+    }
+}
@@ -0,0 +1,29 @@
+package com.midominio.group.app.spring.dto;
+
+import java.util.List;
+
+/**
+ * DTO de entrada para la actualización parcial (PATCH) de una pregunta de selección.
+ * Los campos nulos no se modifican.
+ * 
+ * Usado en:
+ * - API REST PATCH /api/preguntas/seleccion-unica/{id}
+ * - API REST PATCH /api/preguntas/seleccion-multiple/{id}
+ * 
+ * @param version versión de la pregunta leída por el cliente (obligatoria, bloqueo optimista)
+ * @param enunciado nuevo enunciado
+ * @param tematica nueva temática
+ * @param activa nuevo estado
+ * @param opciones nuevas opciones (la máscara se valida contra ellas)
+ * @param mascaraCorrecta nueva máscara de opciones correctas
+ * @param explicacion nueva explicación
+ */
+public record ActualizacionSeleccionRequest(
+        Long version,
+        String enunciado,
+        String tematica,
+        Boolean activa,
+        List<String> opciones,
+        Long mascaraCorrecta,
+        String explicacion) {
+}
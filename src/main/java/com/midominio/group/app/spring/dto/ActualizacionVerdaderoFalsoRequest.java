@@ -0,0 +1,24 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de entrada para la actualización parcial (PATCH) de una pregunta Verdadero/Falso.
+ * Los campos nulos no se modifican.
+ * 
+ * Usado en:
+ * - API REST PATCH /api/preguntas/verdadero-falso/{id}
+ * 
+ * @param version versión de la pregunta leída por el cliente (obligatoria, bloqueo optimista)
+ * @param enunciado nuevo enunciado
+ * @param tematica nueva temática
+ * @param activa nuevo estado
+ * @param respuestaCorrecta nueva respuesta correcta
+ * @param explicacion nueva explicación
+ */
+public record ActualizacionVerdaderoFalsoRequest(
+        Long version,
+        String enunciado,
+        String tematica,
+        Boolean activa,
+        Boolean respuestaCorrecta,
+        String explicacion) {
+}
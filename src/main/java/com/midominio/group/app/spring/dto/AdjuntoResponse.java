@@ -0,0 +1,37 @@
+package com.midominio.group.app.spring.dto;
+
+import com.midominio.group.app.spring.entity.AdjuntoPregunta;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de salida con un adjunto multimedia de una pregunta.
+ * 
+ * Usado en:
+ * - API REST /api/preguntas/{id}/adjuntos
+ * 
+ * @param id identificador del adjunto
+ * @param preguntaId pregunta a la que pertenece
+ * @param hash SHA-256 del contenido (también su ETag)
+ * @param url dirección desde la que se sirve el contenido
+ * @param tipoMime tipo MIME
+ * @param nombreOriginal nombre del fichero subido
+ * @param longitud tamaño en bytes
+ * @param fechaCreacion fecha de alta
+ */
+public record AdjuntoResponse(
+        Long id,
+        Long preguntaId,
+        String hash,
+        String url,
+        String tipoMime,
+        String nombreOriginal,
+        long longitud,
+        LocalDateTime fechaCreacion) {
+    
+    public static AdjuntoResponse de(AdjuntoPregunta adjunto) {
+        return new AdjuntoResponse(adjunto.getId(), adjunto.getPreguntaId(), adjunto.getHash(),
+                "/api/multimedia/" + adjunto.getHash(), adjunto.getTipoMime(), adjunto.getNombreOriginal(),
+                adjunto.getLongitud(), adjunto.getFechaCreacion());
+    }
+}
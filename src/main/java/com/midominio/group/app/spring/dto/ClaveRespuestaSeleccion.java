@@ -0,0 +1,19 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * Proyección con lo mínimo necesario para corregir una pregunta de selección:
+ * estado, temática (para las estadísticas), número de opciones y máscara de respuestas correctas.
+ * 
+ * Usado en:
+ * - PreguntaSeleccionUnicaRepository / PreguntaSeleccionMultipleRepository (findClaveRespuesta)
+ * - Services de selección para corregir sin cargar la entidad ni sus opciones
+ * 
+ * @param id ID de la pregunta
+ * @param activa estado de la pregunta
+ * @param tematica temática de la pregunta
+ * @param numeroOpciones número de opciones de la pregunta
+ * @param mascaraCorrecta máscara de bits de las opciones correctas
+ */
+public record ClaveRespuestaSeleccion(Long id, Boolean activa, String tematica, Integer numeroOpciones,
+        Long mascaraCorrecta) {
+}
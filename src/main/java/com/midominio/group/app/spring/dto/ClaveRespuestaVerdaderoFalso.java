@@ -0,0 +1,14 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * Proyección con la clave de respuesta de una pregunta Verdadero/Falso.
+ * 
+ * Usado en:
+ * - PreguntaVerdaderoFalsoRepository.findAllClaves (carga de claves para recalificación)
+ * - PreguntaVerdaderoFalsoRepository.findClaves (entrega de exámenes cronometrados)
+ * 
+ * @param id ID de la pregunta
+ * @param respuestaCorrecta respuesta correcta (true = verdadero)
+ */
+public record ClaveRespuestaVerdaderoFalso(Long id, Boolean respuestaCorrecta) {
+}
@@ -0,0 +1,14 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * Proyección con el id y el enunciado de una pregunta.
+ * 
+ * Usado en:
+ * - PreguntaRepository.findEnunciadosDesde (reconstrucción del índice de duplicados)
+ * - PreguntaRepository.findEnunciados (preguntas de un examen cronometrado)
+ * 
+ * @param id ID de la pregunta
+ * @param enunciado enunciado de la pregunta
+ */
+public record EnunciadoPregunta(Long id, String enunciado) {
+}
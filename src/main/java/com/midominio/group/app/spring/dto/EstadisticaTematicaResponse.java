@@ -0,0 +1,33 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de salida con las estadísticas agregadas de una temática y tipo de pregunta.
+ * 
+ * Usado en:
+ * - API REST GET /api/analitica/tematicas
+ * 
+ * @param tematica temática de las preguntas
+ * @param tipoPregunta tipo de pregunta (VERDADERO_FALSO, SELECCION_UNICA, SELECCION_MULTIPLE)
+ * @param intentos número de respuestas calificadas
+ * @param aciertos número de respuestas exactas
+ * @param precision aciertos / intentos
+ * @param puntuacionMedia puntuación media entre 0.0 y 1.0 (incluye puntuación parcial)
+ * @param dificultad 1 - puntuacionMedia
+ */
+public record EstadisticaTematicaResponse(
+        String tematica,
+        String tipoPregunta,
+        long intentos,
+        long aciertos,
+        double precision,
+        double puntuacionMedia,
+        double dificultad) {
+    
+    public static EstadisticaTematicaResponse de(String tematica, String tipoPregunta,
+            long intentos, long aciertos, long puntosMilesimas) {
+        double precision = intentos == 0 ? 0.0 : (double) aciertos / intentos;
+        double media = intentos == 0 ? 0.0 : puntosMilesimas / 1000.0 / intentos;
+        return new EstadisticaTematicaResponse(tematica, tipoPregunta, intentos, aciertos,
+                precision, media, 1.0 - media);
+    }
+}
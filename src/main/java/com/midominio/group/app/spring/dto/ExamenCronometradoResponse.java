@@ -0,0 +1,29 @@
+package com.midominio.group.app.spring.dto;
+
+import com.midominio.group.app.spring.entity.EstadoExamen;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de salida con el estado de un examen cronometrado.
+ * No incluye las claves de respuesta: solo los enunciados de las preguntas.
+ * 
+ * Usado en:
+ * - API REST /api/examenes (iniciar, consultar, responder y entregar)
+ * 
+ * @param id ID del examen
+ * @param estado EN_CURSO, ENTREGADO o ENTREGADO_AUTOMATICAMENTE
+ * @param fechaInicio inicio del examen
+ * @param fechaLimite instante en que se entrega automáticamente
+ * @param fechaEntrega instante de la entrega (null si está en curso)
+ * @param preguntas id y enunciado de cada pregunta, en el orden del examen (solo al iniciar y al consultar)
+ * @param respuestas respuesta a cada pregunta, en el mismo orden (null = sin responder)
+ * @param correctas respuestas correctas (null si está en curso)
+ * @param total preguntas calificadas (null si está en curso)
+ * @param puntuacion puntuación obtenida (null si está en curso)
+ */
+public record ExamenCronometradoResponse(Long id, EstadoExamen estado, LocalDateTime fechaInicio,
+        LocalDateTime fechaLimite, LocalDateTime fechaEntrega, List<EnunciadoPregunta> preguntas,
+        List<Boolean> respuestas, Integer correctas, Integer total, Double puntuacion) {
+}
@@ -0,0 +1,15 @@
+package com.midominio.group.app.spring.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con el id y la fecha límite de un examen cronometrado en curso.
+ * 
+ * Usado en:
+ * - ExamenCronometradoRepository.findLimitesDesde (reprogramación de vencimientos al arrancar)
+ * 
+ * @param id ID del examen
+ * @param fechaLimite instante en que se entrega automáticamente
+ */
+public record LimiteExamen(Long id, LocalDateTime fechaLimite) {
+}
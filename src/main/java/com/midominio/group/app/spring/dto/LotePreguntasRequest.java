@@ -0,0 +1,17 @@
+package com.midominio.group.app.spring.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO de entrada para la lectura de varias preguntas en una sola petición.
+ * 
+ * Usado en:
+ * - API REST POST /api/preguntas/lote
+ * 
+ * @param ids IDs a leer (como mucho 500; los repetidos se devuelven una vez)
+ * @param versiones versión que el cliente ya tiene de algunas preguntas (opcional):
+ *                  si coincide con la actual, la pregunta no se reenvía
+ */
+public record LotePreguntasRequest(List<Long> ids, Map<Long, Long> versiones) {
+}
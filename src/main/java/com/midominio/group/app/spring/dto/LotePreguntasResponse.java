@@ -0,0 +1,18 @@
+package com.midominio.group.app.spring.dto;
+
+import com.midominio.group.app.spring.entity.Pregunta;
+
+import java.util.List;
+
+/**
+ * DTO de salida de la lectura por lotes. Las tres listas siguen el orden de la petición.
+ * 
+ * Usado en:
+ * - API REST POST /api/preguntas/lote
+ * 
+ * @param preguntas preguntas encontradas que el cliente no tiene o tiene en otra versión
+ * @param sinCambios IDs cuya versión coincide con la enviada (el cliente puede usar su copia)
+ * @param noEncontradas IDs que no existen (ni en las tablas calientes ni en el archivo)
+ */
+public record LotePreguntasResponse(List<Pregunta> preguntas, List<Long> sinCambios, List<Long> noEncontradas) {
+}
@@ -0,0 +1,18 @@
+package com.midominio.group.app.spring.dto;
+
+import com.midominio.group.app.spring.eventos.EventoRespuesta;
+
+import java.util.List;
+
+/**
+ * DTO de salida con un bloque del log de eventos de respuestas.
+ * 
+ * Usado en:
+ * - API REST GET /api/eventos/respuestas
+ * 
+ * @param eventos eventos leídos en orden de secuencia
+ * @param siguiente secuencia desde la que pedir el bloque siguiente
+ * @param durable secuencia hasta la que hay eventos disponibles (excluida)
+ */
+public record PaginaEventosResponse(List<EventoRespuesta> eventos, long siguiente, long durable) {
+}
@@ -0,0 +1,15 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de salida con la posición de un usuario en una clasificación.
+ * 
+ * Usado en:
+ * - API REST GET /api/clasificaciones?tematica=Java&desde=1&cantidad=10
+ * - API REST GET /api/clasificaciones/posicion?tematica=Java
+ * 
+ * @param posicion posición en la clasificación (1 = primero; a igualdad de puntos, por nombre de usuario)
+ * @param usuario nombre del usuario
+ * @param puntos suma de las puntuaciones de sus respuestas calificadas (1.0 por respuesta correcta)
+ */
+public record PosicionClasificacionResponse(int posicion, String usuario, double puntos) {
+}
@@ -0,0 +1,14 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de salida con una pregunta de un test, sin su respuesta correcta ni su explicación.
+ * 
+ * Usado en:
+ * - API REST GET /api/preguntas/verdadero-falso/aleatorias?cantidad=10
+ * 
+ * @param id ID de la pregunta (para validar la respuesta)
+ * @param enunciado enunciado de la pregunta
+ * @param tematica temática de la pregunta
+ */
+public record PreguntaTestResponse(Long id, String enunciado, String tematica) {
+}
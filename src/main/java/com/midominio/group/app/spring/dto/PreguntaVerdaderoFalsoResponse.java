@@ -0,0 +1,32 @@
+package com.midominio.group.app.spring.dto;
+
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de salida con una pregunta Verdadero/Falso, sin su respuesta correcta ni su explicación.
+ * 
+ * Usado en:
+ * - API REST GET /api/preguntas/verdadero-falso/{id}
+ * 
+ * @param id ID de la pregunta
+ * @param enunciado enunciado de la pregunta
+ * @param tematica temática de la pregunta
+ * @param activa si la pregunta está activa
+ * @param version versión actual (para PATCH con control de concurrencia)
+ * @param fechaCreacion fecha de alta
+ */
+public record PreguntaVerdaderoFalsoResponse(
+        Long id,
+        String enunciado,
+        String tematica,
+        Boolean activa,
+        Long version,
+        LocalDateTime fechaCreacion) {
+    
+    public static PreguntaVerdaderoFalsoResponse de(PreguntaVerdaderoFalso pregunta) {
+        return new PreguntaVerdaderoFalsoResponse(pregunta.getId(), pregunta.getEnunciado(), pregunta.getTematica(),
+                pregunta.getActiva(), pregunta.getVersion(), pregunta.getFechaCreacion());
+    }
+}
@@ -0,0 +1,29 @@
+package com.midominio.group.app.spring.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de salida con un punto de una serie temporal de estadísticas.
+ * 
+ * Usado en:
+ * - API REST GET /api/analitica/serie
+ * 
+ * @param inicio inicio del bucket (hora o día)
+ * @param intentos número de respuestas calificadas
+ * @param aciertos número de respuestas exactas
+ * @param precision aciertos / intentos
+ * @param puntuacionMedia puntuación media entre 0.0 y 1.0
+ */
+public record PuntoSerieResponse(
+        LocalDateTime inicio,
+        long intentos,
+        long aciertos,
+        double precision,
+        double puntuacionMedia) {
+    
+    public static PuntoSerieResponse de(LocalDateTime inicio, long intentos, long aciertos, long puntosMilesimas) {
+        double precision = intentos == 0 ? 0.0 : (double) aciertos / intentos;
+        double media = intentos == 0 ? 0.0 : puntosMilesimas / 1000.0 / intentos;
+        return new PuntoSerieResponse(inicio, intentos, aciertos, precision, media);
+    }
+}
@@ -0,0 +1,12 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de entrada para iniciar una recalificación masiva.
+ * 
+ * Usado en:
+ * - API REST POST /api/recalificaciones
+ * 
+ * @param archivo nombre del fichero de entregas dentro de app.recalificacion.directorio
+ */
+public record RecalificacionRequest(String archivo) {
+}
@@ -0,0 +1,14 @@
+package com.midominio.group.app.spring.dto;
+
+import java.util.List;
+
+/**
+ * DTO de entrada con la respuesta de un usuario a una pregunta de Selección Múltiple.
+ * 
+ * Usado en:
+ * - API REST POST /api/preguntas/seleccion-multiple/{id}/validar
+ * 
+ * @param opciones índices de las opciones elegidas
+ */
+public record RespuestaSeleccionMultipleRequest(List<Long> opciones) {
+}
@@ -0,0 +1,12 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de entrada con la respuesta de un usuario a una pregunta de Selección Única.
+ * 
+ * Usado en:
+ * - API REST POST /api/preguntas/seleccion-unica/{id}/validar
+ * 
+ * @param opcion índice de la opción elegida (0..numeroOpciones-1)
+ */
+public record RespuestaSeleccionUnicaRequest(Long opcion) {
+}
@@ -0,0 +1,14 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de entrada con la respuesta de un usuario a una pregunta Verdadero/Falso.
+ * 
+ * Usado en:
+ * - API REST POST /api/preguntas/verdadero-falso/{id}/validar
+ * - API REST PUT /api/examenes/{id}/respuestas/{idPregunta}
+ * - API REST POST /api/practica/{idPregunta}/validar
+ * 
+ * @param respuesta respuesta del usuario (true = verdadero, false = falso)
+ */
+public record RespuestaVerdaderoFalsoRequest(Boolean respuesta) {
+}
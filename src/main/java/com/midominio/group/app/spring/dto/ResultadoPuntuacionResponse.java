@@ -0,0 +1,14 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de salida con el resultado de validar una respuesta con puntuación parcial.
+ * 
+ * Usado en:
+ * - API REST POST /api/preguntas/seleccion-multiple/{id}/validar
+ * 
+ * @param idPregunta ID de la pregunta respondida
+ * @param correcta true si la respuesta es exacta
+ * @param puntuacion puntuación parcial entre 0.0 y 1.0
+ */
+public record ResultadoPuntuacionResponse(Long idPregunta, boolean correcta, double puntuacion) {
+}
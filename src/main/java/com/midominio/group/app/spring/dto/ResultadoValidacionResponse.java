@@ -0,0 +1,14 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de salida con el resultado de validar una respuesta.
+ * 
+ * Usado en:
+ * - API REST POST /api/preguntas/verdadero-falso/{id}/validar
+ * - API REST POST /api/practica/{idPregunta}/validar
+ * 
+ * @param idPregunta ID de la pregunta respondida
+ * @param correcta true si la respuesta es correcta
+ */
+public record ResultadoValidacionResponse(Long idPregunta, boolean correcta) {
+}
@@ -0,0 +1,19 @@
+package com.midominio.group.app.spring.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de salida con la siguiente pregunta del modo práctica.
+ * 
+ * Usado en:
+ * - API REST GET /api/practica/siguiente?tematica=Java
+ * 
+ * @param idPregunta ID de la pregunta Verdadero/Falso a responder
+ * @param enunciado enunciado de la pregunta
+ * @param nueva true si el usuario no la ha respondido nunca
+ * @param repasoPrevisto cuándo le tocaba repasarla (null si es nueva; posterior a ahora si
+ *                       ya ha visto todas y ninguna le toca todavía)
+ */
+public record SiguientePracticaResponse(Long idPregunta, String enunciado, boolean nueva,
+                                        LocalDateTime repasoPrevisto) {
+}
@@ -0,0 +1,13 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * Proyección con el id y la temática de una pregunta.
+ * 
+ * Usado en:
+ * - PreguntaRepository.findTematicas (clasificaciones por temática al calificar exámenes cronometrados)
+ * 
+ * @param id ID de la pregunta
+ * @param tematica temática de la pregunta
+ */
+public record TematicaPregunta(Long id, String tematica) {
+}
@@ -0,0 +1,14 @@
+package com.midominio.group.app.spring.dto;
+
+/**
+ * DTO de salida con un token de acceso a la API.
+ * 
+ * Usado en:
+ * - API REST POST /api/auth/token
+ * 
+ * @param token token para la cabecera Authorization: Bearer
+ * @param tipo siempre "Bearer"
+ * @param expiraEn segundos de validez
+ */
+public record TokenResponse(String token, String tipo, long expiraEn) {
+}
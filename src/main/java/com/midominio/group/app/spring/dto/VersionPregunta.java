@@ -0,0 +1,16 @@
+package com.midominio.group.app.spring.dto;
+
+import com.midominio.group.app.spring.entity.Pregunta;
+
+/**
+ * Proyección con el id, la versión y el tipo de una pregunta (solo tabla base, sin joins de subtipos).
+ * 
+ * Usado en:
+ * - PreguntaRepository.findVersiones (lectura por lotes con versiones condicionales)
+ * 
+ * @param id ID de la pregunta
+ * @param version versión actual (bloqueo optimista)
+ * @param tipo clase concreta de la pregunta (resuelta con la columna discriminadora)
+ */
+public record VersionPregunta(Long id, Long version, Class<? extends Pregunta> tipo) {
+}
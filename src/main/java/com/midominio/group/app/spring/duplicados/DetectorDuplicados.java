@@ -0,0 +1,175 @@
+package com.midominio.group.app.spring.duplicados;
+
+import com.midominio.group.app.spring.cambios.CacheLocalPreguntas;
+import com.midominio.group.app.spring.dto.EnunciadoPregunta;
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.repository.PreguntaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detección de enunciados casi duplicados con MinHash + LSH.
+ * 
+ * - Al arrancar recorre todas las preguntas y construye el índice en memoria
+ * - crear()/actualizar() de los services comprueban el enunciado antes de guardar
+ *   y lo registran en el índice tras el commit
+ * - informeClusters() agrupa las preguntas casi duplicadas ya existentes
+ * 
+ * Según app.duplicados.modo, un casi duplicado se rechaza (DatosInvalidosException -> HTTP 400),
+ * solo se avisa en el log, o no se comprueba.
+ * 
+ * Usado en:
+ * - AbstractPreguntaService (comprobarDuplicados, registrarEnunciado)
+ * - PreguntaService (eliminar, búsqueda de similares e informe)
+ * - InformeDuplicadosJob
+ * - SondeoCambios (como CacheLocalPreguntas: cambios hechos en otros nodos)
+ */
+@Component
+@EnableConfigurationProperties(DuplicadosProperties.class)
+public class DetectorDuplicados implements CacheLocalPreguntas {
+    
+    private static final Logger log = LoggerFactory.getLogger(DetectorDuplicados.class);
+    
+    private final IndiceLsh indice = new IndiceLsh();
+    
+    @Autowired
+    private DuplicadosProperties propiedades;
+    
+    @Autowired
+    private PreguntaRepository repository;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    /**
+     * Reconstruye el índice al arrancar, leyendo las preguntas por bloques de id (de todos los fragmentos)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        int tamanoBloque = propiedades.tamanoBloque();
+        fragmentos.recorrerPorId(
+                desdeId -> repository.findEnunciadosDesde(desdeId, PageRequest.of(0, tamanoBloque)),
+                tamanoBloque,
+                EnunciadoPregunta::id,
+                pregunta -> indice.indexar(pregunta.id(), MinHash.firma(pregunta.enunciado())));
+        
+        log.info("Índice de duplicados reconstruido: {} preguntas en {} ms",
+                indice.tamano(), (System.nanoTime() - inicio) / 1_000_000L);
+    }
+    
+    /**
+     * Comprueba si un enunciado es casi duplicado de otra pregunta y aplica el modo configurado
+     * 
+     * @param enunciado enunciado a comprobar
+     * @param idExcluido id de la propia pregunta al actualizar (null al crear)
+     * @throws DatosInvalidosException en modo RECHAZAR si hay un casi duplicado
+     */
+    public void comprobar(String enunciado, Long idExcluido) {
+        if (propiedades.modo() == DuplicadosProperties.Modo.DESACTIVADO) {
+            return;
+        }
+        
+        List<IndiceLsh.Similar> similares = buscarSimilares(enunciado, idExcluido);
+        if (similares.isEmpty()) {
+            return;
+        }
+        
+        IndiceLsh.Similar masParecida = similares.get(0);
+        String mensaje = String.format(
+                "El enunciado es casi idéntico al de la pregunta con ID %d (similitud %.0f%%)",
+                masParecida.id(), masParecida.similitud() * 100);
+        
+        if (propiedades.modo() == DuplicadosProperties.Modo.RECHAZAR) {
+            throw new DatosInvalidosException("enunciado", mensaje);
+        }
+        log.warn(mensaje);
+    }
+    
+    /**
+     * Busca preguntas con enunciado casi duplicado (por encima de app.duplicados.umbral)
+     * 
+     * @param enunciado enunciado a comprobar
+     * @param idExcluido id a ignorar, o null
+     * @return preguntas similares ordenadas de mayor a menor similitud
+     */
+    public List<IndiceLsh.Similar> buscarSimilares(String enunciado, Long idExcluido) {
+        return indice.buscarSimilares(MinHash.firma(enunciado), propiedades.umbral(),
+                idExcluido == null ? 0L : idExcluido);
+    }
+    
+    /**
+     * Registra (o actualiza) el enunciado de una pregunta en el índice.
+     * Dentro de una transacción, se aplica tras el commit para no indexar cambios revertidos.
+     */
+    public void registrar(Long id, String enunciado) {
+        int[] firma = MinHash.firma(enunciado);
+        trasCommit(() -> indice.indexar(id, firma));
+    }
+    
+    /**
+     * Elimina una pregunta del índice (tras el commit si hay transacción)
+     */
+    public void eliminar(Long id) {
+        trasCommit(() -> indice.eliminar(id));
+    }
+    
+    /**
+     * Agrupa las preguntas existentes en clusters de casi duplicados
+     * 
+     * @return clusters (listas de ids) de mayor a menor tamaño
+     */
+    public List<List<Long>> informeClusters() {
+        List<List<Long>> informe = new ArrayList<>();
+        for (long[] cluster : indice.clusters(propiedades.umbral())) {
+            List<Long> ids = new ArrayList<>(cluster.length);
+            for (long id : cluster) {
+                ids.add(id);
+            }
+            informe.add(ids);
+        }
+        return informe;
+    }
+    
+    @Override
+    public void actualizada(Pregunta pregunta) {
+        registrar(pregunta.getId(), pregunta.getEnunciado());
+    }
+    
+    @Override
+    public void eliminada(Long id) {
+        eliminar(id);
+    }
+    
+    @Override
+    public void recargar() {
+        indice.limpiar();
+        reconstruir();
+    }
+    
+    private void trasCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.midominio.group.app.spring.duplicados;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de la detección de enunciados casi duplicados.
+ * Propiedades con prefijo app.duplicados en application.properties.
+ * 
+ * @param modo qué hacer al crear/actualizar un casi duplicado (RECHAZAR, AVISAR o DESACTIVADO)
+ * @param umbral similitud estimada (0.0 - 1.0) a partir de la cual se considera casi duplicado
+ * @param tamanoBloque preguntas leídas por consulta al reconstruir el índice
+ */
+@ConfigurationProperties(prefix = "app.duplicados")
+public record DuplicadosProperties(Modo modo, Double umbral, Integer tamanoBloque) {
+    
+    public enum Modo {
+        RECHAZAR,
+        AVISAR,
+        DESACTIVADO
+    }
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public DuplicadosProperties {
+        modo = modo == null ? Modo.AVISAR : modo;
+        umbral = umbral == null ? 0.85 : umbral;
+        tamanoBloque = tamanoBloque == null ? 1000 : tamanoBloque;
+    }
+}
@@ -0,0 +1,243 @@
+package com.midominio.group.app.spring.duplicados;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice LSH (locality-sensitive hashing) en memoria sobre firmas MinHash.
+ * 
+ * La firma se divide en {@value #BANDAS} bandas de {@value #FILAS_POR_BANDA} valores.
+ * Dos enunciados son candidatos si coinciden en al menos una banda completa,
+ * lo que ocurre con alta probabilidad a partir de ~0.5 de similitud. Los candidatos
+ * se verifican después comparando las firmas completas contra el umbral.
+ * 
+ * Estructura:
+ * - firmas: id de pregunta -> firma MinHash
+ * - bandas[b]: hash de la banda b -> ids de las preguntas con esa banda (array inmutable)
+ * 
+ * Lecturas sin bloqueos; las escrituras (crear/actualizar/eliminar) copian el array
+ * del bucket afectado dentro de ConcurrentHashMap.compute.
+ * 
+ * Usado en:
+ * - DetectorDuplicados
+ */
+public class IndiceLsh {
+    
+    public static final int BANDAS = 16;
+    public static final int FILAS_POR_BANDA = MinHash.NUMERO_HASHES / BANDAS;
+    
+    private static final long[] VACIO = new long[0];
+    
+    private final ConcurrentHashMap<Long, int[]> firmas = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<Long, long[]>[] bandas = new ConcurrentHashMap[BANDAS];
+    
+    public IndiceLsh() {
+        for (int b = 0; b < BANDAS; b++) {
+            bandas[b] = new ConcurrentHashMap<>();
+        }
+    }
+    
+    /**
+     * Resultado de una búsqueda: pregunta similar y similitud estimada
+     */
+    public record Similar(long id, double similitud) {
+    }
+    
+    /**
+     * Añade o reemplaza la firma de una pregunta
+     */
+    public void indexar(long id, int[] firma) {
+        int[] anterior = firmas.put(id, firma);
+        if (anterior != null) {
+            quitarDeBandas(id, anterior);
+        }
+        for (int b = 0; b < BANDAS; b++) {
+            bandas[b].compute(hashBanda(firma, b), (clave, ids) -> anadir(ids, id));
+        }
+    }
+    
+    /**
+     * Elimina una pregunta del índice
+     */
+    public void eliminar(long id) {
+        int[] anterior = firmas.remove(id);
+        if (anterior != null) {
+            quitarDeBandas(id, anterior);
+        }
+    }
+    
+    /**
+     * Busca preguntas con similitud estimada mayor o igual que el umbral
+     * 
+     * @param firma firma del enunciado a comprobar
+     * @param umbral similitud mínima (0.0 - 1.0)
+     * @param idExcluido id a ignorar (la propia pregunta al actualizar), o 0
+     * @return similares ordenados de mayor a menor similitud
+     */
+    public List<Similar> buscarSimilares(int[] firma, double umbral, long idExcluido) {
+        Set<Long> vistos = new HashSet<>();
+        List<Similar> resultado = new ArrayList<>();
+        for (int b = 0; b < BANDAS; b++) {
+            long[] ids = bandas[b].getOrDefault(hashBanda(firma, b), VACIO);
+            for (long candidato : ids) {
+                if (candidato == idExcluido || !vistos.add(candidato)) {
+                    continue;
+                }
+                int[] otra = firmas.get(candidato);
+                if (otra == null) {
+                    continue;
+                }
+                double similitud = MinHash.similitud(firma, otra);
+                if (similitud >= umbral) {
+                    resultado.add(new Similar(candidato, similitud));
+                }
+            }
+        }
+        resultado.sort(Comparator.comparingDouble(Similar::similitud).reversed());
+        return resultado;
+    }
+    
+    /**
+     * Agrupa en clusters las preguntas indexadas cuya similitud supera el umbral.
+     * Usa union-find sobre los pares candidatos de cada bucket LSH.
+     * 
+     * @param umbral similitud mínima entre dos preguntas para unirlas
+     * @return clusters de 2 o más ids, del más grande al más pequeño
+     */
+    public List<long[]> clusters(double umbral) {
+        Map<Long, Long> padre = new HashMap<>();
+        for (ConcurrentHashMap<Long, long[]> banda : bandas) {
+            for (long[] ids : banda.values()) {
+                for (int i = 0; i < ids.length; i++) {
+                    int[] firmaI = firmas.get(ids[i]);
+                    if (firmaI == null) {
+                        continue;
+                    }
+                    for (int j = i + 1; j < ids.length; j++) {
+                        int[] firmaJ = firmas.get(ids[j]);
+                        if (firmaJ != null && MinHash.similitud(firmaI, firmaJ) >= umbral) {
+                            unir(padre, ids[i], ids[j]);
+                        }
+                    }
+                }
+            }
+        }
+        
+        Map<Long, List<Long>> grupos = new HashMap<>();
+        for (Long id : padre.keySet()) {
+            grupos.computeIfAbsent(raiz(padre, id), r -> new ArrayList<>()).add(id);
+        }
+        List<long[]> resultado = new ArrayList<>();
+        for (List<Long> grupo : grupos.values()) {
+            if (grupo.size() > 1) {
+                long[] ids = grupo.stream().mapToLong(Long::longValue).sorted().toArray();
+                resultado.add(ids);
+            }
+        }
+        resultado.sort(Comparator.comparingInt((long[] ids) -> ids.length).reversed());
+        return resultado;
+    }
+    
+    /**
+     * Número de preguntas indexadas
+     */
+    public int tamano() {
+        return firmas.size();
+    }
+    
+    /**
+     * Vacía el índice (antes de una reconstrucción completa)
+     */
+    public void limpiar() {
+        firmas.clear();
+        for (ConcurrentHashMap<Long, long[]> banda : bandas) {
+            banda.clear();
+        }
+    }
+    
+    private void quitarDeBandas(long id, int[] firma) {
+        for (int b = 0; b < BANDAS; b++) {
+            bandas[b].computeIfPresent(hashBanda(firma, b), (clave, ids) -> quitar(ids, id));
+        }
+    }
+    
+    private static long hashBanda(int[] firma, int banda) {
+        long hash = banda;
+        int inicio = banda * FILAS_POR_BANDA;
+        for (int i = inicio; i < inicio + FILAS_POR_BANDA; i++) {
+            hash = hash * 0x9E3779B97F4A7C15L + firma[i];
+        }
+        return hash;
+    }
+    
+    private static long[] anadir(long[] ids, long id) {
+        if (ids == null) {
+            return new long[] { id };
+        }
+        for (long existente : ids) {
+            if (existente == id) {
+                return ids;
+            }
+        }
+        long[] nuevo = Arrays.copyOf(ids, ids.length + 1);
+        nuevo[ids.length] = id;
+        return nuevo;
+    }
+    
+    /**
+     * Devuelve el array sin el id, o null para que compute elimine el bucket vacío
+     */
+    private static long[] quitar(long[] ids, long id) {
+        int pos = -1;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                pos = i;
+                break;
+            }
+        }
+        if (pos < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] nuevo = new long[ids.length - 1];
+        System.arraycopy(ids, 0, nuevo, 0, pos);
+        System.arraycopy(ids, pos + 1, nuevo, pos, ids.length - pos - 1);
+        return nuevo;
+    }
+    
+    private static long raiz(Map<Long, Long> padre, long id) {
+        long actual = id;
+        Long siguiente;
+        while ((siguiente = padre.get(actual)) != null && siguiente != actual) {
+            actual = siguiente;
+        }
+        // Compresión de camino
+        long r = actual;
+        actual = id;
+        while ((siguiente = padre.get(actual)) != null && siguiente != r) {
+            padre.put(actual, r);
+            actual = siguiente;
+        }
+        return r;
+    }
+    
+    private static void unir(Map<Long, Long> padre, long a, long b) {
+        padre.putIfAbsent(a, a);
+        padre.putIfAbsent(b, b);
+        long ra = raiz(padre, a);
+        long rb = raiz(padre, b);
+        if (ra != rb) {
+            padre.put(Math.max(ra, rb), Math.min(ra, rb));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.midominio.group.app.spring.duplicados;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tarea batch que informa de los clusters de preguntas casi duplicadas existentes.
+ * 
+ * Se programa con app.duplicados.cron-informe (desactivada por defecto, "-").
+ * El mismo informe está disponible bajo demanda en GET /api/preguntas/duplicados.
+ */
+@Component
+public class InformeDuplicadosJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(InformeDuplicadosJob.class);
+    
+    @Autowired
+    private DetectorDuplicados detector;
+    
+    @Scheduled(cron = "${app.duplicados.cron-informe:-}")
+    public void informar() {
+        List<List<Long>> clusters = detector.informeClusters();
+        if (clusters.isEmpty()) {
+            log.info("Informe de duplicados: no hay preguntas casi duplicadas");
+            return;
+        }
+        
+        int preguntas = clusters.stream().mapToInt(List::size).sum();
+        log.info("Informe de duplicados: {} clusters con {} preguntas", clusters.size(), preguntas);
+        for (List<Long> cluster : clusters) {
+            log.info("  Cluster de {} preguntas: {}", cluster.size(), cluster);
+        }
+    }
+}
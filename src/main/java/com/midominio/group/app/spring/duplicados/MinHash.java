@@ -0,0 +1,129 @@
+package com.midominio.group.app.spring.duplicados;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Cálculo de firmas MinHash de enunciados para estimar su similitud de Jaccard.
+ * 
+ * Pasos:
+ * 1. Normalización: sin tildes, minúsculas, solo letras/dígitos y espacios simples
+ * 2. Shingles de {@value #LONGITUD_SHINGLE} caracteres, cada uno con un hash FNV-1a de 64 bits
+ * 3. Para cada una de las {@value #NUMERO_HASHES} funciones hash, el mínimo sobre todos los shingles
+ * 
+ * La fracción de posiciones iguales entre dos firmas estima la similitud de Jaccard
+ * de los conjuntos de shingles de los dos enunciados.
+ * 
+ * Usado en:
+ * - IndiceLsh (indexación y búsqueda de candidatos)
+ * - DetectorDuplicados
+ */
+public final class MinHash {
+    
+    public static final int NUMERO_HASHES = 64;
+    public static final int LONGITUD_SHINGLE = 5;
+    
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIMO = 0x100000001b3L;
+    
+    // Semillas fijas: las firmas deben ser estables entre reinicios y nodos
+    private static final long[] SEMILLAS = new long[NUMERO_HASHES];
+    
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_D0C5L);
+        for (int i = 0; i < NUMERO_HASHES; i++) {
+            SEMILLAS[i] = random.nextLong();
+        }
+    }
+    
+    private MinHash() {
+    }
+    
+    /**
+     * Calcula la firma MinHash de un enunciado
+     * 
+     * @param enunciado texto original (sin normalizar)
+     * @return firma de {@value #NUMERO_HASHES} enteros
+     */
+    public static int[] firma(String enunciado) {
+        String texto = normalizar(enunciado);
+        int[] firma = new int[NUMERO_HASHES];
+        Arrays.fill(firma, Integer.MAX_VALUE);
+        
+        int ultimoInicio = Math.max(0, texto.length() - LONGITUD_SHINGLE);
+        for (int inicio = 0; inicio <= ultimoInicio; inicio++) {
+            long hashShingle = hashShingle(texto, inicio, Math.min(texto.length(), inicio + LONGITUD_SHINGLE));
+            for (int i = 0; i < NUMERO_HASHES; i++) {
+                int valor = (int) (mezclar(hashShingle ^ SEMILLAS[i]) >>> 33);
+                if (valor < firma[i]) {
+                    firma[i] = valor;
+                }
+            }
+        }
+        return firma;
+    }
+    
+    /**
+     * Estima la similitud de Jaccard como fracción de posiciones iguales
+     * 
+     * @return valor entre 0.0 (distintos) y 1.0 (idénticos)
+     */
+    public static double similitud(int[] a, int[] b) {
+        int iguales = 0;
+        for (int i = 0; i < NUMERO_HASHES; i++) {
+            if (a[i] == b[i]) {
+                iguales++;
+            }
+        }
+        return (double) iguales / NUMERO_HASHES;
+    }
+    
+    /**
+     * Normaliza un enunciado: sin tildes, minúsculas, signos de puntuación como espacios
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(sinTildes.length());
+        boolean espacioPrevio = true;
+        for (int i = 0; i < sinTildes.length(); i++) {
+            char c = sinTildes.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+                espacioPrevio = false;
+            } else if (!espacioPrevio) {
+                sb.append(' ');
+                espacioPrevio = true;
+            }
+        }
+        int longitud = sb.length();
+        if (longitud > 0 && sb.charAt(longitud - 1) == ' ') {
+            sb.setLength(longitud - 1);
+        }
+        return sb.toString();
+    }
+    
+    private static long hashShingle(String texto, int inicio, int fin) {
+        long hash = FNV_OFFSET;
+        for (int i = inicio; i < fin; i++) {
+            hash ^= texto.charAt(i);
+            hash *= FNV_PRIMO;
+        }
+        return hash;
+    }
+    
+    /**
+     * Finalizador de SplitMix64: dispersa bien bits cercanos
+     */
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
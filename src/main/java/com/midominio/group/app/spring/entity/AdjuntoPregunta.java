@@ -0,0 +1,91 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vínculo entre una pregunta y un contenido multimedia (imagen o diagrama).
+ * 
+ * Solo guarda metadatos: el contenido está en el almacén de segmentos
+ * (AlmacenSegmentos), identificado por su hash SHA-256. Varias preguntas
+ * pueden compartir el mismo contenido sin duplicarlo en disco.
+ * 
+ * No tiene relación JPA con Pregunta para que las consultas de preguntas
+ * no carguen nunca sus adjuntos.
+ */
+@Entity
+@Table(name = "adjuntos_pregunta", indexes = {
+    @Index(name = "idx_adjuntos_pregunta", columnList = "pregunta_id")
+})
+public class AdjuntoPregunta {
+    
+	//1. ATRIBUTOS
+	
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "pregunta_id", nullable = false)
+    private Long preguntaId;
+    
+    @Column(nullable = false, length = 64)
+    private String hash;
+    
+    @Column(name = "tipo_mime", nullable = false, length = 100)
+    private String tipoMime;
+    
+    @Column(name = "nombre_original", length = 255)
+    private String nombreOriginal;
+    
+    @Column(nullable = false)
+    private Long longitud;
+    
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+    
+    //2. CONSTRUCTORES
+    
+    public AdjuntoPregunta() {
+    	
+    }
+    
+    public AdjuntoPregunta(Long preguntaId, String hash, String tipoMime, String nombreOriginal, Long longitud) {
+		this.preguntaId = preguntaId;
+		this.hash = hash;
+		this.tipoMime = tipoMime;
+		this.nombreOriginal = nombreOriginal;
+		this.longitud = longitud;
+		this.fechaCreacion = LocalDateTime.now();
+	}
+    
+    //3. GETTERS
+    
+	public Long getId() {
+		return id;
+	}
+
+	public Long getPreguntaId() {
+		return preguntaId;
+	}
+
+	public String getHash() {
+		return hash;
+	}
+
+	public String getTipoMime() {
+		return tipoMime;
+	}
+
+	public String getNombreOriginal() {
+		return nombreOriginal;
+	}
+
+	public Long getLongitud() {
+		return longitud;
+	}
+
+	public LocalDateTime getFechaCreacion() {
+		return fechaCreacion;
+	}
+}
@@ -0,0 +1,71 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de una pregunta en el outbox transaccional (tabla cambios_pregunta).
+ * 
+ * Se inserta en la misma transacción que el cambio (ver OutboxCambios), así que solo existe
+ * si el cambio se confirmó. Cada nodo recorre la tabla por ID (secuencia creciente) para
+ * invalidar sus cachés locales; un hueco en la secuencia que no se rellena a tiempo obliga
+ * al nodo a recargarlas por completo (ver SondeoCambios).
+ * 
+ * Las filas se escriben y leen con JDBC; la entidad solo define la tabla.
+ */
+@Entity
+@Table(name = "cambios_pregunta", indexes = {
+    @Index(name = "idx_cambios_pregunta_fecha", columnList = "fecha")
+})
+public class CambioPregunta {
+    
+	//1. ATRIBUTOS
+	
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; //secuencia del cambio
+    
+    @Column(name = "pregunta_id", nullable = false)
+    private Long preguntaId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoCambioPregunta tipo;
+    
+    @Column(nullable = false, length = 36) //nodo que hizo el cambio (no se aplica a sí mismo)
+    private String nodo;
+    
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+    
+    
+    //2. CONSTRUCTORES
+    
+    public CambioPregunta() {
+    	
+    }
+    
+    
+    //3. GETTERS
+    
+	public Long getId() {
+		return id;
+	}
+
+	public Long getPreguntaId() {
+		return preguntaId;
+	}
+
+	public TipoCambioPregunta getTipo() {
+		return tipo;
+	}
+
+	public String getNodo() {
+		return nodo;
+	}
+
+	public LocalDateTime getFecha() {
+		return fecha;
+	}
+}
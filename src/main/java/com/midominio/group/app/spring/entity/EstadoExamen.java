@@ -0,0 +1,16 @@
+package com.midominio.group.app.spring.entity;
+
+/**
+ * Estados de un examen cronometrado (ver ExamenCronometrado).
+ * 
+ * EN_CURSO -> ENTREGADO (el alumno lo entrega) | ENTREGADO_AUTOMATICAMENTE (se acaba el tiempo)
+ */
+public enum EstadoExamen {
+    EN_CURSO,
+    ENTREGADO,
+    ENTREGADO_AUTOMATICAMENTE;
+    
+    public boolean esFinal() {
+        return this != EN_CURSO;
+    }
+}
@@ -0,0 +1,72 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Estado de repaso espaciado de una pregunta para un usuario en una temática (modo práctica).
+ * 
+ * Las filas se escriben por lotes con JDBC (PracticaService.volcar()) y se leen con JDBC al cargar
+ * el estado de un usuario en memoria: el cálculo del siguiente repaso se hace en PlanificadorPractica,
+ * nunca en la BD. Esta entidad define la tabla y permite consultar los estados con JPA.
+ */
+@Entity
+@Table(name = "estados_practica", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_estado_practica", columnNames = {"usuario", "tematica", "pregunta_id"})
+})
+public class EstadoPractica {
+    
+	//1. ATRIBUTOS
+	
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 100)
+    private String usuario;
+    
+    @Column(nullable = false, length = 100) //normalizada: sin espacios extremos y en minúsculas
+    private String tematica;
+    
+    @Column(name = "pregunta_id", nullable = false)
+    private Long preguntaId;
+    
+    @Column(nullable = false) //instante del siguiente repaso (epoch ms)
+    private Long vencimiento;
+    
+    @Column(nullable = false) //intervalo, facilidad y aciertos seguidos empaquetados (ver ProgramacionRepaso)
+    private Long datos;
+    
+    
+    //2. CONSTRUCTORES
+    
+    public EstadoPractica() {
+    	
+    }
+    
+    
+	//3. GETTERS Y SETTERS
+    
+	public Long getId() {
+		return id;
+	}
+
+	public String getUsuario() {
+		return usuario;
+	}
+
+	public String getTematica() {
+		return tematica;
+	}
+
+	public Long getPreguntaId() {
+		return preguntaId;
+	}
+
+	public Long getVencimiento() {
+		return vencimiento;
+	}
+
+	public Long getDatos() {
+		return datos;
+	}
+}
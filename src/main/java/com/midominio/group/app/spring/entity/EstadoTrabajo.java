@@ -0,0 +1,19 @@
+package com.midominio.group.app.spring.entity;
+
+/**
+ * Estados de un trabajo en segundo plano (ver Trabajo).
+ * 
+ * PENDIENTE -> EN_CURSO -> COMPLETADO | FALLIDO | CANCELADO
+ * Un trabajo EN_CURSO interrumpido por un reinicio vuelve a PENDIENTE y continúa desde su checkpoint.
+ */
+public enum EstadoTrabajo {
+    PENDIENTE,
+    EN_CURSO,
+    COMPLETADO,
+    FALLIDO,
+    CANCELADO;
+    
+    public boolean esFinal() {
+        return this == COMPLETADO || this == FALLIDO || this == CANCELADO;
+    }
+}
@@ -0,0 +1,184 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Examen cronometrado de preguntas Verdadero/Falso de un alumno.
+ * 
+ * Las preguntas y las respuestas se guardan en la propia fila (un examen tiene como mucho
+ * 50 preguntas): responder es un UPDATE de una fila y la entrega automática no necesita joins.
+ * La fecha límite persistida es la que permite reprogramar los vencimientos tras un reinicio
+ * (ver TemporizadorExamenes).
+ */
+@Entity
+@Table(name = "examenes_cronometrados", indexes = {
+    @Index(name = "idx_examenes_cronometrados_estado", columnList = "estado, id")
+})
+public class ExamenCronometrado {
+    
+    private static final char SIN_RESPONDER = '-';
+    
+	//1. ATRIBUTOS
+	
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 100)
+    private String usuario;
+    
+    @Column(name = "ids_pregunta", nullable = false, length = 1000) //IDs separados por comas, en el orden del examen
+    private String idsPregunta;
+    
+    @Column(nullable = false, length = 100) //una posición por pregunta: '1' verdadero, '0' falso, '-' sin responder
+    private String respuestas;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private EstadoExamen estado;
+    
+    @Column(name = "fecha_inicio", nullable = false)
+    private LocalDateTime fechaInicio;
+    
+    @Column(name = "fecha_limite", nullable = false)
+    private LocalDateTime fechaLimite;
+    
+    @Column(name = "fecha_entrega")
+    private LocalDateTime fechaEntrega;
+    
+    private Integer correctas;
+    
+    private Integer total; //preguntas calificadas (las eliminadas durante el examen no cuentan)
+    
+    private Double puntuacion;
+    
+    @Version //una respuesta y la entrega automática simultáneas no se pisan
+    @Column(name = "version")
+    private Long version;
+    
+    
+    //2. CONSTRUCTORES
+    
+    public ExamenCronometrado() {
+    	
+    }
+    
+    public ExamenCronometrado(String usuario, List<Long> idsPregunta, LocalDateTime fechaInicio,
+    		LocalDateTime fechaLimite) {
+		this.usuario = usuario;
+		this.idsPregunta = idsPregunta.stream().map(String::valueOf).collect(Collectors.joining(","));
+		this.respuestas = String.valueOf(SIN_RESPONDER).repeat(idsPregunta.size());
+		this.estado = EstadoExamen.EN_CURSO;
+		this.fechaInicio = fechaInicio;
+		this.fechaLimite = fechaLimite;
+	}
+    
+    
+    //3. METODOS
+    
+    /**
+     * true si el tiempo del examen ha terminado
+     */
+    public boolean vencido(LocalDateTime ahora) {
+        return !ahora.isBefore(fechaLimite);
+    }
+    
+    /**
+     * Posición de una pregunta en el examen, o -1 si no forma parte de él
+     */
+    public int posicionDe(Long idPregunta) {
+        return getIdsPregunta().indexOf(idPregunta);
+    }
+    
+    public void responder(int posicion, boolean respuesta) {
+        char[] actuales = respuestas.toCharArray();
+        actuales[posicion] = respuesta ? '1' : '0';
+        respuestas = new String(actuales);
+    }
+    
+    /**
+     * Respuestas con la codificación de las claves V/F (1 = verdadero, 0 = falso);
+     * las preguntas sin responder llevan -1, que nunca coincide con la clave
+     */
+    public long[] respuestasCodificadas() {
+        long[] codificadas = new long[respuestas.length()];
+        for (int i = 0; i < codificadas.length; i++) {
+            char respuesta = respuestas.charAt(i);
+            codificadas[i] = respuesta == SIN_RESPONDER ? -1L : respuesta - '0';
+        }
+        return codificadas;
+    }
+    
+    public void entregar(EstadoExamen estadoFinal, int correctas, int total, double puntuacion,
+            LocalDateTime fecha) {
+        this.estado = estadoFinal;
+        this.correctas = correctas;
+        this.total = total;
+        this.puntuacion = puntuacion;
+        this.fechaEntrega = fecha;
+    }
+    
+    
+	//4. GETTERS Y SETTERS
+    
+	public Long getId() {
+		return id;
+	}
+
+	public String getUsuario() {
+		return usuario;
+	}
+
+	public List<Long> getIdsPregunta() {
+		return Arrays.stream(idsPregunta.split(",")).map(Long::valueOf).toList();
+	}
+
+	/**
+	 * Respuesta a cada pregunta, en el orden del examen (null = sin responder)
+	 */
+	public List<Boolean> getRespuestas() {
+		List<Boolean> lista = new ArrayList<>(respuestas.length());
+		for (char respuesta : respuestas.toCharArray()) {
+			lista.add(respuesta == SIN_RESPONDER ? null : respuesta == '1');
+		}
+		return lista;
+	}
+
+	public EstadoExamen getEstado() {
+		return estado;
+	}
+
+	public LocalDateTime getFechaInicio() {
+		return fechaInicio;
+	}
+
+	public LocalDateTime getFechaLimite() {
+		return fechaLimite;
+	}
+
+	public LocalDateTime getFechaEntrega() {
+		return fechaEntrega;
+	}
+
+	public Integer getCorrectas() {
+		return correctas;
+	}
+
+	public Integer getTotal() {
+		return total;
+	}
+
+	public Double getPuntuacion() {
+		return puntuacion;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
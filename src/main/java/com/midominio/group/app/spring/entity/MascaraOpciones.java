@@ -0,0 +1,67 @@
+package com.midominio.group.app.spring.entity;
+
+import java.util.List;
+
+/**
+ * Operaciones sobre máscaras de bits de opciones de respuesta.
+ * 
+ * Las opciones de las preguntas de selección se identifican por su índice (0..63)
+ * en la lista ordenada de opciones. Un conjunto de opciones (las correctas o las
+ * elegidas por el usuario) se codifica como un long con el bit i activo si la
+ * opción i pertenece al conjunto.
+ * 
+ * Usado en:
+ * - PreguntaSeleccionMultipleService y ClavesRespuesta (corrección con puntuación parcial)
+ * - Services de selección (conversión de la respuesta del usuario)
+ */
+public final class MascaraOpciones {
+    
+    /**
+     * Número máximo de opciones representables en una máscara
+     */
+    public static final int MAX_OPCIONES = Long.SIZE;
+    
+    private MascaraOpciones() {
+    }
+    
+    /**
+     * Convierte una lista de índices de opción en máscara.
+     * 
+     * @param indices índices elegidos (ej: [0, 2])
+     * @param numeroOpciones número de opciones de la pregunta
+     * @return máscara con los bits de los índices activos (ej: 0b101)
+     * @throws IllegalArgumentException si algún índice es nulo o está fuera de rango
+     */
+    public static long desdeIndices(List<Long> indices, int numeroOpciones) {
+        long mascara = 0L;
+        for (int i = 0, n = indices.size(); i < n; i++) {
+            Long indice = indices.get(i);
+            if (indice == null || indice < 0 || indice >= numeroOpciones) {
+                throw new IllegalArgumentException("Opción fuera de rango: " + indice);
+            }
+            mascara |= 1L << indice;
+        }
+        return mascara;
+    }
+    
+    /**
+     * Máscara con todas las opciones válidas de una pregunta (bits 0..numeroOpciones-1)
+     */
+    public static long todas(int numeroOpciones) {
+        return numeroOpciones >= MAX_OPCIONES ? -1L : (1L << numeroOpciones) - 1;
+    }
+    
+    /**
+     * Puntuación parcial en [0, 1]: (aciertos - fallos) / correctas, nunca negativa.
+     * 
+     * @param elegidas máscara con las opciones elegidas por el usuario
+     * @param correctas máscara con las opciones correctas (al menos una)
+     * @return 1.0 si la respuesta es exacta, 0.0 si no hay aciertos netos
+     */
+    public static double puntuacionParcial(long elegidas, long correctas) {
+        int aciertos = Long.bitCount(elegidas & correctas);
+        int fallos = Long.bitCount(elegidas & ~correctas);
+        int netos = aciertos - fallos;
+        return netos <= 0 ? 0.0 : (double) netos / Long.bitCount(correctas);
+    }
+}
@@ -0,0 +1,56 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Convierte la lista ordenada de opciones de una pregunta de selección en una
+ * única columna de texto, separando las opciones con el carácter de control
+ * "unit separator" (U+001F).
+ * 
+ * Así las opciones viven en la misma fila que la pregunta (sin tabla de opciones
+ * ni colección que cargar) y su posición es su índice en la máscara de respuesta.
+ * 
+ * Usado en:
+ * - PreguntaSeleccionUnica.opciones
+ * - PreguntaSeleccionMultiple.opciones
+ */
+@Converter
+public class OpcionesConverter implements AttributeConverter<List<String>, String> {
+    
+    public static final char SEPARADOR = '\u001F';
+    
+    @Override
+    public String convertToDatabaseColumn(List<String> opciones) {
+        if (opciones == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < opciones.size(); i++) {
+            if (i > 0) {
+                sb.append(SEPARADOR);
+            }
+            sb.append(opciones.get(i));
+        }
+        return sb.toString();
+    }
+    
+    @Override
+    public List<String> convertToEntityAttribute(String columna) {
+        if (columna == null) {
+            return null;
+        }
+        List<String> opciones = new ArrayList<>();
+        int inicio = 0;
+        int fin;
+        while ((fin = columna.indexOf(SEPARADOR, inicio)) >= 0) {
+            opciones.add(columna.substring(inicio, fin));
+            inicio = fin + 1;
+        }
+        opciones.add(columna.substring(inicio));
+        return opciones;
+    }
+}
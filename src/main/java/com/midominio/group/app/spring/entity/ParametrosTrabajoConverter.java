@@ -0,0 +1,62 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Convierte los parámetros de un trabajo (clave -> valor) en una columna de texto
+ * con formato de fichero .properties (escapado incluido).
+ * 
+ * Usado en:
+ * - Trabajo.parametros
+ */
+@Converter
+public class ParametrosTrabajoConverter implements AttributeConverter<Map<String, String>, String> {
+    
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> parametros) {
+        if (parametros == null || parametros.isEmpty()) {
+            return "";
+        }
+        StringBuilder texto = new StringBuilder();
+        // Orden estable; sin la cabecera de fecha de Properties.store()
+        new TreeMap<>(parametros).forEach((clave, valor) -> {
+            Properties linea = new Properties();
+            linea.setProperty(clave, valor);
+            StringWriter escrito = new StringWriter();
+            try {
+                linea.store(escrito, null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            escrito.toString().lines()
+                .filter(l -> !l.startsWith("#"))
+                .forEach(l -> texto.append(l).append('\n'));
+        });
+        return texto.toString();
+    }
+    
+    @Override
+    public Map<String, String> convertToEntityAttribute(String texto) {
+        Map<String, String> parametros = new TreeMap<>();
+        if (texto == null || texto.isEmpty()) {
+            return parametros;
+        }
+        Properties propiedades = new Properties();
+        try {
+            propiedades.load(new StringReader(texto));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        propiedades.stringPropertyNames().forEach(clave -> parametros.put(clave, propiedades.getProperty(clave)));
+        return parametros;
+    }
+}
@@ -1,6 +1,11 @@
 package com.midominio.group.app.spring.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.midominio.group.app.spring.autocompletado.ListenerAutocompletadoPregunta;
+import com.midominio.group.app.spring.cambios.ListenerCambiosPregunta;
+import com.midominio.group.app.spring.metadatos.ListenerMetadatosPregunta;
 
 import java.time.LocalDateTime;
 
@@ -8,6 +13,12 @@ import java.time.LocalDateTime;
 @Table(name = "preguntas")
 @Inheritance(strategy = InheritanceType.JOINED) //permite crear tablas separadas
 @DiscriminatorColumn(name = "tipo_pregunta", discriminatorType = DiscriminatorType.STRING)
+@DynamicUpdate //los UPDATE solo incluyen las columnas modificadas (se aplica a toda la jerarquía)
+@EntityListeners({
+    ListenerMetadatosPregunta.class,      //mantiene el índice columnar de metadatos (IndicePreguntas)
+    ListenerAutocompletadoPregunta.class, //mantiene los tries de autocompletado (IndiceAutocompletado)
+    ListenerCambiosPregunta.class         //publica el cambio en el outbox para los demás nodos (OutboxCambios)
+})
 public abstract class Pregunta {
     
 	//1. ATRIBUTOS
@@ -28,6 +39,13 @@ public abstract class Pregunta {
     @Column(name = "activa") //esto permitirá el borrado lógico, es decir, no borra como tal la pregunta de la BD, la esconde
     private Boolean activa = true;
     
+    @Column(name = "fecha_desactivacion") //a partir de esta fecha cuenta la inactividad para archivar (ver ArchivoPreguntasService)
+    private LocalDateTime fechaDesactivacion;
+    
+    @Version //bloqueo optimista: cada UPDATE comprueba e incrementa la versión
+    @Column(name = "version")
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         fechaCreacion = LocalDateTime.now();
@@ -52,7 +70,27 @@ public abstract class Pregunta {
     
     //3. METODOS
 	// Método abstracto que cada tipo de pregunta implementará
-    public abstract String getTipoPregunta();   
+    public abstract String getTipoPregunta();
+    
+    /**
+     * Copia completa no gestionada por JPA (con las opciones ya cargadas)
+     * Usado en: lecturas coalescidas, para no compartir entidades gestionadas entre hilos
+     */
+    public abstract Pregunta copiar();
+    
+    /**
+     * Copia los datos comunes en otra pregunta
+     */
+    protected <P extends Pregunta> P copiarComunesEn(P copia) {
+    	copia.setId(id);
+    	copia.setEnunciado(enunciado);
+    	copia.setTematica(tematica);
+    	copia.setFechaCreacion(fechaCreacion);
+    	copia.setActiva(activa);
+    	copia.setFechaDesactivacion(fechaDesactivacion);
+    	copia.setVersion(version);
+    	return copia;
+    }   
 
 
 	//4. GETTERS Y SETTERS
@@ -94,9 +132,32 @@ public abstract class Pregunta {
 	}
 
 	public void setActiva(Boolean activa) {
+		// Registra cuándo se desactivó la pregunta (se conserva si ya estaba inactiva)
+		if (Boolean.FALSE.equals(activa) && !Boolean.FALSE.equals(this.activa)) {
+			this.fechaDesactivacion = LocalDateTime.now();
+		} else if (Boolean.TRUE.equals(activa)) {
+			this.fechaDesactivacion = null;
+		}
 		this.activa = activa;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	// Solo para PreguntaArchivada: la versión la gestiona JPA y no se acepta desde JSON
+	void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public LocalDateTime getFechaDesactivacion() {
+		return fechaDesactivacion;
+	}
+
+	public void setFechaDesactivacion(LocalDateTime fechaDesactivacion) {
+		this.fechaDesactivacion = fechaDesactivacion;
+	}
+
 
     
     //5. HASHCODE y EQUALS
@@ -0,0 +1,104 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pregunta archivada (nivel frío): copia de una pregunta inactiva sacada de la tabla preguntas.
+ * 
+ * Replica la jerarquía JOINED de Pregunta en tablas *_archivo con los mismos IDs,
+ * para que las tablas calientes solo contengan preguntas en uso y se puedan
+ * restaurar sin cambiar de ID. El traspaso entre niveles se hace con SQL
+ * (ver ArchivadorPreguntas); estas entidades solo se usan para leer.
+ */
+@Entity
+@Table(name = "preguntas_archivo")
+@Inheritance(strategy = InheritanceType.JOINED)
+@DiscriminatorColumn(name = "tipo_pregunta", discriminatorType = DiscriminatorType.STRING)
+public abstract class PreguntaArchivada {
+    
+	//1. ATRIBUTOS
+	
+    @Id //mismo ID que tenía en preguntas (no se genera)
+    private Long id;
+    
+    @Column(nullable = false, length = 500)
+    private String enunciado;
+    
+    @Column(length = 100)
+    private String tematica;
+    
+    @Column(name = "fecha_creacion")
+    private LocalDateTime fechaCreacion;
+    
+    @Column(name = "activa")
+    private Boolean activa;
+    
+    @Column(name = "fecha_desactivacion")
+    private LocalDateTime fechaDesactivacion;
+    
+    @Column(name = "version")
+    private Long version;
+    
+    @Column(name = "fecha_archivado", nullable = false)
+    private LocalDateTime fechaArchivado;
+    
+    
+    //2. METODOS
+    
+    /**
+     * Convierte la pregunta archivada en su tipo de pregunta original (no gestionada por JPA)
+     * Usado en: obtenerPorId() cuando la pregunta no está en las tablas calientes
+     */
+    public abstract Pregunta aPregunta();
+    
+    /**
+     * Copia los datos comunes en la pregunta original
+     */
+    protected <P extends Pregunta> P copiarComunes(P pregunta) {
+    	pregunta.setId(id);
+    	pregunta.setEnunciado(enunciado);
+    	pregunta.setTematica(tematica);
+    	pregunta.setFechaCreacion(fechaCreacion);
+    	pregunta.setActiva(activa);
+    	pregunta.setFechaDesactivacion(fechaDesactivacion);
+    	pregunta.setVersion(version);
+    	return pregunta;
+    }
+    
+    
+	//3. GETTERS
+    
+	public Long getId() {
+		return id;
+	}
+
+	public String getEnunciado() {
+		return enunciado;
+	}
+
+	public String getTematica() {
+		return tematica;
+	}
+
+	public LocalDateTime getFechaCreacion() {
+		return fechaCreacion;
+	}
+
+	public Boolean getActiva() {
+		return activa;
+	}
+
+	public LocalDateTime getFechaDesactivacion() {
+		return fechaDesactivacion;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public LocalDateTime getFechaArchivado() {
+		return fechaArchivado;
+	}
+}
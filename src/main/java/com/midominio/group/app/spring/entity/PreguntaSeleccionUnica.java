@@ -0,0 +1,94 @@
+package com.midominio.group.app.spring.entity;
+
+
+import jakarta.persistence.*;
+
+import java.util.List;
+
+/**
+ * Pregunta de tipo Selección Única (una sola opción correcta).
+ * 
+ * Las opciones se guardan en una única columna ordenada (ver OpcionesConverter):
+ * el índice de cada opción en la lista es su identificador. La respuesta correcta
+ * se codifica como máscara de bits sobre esos índices (ver MascaraOpciones).
+ */
+@Entity
+@Table(name = "preguntas_seleccion_unica")
+@DiscriminatorValue("SELECCION_UNICA")
+public class PreguntaSeleccionUnica extends Pregunta {
+    
+	//1. ATRIBUTOS
+    @Convert(converter = OpcionesConverter.class)
+    @Basic(fetch = FetchType.LAZY) //con la mejora de bytecode, la corrección no necesita cargar las opciones
+    @Column(nullable = false, length = 2100)
+    private List<String> opciones;
+    
+    @Column(name = "numero_opciones", nullable = false) //permite validar respuestas sin leer las opciones
+    private Integer numeroOpciones;
+    
+    @Column(name = "mascara_correcta", nullable = false) //bit i activo = opción i correcta
+    private Long mascaraCorrecta;
+    
+    @Column(length = 1000)
+    private String explicacion;
+    
+    
+    //CONSTRUCTORES
+    
+    public PreguntaSeleccionUnica() {
+    	
+    }
+    
+    public PreguntaSeleccionUnica(List<String> opciones, Long mascaraCorrecta, String explicacion) {
+		setOpciones(opciones);
+		this.mascaraCorrecta = mascaraCorrecta;
+		this.explicacion = explicacion;
+	}
+    
+    //METODOS
+    
+    @Override
+    public String getTipoPregunta() {
+        return "SELECCION_UNICA";
+    }
+    
+    @Override
+    public PreguntaSeleccionUnica copiar() {
+        // Leer getOpciones() aquí inicializa la columna perezosa en el hilo que tiene la sesión
+        List<String> copiaOpciones = getOpciones() == null ? null : List.copyOf(getOpciones());
+        return copiarComunesEn(new PreguntaSeleccionUnica(copiaOpciones, mascaraCorrecta, explicacion));
+    }
+
+
+	//GETTERS Y SETTERS
+	public List<String> getOpciones() {
+		return opciones;
+	}
+
+	public void setOpciones(List<String> opciones) {
+		this.opciones = opciones;
+		this.numeroOpciones = opciones == null ? null : opciones.size();
+	}
+
+	public Integer getNumeroOpciones() {
+		return numeroOpciones;
+	}
+
+	public Long getMascaraCorrecta() {
+		return mascaraCorrecta;
+	}
+
+	public void setMascaraCorrecta(Long mascaraCorrecta) {
+		this.mascaraCorrecta = mascaraCorrecta;
+	}
+
+	public String getExplicacion() {
+		return explicacion;
+	}
+
+	public void setExplicacion(String explicacion) {
+		this.explicacion = explicacion;
+	}
+    
+    
+}
@@ -0,0 +1,33 @@
+package com.midominio.group.app.spring.entity;
+
+
+import jakarta.persistence.*;
+
+import java.util.List;
+
+/**
+ * Pregunta de Selección Única archivada (ver PreguntaArchivada).
+ */
+@Entity
+@Table(name = "preguntas_seleccion_unica_archivo")
+@DiscriminatorValue("SELECCION_UNICA")
+public class PreguntaSeleccionUnicaArchivada extends PreguntaArchivada {
+    
+    @Convert(converter = OpcionesConverter.class)
+    @Column(nullable = false, length = 2100)
+    private List<String> opciones;
+    
+    @Column(name = "numero_opciones", nullable = false)
+    private Integer numeroOpciones;
+    
+    @Column(name = "mascara_correcta", nullable = false)
+    private Long mascaraCorrecta;
+    
+    @Column(length = 1000)
+    private String explicacion;
+    
+    @Override
+    public Pregunta aPregunta() {
+        return copiarComunes(new PreguntaSeleccionUnica(opciones, mascaraCorrecta, explicacion));
+    }
+}
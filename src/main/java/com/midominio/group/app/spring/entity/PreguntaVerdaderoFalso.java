@@ -34,6 +34,11 @@ public class PreguntaVerdaderoFalso extends Pregunta {
         return "VERDADERO_FALSO";
     }
     
+    @Override
+    public PreguntaVerdaderoFalso copiar() {
+        return copiarComunesEn(new PreguntaVerdaderoFalso(respuestaCorrecta, explicacion));
+    }
+    
     public boolean validarRespuesta(Boolean respuesta) {
         return respuesta != null && respuesta.equals(this.respuestaCorrecta);
     }
@@ -0,0 +1,24 @@
+package com.midominio.group.app.spring.entity;
+
+
+import jakarta.persistence.*;
+
+/**
+ * Pregunta Verdadero/Falso archivada (ver PreguntaArchivada).
+ */
+@Entity
+@Table(name = "preguntas_verdadero_falso_archivo")
+@DiscriminatorValue("VERDADERO_FALSO")
+public class PreguntaVerdaderoFalsoArchivada extends PreguntaArchivada {
+    
+    @Column(name = "respuesta_correcta", nullable = false)
+    private Boolean respuestaCorrecta;
+    
+    @Column(length = 1000)
+    private String explicacion;
+    
+    @Override
+    public Pregunta aPregunta() {
+        return copiarComunes(new PreguntaVerdaderoFalso(respuestaCorrecta, explicacion));
+    }
+}
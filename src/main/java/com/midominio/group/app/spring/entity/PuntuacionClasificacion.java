@@ -0,0 +1,58 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Puntos acumulados por un usuario en una clasificación (una temática o la general).
+ * 
+ * Las clasificaciones se calculan en memoria (ClasificacionService): esta tabla solo sirve para
+ * recuperarlas al arrancar. Las filas se escriben con JDBC por lotes sumando los puntos
+ * ganados desde el último volcado, y se leen con JDBC por bloques de id.
+ */
+@Entity
+@Table(name = "puntuaciones_clasificacion", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_puntuacion_clasificacion", columnNames = {"clasificacion", "usuario"})
+})
+public class PuntuacionClasificacion {
+    
+	//1. ATRIBUTOS
+	
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 100) //temática normalizada, o vacía para la clasificación general
+    private String clasificacion;
+    
+    @Column(nullable = false, length = 100)
+    private String usuario;
+    
+    @Column(name = "puntos_milesimas", nullable = false) //suma de puntuaciones x 1000 (1000 = una respuesta correcta)
+    private Long puntosMilesimas;
+    
+    
+    //2. CONSTRUCTORES
+    
+    public PuntuacionClasificacion() {
+    	
+    }
+    
+    
+	//3. GETTERS Y SETTERS
+    
+	public Long getId() {
+		return id;
+	}
+
+	public String getClasificacion() {
+		return clasificacion;
+	}
+
+	public String getUsuario() {
+		return usuario;
+	}
+
+	public Long getPuntosMilesimas() {
+		return puntosMilesimas;
+	}
+}
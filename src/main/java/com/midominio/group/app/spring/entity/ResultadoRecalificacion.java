@@ -0,0 +1,95 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de recalificar una entrega archivada.
+ * 
+ * Las filas se insertan por lotes con JDBC (JdbcDestinoResultados): la generación
+ * IDENTITY impide a Hibernate agrupar inserciones. Esta entidad define la tabla
+ * y permite consultar los resultados con JPA.
+ */
+@Entity
+@Table(name = "resultados_recalificacion", indexes = {
+    @Index(name = "idx_resultado_trabajo", columnList = "id_trabajo")
+})
+public class ResultadoRecalificacion {
+    
+	//1. ATRIBUTOS
+	
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "id_trabajo", nullable = false, length = 36)
+    private String idTrabajo;
+    
+    @Column(name = "id_entrega", nullable = false)
+    private Long idEntrega;
+    
+    @Column(length = 100)
+    private String usuario;
+    
+    @Column(nullable = false)
+    private Integer correctas;
+    
+    @Column(nullable = false)
+    private Integer total;
+    
+    @Column(name = "sin_clave", nullable = false)
+    private Integer sinClave;
+    
+    @Column(nullable = false)
+    private Double puntuacion;
+    
+    @Column(name = "fecha_calificacion", nullable = false)
+    private LocalDateTime fechaCalificacion;
+    
+    
+    //2. CONSTRUCTORES
+    
+    public ResultadoRecalificacion() {
+    	
+    }
+    
+    
+	//3. GETTERS Y SETTERS
+    
+	public Long getId() {
+		return id;
+	}
+
+	public String getIdTrabajo() {
+		return idTrabajo;
+	}
+
+	public Long getIdEntrega() {
+		return idEntrega;
+	}
+
+	public String getUsuario() {
+		return usuario;
+	}
+
+	public Integer getCorrectas() {
+		return correctas;
+	}
+
+	public Integer getTotal() {
+		return total;
+	}
+
+	public Integer getSinClave() {
+		return sinClave;
+	}
+
+	public Double getPuntuacion() {
+		return puntuacion;
+	}
+
+	public LocalDateTime getFechaCalificacion() {
+		return fechaCalificacion;
+	}
+}
@@ -0,0 +1,101 @@
+package com.midominio.group.app.spring.entity;
+
+import com.midominio.group.app.spring.analitica.Granularidad;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bucket pre-agregado de estadísticas de calificación por temática × tipo × periodo.
+ * 
+ * Contadores aditivos: se incrementan al volcar los intentos acumulados en memoria
+ * y se suman al compactar buckets horarios en diarios. Las consultas de estadísticas
+ * leen solo esta tabla, nunca los intentos individuales.
+ */
+@Entity
+@Table(name = "rollups_calificacion", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_rollup_bucket", columnNames = {"tematica", "tipo_pregunta", "granularidad", "inicio_bucket"})
+})
+public class RollupCalificacion {
+    
+	//1. ATRIBUTOS
+	
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 100)
+    private String tematica;
+    
+    @Column(name = "tipo_pregunta", nullable = false, length = 30)
+    private String tipoPregunta;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularidad granularidad;
+    
+    @Column(name = "inicio_bucket", nullable = false)
+    private LocalDateTime inicioBucket;
+    
+    @Column(nullable = false)
+    private Long intentos;
+    
+    @Column(nullable = false)
+    private Long aciertos;
+    
+    @Column(name = "puntos_milesimas", nullable = false) //puntuación acumulada x1000 (incluye parciales)
+    private Long puntosMilesimas;
+    
+    
+    //2. CONSTRUCTORES
+    
+    public RollupCalificacion() {
+    	
+    }
+    
+    public RollupCalificacion(String tematica, String tipoPregunta, Granularidad granularidad,
+			LocalDateTime inicioBucket, Long intentos, Long aciertos, Long puntosMilesimas) {
+		this.tematica = tematica;
+		this.tipoPregunta = tipoPregunta;
+		this.granularidad = granularidad;
+		this.inicioBucket = inicioBucket;
+		this.intentos = intentos;
+		this.aciertos = aciertos;
+		this.puntosMilesimas = puntosMilesimas;
+	}
+    
+    
+	//3. GETTERS Y SETTERS
+    
+	public Long getId() {
+		return id;
+	}
+
+	public String getTematica() {
+		return tematica;
+	}
+
+	public String getTipoPregunta() {
+		return tipoPregunta;
+	}
+
+	public Granularidad getGranularidad() {
+		return granularidad;
+	}
+
+	public LocalDateTime getInicioBucket() {
+		return inicioBucket;
+	}
+
+	public Long getIntentos() {
+		return intentos;
+	}
+
+	public Long getAciertos() {
+		return aciertos;
+	}
+
+	public Long getPuntosMilesimas() {
+		return puntosMilesimas;
+	}
+}
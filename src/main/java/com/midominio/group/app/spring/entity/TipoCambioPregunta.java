@@ -0,0 +1,12 @@
+package com.midominio.group.app.spring.entity;
+
+/**
+ * Tipos de cambio de una pregunta publicados en el outbox (ver CambioPregunta).
+ * 
+ * GUARDADA: alta, modificación o restauración desde el archivo (los nodos releen la pregunta)
+ * ELIMINADA: borrado o archivado (los nodos la retiran de sus cachés)
+ */
+public enum TipoCambioPregunta {
+    GUARDADA,
+    ELIMINADA
+}
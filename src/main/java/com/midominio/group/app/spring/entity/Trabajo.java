@@ -0,0 +1,181 @@
+package com.midominio.group.app.spring.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Trabajo en segundo plano persistente (operaciones masivas fuera de las peticiones HTTP).
+ * 
+ * El motor (MotorTrabajos) lo ejecuta por bloques; cada bloque se confirma en la misma
+ * transacción que su checkpoint, de modo que tras un reinicio el trabajo continúa
+ * desde el último bloque confirmado sin repetir ni perder trabajo.
+ */
+@Entity
+@Table(name = "trabajos", indexes = {
+    @Index(name = "idx_trabajos_estado", columnList = "estado, fecha_creacion")
+})
+public class Trabajo {
+    
+	//1. ATRIBUTOS
+	
+    @Id
+    @Column(length = 36)
+    private String id;
+    
+    @Column(nullable = false, length = 50)
+    private String tipo;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoTrabajo estado;
+    
+    @Convert(converter = ParametrosTrabajoConverter.class)
+    @Column(length = 2000)
+    private Map<String, String> parametros;
+    
+    @Column(length = 200) //posición del último bloque confirmado (significado propio de cada tipo)
+    private String checkpoint;
+    
+    @Column(nullable = false)
+    private Long procesados;
+    
+    private Long total; //estimación para el porcentaje de progreso (null si no se conoce)
+    
+    @Column(name = "cancelacion_solicitada", nullable = false)
+    private Boolean cancelacionSolicitada;
+    
+    @Column(length = 1000)
+    private String error;
+    
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+    
+    @Column(name = "fecha_inicio")
+    private LocalDateTime fechaInicio;
+    
+    @Column(name = "fecha_fin")
+    private LocalDateTime fechaFin;
+    
+    
+    //2. CONSTRUCTORES
+    
+    public Trabajo() {
+    	
+    }
+    
+    public Trabajo(String tipo, Map<String, String> parametros) {
+		this.id = UUID.randomUUID().toString();
+		this.tipo = tipo;
+		this.parametros = parametros;
+		this.estado = EstadoTrabajo.PENDIENTE;
+		this.procesados = 0L;
+		this.cancelacionSolicitada = false;
+		this.fechaCreacion = LocalDateTime.now();
+	}
+    
+    
+    //3. METODOS
+    
+    /**
+     * Porcentaje completado (0-100), o null si no se conoce el total
+     */
+    public Double getProgreso() {
+        if (estado == EstadoTrabajo.COMPLETADO) {
+            return 100.0;
+        }
+        if (total == null || total == 0) {
+            return null;
+        }
+        return Math.min(100.0, procesados * 100.0 / total);
+    }
+    
+    public void iniciar() {
+        estado = EstadoTrabajo.EN_CURSO;
+        if (fechaInicio == null) {
+            fechaInicio = LocalDateTime.now();
+        }
+    }
+    
+    /**
+     * Registra un bloque confirmado
+     */
+    public void avanzar(String nuevoCheckpoint, long procesadosBloque) {
+        checkpoint = nuevoCheckpoint;
+        procesados += procesadosBloque;
+    }
+    
+    public void finalizar(EstadoTrabajo estadoFinal, String mensajeError) {
+        estado = estadoFinal;
+        error = mensajeError;
+        fechaFin = LocalDateTime.now();
+    }
+    
+    /**
+     * Un trabajo interrumpido (reinicio) vuelve a la cola y continúa desde su checkpoint
+     */
+    public void reanudar() {
+        estado = EstadoTrabajo.PENDIENTE;
+    }
+    
+    public void solicitarCancelacion() {
+        cancelacionSolicitada = true;
+    }
+    
+    
+	//4. GETTERS Y SETTERS
+    
+	public String getId() {
+		return id;
+	}
+
+	public String getTipo() {
+		return tipo;
+	}
+
+	public EstadoTrabajo getEstado() {
+		return estado;
+	}
+
+	public Map<String, String> getParametros() {
+		return parametros;
+	}
+
+	public String getCheckpoint() {
+		return checkpoint;
+	}
+
+	public Long getProcesados() {
+		return procesados;
+	}
+
+	public Long getTotal() {
+		return total;
+	}
+
+	public void setTotal(Long total) {
+		this.total = total;
+	}
+
+	public Boolean getCancelacionSolicitada() {
+		return cancelacionSolicitada;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public LocalDateTime getFechaCreacion() {
+		return fechaCreacion;
+	}
+
+	public LocalDateTime getFechaInicio() {
+		return fechaInicio;
+	}
+
+	public LocalDateTime getFechaFin() {
+		return fechaFin;
+	}
+}
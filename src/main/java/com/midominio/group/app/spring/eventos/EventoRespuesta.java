@@ -0,0 +1,144 @@
+package com.midominio.group.app.spring.eventos;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Respuesta calificada registrada en el log de eventos.
+ * 
+ * Formato binario de tamaño fijo (TAMANO bytes, big-endian):
+ *   0  byte  versión (distinta de 0: marca el registro como escrito)
+ *   1  byte  tipo de pregunta (1 = V/F, 2 = selección única, 3 = selección múltiple)
+ *   2  byte  correcta (0/1)
+ *   3  byte  longitud del usuario en bytes
+ *   4  short puntuación en milésimas (0-1000)
+ *   6  short reservado
+ *   8  long  instante (ms epoch)
+ *   16 long  ID de la pregunta
+ *   24 long  respuesta (V/F: 0/1; selección: máscara de opciones elegidas)
+ *   32  92 B usuario en UTF-8 (hasta MAX_BYTES_USUARIO)
+ *   124 int  CRC32C de los bytes 0-123
+ * 
+ * Un usuario de más de MAX_BYTES_USUARIO bytes se guarda como un prefijo seguido de "~" y el
+ * hash de 64 bits del nombre completo en hexadecimal: sigue siendo único y estable por usuario.
+ * 
+ * @param instanteMs momento de la calificación (ms epoch)
+ * @param preguntaId ID de la pregunta
+ * @param tipoPregunta tipo de pregunta (valor del discriminador)
+ * @param respuesta respuesta codificada
+ * @param correcta true si la respuesta es exacta
+ * @param puntuacion puntuación entre 0.0 y 1.0 (precisión de milésimas)
+ * @param usuario usuario que respondió
+ */
+public record EventoRespuesta(
+        long instanteMs,
+        long preguntaId,
+        String tipoPregunta,
+        long respuesta,
+        boolean correcta,
+        double puntuacion,
+        String usuario) {
+    
+    public static final int TAMANO = 128;
+    public static final int MAX_BYTES_USUARIO = 92;
+    
+    // Versión 1: registros de 64 bytes con el usuario truncado a 28 bytes
+    private static final byte VERSION = 2;
+    private static final int POSICION_USUARIO = 32;
+    private static final int POSICION_CRC = 124;
+    private static final int BYTES_HASH_USUARIO = 17;
+    private static final String[] TIPOS = {null, "VERDADERO_FALSO", "SELECCION_UNICA", "SELECCION_MULTIPLE"};
+    
+    /**
+     * Escribe el evento en la posición indicada del buffer (no modifica su posición)
+     */
+    public void escribir(ByteBuffer destino, int posicion) {
+        byte[] bytesUsuario = codificarUsuario(usuario);
+        
+        destino.put(posicion, VERSION);
+        destino.put(posicion + 1, codigoTipo(tipoPregunta));
+        destino.put(posicion + 2, (byte) (correcta ? 1 : 0));
+        destino.put(posicion + 3, (byte) bytesUsuario.length);
+        destino.putShort(posicion + 4, (short) Math.round(puntuacion * 1000));
+        destino.putShort(posicion + 6, (short) 0);
+        destino.putLong(posicion + 8, instanteMs);
+        destino.putLong(posicion + 16, preguntaId);
+        destino.putLong(posicion + 24, respuesta);
+        destino.put(posicion + POSICION_USUARIO, bytesUsuario);
+        for (int i = bytesUsuario.length; i < MAX_BYTES_USUARIO; i++) {
+            destino.put(posicion + POSICION_USUARIO + i, (byte) 0);
+        }
+        destino.putInt(posicion + POSICION_CRC, crc(destino, posicion));
+    }
+    
+    /**
+     * Lee el evento de la posición indicada del buffer
+     * 
+     * @return el evento, o null si el registro está vacío o corrupto (escritura interrumpida)
+     */
+    public static EventoRespuesta leer(ByteBuffer origen, int posicion) {
+        if (origen.get(posicion) != VERSION || origen.getInt(posicion + POSICION_CRC) != crc(origen, posicion)) {
+            return null;
+        }
+        
+        int tipo = origen.get(posicion + 1);
+        int longitudUsuario = Math.min(origen.get(posicion + 3) & 0xFF, MAX_BYTES_USUARIO);
+        byte[] bytesUsuario = new byte[longitudUsuario];
+        origen.get(posicion + POSICION_USUARIO, bytesUsuario);
+        return new EventoRespuesta(
+                origen.getLong(posicion + 8),
+                origen.getLong(posicion + 16),
+                tipo > 0 && tipo < TIPOS.length ? TIPOS[tipo] : null,
+                origen.getLong(posicion + 24),
+                origen.get(posicion + 2) == 1,
+                origen.getShort(posicion + 4) / 1000.0,
+                new String(bytesUsuario, StandardCharsets.UTF_8));
+    }
+    
+    private static int crc(ByteBuffer buffer, int posicion) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(posicion, POSICION_CRC));
+        return (int) crc.getValue();
+    }
+    
+    private static byte codigoTipo(String tipoPregunta) {
+        for (byte i = 1; i < TIPOS.length; i++) {
+            if (TIPOS[i].equals(tipoPregunta)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Bytes UTF-8 del usuario; si no cabe, un prefijo (sin partir caracteres) y "~" con el hash del nombre
+     */
+    static byte[] codificarUsuario(String usuario) {
+        byte[] bytes = (usuario == null ? "" : usuario).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_BYTES_USUARIO) {
+            return bytes;
+        }
+        int fin = MAX_BYTES_USUARIO - BYTES_HASH_USUARIO;
+        // Retrocede hasta el inicio de un carácter (los bytes de continuación empiezan por 10)
+        while (fin > 0 && (bytes[fin] & 0xC0) == 0x80) {
+            fin--;
+        }
+        byte[] sufijo = ("~" + "%016x".formatted(hash(bytes))).getBytes(StandardCharsets.US_ASCII);
+        byte[] codificado = new byte[fin + sufijo.length];
+        System.arraycopy(bytes, 0, codificado, 0, fin);
+        System.arraycopy(sufijo, 0, codificado, fin, sufijo.length);
+        return codificado;
+    }
+    
+    /**
+     * FNV-1a de 64 bits
+     */
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,26 @@
+package com.midominio.group.app.spring.eventos;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuración del log de eventos de respuestas calificadas.
+ * 
+ * Se desactiva con app.eventos.habilitado=false (no se crea RegistroEventos).
+ */
+@Configuration
+@EnableConfigurationProperties(EventosProperties.class)
+public class EventosConfig {
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "app.eventos", name = "habilitado", havingValue = "true", matchIfMissing = true)
+    public RegistroEventos registroEventos(EventosProperties propiedades) throws IOException {
+        return new RegistroEventos(Path.of(propiedades.directorio()), propiedades.registrosPorSegmento(),
+                propiedades.intervaloSync(), propiedades.esperarSync());
+    }
+}
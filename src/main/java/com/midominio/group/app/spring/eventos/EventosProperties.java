@@ -0,0 +1,45 @@
+package com.midominio.group.app.spring.eventos;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuración del log de eventos de respuestas calificadas.
+ * Propiedades con prefijo app.eventos en application.properties.
+ * 
+ * @param habilitado activa o desactiva el registro de eventos
+ * @param directorio directorio de los ficheros de segmento
+ * @param registrosPorSegmento eventos por segmento (128 bytes cada uno)
+ * @param intervaloSync periodo máximo entre dos fsync (commit agrupado)
+ * @param esperarSync si la calificación espera a que su evento sea durable
+ * @param retencion antigüedad a partir de la cual se borran los segmentos
+ * @param tamanoMaximo tamaño total máximo de los segmentos (se borran los más antiguos)
+ * @param cronRetencion cron de Spring de la limpieza ("-" para desactivar)
+ */
+@ConfigurationProperties(prefix = "app.eventos")
+public record EventosProperties(
+        Boolean habilitado,
+        String directorio,
+        Integer registrosPorSegmento,
+        Duration intervaloSync,
+        Boolean esperarSync,
+        Duration retencion,
+        DataSize tamanoMaximo,
+        String cronRetencion) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public EventosProperties {
+        habilitado = habilitado == null ? Boolean.TRUE : habilitado;
+        directorio = directorio == null ? "eventos" : directorio;
+        registrosPorSegmento = registrosPorSegmento == null ? 1 << 19 : registrosPorSegmento;
+        intervaloSync = intervaloSync == null ? Duration.ofMillis(5) : intervaloSync;
+        esperarSync = esperarSync == null ? Boolean.TRUE : esperarSync;
+        retencion = retencion == null ? Duration.ofDays(365) : retencion;
+        tamanoMaximo = tamanoMaximo == null ? DataSize.ofGigabytes(10) : tamanoMaximo;
+        cronRetencion = cronRetencion == null ? "0 0 4 * * *" : cronRetencion;
+    }
+}
@@ -0,0 +1,450 @@
+package com.midominio.group.app.spring.eventos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Log de solo adición de respuestas calificadas en ficheros de segmento proyectados en memoria.
+ * 
+ * - Cada segmento (eventos-{primera secuencia}.log) tiene un número fijo de registros de
+ *   EventoRespuesta.TAMANO bytes y se crea con su tamaño final, así que añadir un evento
+ *   es escribir 128 bytes en memoria bajo un cerrojo
+ * - Commit agrupado: un único hilo hace fsync (MappedByteBuffer.force) del rango pendiente
+ *   cada intervaloSync; si esperarSync, quien registra espera a que su evento sea durable,
+ *   de modo que muchas calificaciones comparten el mismo fsync
+ * - Si un fsync falla, el log deja de aceptar eventos: quien espera y quien registre
+ *   después recibe UncheckedIOException (no se puede saber qué llegó a disco)
+ * - Recuperación: al abrir, el último segmento se recorre hasta el primer registro vacío o
+ *   con CRC incorrecto (escritura interrumpida) y a partir de ahí se borra el resto
+ * - Lectura: reproducir() recorre los eventos durables en orden de secuencia
+ * - Retención: aplicarRetencion() borra segmentos completos antiguos o que exceden el tamaño máximo
+ * 
+ * Usado en:
+ * - EventoRespuestaService (registro al calificar, consulta y retención)
+ */
+public class RegistroEventos implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(RegistroEventos.class);
+    private static final Pattern NOMBRE_SEGMENTO = Pattern.compile("eventos-(\\d{20})\\.log");
+    private static final int REGISTROS_POR_LECTURA = 1024;
+    
+    private final Path directorio;
+    private final int registrosPorSegmento;
+    private final long tamanoSegmento;
+    private final Duration intervaloSync;
+    private final boolean esperarSync;
+    
+    // Primera secuencia de cada segmento -> fichero
+    private final ConcurrentSkipListMap<Long, Path> segmentos = new ConcurrentSkipListMap<>();
+    
+    // Protegidos por escritura
+    private final ReentrantLock escritura = new ReentrantLock();
+    private MappedByteBuffer actual;
+    private long baseActual;
+    private int siguienteIndice;
+    // Segmentos llenos cuyo final aún no ha hecho durable el hilo de sincronización
+    private final List<SegmentoLleno> llenos = new ArrayList<>();
+    
+    // Secuencias < siguiente están escritas en memoria; < durable, en disco
+    private volatile long siguiente;
+    private volatile long durable;
+    private final Object monitorSync = new Object();
+    private final Thread hiloSync;
+    private volatile boolean abierto = true;
+    private volatile UncheckedIOException falloSync;
+    
+    public RegistroEventos(Path directorio, int registrosPorSegmento, Duration intervaloSync, boolean esperarSync)
+            throws IOException {
+        if ((long) registrosPorSegmento * EventoRespuesta.TAMANO > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segmento demasiado grande: " + registrosPorSegmento + " registros");
+        }
+        this.directorio = directorio.toAbsolutePath().normalize();
+        this.registrosPorSegmento = registrosPorSegmento;
+        this.tamanoSegmento = (long) registrosPorSegmento * EventoRespuesta.TAMANO;
+        this.intervaloSync = intervaloSync;
+        this.esperarSync = esperarSync;
+        Files.createDirectories(this.directorio);
+        recuperar();
+        
+        hiloSync = new Thread(this::bucleSync, "eventos-sync");
+        hiloSync.setDaemon(true);
+        hiloSync.start();
+    }
+    
+    /**
+     * Añade un evento al log
+     * Si esperarSync, no vuelve hasta que el evento está en disco
+     * 
+     * @return número de secuencia del evento
+     * @throws IllegalStateException si el log está cerrado
+     * @throws UncheckedIOException si un fsync ha fallado
+     */
+    public long registrar(EventoRespuesta evento) {
+        long secuencia;
+        escritura.lock();
+        try {
+            if (!abierto) {
+                throw new IllegalStateException("El log de eventos está cerrado");
+            }
+            comprobarSync();
+            if (siguienteIndice == registrosPorSegmento) {
+                rotar();
+            }
+            evento.escribir(actual, siguienteIndice * EventoRespuesta.TAMANO);
+            secuencia = baseActual + siguienteIndice;
+            siguienteIndice++;
+            siguiente = secuencia + 1;
+        } finally {
+            escritura.unlock();
+        }
+        
+        if (esperarSync) {
+            esperarDurable(secuencia);
+        }
+        return secuencia;
+    }
+    
+    /**
+     * Recorre en orden los eventos durables a partir de una secuencia
+     * Si la secuencia ya se borró por retención, empieza en el evento más antiguo conservado
+     * 
+     * @param desde primera secuencia a leer
+     * @param maximo número máximo de eventos
+     * @param consumidor receptor de cada evento
+     * @return secuencia siguiente al último evento leído (para continuar la lectura)
+     */
+    public long reproducir(long desde, int maximo, Consumer<EventoRespuesta> consumidor) throws IOException {
+        long hasta = durable;
+        long secuencia = segmentos.isEmpty() ? desde : Math.max(desde, segmentos.firstKey());
+        int leidos = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(REGISTROS_POR_LECTURA * EventoRespuesta.TAMANO);
+        
+        while (secuencia < hasta && leidos < maximo) {
+            Map.Entry<Long, Path> segmento = segmentos.floorEntry(secuencia);
+            if (segmento == null) {
+                break;
+            }
+            long base = segmento.getKey();
+            int registros = (int) Math.min(Math.min(base + registrosPorSegmento, hasta) - secuencia,
+                    Math.min(maximo - leidos, REGISTROS_POR_LECTURA));
+            
+            buffer.clear().limit(registros * EventoRespuesta.TAMANO);
+            try (FileChannel canal = FileChannel.open(segmento.getValue(), StandardOpenOption.READ)) {
+                long posicion = (secuencia - base) * EventoRespuesta.TAMANO;
+                while (buffer.hasRemaining() && canal.read(buffer, posicion + buffer.position()) >= 0) {
+                    // lectura completa del bloque
+                }
+            }
+            
+            for (int i = 0; i < registros; i++) {
+                EventoRespuesta evento = EventoRespuesta.leer(buffer, i * EventoRespuesta.TAMANO);
+                if (evento != null) {
+                    consumidor.accept(evento);
+                }
+            }
+            secuencia += registros;
+            leidos += registros;
+        }
+        return secuencia;
+    }
+    
+    /**
+     * Borra los segmentos completos cuyo último evento es anterior al límite y, si aun así
+     * se supera el tamaño máximo, los más antiguos. El segmento en escritura nunca se borra.
+     * 
+     * @param limiteMs instante (ms epoch) anterior al cual los eventos pueden borrarse
+     * @param tamanoMaximo tamaño total máximo en bytes
+     * @return número de segmentos borrados
+     */
+    public int aplicarRetencion(long limiteMs, long tamanoMaximo) throws IOException {
+        long base;
+        escritura.lock();
+        try {
+            base = baseActual;
+        } finally {
+            escritura.unlock();
+        }
+        
+        int borrados = 0;
+        for (Map.Entry<Long, Path> segmento : segmentos.headMap(base).entrySet()) {
+            boolean excedeTamano = segmentos.size() * tamanoSegmento > tamanoMaximo;
+            if (!excedeTamano && ultimoInstante(segmento.getValue()) >= limiteMs) {
+                break;
+            }
+            segmentos.remove(segmento.getKey());
+            Files.deleteIfExists(segmento.getValue());
+            borrados++;
+        }
+        if (borrados > 0) {
+            log.info("Retención del log de eventos: {} segmentos borrados", borrados);
+        }
+        return borrados;
+    }
+    
+    /**
+     * Secuencia del próximo evento (número total de eventos registrados)
+     */
+    public long siguienteSecuencia() {
+        return siguiente;
+    }
+    
+    /**
+     * Secuencia hasta la que los eventos están en disco (excluida)
+     */
+    public long secuenciaDurable() {
+        return durable;
+    }
+    
+    /**
+     * Primera secuencia conservada (las anteriores se borraron por retención)
+     */
+    public long primeraSecuencia() {
+        return segmentos.isEmpty() ? 0 : segmentos.firstKey();
+    }
+    
+    /**
+     * Empieza el segmento siguiente. Primero se crea y se proyecta: si falla, el estado no cambia
+     * y el siguiente registrar() lo vuelve a intentar (no se escribe sobre el segmento lleno).
+     * El fsync del segmento lleno lo hace el hilo de sincronización, fuera del cerrojo.
+     */
+    private void rotar() {
+        long nuevaBase = baseActual + registrosPorSegmento;
+        Path fichero = rutaSegmento(nuevaBase);
+        MappedByteBuffer nuevo;
+        try {
+            nuevo = proyectar(fichero);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el segmento " + nuevaBase, e);
+        }
+        
+        llenos.add(new SegmentoLleno(baseActual, actual));
+        segmentos.put(nuevaBase, fichero);
+        actual = nuevo;
+        baseActual = nuevaBase;
+        siguienteIndice = 0;
+    }
+    
+    /**
+     * Hilo de commit agrupado: cada intervaloSync hace fsync de todo lo escrito desde el anterior
+     */
+    private void bucleSync() {
+        long nanos = intervaloSync.toNanos();
+        while (abierto) {
+            synchronized (monitorSync) {
+                try {
+                    monitorSync.wait(nanos / 1_000_000, (int) (nanos % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            try {
+                sincronizar();
+            } catch (RuntimeException e) {
+                // MappedByteBuffer.force() informa de los errores de E/S con UncheckedIOException
+                log.error("Log de eventos: fallo al hacer fsync, se dejan de aceptar eventos", e);
+                synchronized (monitorSync) {
+                    falloSync = e instanceof UncheckedIOException ? (UncheckedIOException) e : new UncheckedIOException(new IOException(e));
+                    monitorSync.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+    
+    private void sincronizar() {
+        long objetivo;
+        long base;
+        MappedByteBuffer buffer;
+        List<SegmentoLleno> pendientes;
+        escritura.lock();
+        try {
+            objetivo = siguiente;
+            base = baseActual;
+            buffer = actual;
+            pendientes = List.copyOf(llenos);
+            llenos.clear();
+        } finally {
+            escritura.unlock();
+        }
+        
+        // Primero lo que falta de los segmentos que se llenaron desde el último fsync, en orden
+        for (SegmentoLleno lleno : pendientes) {
+            long desde = Math.max(durable, lleno.base()) - lleno.base();
+            if (desde < registrosPorSegmento) {
+                int inicio = (int) desde * EventoRespuesta.TAMANO;
+                lleno.buffer().force(inicio, (int) tamanoSegmento - inicio);
+            }
+        }
+        
+        long pendienteDesde = Math.max(durable, base);
+        if (objetivo > pendienteDesde) {
+            int desde = (int) (pendienteDesde - base) * EventoRespuesta.TAMANO;
+            int hasta = (int) (objetivo - base) * EventoRespuesta.TAMANO;
+            buffer.force(desde, hasta - desde);
+        }
+        marcarDurable(objetivo);
+    }
+    
+    private void marcarDurable(long secuencia) {
+        synchronized (monitorSync) {
+            if (secuencia > durable) {
+                durable = secuencia;
+                monitorSync.notifyAll();
+            }
+        }
+    }
+    
+    private void esperarDurable(long secuencia) {
+        synchronized (monitorSync) {
+            while (durable <= secuencia && abierto && falloSync == null) {
+                try {
+                    monitorSync.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (durable <= secuencia) {
+                comprobarSync();
+            }
+        }
+    }
+    
+    private void comprobarSync() {
+        UncheckedIOException fallo = falloSync;
+        if (fallo != null) {
+            throw new UncheckedIOException("El log de eventos no es durable: falló el fsync", fallo.getCause());
+        }
+    }
+    
+    /**
+     * Localiza los segmentos, recupera el último tras una posible caída y lo abre para escribir
+     */
+    private void recuperar() throws IOException {
+        try (Stream<Path> ficheros = Files.list(directorio)) {
+            ficheros.forEach(fichero -> {
+                Matcher nombre = NOMBRE_SEGMENTO.matcher(fichero.getFileName().toString());
+                if (nombre.matches()) {
+                    segmentos.put(Long.parseLong(nombre.group(1)), fichero);
+                }
+            });
+        }
+        
+        if (segmentos.isEmpty()) {
+            segmentos.put(0L, rutaSegmento(0));
+        }
+        baseActual = segmentos.lastKey();
+        actual = proyectar(segmentos.lastEntry().getValue());
+        
+        int validos = 0;
+        while (validos < registrosPorSegmento
+                && EventoRespuesta.leer(actual, validos * EventoRespuesta.TAMANO) != null) {
+            validos++;
+        }
+        
+        // Borra registros parciales o de escrituras posteriores que llegaron a disco antes que el hueco
+        int descartados = 0;
+        for (int i = validos; i < registrosPorSegmento; i++) {
+            int posicion = i * EventoRespuesta.TAMANO;
+            if (!registroVacio(posicion)) {
+                for (int b = 0; b < EventoRespuesta.TAMANO; b++) {
+                    actual.put(posicion + b, (byte) 0);
+                }
+                descartados++;
+            }
+        }
+        if (descartados > 0) {
+            actual.force();
+            log.warn("Log de eventos: descartados {} registros incompletos tras la secuencia {}",
+                    descartados, baseActual + validos);
+        }
+        
+        siguienteIndice = validos;
+        siguiente = baseActual + validos;
+        durable = siguiente;
+        log.info("Log de eventos abierto en {}: secuencias {} a {} en {} segmentos",
+                directorio, primeraSecuencia(), siguiente, segmentos.size());
+    }
+    
+    private boolean registroVacio(int posicion) {
+        for (int b = 0; b < EventoRespuesta.TAMANO; b += Long.BYTES) {
+            if (actual.getLong(posicion + b) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private long ultimoInstante(Path segmento) throws IOException {
+        ByteBuffer registro = ByteBuffer.allocate(EventoRespuesta.TAMANO);
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ)) {
+            canal.read(registro, tamanoSegmento - EventoRespuesta.TAMANO);
+        }
+        EventoRespuesta ultimo = EventoRespuesta.leer(registro, 0);
+        return ultimo == null ? Long.MIN_VALUE : ultimo.instanteMs();
+    }
+    
+    private Path rutaSegmento(long base) {
+        return directorio.resolve("eventos-%020d.log".formatted(base));
+    }
+    
+    private MappedByteBuffer proyectar(Path fichero) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichero,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Proyectar más allá del final amplía el fichero a su tamaño definitivo (relleno de ceros)
+            return canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanoSegmento);
+        }
+    }
+    
+    /**
+     * Segmento lleno pendiente de fsync
+     */
+    private record SegmentoLleno(long base, MappedByteBuffer buffer) {
+    }
+    
+    /**
+     * Hace durable lo pendiente y detiene el hilo de sincronización
+     */
+    @Override
+    public void close() {
+        escritura.lock();
+        try {
+            abierto = false;
+        } finally {
+            escritura.unlock();
+        }
+        hiloSync.interrupt();
+        try {
+            hiloSync.join(Duration.ofSeconds(5).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (falloSync == null) {
+            sincronizar();
+        }
+        synchronized (monitorSync) {
+            monitorSync.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.midominio.group.app.spring.examenes;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de los exámenes cronometrados y de su entrega automática.
+ * Propiedades con prefijo app.examenes en application.properties.
+ * 
+ * @param duracionTick resolución de la rueda de temporizadores (retraso máximo de una entrega automática,
+ *                     sin contar la cola de calificación)
+ * @param duracionMaxima duración máxima que se puede pedir al iniciar un examen
+ * @param tamanoLote exámenes vencidos calificados por transacción (y leídos por bloque al arrancar)
+ * @param esperaReintento espera antes de reintentar la entrega automática de un examen que ha fallado
+ */
+@ConfigurationProperties(prefix = "app.examenes")
+public record ExamenesProperties(Duration duracionTick, Duration duracionMaxima, Integer tamanoLote,
+                                 Duration esperaReintento) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public ExamenesProperties {
+        duracionTick = duracionTick == null ? Duration.ofMillis(100) : duracionTick;
+        duracionMaxima = duracionMaxima == null ? Duration.ofHours(3) : duracionMaxima;
+        tamanoLote = tamanoLote == null ? 500 : tamanoLote;
+        esperaReintento = esperaReintento == null ? Duration.ofSeconds(30) : esperaReintento;
+    }
+}
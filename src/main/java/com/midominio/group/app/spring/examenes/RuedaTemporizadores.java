@@ -0,0 +1,211 @@
+package com.midominio.group.app.spring.examenes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rueda de temporizadores jerárquica (hierarchical timing wheel) para decenas de miles
+ * de vencimientos simultáneos sin una tarea programada por cada uno.
+ * 
+ * - El tiempo avanza en ticks de duración fija; cada nivel tiene {@value #RANURAS} ranuras y cada
+ *   ranura de un nivel abarca tantos ticks como una vuelta completa del nivel inferior
+ *   ({@value #NIVELES} niveles: 64^4 ticks, unos 19 días con ticks de 100 ms)
+ * - programar() coloca el temporizador en la ranura de su nivel según lo que falta para su vencimiento;
+ *   cancelar() lo desengancha de su lista doblemente enlazada: ambos O(1)
+ * - avanzarHasta() procesa los ticks pendientes; cuando el nivel 0 completa una vuelta, la ranura
+ *   que toca del nivel superior se "desciende" (cascade) y sus temporizadores se recolocan
+ * - Los vencimientos más lejanos que el alcance de la rueda se dejan en el último nivel
+ *   y se recolocan hasta que caen dentro
+ * 
+ * La resolución es de un tick: un temporizador vence en el primer tick cuyo inicio es igual o
+ * posterior a su vencimiento. Los vencimientos pasados vencen en el siguiente tick que se procese.
+ * 
+ * Sincronizada: programar()/cancelar() llegan de los hilos HTTP y avanzarHasta() del hilo del temporizador.
+ * 
+ * Usado en:
+ * - TemporizadorExamenes (entrega automática de exámenes cronometrados)
+ * 
+ * @param <T> valor asociado a cada temporizador (p. ej. el ID del examen)
+ */
+public class RuedaTemporizadores<T> {
+    
+    static final int BITS_NIVEL = 6;
+    static final int RANURAS = 1 << BITS_NIVEL;
+    static final int NIVELES = 4;
+    private static final int MASCARA = RANURAS - 1;
+    // Ticks que caben en la rueda a partir del tick actual
+    private static final long ALCANCE = 1L << (BITS_NIVEL * NIVELES);
+    
+    private final long origenMillis;
+    private final long milisPorTick;
+    // Cabeceras (centinelas) de las listas de cada ranura, por nivel
+    private final Temporizador<T>[][] ranuras;
+    // Siguiente tick por procesar
+    private long tickActual;
+    private int tamano;
+    
+    /**
+     * @param origenMillis instante (epoch ms) del tick 0
+     * @param milisPorTick duración de un tick (resolución de los vencimientos)
+     */
+    @SuppressWarnings("unchecked")
+    public RuedaTemporizadores(long origenMillis, long milisPorTick) {
+        if (milisPorTick <= 0) {
+            throw new IllegalArgumentException("La duración del tick debe ser positiva");
+        }
+        this.origenMillis = origenMillis;
+        this.milisPorTick = milisPorTick;
+        this.ranuras = new Temporizador[NIVELES][RANURAS];
+        for (int nivel = 0; nivel < NIVELES; nivel++) {
+            for (int ranura = 0; ranura < RANURAS; ranura++) {
+                ranuras[nivel][ranura] = Temporizador.centinela();
+            }
+        }
+    }
+    
+    /**
+     * Programa un vencimiento
+     * 
+     * @param valor valor que se devolverá al vencer
+     * @param vencimientoMillis instante de vencimiento (epoch ms)
+     * @return el temporizador, para cancelarlo
+     */
+    public synchronized Temporizador<T> programar(T valor, long vencimientoMillis) {
+        long tick = Math.ceilDiv(vencimientoMillis - origenMillis, milisPorTick);
+        Temporizador<T> temporizador = new Temporizador<>(valor, Math.max(tick, tickActual));
+        colocar(temporizador);
+        tamano++;
+        return temporizador;
+    }
+    
+    /**
+     * Cancela un temporizador
+     * 
+     * @return true si estaba programado (false si ya había vencido o se había cancelado)
+     */
+    public synchronized boolean cancelar(Temporizador<T> temporizador) {
+        if (!temporizador.enlazado()) {
+            return false;
+        }
+        temporizador.desenlazar();
+        tamano--;
+        return true;
+    }
+    
+    /**
+     * Procesa todos los ticks que han empezado hasta ahora y devuelve los temporizadores vencidos
+     * 
+     * @param ahoraMillis instante actual (epoch ms)
+     * @return valores vencidos, en orden de vencimiento (por tick)
+     */
+    public synchronized List<T> avanzarHasta(long ahoraMillis) {
+        List<T> vencidos = new ArrayList<>();
+        long ultimoTick = Math.floorDiv(ahoraMillis - origenMillis, milisPorTick);
+        while (tickActual <= ultimoTick) {
+            int indice = (int) (tickActual & MASCARA);
+            if (indice == 0) {
+                descender(1);
+            }
+            Temporizador<T> cabecera = ranuras[0][indice];
+            while (cabecera.siguiente != cabecera) {
+                Temporizador<T> temporizador = cabecera.siguiente;
+                temporizador.desenlazar();
+                if (temporizador.tick <= tickActual) {
+                    vencidos.add(temporizador.valor);
+                    tamano--;
+                } else {
+                    colocar(temporizador);
+                }
+            }
+            tickActual++;
+        }
+        return vencidos;
+    }
+    
+    /**
+     * Temporizadores programados pendientes de vencer
+     */
+    public synchronized int tamano() {
+        return tamano;
+    }
+    
+    /**
+     * Recoloca la ranura que toca de un nivel al empezar una vuelta del nivel inferior
+     * (y, si este nivel también empieza vuelta, antes la del nivel superior)
+     */
+    private void descender(int nivel) {
+        if (nivel >= NIVELES) {
+            return;
+        }
+        int indice = (int) ((tickActual >>> (BITS_NIVEL * nivel)) & MASCARA);
+        if (indice == 0) {
+            descender(nivel + 1);
+        }
+        Temporizador<T> cabecera = ranuras[nivel][indice];
+        while (cabecera.siguiente != cabecera) {
+            Temporizador<T> temporizador = cabecera.siguiente;
+            temporizador.desenlazar();
+            colocar(temporizador);
+        }
+    }
+    
+    private void colocar(Temporizador<T> temporizador) {
+        long restante = temporizador.tick - tickActual;
+        long tick = restante < ALCANCE ? temporizador.tick : tickActual + ALCANCE - 1;
+        restante = tick - tickActual;
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && restante >= 1L << (BITS_NIVEL * (nivel + 1))) {
+            nivel++;
+        }
+        int indice = (int) ((tick >>> (BITS_NIVEL * nivel)) & MASCARA);
+        ranuras[nivel][indice].enlazarAntes(temporizador);
+    }
+    
+    /**
+     * Temporizador programado: nodo de la lista doblemente enlazada de su ranura
+     */
+    public static final class Temporizador<T> {
+        
+        private final T valor;
+        private final long tick;
+        private Temporizador<T> anterior;
+        private Temporizador<T> siguiente;
+        
+        private Temporizador(T valor, long tick) {
+            this.valor = valor;
+            this.tick = tick;
+        }
+        
+        private static <T> Temporizador<T> centinela() {
+            Temporizador<T> centinela = new Temporizador<>(null, -1L);
+            centinela.anterior = centinela;
+            centinela.siguiente = centinela;
+            return centinela;
+        }
+        
+        public T valor() {
+            return valor;
+        }
+        
+        private boolean enlazado() {
+            return siguiente != null;
+        }
+        
+        /**
+         * Inserta el temporizador al final de la lista de este centinela
+         */
+        private void enlazarAntes(Temporizador<T> temporizador) {
+            temporizador.anterior = anterior;
+            temporizador.siguiente = this;
+            anterior.siguiente = temporizador;
+            anterior = temporizador;
+        }
+        
+        private void desenlazar() {
+            anterior.siguiente = siguiente;
+            siguiente.anterior = anterior;
+            anterior = null;
+            siguiente = null;
+        }
+    }
+}
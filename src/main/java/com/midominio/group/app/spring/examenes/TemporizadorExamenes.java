@@ -0,0 +1,215 @@
+package com.midominio.group.app.spring.examenes;
+
+import com.midominio.group.app.spring.dto.LimiteExamen;
+import com.midominio.group.app.spring.entity.EstadoExamen;
+import com.midominio.group.app.spring.repository.ExamenCronometradoRepository;
+import com.midominio.group.app.spring.service.ExamenService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Entrega automática de los exámenes cronometrados cuando se acaba su tiempo.
+ * 
+ * - Cada examen en curso tiene un temporizador en una RuedaTemporizadores: programar y cancelar
+ *   son O(1) y no hay una tarea programada por examen
+ * - Un único hilo (examenes-temporizador) avanza la rueda cada app.examenes.duracion-tick
+ *   y pasa los exámenes vencidos a una cola
+ * - Otro hilo (examenes-entregas) vacía la cola por lotes de app.examenes.tamano-lote y los
+ *   califica en una transacción por lote (ExamenService.entregarVencidos()); si un lote falla,
+ *   se reintenta examen a examen, y los que vuelven a fallar se reprograman tras app.examenes.espera-reintento
+ * 
+ * La rueda solo vive en memoria: al arrancar se reprograman todos los exámenes EN_CURSO a partir
+ * de su fecha límite persistida. Los que vencieron con la aplicación parada se entregan en el primer tick.
+ * 
+ * Usado en:
+ * - ExamenService (programar al iniciar un examen, cancelar al entregarlo)
+ */
+@Component
+@EnableConfigurationProperties(ExamenesProperties.class)
+public class TemporizadorExamenes {
+    
+    private static final Logger log = LoggerFactory.getLogger(TemporizadorExamenes.class);
+    
+    @Autowired
+    private ExamenesProperties propiedades;
+    
+    @Autowired
+    private ExamenCronometradoRepository repository;
+    
+    // ExamenService también depende de este componente: se resuelve al entregar el primer lote
+    @Autowired
+    private ObjectProvider<ExamenService> examenes;
+    
+    private final Map<Long, RuedaTemporizadores.Temporizador<Long>> programados = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> vencidos = new LinkedBlockingQueue<>();
+    private RuedaTemporizadores<Long> rueda;
+    private Thread hiloTemporizador;
+    private Thread hiloEntregas;
+    private volatile boolean activo;
+    
+    @PostConstruct
+    void crearRueda() {
+        rueda = new RuedaTemporizadores<>(System.currentTimeMillis(), propiedades.duracionTick().toMillis());
+    }
+    
+    /**
+     * Reprograma los exámenes en curso (leídos por bloques de id) y arranca los dos hilos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        long inicio = System.nanoTime();
+        int tamanoBloque = propiedades.tamanoLote();
+        long ultimoId = 0L;
+        int recuperados = 0;
+        List<LimiteExamen> bloque;
+        do {
+            bloque = repository.findLimitesDesde(EstadoExamen.EN_CURSO, ultimoId, PageRequest.of(0, tamanoBloque));
+            for (LimiteExamen limite : bloque) {
+                programarAhora(limite.id(), milis(limite.fechaLimite()));
+            }
+            recuperados += bloque.size();
+            if (!bloque.isEmpty()) {
+                ultimoId = bloque.get(bloque.size() - 1).id();
+            }
+        } while (bloque.size() == tamanoBloque);
+        
+        activo = true;
+        hiloTemporizador = Thread.ofPlatform().name("examenes-temporizador").daemon(true).start(this::bucleTemporizador);
+        hiloEntregas = Thread.ofPlatform().name("examenes-entregas").daemon(true).start(this::bucleEntregas);
+        log.info("Temporizador de exámenes iniciado: {} exámenes en curso reprogramados en {} ms",
+                recuperados, (System.nanoTime() - inicio) / 1_000_000L);
+    }
+    
+    @PreDestroy
+    void detener() throws InterruptedException {
+        activo = false;
+        for (Thread hilo : new Thread[] {hiloTemporizador, hiloEntregas}) {
+            if (hilo != null) {
+                hilo.interrupt();
+                hilo.join(Duration.ofSeconds(5).toMillis());
+            }
+        }
+    }
+    
+    /**
+     * Programa la entrega automática de un examen (tras el commit si hay transacción)
+     */
+    public void programar(Long id, LocalDateTime fechaLimite) {
+        long vencimiento = milis(fechaLimite);
+        trasCommit(() -> programarAhora(id, vencimiento));
+    }
+    
+    /**
+     * Cancela la entrega automática de un examen (tras el commit si hay transacción)
+     */
+    public void cancelar(Long id) {
+        trasCommit(() -> {
+            RuedaTemporizadores.Temporizador<Long> temporizador = programados.remove(id);
+            if (temporizador != null) {
+                rueda.cancelar(temporizador);
+            }
+        });
+    }
+    
+    private void programarAhora(Long id, long vencimientoMillis) {
+        programados.compute(id, (clave, anterior) -> {
+            if (anterior != null) {
+                rueda.cancelar(anterior);
+            }
+            return rueda.programar(clave, vencimientoMillis);
+        });
+    }
+    
+    /**
+     * Hilo del temporizador: avanza la rueda y encola los vencidos, sin tocar la base de datos
+     */
+    private void bucleTemporizador() {
+        long milisPorTick = propiedades.duracionTick().toMillis();
+        while (activo) {
+            try {
+                Thread.sleep(milisPorTick);
+            } catch (InterruptedException e) {
+                return;
+            }
+            List<Long> ids = rueda.avanzarHasta(System.currentTimeMillis());
+            ids.forEach(programados::remove);
+            vencidos.addAll(ids);
+        }
+    }
+    
+    /**
+     * Hilo de entregas: espera al primer vencido y se lleva con él los que ya estén en la cola
+     */
+    private void bucleEntregas() {
+        int tamanoLote = propiedades.tamanoLote();
+        List<Long> lote = new ArrayList<>(tamanoLote);
+        while (activo) {
+            try {
+                lote.add(vencidos.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            vencidos.drainTo(lote, tamanoLote - 1);
+            entregar(lote);
+            lote.clear();
+        }
+    }
+    
+    private void entregar(List<Long> lote) {
+        ExamenService service = examenes.getObject();
+        try {
+            service.entregarVencidos(lote);
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Error al entregar un lote de {} exámenes vencidos, se reintentan uno a uno: {}",
+                    lote.size(), e.getMessage());
+        }
+        for (Long id : lote) {
+            try {
+                service.entregarVencidos(List.of(id));
+            } catch (RuntimeException e) {
+                log.error("Error al entregar el examen vencido {}, se reintenta en {}",
+                        id, propiedades.esperaReintento(), e);
+                programarAhora(id, System.currentTimeMillis() + propiedades.esperaReintento().toMillis());
+            }
+        }
+    }
+    
+    private static long milis(LocalDateTime fecha) {
+        return fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private void trasCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
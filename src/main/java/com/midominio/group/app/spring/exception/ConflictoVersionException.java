@@ -0,0 +1,38 @@
+package com.midominio.group.app.spring.exception;
+
+	/**
+	 * Excepción que se lanza cuando se intenta modificar un recurso a partir de una
+	 * versión que ya no es la actual (otro usuario lo ha modificado antes).
+	 * 
+	 * Usada en:
+	 * - Actualizaciones parciales (PATCH) de preguntas con bloqueo optimista
+	 * 
+	 * Manejada por GlobalExceptionHandler para devolver HTTP 409 con la versión actual
+	 */
+	public class ConflictoVersionException extends IllegalStateException {
+	    
+		private static final long serialVersionUID = 1L;
+		private final Object valorClave;        // ID del recurso
+	    private final Long versionEsperada;     // versión enviada por el cliente
+	    private final Long versionActual;       // versión almacenada (null si no se conoce)
+	    
+	    public ConflictoVersionException(Object valorClave, Long versionEsperada, Long versionActual) {
+	        super(String.format("El recurso %s ha sido modificado por otro usuario (versión enviada: %s, versión actual: %s)",
+	              valorClave, versionEsperada, versionActual));
+	        this.valorClave = valorClave;
+	        this.versionEsperada = versionEsperada;
+	        this.versionActual = versionActual;
+	    }
+	    
+	    public Object getValorClave() {
+	        return valorClave;
+	    }
+	    
+	    public Long getVersionEsperada() {
+	        return versionEsperada;
+	    }
+	    
+	    public Long getVersionActual() {
+	        return versionActual;
+	    }
+	}
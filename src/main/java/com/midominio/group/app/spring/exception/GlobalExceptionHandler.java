@@ -1,5 +1,6 @@
 package com.midominio.group.app.spring.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -23,6 +24,7 @@ import java.util.Map;
  * - RecursoNoEncontradoException -> HTTP 404
  * - DatosInvalidosException / IllegalArgumentException -> HTTP 400
  * - IllegalStateException -> HTTP 409 (conflicto)
+ * - ConflictoVersionException / OptimisticLockingFailureException -> HTTP 409 (modificación concurrente)
  * - Exception (genérica) -> HTTP 500
  */
 @RestControllerAdvice
@@ -96,6 +98,36 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
     
+    /**
+     * Maneja modificaciones concurrentes detectadas por bloqueo optimista
+     * - ConflictoVersionException: el cliente envió una versión antigua
+     * - OptimisticLockingFailureException: otra transacción confirmó un cambio entre la lectura y la escritura
+     * Retorna HTTP 409 Conflict (el cliente debe releer y volver a aplicar sus cambios)
+     */
+    @ExceptionHandler({ConflictoVersionException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, Object>> manejarConflictoVersion(
+            RuntimeException ex, 
+            WebRequest request) {
+        
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflicto de versión");
+        
+        if (ex instanceof ConflictoVersionException) {
+            ConflictoVersionException conflicto = (ConflictoVersionException) ex;
+            body.put("mensaje", conflicto.getMessage());
+            body.put("identificador", conflicto.getValorClave());
+            body.put("versionActual", conflicto.getVersionActual());
+        } else {
+            body.put("mensaje", "El recurso ha sido modificado por otro usuario. Vuelva a cargarlo y repita los cambios.");
+        }
+        
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+    
     /**
      * Maneja cualquier otra excepción no contemplada
      * Retorna HTTP 500 Internal Server Error
@@ -5,8 +5,8 @@ package com.midominio.group.app.spring.exception;
 	 * 
 	 * GENÉRICA - Usada en todos los services de la aplicación:
 	 * - PreguntaVerdaderoFalsoService
-	 * - PreguntaSeleccionUnicaService (futuro)
-	 * - PreguntaSeleccionMultipleService (futuro)
+	 * - PreguntaSeleccionUnicaService
+	 * - PreguntaSeleccionMultipleService
 	 * - UsuarioService
 	 * - TematicaService
 	 * - TestService
@@ -0,0 +1,76 @@
+package com.midominio.group.app.spring.fragmentos;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource que reparte las conexiones entre los fragmentos según el fragmento fijado
+ * en el hilo actual (fragmento 0 si no hay ninguno).
+ * 
+ * Se usa detrás de un LazyConnectionDataSourceProxy (ver FragmentosConfig): así la conexión
+ * real se pide en la primera sentencia, y un service puede fijar el fragmento al empezar
+ * su método @Transactional aunque la transacción ya esté abierta.
+ * 
+ * Usado en:
+ * - FragmentosConfig (envuelve el DataSource de la aplicación)
+ * - Fragmentos (fija el fragmento de cada transacción y de cada consulta en paralelo)
+ */
+public class DataSourceFragmentado extends AbstractRoutingDataSource {
+    
+    private final List<DataSource> fragmentos;
+    private final ThreadLocal<Integer> actual = new ThreadLocal<>();
+    
+    public DataSourceFragmentado(List<DataSource> fragmentos) {
+        this.fragmentos = List.copyOf(fragmentos);
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int i = 0; i < this.fragmentos.size(); i++) {
+            destinos.put(i, this.fragmentos.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(this.fragmentos.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+    
+    /**
+     * Número de fragmentos (el 0 incluido)
+     */
+    public int total() {
+        return fragmentos.size();
+    }
+    
+    /**
+     * DataSource de un fragmento concreto, sin enrutado (preparación del esquema e identificadores)
+     */
+    public DataSource fragmento(int indice) {
+        return fragmentos.get(indice);
+    }
+    
+    /**
+     * Fragmento fijado en el hilo actual, o null
+     */
+    public Integer actual() {
+        return actual.get();
+    }
+    
+    /**
+     * Fija el fragmento del hilo actual (null vuelve al fragmento 0)
+     */
+    public void usar(Integer fragmento) {
+        if (fragmento == null) {
+            actual.remove();
+        } else {
+            actual.set(fragmento);
+        }
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer fragmento = actual.get();
+        return fragmento == null ? 0 : fragmento;
+    }
+}
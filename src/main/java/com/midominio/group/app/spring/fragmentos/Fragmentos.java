@@ -0,0 +1,460 @@
+package com.midominio.group.app.spring.fragmentos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Reparto del banco de preguntas (preguntas, sus tablas de tipo y sus tablas de archivo)
+ * entre varias bases de datos.
+ * 
+ * - Cada pregunta vive en el fragmento de su temática: CRC32(temática normalizada) % N
+ * - Los IDs no chocan entre fragmentos: el fragmento k genera k+1, k+1+N, k+1+2N...
+ *   así que el fragmento de un ID se calcula sin consultar nada: (id - 1) % N
+ * - Las operaciones sobre una pregunta fijan el fragmento de su transacción (fijarPorId(),
+ *   fijarPorTematica()) antes de la primera sentencia
+ * - Los listados, recuentos y búsquedas consultan todos los fragmentos en paralelo (enTodos())
+ *   y mezclan los resultados (ver FusionPaginas)
+ * 
+ * Con un solo fragmento (sin app.fragmentos.urls) todos los métodos se ejecutan en el hilo
+ * y la transacción del llamante, como si esta clase no existiera.
+ * 
+ * Al arrancar, en H2 copia el esquema del fragmento 0 a los fragmentos vacíos y ajusta
+ * la identidad de preguntas.id en cada uno; en MySQL comprueba auto_increment_increment
+ * y auto_increment_offset, que deben configurarse en cada servidor.
+ * 
+ * Usado en:
+ * - AbstractPreguntaService y sus subclases (operaciones sobre una pregunta)
+ * - PreguntaService (listados, recuentos, lectura por lotes y proyecciones)
+ * - IndicePreguntas, IndiceAutocompletado y DetectorDuplicados (reconstrucción al arrancar)
+ * - TrabajoArchivado y TrabajoCambioEstado (un fragmento tras otro), SondeoCambios (un outbox
+ *   por fragmento) y RecalificacionService (claves de todos los fragmentos)
+ */
+public class Fragmentos implements SmartInitializingSingleton, AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(Fragmentos.class);
+    
+    // Enrutador de conexiones; null con un solo fragmento
+    private final DataSourceFragmentado enrutador;
+    private final TransactionTemplate lectura;
+    private final TransactionTemplate escritura;
+    private final ExecutorService hilos;
+    private final boolean copiarEsquema;
+    
+    public Fragmentos(DataSource dataSource, PlatformTransactionManager transacciones,
+            FragmentosProperties propiedades) {
+        this.enrutador = desenvolver(dataSource);
+        this.lectura = new TransactionTemplate(transacciones);
+        this.lectura.setReadOnly(true);
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.escritura = new TransactionTemplate(transacciones);
+        this.escritura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.hilos = total() == 1 ? null : Executors.newFixedThreadPool(Math.max(1, propiedades.hilos()),
+                Thread.ofPlatform().name("fragmentos-", 0).daemon(true).factory());
+        this.copiarEsquema = propiedades.copiarEsquema();
+    }
+    
+    /**
+     * Número de fragmentos (1 sin reparto)
+     */
+    public int total() {
+        return enrutador == null ? 1 : enrutador.total();
+    }
+    
+    /**
+     * Fragmento de las preguntas nuevas de una temática (sin distinguir mayúsculas ni espacios extremos)
+     */
+    public int porTematica(String tematica) {
+        if (total() == 1 || tematica == null) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(tematica.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % total());
+    }
+    
+    /**
+     * Fragmento en el que vive (o vivía, si se ha eliminado) una pregunta
+     */
+    public int porId(long id) {
+        return (int) Math.floorMod(id - 1, (long) total());
+    }
+    
+    /**
+     * Agrupa IDs por fragmento, conservando su orden dentro de cada grupo
+     */
+    public Map<Integer, List<Long>> agruparPorId(Collection<Long> ids) {
+        Map<Integer, List<Long>> grupos = new TreeMap<>();
+        for (Long id : ids) {
+            grupos.computeIfAbsent(porId(id), fragmento -> new ArrayList<>()).add(id);
+        }
+        return grupos;
+    }
+    
+    /**
+     * Fija el fragmento de la transacción actual a partir del ID de una pregunta
+     */
+    public void fijarPorId(Long id) {
+        if (id != null) {
+            fijar(porId(id));
+        }
+    }
+    
+    /**
+     * Fija el fragmento de la transacción actual a partir de la temática de una pregunta nueva
+     */
+    public void fijarPorTematica(String tematica) {
+        fijar(porTematica(tematica));
+    }
+    
+    /**
+     * Fija el fragmento de la transacción actual hasta que termine.
+     * Debe llamarse antes de la primera sentencia: la conexión se pide en ella.
+     * 
+     * @throws IllegalStateException si no hay transacción o si ya usa otro fragmento
+     */
+    public void fijar(int fragmento) {
+        if (total() == 1) {
+            return;
+        }
+        Integer actual = enrutador.actual();
+        if (actual != null) {
+            if (actual != fragmento) {
+                throw new IllegalStateException("La transacción ya trabaja con el fragmento " + actual
+                        + " y no puede usar también el " + fragmento);
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("El fragmento solo se puede fijar dentro de una transacción");
+        }
+        enrutador.usar(fragmento);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                enrutador.usar(null);
+            }
+        });
+    }
+    
+    /**
+     * Ejecuta una lectura en un fragmento, en una transacción de solo lectura propia
+     * (con un solo fragmento, directamente en la del llamante)
+     */
+    public <R> R enFragmento(int fragmento, Supplier<R> consulta) {
+        if (total() == 1) {
+            return consulta.get();
+        }
+        Integer anterior = enrutador.actual();
+        enrutador.usar(fragmento);
+        try {
+            return lectura.execute(estado -> consulta.get());
+        } finally {
+            enrutador.usar(anterior);
+        }
+    }
+    
+    /**
+     * Ejecuta una escritura en un fragmento, en una transacción propia que se confirma al volver
+     * (con un solo fragmento, directamente en la del llamante, y se confirma con ella)
+     * 
+     * Con varios fragmentos la escritura no forma parte de la transacción del llamante:
+     * si esta se revierte después, la escritura ya está hecha. Solo para operaciones que
+     * se pueden repetir sin efecto (p. ej. un bloque de un trabajo antes de su checkpoint).
+     */
+    public <R> R escribirEn(int fragmento, Supplier<R> operacion) {
+        if (total() == 1) {
+            return operacion.get();
+        }
+        Integer anterior = enrutador.actual();
+        enrutador.usar(fragmento);
+        try {
+            return escritura.execute(estado -> operacion.get());
+        } finally {
+            enrutador.usar(anterior);
+        }
+    }
+    
+    /**
+     * Scatter-gather: ejecuta la lectura en todos los fragmentos a la vez, cada uno en su hilo
+     * y su transacción de solo lectura, y devuelve los resultados en orden de fragmento.
+     * No debe llamarse desde dentro de otra consulta de enTodos() (comparten el pool de hilos).
+     * 
+     * @param consulta lectura a ejecutar, recibe el número de fragmento
+     * @return un resultado por fragmento
+     */
+    public <R> List<R> enTodos(IntFunction<R> consulta) {
+        if (total() == 1) {
+            return Collections.singletonList(consulta.apply(0));
+        }
+        List<Future<R>> pendientes = new ArrayList<>(total());
+        for (int fragmento = 0; fragmento < total(); fragmento++) {
+            int indice = fragmento;
+            pendientes.add(hilos.submit(() -> enFragmento(indice, () -> consulta.apply(indice))));
+        }
+        List<R> resultados = new ArrayList<>(total());
+        for (Future<R> pendiente : pendientes) {
+            resultados.add(esperar(pendiente));
+        }
+        return resultados;
+    }
+    
+    /**
+     * Recorre las filas de todos los fragmentos en orden global de ID, leyendo cada fragmento
+     * por bloques (WHERE id > ? ORDER BY id LIMIT ?) y mezclándolos sobre la marcha.
+     * Con un fragmento es el bucle por bloques de siempre.
+     * 
+     * @param bloque lectura de un bloque a partir de un ID (excluido), en el fragmento fijado
+     * @param tamanoBloque filas por bloque (un bloque más corto indica el final del fragmento)
+     * @param id ID de una fila
+     * @param accion se llama con cada fila, en orden de ID
+     */
+    public <T> void recorrerPorId(LongFunction<List<T>> bloque, int tamanoBloque, ToLongFunction<T> id,
+            Consumer<T> accion) {
+        PriorityQueue<Lector<T>> cola = new PriorityQueue<>(Comparator.comparingLong(Lector::ultimoId));
+        for (int fragmento = 0; fragmento < total(); fragmento++) {
+            Lector<T> lector = new Lector<>(fragmento, bloque, tamanoBloque, id);
+            if (lector.avanzar()) {
+                cola.add(lector);
+            }
+        }
+        while (!cola.isEmpty()) {
+            Lector<T> lector = cola.poll();
+            accion.accept(lector.actual());
+            if (lector.avanzar()) {
+                cola.add(lector);
+            }
+        }
+    }
+    
+    /**
+     * Prepara los fragmentos adicionales una vez creado el esquema del fragmento 0 (ddl-auto)
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (total() == 1) {
+            return;
+        }
+        if (copiarEsquema) {
+            copiarEsquema();
+        }
+        prepararIdentificadores();
+        log.info("Banco de preguntas repartido en {} fragmentos", total());
+    }
+    
+    /**
+     * Para el pool de consultas y cierra los fragmentos adicionales (creados por FragmentosConfig)
+     */
+    @Override
+    public void close() {
+        if (hilos != null) {
+            hilos.shutdownNow();
+        }
+        for (int fragmento = 1; fragmento < total(); fragmento++) {
+            if (enrutador.fragmento(fragmento) instanceof AutoCloseable cerrable) {
+                try {
+                    cerrable.close();
+                } catch (Exception e) {
+                    log.warn("No se pudo cerrar el fragmento {}", fragmento, e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Primer ID libre del fragmento por encima de maximo: el menor id > maximo con (id - 1) % total == fragmento
+     */
+    static long siguienteId(long maximo, int fragmento, int total) {
+        long candidato = maximo - Math.floorMod(maximo - 1, (long) total) + fragmento;
+        return candidato > maximo ? candidato : candidato + total;
+    }
+    
+    private void copiarEsquema() {
+        JdbcTemplate origen = jdbc(0);
+        if (!producto(origen).contains("H2")) {
+            log.warn("app.fragmentos.copiar-esquema solo se aplica con H2: "
+                    + "el esquema de los fragmentos adicionales debe existir antes de arrancar");
+            return;
+        }
+        List<String> script = null;
+        for (int fragmento = 1; fragmento < total(); fragmento++) {
+            JdbcTemplate destino = jdbc(fragmento);
+            if (tieneTabla(destino, "PREGUNTAS")) {
+                continue;
+            }
+            if (script == null) {
+                script = origen.queryForList("SCRIPT NODATA", String.class).stream()
+                        .filter(sentencia -> !sentencia.startsWith("--"))
+                        .toList();
+            }
+            script.forEach(destino::execute);
+            log.info("Esquema copiado al fragmento {}", fragmento);
+        }
+    }
+    
+    /**
+     * Ajusta la identidad de preguntas.id en cada fragmento para que los IDs no choquen.
+     * Los siguientes IDs quedan por encima del mayor existente en cualquier fragmento
+     * (también en el archivo), de modo que ni siquiera chocan con filas de antes del reparto.
+     */
+    private void prepararIdentificadores() {
+        int total = total();
+        long maximo = 0L;
+        for (int fragmento = 0; fragmento < total; fragmento++) {
+            Long mayor = jdbc(fragmento).queryForObject(
+                    "SELECT GREATEST(COALESCE((SELECT MAX(id) FROM preguntas), 0), "
+                    + "COALESCE((SELECT MAX(id) FROM preguntas_archivo), 0))", Long.class);
+            maximo = Math.max(maximo, mayor == null ? 0L : mayor);
+        }
+        
+        for (int fragmento = 0; fragmento < total; fragmento++) {
+            JdbcTemplate jdbc = jdbc(fragmento);
+            String producto = producto(jdbc);
+            if (producto.contains("H2")) {
+                jdbc.execute("ALTER TABLE preguntas ALTER COLUMN id SET INCREMENT BY " + total);
+                jdbc.execute("ALTER TABLE preguntas ALTER COLUMN id RESTART WITH "
+                        + siguienteId(maximo, fragmento, total));
+            } else if (producto.contains("MySQL") || producto.contains("MariaDB")) {
+                comprobarAutoIncremento(jdbc, fragmento, total);
+            } else {
+                throw new IllegalStateException("Reparto en fragmentos no soportado con " + producto
+                        + ": la identidad de preguntas.id del fragmento " + fragmento
+                        + " debe empezar en " + (fragmento + 1) + " con incremento " + total);
+            }
+            
+            Long fueraDeSitio = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM preguntas WHERE MOD(id - 1, ?) <> ?", Long.class, total, fragmento);
+            if (fueraDeSitio != null && fueraDeSitio > 0) {
+                log.warn("El fragmento {} tiene {} preguntas cuyo ID corresponde a otro fragmento: "
+                        + "no se encontrarán por ID hasta moverlas", fragmento, fueraDeSitio);
+            }
+        }
+    }
+    
+    private static void comprobarAutoIncremento(JdbcTemplate jdbc, int fragmento, int total) {
+        Map<String, Object> variables = jdbc.queryForMap(
+                "SELECT @@auto_increment_increment AS incremento, @@auto_increment_offset AS desplazamiento");
+        long incremento = ((Number) variables.get("incremento")).longValue();
+        long desplazamiento = ((Number) variables.get("desplazamiento")).longValue();
+        if (incremento != total || desplazamiento != fragmento + 1) {
+            throw new IllegalStateException("El fragmento " + fragmento + " necesita auto_increment_increment="
+                    + total + " y auto_increment_offset=" + (fragmento + 1));
+        }
+    }
+    
+    private JdbcTemplate jdbc(int fragmento) {
+        return new JdbcTemplate(enrutador.fragmento(fragmento));
+    }
+    
+    private static String producto(JdbcTemplate jdbc) {
+        return jdbc.execute((ConnectionCallback<String>) conexion -> conexion.getMetaData().getDatabaseProductName());
+    }
+    
+    private static boolean tieneTabla(JdbcTemplate jdbc, String tabla) {
+        Integer tablas = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = ?", Integer.class, tabla);
+        return tablas != null && tablas > 0;
+    }
+    
+    private static DataSourceFragmentado desenvolver(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(DataSourceFragmentado.class)
+                    ? dataSource.unwrap(DataSourceFragmentado.class)
+                    : null;
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo inspeccionar el DataSource", e);
+        }
+    }
+    
+    private static <R> R esperar(Future<R> pendiente) {
+        try {
+            return pendiente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando a los fragmentos", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException excepcion) {
+                throw excepcion;
+            }
+            throw new IllegalStateException("Error consultando un fragmento", e.getCause());
+        }
+    }
+    
+    /**
+     * Lectura por bloques de un fragmento en recorrerPorId()
+     */
+    private final class Lector<T> {
+        
+        private final int fragmento;
+        private final LongFunction<List<T>> lectura;
+        private final int tamanoBloque;
+        private final ToLongFunction<T> id;
+        private List<T> bloque = List.of();
+        private int posicion = -1;
+        private boolean agotado;
+        private long ultimoId;
+        
+        Lector(int fragmento, LongFunction<List<T>> lectura, int tamanoBloque, ToLongFunction<T> id) {
+            this.fragmento = fragmento;
+            this.lectura = lectura;
+            this.tamanoBloque = tamanoBloque;
+            this.id = id;
+        }
+        
+        T actual() {
+            return bloque.get(posicion);
+        }
+        
+        long ultimoId() {
+            return ultimoId;
+        }
+        
+        boolean avanzar() {
+            posicion++;
+            if (posicion >= bloque.size()) {
+                if (agotado) {
+                    return false;
+                }
+                long desde = ultimoId;
+                bloque = enFragmento(fragmento, () -> lectura.apply(desde));
+                posicion = 0;
+                agotado = bloque.size() < tamanoBloque;
+                if (bloque.isEmpty()) {
+                    return false;
+                }
+            }
+            ultimoId = id.applyAsLong(bloque.get(posicion));
+            return true;
+        }
+    }
+}
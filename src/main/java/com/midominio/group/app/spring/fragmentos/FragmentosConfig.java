@@ -0,0 +1,91 @@
+package com.midominio.group.app.spring.fragmentos;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración del reparto del banco de preguntas en fragmentos.
+ * 
+ * - Con app.fragmentos.urls, envuelve el DataSource de la aplicación (fragmento 0) en un
+ *   DataSourceFragmentado con los fragmentos adicionales, detrás de un LazyConnectionDataSourceProxy
+ * - Crea Fragmentos (enrutado por temática/ID y consultas en paralelo)
+ * 
+ * Sin app.fragmentos.urls el DataSource no se toca.
+ */
+@Configuration
+@EnableConfigurationProperties(FragmentosProperties.class)
+public class FragmentosConfig {
+    
+    @Bean
+    public Fragmentos fragmentos(DataSource dataSource, PlatformTransactionManager transactionManager,
+            FragmentosProperties propiedades) {
+        return new Fragmentos(dataSource, transactionManager, propiedades);
+    }
+    
+    /**
+     * Estático para no adelantar la creación de esta configuración (es un BeanPostProcessor).
+     * Declara su tipo concreto para que Spring vea que es Ordered antes de crearlo.
+     */
+    @Bean
+    static EnvolturaFragmentos dataSourceFragmentadoPostProcessor(Environment entorno) {
+        FragmentosProperties propiedades = Binder.get(entorno)
+                .bind("app.fragmentos", FragmentosProperties.class)
+                .orElseGet(() -> new FragmentosProperties(null, null, null, null, null));
+        return new EnvolturaFragmentos(propiedades, entorno);
+    }
+    
+    /**
+     * Se aplica antes que las demás envolturas del DataSource (p. ej. DataSourceMedido),
+     * para que estas vean las conexiones de todos los fragmentos
+     */
+    static final class EnvolturaFragmentos implements BeanPostProcessor, Ordered {
+        
+        private final FragmentosProperties propiedades;
+        private final Environment entorno;
+        
+        EnvolturaFragmentos(FragmentosProperties propiedades, Environment entorno) {
+            this.propiedades = propiedades;
+            this.entorno = entorno;
+        }
+        
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nombre) {
+            if (propiedades.urls().isEmpty() || !(bean instanceof DataSource principal)
+                    || bean instanceof DelegatingDataSource || bean instanceof AbstractRoutingDataSource) {
+                return bean;
+            }
+            String usuario = propiedades.usuario() != null
+                    ? propiedades.usuario()
+                    : entorno.getProperty("spring.datasource.username");
+            String contrasena = propiedades.contrasena() != null
+                    ? propiedades.contrasena()
+                    : entorno.getProperty("spring.datasource.password");
+            
+            List<DataSource> fragmentos = new ArrayList<>();
+            fragmentos.add(principal);
+            for (String url : propiedades.urls()) {
+                fragmentos.add(DataSourceBuilder.create().url(url).username(usuario).password(contrasena).build());
+            }
+            return new LazyConnectionDataSourceProxy(new DataSourceFragmentado(fragmentos));
+        }
+        
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
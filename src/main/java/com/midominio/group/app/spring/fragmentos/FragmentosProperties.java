@@ -0,0 +1,36 @@
+package com.midominio.group.app.spring.fragmentos;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Configuración del reparto del banco de preguntas entre varias bases de datos (fragmentos).
+ * Propiedades con prefijo app.fragmentos en application.properties.
+ * 
+ * El fragmento 0 es siempre spring.datasource; urls añade los demás (1, 2, ...).
+ * Sin urls hay un solo fragmento y la aplicación se comporta como siempre.
+ * 
+ * @param urls URLs JDBC de los fragmentos adicionales, en orden (no se pueden reordenar ni quitar con datos)
+ * @param usuario usuario de los fragmentos adicionales (por defecto el de spring.datasource)
+ * @param contrasena contraseña de los fragmentos adicionales (por defecto la de spring.datasource)
+ * @param hilos hilos para consultar los fragmentos en paralelo (scatter-gather)
+ * @param copiarEsquema en H2, crea en los fragmentos vacíos el esquema del fragmento 0 al arrancar
+ */
+@ConfigurationProperties(prefix = "app.fragmentos")
+public record FragmentosProperties(
+        List<String> urls,
+        String usuario,
+        String contrasena,
+        Integer hilos,
+        Boolean copiarEsquema) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public FragmentosProperties {
+        urls = urls == null ? List.of() : List.copyOf(urls);
+        hilos = hilos == null ? 8 : hilos;
+        copiarEsquema = copiarEsquema == null ? Boolean.TRUE : copiarEsquema;
+    }
+}
@@ -0,0 +1,145 @@
+package com.midominio.group.app.spring.fragmentos;
+
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Paginación fusionada de varios fragmentos (merge-sort de las páginas de cada uno).
+ * 
+ * Para servir la página p de tamaño s, cada fragmento devuelve sus primeros p·s + s elementos
+ * con la misma ordenación (hastaFinDePagina()); fusionar() los mezcla en orden, salta los p·s
+ * primeros y suma los totales. Como cada fragmento lee desde el principio, la ventana está
+ * limitada a MAX_VENTANA elementos: para recorrer más allá hay que ordenar por ID
+ * (índice en memoria) o filtrar más.
+ * 
+ * Usado en:
+ * - PreguntaService (listados con ordenación distinta del ID o mientras el índice se carga)
+ */
+public final class FusionPaginas {
+    
+    // Elementos que puede leer cada fragmento para una página (desplazamiento + tamaño)
+    public static final int MAX_VENTANA = 10_000;
+    
+    private FusionPaginas() {
+    }
+    
+    /**
+     * Pageable que se pide a cada fragmento: desde el principio hasta el final de la página pedida,
+     * con el ID como último criterio para que el orden sea total y estable entre páginas
+     * 
+     * @throws DatosInvalidosException si la página queda más allá de MAX_VENTANA
+     */
+    public static Pageable hastaFinDePagina(Pageable pageable) {
+        long hasta = pageable.getOffset() + pageable.getPageSize();
+        if (hasta > MAX_VENTANA) {
+            throw new DatosInvalidosException("page",
+                    "Con varios fragmentos solo se puede paginar hasta el elemento " + MAX_VENTANA
+                    + " salvo ordenando por ID");
+        }
+        return PageRequest.of(0, (int) hasta, conDesempate(pageable.getSort()));
+    }
+    
+    /**
+     * Mezcla las páginas de los fragmentos (cada una ordenada con orden) y extrae la página pedida
+     * 
+     * @param paginas resultado de cada fragmento, pedido con hastaFinDePagina()
+     * @param pageable página pedida por el cliente
+     * @param orden mismo orden con el que se han pedido las páginas (ver comparador())
+     * @return la página pedida, con el total sumado de todos los fragmentos
+     */
+    public static <T> Page<T> fusionar(List<Page<T>> paginas, Pageable pageable, Comparator<? super T> orden) {
+        PriorityQueue<Cursor<T>> cola = new PriorityQueue<>((a, b) -> orden.compare(a.actual(), b.actual()));
+        long total = 0;
+        for (Page<T> pagina : paginas) {
+            total += pagina.getTotalElements();
+            if (pagina.hasContent()) {
+                cola.add(new Cursor<>(pagina.getContent()));
+            }
+        }
+        
+        List<T> contenido = new ArrayList<>(pageable.getPageSize());
+        long saltar = pageable.getOffset();
+        while (!cola.isEmpty() && contenido.size() < pageable.getPageSize()) {
+            Cursor<T> cursor = cola.poll();
+            T elemento = cursor.actual();
+            if (saltar > 0) {
+                saltar--;
+            } else {
+                contenido.add(elemento);
+            }
+            if (cursor.avanzar()) {
+                cola.add(cursor);
+            }
+        }
+        return new PageImpl<>(contenido, pageable, total);
+    }
+    
+    /**
+     * Comparador en memoria equivalente a una ordenación de Spring Data (con el ID como desempate)
+     * Los nulos ordenan como en H2 y MySQL si no se indica otra cosa: primero en ascendente
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Comparator<T> comparador(Sort sort) {
+        Comparator<T> resultado = (a, b) -> 0;
+        for (Sort.Order orden : conDesempate(sort)) {
+            Comparator<Comparable<Object>> valores = Comparator.naturalOrder();
+            if (orden.isDescending()) {
+                valores = valores.reversed();
+            }
+            boolean nulosPrimero = switch (orden.getNullHandling()) {
+                case NULLS_FIRST -> true;
+                case NULLS_LAST -> false;
+                case NATIVE -> orden.isAscending();
+            };
+            Comparator<Comparable<Object>> conNulos = nulosPrimero
+                    ? Comparator.nullsFirst(valores)
+                    : Comparator.nullsLast(valores);
+            resultado = resultado.thenComparing(elemento -> (Comparable<Object>) valor(elemento, orden), conNulos);
+        }
+        return resultado;
+    }
+    
+    private static Sort conDesempate(Sort sort) {
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+    }
+    
+    private static Object valor(Object elemento, Sort.Order orden) {
+        Object valor = new BeanWrapperImpl(elemento).getPropertyValue(orden.getProperty());
+        if (orden.isIgnoreCase() && valor instanceof String texto) {
+            return texto.toLowerCase(Locale.ROOT);
+        }
+        return valor;
+    }
+    
+    /**
+     * Posición de lectura en la página de un fragmento
+     */
+    private static final class Cursor<T> {
+        
+        private final List<T> elementos;
+        private int posicion;
+        
+        Cursor(List<T> elementos) {
+            this.elementos = elementos;
+        }
+        
+        T actual() {
+            return elementos.get(posicion);
+        }
+        
+        boolean avanzar() {
+            return ++posicion < elementos.size();
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.midominio.group.app.spring.metadatos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Copia en memoria, por columnas, de los metadatos de las preguntas calientes.
+ * 
+ * Columnas (una posición por pregunta, ordenadas por ID):
+ * - ids: long[]
+ * - activas: bitset en long[] (un bit por fila)
+ * - temáticas y tipos: int[] con códigos de diccionario
+ * - fechas de creación: long[] en segundos epoch
+ * 
+ * Un filtro construye un bitset de filas candidatas partiendo del de activas y lo va
+ * restringiendo con un bucle sin ramas por cada columna filtrada; el total es la suma
+ * de Long.bitCount y la página se extrae recorriendo solo los bits a 1.
+ * 
+ * Las altas con ID mayor que el último (el caso normal) se añaden al final; las demás
+ * (restauraciones del archivo) y las bajas desplazan las columnas, lo que es O(n) pero raro.
+ * 
+ * Seguro para varios hilos: muchas lecturas concurrentes, escrituras exclusivas.
+ * 
+ * Usado en:
+ * - IndicePreguntas (y a través de él CatalogoPractica)
+ */
+public class ColumnasPreguntas {
+    
+    private static final int CAPACIDAD_INICIAL = 1024;
+    
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private final Diccionario tematicasDiccionario = new Diccionario();
+    private final Diccionario tiposDiccionario = new Diccionario();
+    
+    private long[] ids = new long[CAPACIDAD_INICIAL];
+    private long[] activas = new long[CAPACIDAD_INICIAL >>> 6];
+    private int[] tematicas = new int[CAPACIDAD_INICIAL];
+    private int[] tipos = new int[CAPACIDAD_INICIAL];
+    private long[] fechas = new long[CAPACIDAD_INICIAL];
+    private int tamano;
+    // Se incrementa con cada escritura: permite a quien deriva datos del índice saber si siguen al día
+    private volatile long version;
+    
+    /**
+     * Añade o actualiza los metadatos de una pregunta
+     */
+    public void guardar(long id, boolean activa, String tematica, String tipoPregunta, long fechaEpochSegundos) {
+        cerrojo.writeLock().lock();
+        try {
+            int fila = Arrays.binarySearch(ids, 0, tamano, id);
+            if (fila < 0) {
+                fila = -fila - 1;
+                asegurarCapacidad(tamano + 1);
+                if (fila < tamano) {
+                    desplazar(fila, tamano, 1);
+                }
+                tamano++;
+                ids[fila] = id;
+            }
+            asignarActiva(fila, activa);
+            tematicas[fila] = tematicasDiccionario.codigo(tematica);
+            tipos[fila] = tiposDiccionario.codigo(tipoPregunta);
+            fechas[fila] = fechaEpochSegundos;
+            version++;
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Elimina los metadatos de una pregunta (si estaban)
+     */
+    public void eliminar(long id) {
+        cerrojo.writeLock().lock();
+        try {
+            int fila = Arrays.binarySearch(ids, 0, tamano, id);
+            if (fila >= 0) {
+                desplazar(fila + 1, tamano, -1);
+                tamano--;
+                asignarActiva(tamano, false);
+                version++;
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Sustituye todo el contenido (reconstrucción completa)
+     */
+    public void vaciar() {
+        cerrojo.writeLock().lock();
+        try {
+            Arrays.fill(activas, 0L);
+            tamano = 0;
+            version++;
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Número de preguntas que cumplen el filtro
+     */
+    public long contar(FiltroPreguntas filtro) {
+        cerrojo.readLock().lock();
+        try {
+            long[] seleccion = seleccionar(filtro);
+            long total = 0;
+            for (long palabra : seleccion) {
+                total += Long.bitCount(palabra);
+            }
+            return total;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Filtra y devuelve el total y los IDs de una página, en orden de ID
+     * 
+     * @param filtro criterios
+     * @param desplazamiento número de coincidencias a saltar
+     * @param limite tamaño de la página
+     * @param descendente true para recorrer de mayor a menor ID
+     */
+    public ResultadoFiltro filtrar(FiltroPreguntas filtro, long desplazamiento, int limite, boolean descendente) {
+        cerrojo.readLock().lock();
+        try {
+            long[] seleccion = seleccionar(filtro);
+            long total = 0;
+            for (long palabra : seleccion) {
+                total += Long.bitCount(palabra);
+            }
+            
+            long[] pagina = new long[(int) Math.max(0, Math.min(limite, total - desplazamiento))];
+            int llenos = 0;
+            long saltar = desplazamiento;
+            for (int k = 0; k < seleccion.length && llenos < pagina.length; k++) {
+                int indicePalabra = descendente ? seleccion.length - 1 - k : k;
+                long palabra = seleccion[indicePalabra];
+                int bits = Long.bitCount(palabra);
+                // Palabras completas dentro del desplazamiento se saltan sin recorrer sus bits
+                if (saltar >= bits) {
+                    saltar -= bits;
+                    continue;
+                }
+                while (palabra != 0 && llenos < pagina.length) {
+                    int bit = descendente ? 63 - Long.numberOfLeadingZeros(palabra) : Long.numberOfTrailingZeros(palabra);
+                    palabra &= ~(1L << bit);
+                    if (saltar > 0) {
+                        saltar--;
+                    } else {
+                        pagina[llenos++] = ids[(indicePalabra << 6) + bit];
+                    }
+                }
+            }
+            return new ResultadoFiltro(total, pagina);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+    
+    /**
+     * IDs de las preguntas activas de una temática exacta (sin distinguir mayúsculas
+     * ni espacios extremos) y un tipo, en orden de ID
+     */
+    public long[] idsActivas(String tematica, String tipoPregunta) {
+        cerrojo.readLock().lock();
+        try {
+            int codigoTipo = tiposDiccionario.buscar(tipoPregunta);
+            boolean[] coincide = tematicasDiccionario.iguales(tematica.trim().toLowerCase(Locale.ROOT));
+            long[] resultado = new long[16];
+            int encontradas = 0;
+            for (int fila = 0; fila < tamano; fila++) {
+                if (tipos[fila] == codigoTipo && coincide[tematicas[fila]] && activa(fila)) {
+                    if (encontradas == resultado.length) {
+                        resultado = Arrays.copyOf(resultado, encontradas * 2);
+                    }
+                    resultado[encontradas++] = ids[fila];
+                }
+            }
+            return Arrays.copyOf(resultado, encontradas);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Hace que la versión siga por encima de la de las columnas a las que sustituye,
+     * para que quien guardó la anterior vea el cambio
+     */
+    void continuarVersion(long versionAnterior) {
+        cerrojo.writeLock().lock();
+        try {
+            version = Math.max(version, versionAnterior) + 1;
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Número de escrituras desde que se creó (cambia con cada alta, cambio, baja o vaciado)
+     */
+    public long version() {
+        return version;
+    }
+    
+    /**
+     * Número de preguntas en memoria
+     */
+    public int tamano() {
+        cerrojo.readLock().lock();
+        try {
+            return tamano;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Bitset de filas que cumplen todos los criterios del filtro
+     */
+    private long[] seleccionar(FiltroPreguntas filtro) {
+        int palabras = (tamano + 63) >>> 6;
+        long[] seleccion = new long[palabras];
+        
+        if (filtro.activa() == null) {
+            Arrays.fill(seleccion, -1L);
+        } else if (filtro.activa()) {
+            System.arraycopy(activas, 0, seleccion, 0, palabras);
+        } else {
+            for (int p = 0; p < palabras; p++) {
+                seleccion[p] = ~activas[p];
+            }
+        }
+        if (palabras > 0 && (tamano & 63) != 0) {
+            seleccion[palabras - 1] &= (1L << (tamano & 63)) - 1;
+        }
+        
+        if (filtro.tematica() != null) {
+            // El "contiene" se evalúa una vez por valor del diccionario, no por fila
+            int[] descartada = tematicasDiccionario.descartadas(filtro.tematica().toLowerCase(Locale.ROOT));
+            for (int i = 0; i < tamano; i++) {
+                seleccion[i >>> 6] &= ~((long) descartada[tematicas[i]] << i);
+            }
+        }
+        
+        if (filtro.tipoPregunta() != null) {
+            int codigo = tiposDiccionario.buscar(filtro.tipoPregunta());
+            for (int i = 0; i < tamano; i++) {
+                seleccion[i >>> 6] &= ~((long) (tipos[i] != codigo ? 1 : 0) << i);
+            }
+        }
+        
+        if (filtro.desdeEpochSegundos() != null || filtro.hastaEpochSegundos() != null) {
+            long desde = filtro.desdeEpochSegundos() == null ? Long.MIN_VALUE : filtro.desdeEpochSegundos();
+            long hasta = filtro.hastaEpochSegundos() == null ? Long.MAX_VALUE : filtro.hastaEpochSegundos();
+            for (int i = 0; i < tamano; i++) {
+                long fecha = fechas[i];
+                seleccion[i >>> 6] &= ~((long) (fecha < desde | fecha > hasta ? 1 : 0) << i);
+            }
+        }
+        return seleccion;
+    }
+    
+    private void asignarActiva(int fila, boolean activa) {
+        if (activa) {
+            activas[fila >>> 6] |= 1L << fila;
+        } else {
+            activas[fila >>> 6] &= ~(1L << fila);
+        }
+    }
+    
+    private boolean activa(int fila) {
+        return (activas[fila >>> 6] & (1L << fila)) != 0;
+    }
+    
+    /**
+     * Mueve las filas [desde, hasta) delta posiciones (1 para abrir hueco, -1 para cerrarlo)
+     */
+    private void desplazar(int desde, int hasta, int delta) {
+        int longitud = hasta - desde;
+        System.arraycopy(ids, desde, ids, desde + delta, longitud);
+        System.arraycopy(tematicas, desde, tematicas, desde + delta, longitud);
+        System.arraycopy(tipos, desde, tipos, desde + delta, longitud);
+        System.arraycopy(fechas, desde, fechas, desde + delta, longitud);
+        if (delta > 0) {
+            for (int fila = hasta - 1; fila >= desde; fila--) {
+                asignarActiva(fila + delta, activa(fila));
+            }
+        } else {
+            for (int fila = desde; fila < hasta; fila++) {
+                asignarActiva(fila + delta, activa(fila));
+            }
+        }
+    }
+    
+    private void asegurarCapacidad(int minima) {
+        if (minima <= ids.length) {
+            return;
+        }
+        int capacidad = Math.max(minima, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacidad);
+        tematicas = Arrays.copyOf(tematicas, capacidad);
+        tipos = Arrays.copyOf(tipos, capacidad);
+        fechas = Arrays.copyOf(fechas, capacidad);
+        activas = Arrays.copyOf(activas, (capacidad + 63) >>> 6);
+    }
+    
+    /**
+     * Total de coincidencias y los IDs de la página pedida
+     */
+    public record ResultadoFiltro(long total, long[] ids) {
+    }
+    
+    /**
+     * Diccionario valor -> código denso (el código 0 es null). Nunca elimina valores.
+     */
+    private static final class Diccionario {
+        
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private final List<String> valores = new ArrayList<>(List.of(""));
+        
+        int codigo(String valor) {
+            if (valor == null) {
+                return 0;
+            }
+            return codigos.computeIfAbsent(valor, v -> {
+                valores.add(v);
+                return valores.size() - 1;
+            });
+        }
+        
+        /**
+         * Código de un valor, o -1 si no aparece en ninguna fila
+         */
+        int buscar(String valor) {
+            return codigos.getOrDefault(valor, -1);
+        }
+        
+        /**
+         * Marca con 1 los códigos cuyo valor no contiene el texto (en minúsculas)
+         */
+        int[] descartadas(String textoMinusculas) {
+            int[] descartada = new int[valores.size()];
+            descartada[0] = 1;
+            for (int codigo = 1; codigo < valores.size(); codigo++) {
+                descartada[codigo] = valores.get(codigo).toLowerCase(Locale.ROOT).contains(textoMinusculas) ? 0 : 1;
+            }
+            return descartada;
+        }
+        
+        /**
+         * Marca los códigos cuyo valor, sin espacios extremos y en minúsculas, es el texto
+         */
+        boolean[] iguales(String textoMinusculas) {
+            boolean[] iguales = new boolean[valores.size()];
+            for (int codigo = 1; codigo < valores.size(); codigo++) {
+                iguales[codigo] = valores.get(codigo).trim().toLowerCase(Locale.ROOT).equals(textoMinusculas);
+            }
+            return iguales;
+        }
+    }
+}
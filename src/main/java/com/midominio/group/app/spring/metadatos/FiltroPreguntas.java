@@ -0,0 +1,25 @@
+package com.midominio.group.app.spring.metadatos;
+
+/**
+ * Criterios de filtrado de preguntas sobre sus metadatos (null = sin filtrar por ese campo).
+ * 
+ * @param tematica texto contenido en la temática, sin distinguir mayúsculas
+ * @param activa estado de la pregunta
+ * @param tipoPregunta valor del discriminador (VERDADERO_FALSO, SELECCION_UNICA, SELECCION_MULTIPLE)
+ * @param desdeEpochSegundos fecha de creación mínima (incluida)
+ * @param hastaEpochSegundos fecha de creación máxima (incluida)
+ */
+public record FiltroPreguntas(
+        String tematica,
+        Boolean activa,
+        String tipoPregunta,
+        Long desdeEpochSegundos,
+        Long hastaEpochSegundos) {
+    
+    /**
+     * Sin ningún filtro (todas las preguntas)
+     */
+    public static FiltroPreguntas todas() {
+        return new FiltroPreguntas(null, null, null, null, null);
+    }
+}
@@ -0,0 +1,234 @@
+package com.midominio.group.app.spring.metadatos;
+
+import com.midominio.group.app.spring.cambios.CacheLocalPreguntas;
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Índice columnar en memoria de los metadatos de las preguntas calientes
+ * (id, activa, temática, tipo y fecha de creación), ver ColumnasPreguntas.
+ * 
+ * - Al arrancar se carga por bloques de id con una consulta que solo lee esas columnas
+ *   (con varios fragmentos, de todos ellos mezclados en orden de id)
+ * - Las altas, cambios y bajas le llegan desde ListenerMetadatosPregunta tras el commit
+ * - El archivado (que no pasa por JPA) retira las preguntas con eliminarTrasCommit()
+ * - Los cambios hechos en otros nodos llegan por el outbox (SondeoCambios)
+ * 
+ * recargar() construye unas columnas nuevas aparte y las sustituye de golpe; los cambios que
+ * llegan mientras tanto se aplican a las actuales y se repiten sobre las nuevas antes del cambio,
+ * así que una recarga no pisa ni resucita nada de lo aplicado durante la lectura.
+ * 
+ * Los listados y recuentos filtran aquí y solo cargan de la base de datos las entidades
+ * de la página pedida. Mientras no está listo() los services consultan la base de datos.
+ * 
+ * Usado en:
+ * - PreguntaService (listados, filtros y recuentos)
+ * - ArchivoPreguntasService (archivado por lotes)
+ * - CatalogoPractica (preguntas candidatas del modo práctica)
+ * - ListenerMetadatosPregunta
+ * - SondeoCambios (como CacheLocalPreguntas)
+ */
+@Component
+public class IndicePreguntas implements CacheLocalPreguntas {
+    
+    private static final Logger log = LoggerFactory.getLogger(IndicePreguntas.class);
+    
+    private static final int TAMANO_BLOQUE = 10_000;
+    
+    private volatile ColumnasPreguntas columnas = new ColumnasPreguntas();
+    
+    // Cambios aplicados durante una reconstrucción, para repetirlos sobre las columnas nuevas
+    // (null si no hay ninguna en curso); protegido por this, como la sustitución de columnas
+    private List<Consumer<ColumnasPreguntas>> pendientes;
+    
+    // Serializa las reconstrucciones (arranque y recargas del outbox)
+    private final Object reconstruccion = new Object();
+    
+    private volatile boolean listo;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    /**
+     * Columnas de una pregunta leídas al reconstruir el índice
+     */
+    private record FilaMetadatos(long id, boolean activa, String tematica, String tipoPregunta, long fecha) {
+    }
+    
+    /**
+     * Carga el índice al arrancar, leyendo solo las columnas de metadatos por bloques de id
+     * en unas columnas nuevas que sustituyen a las actuales al terminar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (reconstruccion) {
+            long inicio = System.nanoTime();
+            synchronized (this) {
+                pendientes = new ArrayList<>();
+            }
+            ColumnasPreguntas nuevas = new ColumnasPreguntas();
+            try {
+                cargar(nuevas);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendientes = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                pendientes.forEach(cambio -> cambio.accept(nuevas));
+                pendientes = null;
+                nuevas.continuarVersion(columnas.version());
+                columnas = nuevas;
+            }
+            listo = true;
+            log.info("Índice de metadatos de preguntas cargado: {} preguntas en {} ms",
+                    nuevas.tamano(), (System.nanoTime() - inicio) / 1_000_000L);
+        }
+    }
+    
+    private void cargar(ColumnasPreguntas destino) {
+        fragmentos.recorrerPorId(
+                desdeId -> jdbcTemplate.query(
+                        "SELECT id, activa, tematica, tipo_pregunta, fecha_creacion FROM preguntas "
+                        + "WHERE id > ? ORDER BY id LIMIT ?",
+                        (fila, numero) -> {
+                            Timestamp fecha = fila.getTimestamp("fecha_creacion");
+                            return new FilaMetadatos(fila.getLong("id"), fila.getBoolean("activa"),
+                                    fila.getString("tematica"), fila.getString("tipo_pregunta"),
+                                    fecha == null ? 0L : aEpochSegundos(fecha.toLocalDateTime()));
+                        },
+                        desdeId, TAMANO_BLOQUE),
+                TAMANO_BLOQUE,
+                FilaMetadatos::id,
+                fila -> destino.guardar(fila.id(), fila.activa(), fila.tematica(), fila.tipoPregunta(), fila.fecha()));
+    }
+    
+    /**
+     * true cuando la carga inicial ha terminado y el índice puede responder consultas
+     */
+    public boolean listo() {
+        return listo;
+    }
+    
+    /**
+     * Total de preguntas que cumplen el filtro
+     */
+    public long contar(FiltroPreguntas filtro) {
+        return columnas.contar(filtro);
+    }
+    
+    /**
+     * Total de coincidencias e IDs de una página, ordenados por ID
+     */
+    public ColumnasPreguntas.ResultadoFiltro filtrar(FiltroPreguntas filtro, long desplazamiento, int limite,
+            boolean descendente) {
+        return columnas.filtrar(filtro, desplazamiento, limite, descendente);
+    }
+    
+    /**
+     * IDs de las preguntas activas de una temática exacta y un tipo, en orden de ID
+     */
+    public long[] idsActivas(String tematica, String tipoPregunta) {
+        return columnas.idsActivas(tematica, tipoPregunta);
+    }
+    
+    /**
+     * Cambia con cada alta, cambio o baja aplicada al índice
+     */
+    public long version() {
+        return columnas.version();
+    }
+    
+    /**
+     * Registra el estado actual de una pregunta (tras el commit si hay transacción)
+     */
+    public void guardar(Pregunta pregunta) {
+        long id = pregunta.getId();
+        boolean activa = Boolean.TRUE.equals(pregunta.getActiva());
+        String tematica = pregunta.getTematica();
+        String tipo = pregunta.getTipoPregunta();
+        long fecha = pregunta.getFechaCreacion() == null ? 0L : aEpochSegundos(pregunta.getFechaCreacion());
+        trasCommit(c -> c.guardar(id, activa, tematica, tipo, fecha));
+    }
+    
+    /**
+     * Retira una pregunta del índice (tras el commit si hay transacción)
+     */
+    public void eliminar(Long id) {
+        trasCommit(c -> c.eliminar(id));
+    }
+    
+    /**
+     * Retira varias preguntas del índice tras el commit (archivado por lotes con JDBC)
+     */
+    public void eliminarTrasCommit(Collection<Long> ids) {
+        trasCommit(c -> ids.forEach(c::eliminar));
+    }
+    
+    @Override
+    public void actualizada(Pregunta pregunta) {
+        guardar(pregunta);
+    }
+    
+    @Override
+    public void eliminada(Long id) {
+        eliminar(id);
+    }
+    
+    /**
+     * Vuelve a cargar el índice; mientras tanto los services consultan la base de datos
+     */
+    @Override
+    public void recargar() {
+        listo = false;
+        reconstruir();
+    }
+    
+    /**
+     * Segundos epoch (UTC) de una fecha de creación, para comparar con FiltroPreguntas
+     */
+    public static long aEpochSegundos(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC);
+    }
+    
+    private void trasCommit(Consumer<ColumnasPreguntas> cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(cambio);
+                }
+            });
+        } else {
+            aplicar(cambio);
+        }
+    }
+    
+    private synchronized void aplicar(Consumer<ColumnasPreguntas> cambio) {
+        cambio.accept(columnas);
+        if (pendientes != null) {
+            pendientes.add(cambio);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.midominio.group.app.spring.metadatos;
+
+import com.midominio.group.app.spring.entity.Pregunta;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Listener JPA de Pregunta que mantiene sincronizado el IndicePreguntas.
+ * Hibernate lo instancia a través del contenedor de Spring, por eso admite @Autowired;
+ * el índice se resuelve en cada evento para no crearlo durante el arranque de JPA.
+ * 
+ * Usado en:
+ * - Pregunta (@EntityListeners)
+ */
+public class ListenerMetadatosPregunta {
+    
+    @Autowired
+    private ObjectProvider<IndicePreguntas> indice;
+    
+    @PostPersist
+    @PostUpdate
+    public void guardada(Pregunta pregunta) {
+        indice.ifAvailable(i -> i.guardar(pregunta));
+    }
+    
+    @PostRemove
+    public void eliminada(Pregunta pregunta) {
+        indice.ifAvailable(i -> i.eliminar(pregunta.getId()));
+    }
+}
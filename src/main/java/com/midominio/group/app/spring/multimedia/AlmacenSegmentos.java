@@ -0,0 +1,350 @@
+package com.midominio.group.app.spring.multimedia;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Almacén de contenido multimedia direccionado por contenido (SHA-256) en ficheros de segmento
+ * de solo adición (segmento-000001.dat, segmento-000002.dat, ...).
+ * 
+ * Formato de cada registro:
+ *   [mágico int][hash 32 bytes][longitud long][longitud tipo MIME short][tipo MIME UTF-8][contenido]
+ * 
+ * - Deduplicación: un contenido ya almacenado no se vuelve a escribir
+ * - El índice hash -> ubicación vive en memoria y se reconstruye recorriendo los segmentos al abrir;
+ *   un registro incompleto al final del último segmento (caída durante una escritura) se trunca
+ * - Las escrituras pasan por un fichero temporal (para calcular el hash sin cargar el contenido en memoria)
+ *   y se copian al segmento con FileChannel.transferFrom
+ * - Las lecturas usan FileChannel.transferTo hacia el canal de destino: el contenido no pasa por el heap
+ * 
+ * Nunca se borra contenido: desvincular un adjunto no libera espacio en disco.
+ * 
+ * Usado en:
+ * - AdjuntoService (alta de adjuntos)
+ * - ServidorMultimedia (entrega por HTTP)
+ */
+public class AlmacenSegmentos implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(AlmacenSegmentos.class);
+    private static final int MAGICO = 0x4D4D5331; // "MMS1"
+    private static final int TAMANO_HASH = 32;
+    private static final int CABECERA_FIJA = Integer.BYTES + TAMANO_HASH + Long.BYTES + Short.BYTES;
+    private static final Pattern NOMBRE_SEGMENTO = Pattern.compile("segmento-(\\d{6})\\.dat");
+    private static final HexFormat HEX = HexFormat.of();
+    
+    private final Path directorio;
+    private final long tamanoMaxSegmento;
+    private final Map<String, Ubicacion> indice = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> lectores = new ConcurrentHashMap<>();
+    
+    // Protegidos por this
+    private FileChannel escritura;
+    private int segmentoActual;
+    
+    public AlmacenSegmentos(Path directorio, long tamanoMaxSegmento) throws IOException {
+        this.directorio = directorio.toAbsolutePath().normalize();
+        this.tamanoMaxSegmento = tamanoMaxSegmento;
+        Files.createDirectories(this.directorio);
+        abrir();
+    }
+    
+    /**
+     * Guarda un contenido (o reutiliza el existente si ya estaba almacenado)
+     * 
+     * @param contenido flujo con el contenido; se lee hasta el final
+     * @param tipoMime tipo MIME con el que se servirá
+     * @return ubicación del contenido
+     */
+    public Ubicacion guardar(InputStream contenido, String tipoMime) throws IOException {
+        Path temporal = Files.createTempFile(directorio, "subida-", ".tmp");
+        try {
+            MessageDigest sha256 = nuevoSha256();
+            long longitud;
+            try (InputStream entrada = new DigestInputStream(contenido, sha256);
+                 OutputStream salida = Files.newOutputStream(temporal)) {
+                longitud = entrada.transferTo(salida);
+            }
+            String hash = HEX.formatHex(sha256.digest());
+            
+            Ubicacion existente = indice.get(hash);
+            if (existente != null) {
+                return existente;
+            }
+            try (FileChannel origen = FileChannel.open(temporal, StandardOpenOption.READ)) {
+                return anadir(hash, tipoMime, origen, longitud);
+            }
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+    
+    /**
+     * Busca un contenido por su hash (64 caracteres hexadecimales en minúscula)
+     */
+    public Optional<Ubicacion> buscar(String hash) {
+        return Optional.ofNullable(indice.get(hash));
+    }
+    
+    /**
+     * Copia un fragmento del contenido al canal de destino sin pasar por el heap
+     * 
+     * @param ubicacion contenido a copiar
+     * @param inicio primer byte (relativo al contenido)
+     * @param longitud número de bytes
+     * @param destino canal de destino (p. ej. la salida de la respuesta HTTP)
+     */
+    public void transferir(Ubicacion ubicacion, long inicio, long longitud, WritableByteChannel destino) throws IOException {
+        FileChannel canal = lector(ubicacion.segmento());
+        long posicion = ubicacion.desplazamiento() + inicio;
+        long restantes = longitud;
+        while (restantes > 0) {
+            long copiados = canal.transferTo(posicion, restantes, destino);
+            if (copiados <= 0) {
+                throw new IOException("Fin inesperado del segmento " + ubicacion.segmento());
+            }
+            posicion += copiados;
+            restantes -= copiados;
+        }
+    }
+    
+    /**
+     * Ruta absoluta del fichero de segmento de un contenido (para sendfile del contenedor)
+     */
+    public Path rutaSegmento(Ubicacion ubicacion) {
+        return rutaSegmento(ubicacion.segmento());
+    }
+    
+    /**
+     * Número de contenidos distintos almacenados
+     */
+    public int totalContenidos() {
+        return indice.size();
+    }
+    
+    /**
+     * Escribe un registro al final del segmento actual
+     * Si la escritura falla, el registro incompleto se trunca: las siguientes se añaden justo
+     * detrás del último registro válido (al reabrir, un registro roto en medio del segmento
+     * haría descartar todos los posteriores).
+     * 
+     * @param origen canal con el contenido (paquete: los tests inyectan un origen que falla)
+     */
+    synchronized Ubicacion anadir(String hash, String tipoMime, ReadableByteChannel origen, long longitud) throws IOException {
+        Ubicacion existente = indice.get(hash);
+        if (existente != null) {
+            return existente;
+        }
+        
+        byte[] mime = tipoMime.getBytes(StandardCharsets.UTF_8);
+        long tamanoRegistro = CABECERA_FIJA + mime.length + longitud;
+        if (escritura.size() > 0 && escritura.size() + tamanoRegistro > tamanoMaxSegmento) {
+            escritura.close();
+            segmentoActual++;
+            escritura = abrirEscritura(segmentoActual);
+        }
+        
+        long inicioRegistro = escritura.size();
+        long posicion = inicioRegistro;
+        try {
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_FIJA + mime.length)
+                .putInt(MAGICO)
+                .put(HEX.parseHex(hash))
+                .putLong(longitud)
+                .putShort((short) mime.length)
+                .put(mime)
+                .flip();
+            while (cabecera.hasRemaining()) {
+                posicion += escritura.write(cabecera, posicion);
+            }
+            
+            long copiados = 0;
+            while (copiados < longitud) {
+                long n = escritura.transferFrom(origen, posicion + copiados, longitud - copiados);
+                if (n <= 0) {
+                    throw new IOException("No se pudo copiar el contenido al segmento");
+                }
+                copiados += n;
+            }
+            // El índice solo apunta a registros ya persistidos
+            escritura.force(false);
+        } catch (IOException | RuntimeException e) {
+            descartarIncompleto(inicioRegistro, e);
+            throw e;
+        }
+        
+        Ubicacion ubicacion = new Ubicacion(hash, segmentoActual, posicion, longitud, tipoMime);
+        indice.put(hash, ubicacion);
+        return ubicacion;
+    }
+    
+    /**
+     * Trunca el segmento actual hasta el inicio del registro que no se pudo escribir
+     * Las escrituras son posicionales desde size(): truncar basta para que la siguiente empiece ahí.
+     * Si ni siquiera se puede truncar, se sigue en un segmento nuevo: el registro roto queda
+     * al final del anterior, que es lo único que se descarta al reabrir.
+     */
+    private void descartarIncompleto(long inicioRegistro, Exception causa) {
+        try {
+            escritura.truncate(inicioRegistro);
+        } catch (IOException e) {
+            causa.addSuppressed(e);
+            try {
+                escritura.close();
+                segmentoActual++;
+                escritura = abrirEscritura(segmentoActual);
+            } catch (IOException reapertura) {
+                causa.addSuppressed(reapertura);
+            }
+        }
+    }
+    
+    /**
+     * Reconstruye el índice recorriendo todos los segmentos y abre el último para añadir
+     */
+    private void abrir() throws IOException {
+        List<Integer> segmentos;
+        try (Stream<Path> ficheros = Files.list(directorio)) {
+            segmentos = ficheros
+                .map(fichero -> NOMBRE_SEGMENTO.matcher(fichero.getFileName().toString()))
+                .filter(Matcher::matches)
+                .map(nombre -> Integer.parseInt(nombre.group(1)))
+                .sorted()
+                .toList();
+        }
+        
+        segmentoActual = segmentos.isEmpty() ? 1 : segmentos.get(segmentos.size() - 1);
+        for (int segmento : segmentos) {
+            long finValido = recorrer(segmento);
+            long tamano = Files.size(rutaSegmento(segmento));
+            if (finValido < tamano) {
+                log.warn("Segmento {}: se descartan {} bytes de un registro incompleto", segmento, tamano - finValido);
+                try (FileChannel canal = FileChannel.open(rutaSegmento(segmento), StandardOpenOption.WRITE)) {
+                    canal.truncate(finValido);
+                }
+            }
+        }
+        escritura = abrirEscritura(segmentoActual);
+        log.info("Almacén multimedia abierto en {}: {} contenidos en {} segmentos",
+                directorio, indice.size(), Math.max(segmentos.size(), 1));
+    }
+    
+    /**
+     * Añade al índice los registros completos de un segmento
+     * 
+     * @return posición del final del último registro válido
+     */
+    private long recorrer(int segmento) throws IOException {
+        try (FileChannel canal = FileChannel.open(rutaSegmento(segmento), StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            long posicion = 0;
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_FIJA);
+            byte[] hash = new byte[TAMANO_HASH];
+            
+            while (posicion + CABECERA_FIJA <= tamano) {
+                cabecera.clear();
+                leerCompleto(canal, cabecera, posicion);
+                cabecera.flip();
+                if (cabecera.getInt() != MAGICO) {
+                    break;
+                }
+                cabecera.get(hash);
+                long longitud = cabecera.getLong();
+                int longitudMime = Short.toUnsignedInt(cabecera.getShort());
+                long inicioContenido = posicion + CABECERA_FIJA + longitudMime;
+                if (longitud < 0 || inicioContenido + longitud > tamano) {
+                    break;
+                }
+                
+                ByteBuffer mime = ByteBuffer.allocate(longitudMime);
+                leerCompleto(canal, mime, posicion + CABECERA_FIJA);
+                String tipoMime = new String(mime.array(), StandardCharsets.UTF_8);
+                String clave = HEX.formatHex(hash);
+                indice.putIfAbsent(clave, new Ubicacion(clave, segmento, inicioContenido, longitud, tipoMime));
+                posicion = inicioContenido + longitud;
+            }
+            return posicion;
+        }
+    }
+    
+    private void leerCompleto(FileChannel canal, ByteBuffer destino, long posicion) throws IOException {
+        while (destino.hasRemaining()) {
+            int leidos = canal.read(destino, posicion + destino.position());
+            if (leidos < 0) {
+                throw new IOException("Fin inesperado del segmento");
+            }
+        }
+    }
+    
+    private FileChannel abrirEscritura(int segmento) throws IOException {
+        return FileChannel.open(rutaSegmento(segmento),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+    
+    private FileChannel lector(int segmento) {
+        return lectores.computeIfAbsent(segmento, s -> {
+            try {
+                return FileChannel.open(rutaSegmento(s), StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    private Path rutaSegmento(int segmento) {
+        return directorio.resolve("segmento-%06d.dat".formatted(segmento));
+    }
+    
+    private static MessageDigest nuevoSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        escritura.close();
+        for (FileChannel lector : lectores.values()) {
+            lector.close();
+        }
+        lectores.clear();
+    }
+    
+    /**
+     * Posición de un contenido dentro de los segmentos
+     * 
+     * @param hash SHA-256 del contenido en hexadecimal (también es su ETag)
+     * @param segmento número de segmento
+     * @param desplazamiento posición del primer byte del contenido en el segmento
+     * @param longitud tamaño del contenido en bytes
+     * @param tipoMime tipo MIME con el que se sirve
+     */
+    public record Ubicacion(String hash, int segmento, long desplazamiento, long longitud, String tipoMime) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.midominio.group.app.spring.multimedia;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuración del almacén multimedia (segmentos en disco local).
+ */
+@Configuration
+@EnableConfigurationProperties(MultimediaProperties.class)
+public class MultimediaConfig {
+    
+    @Bean
+    public AlmacenSegmentos almacenSegmentos(MultimediaProperties propiedades) throws IOException {
+        return new AlmacenSegmentos(Path.of(propiedades.directorio()), propiedades.tamanoMaxSegmento().toBytes());
+    }
+    
+    @Bean
+    public ServidorMultimedia servidorMultimedia(AlmacenSegmentos almacen) {
+        return new ServidorMultimedia(almacen);
+    }
+}
@@ -0,0 +1,35 @@
+package com.midominio.group.app.spring.multimedia;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+/**
+ * Configuración del almacén de imágenes y diagramas de las preguntas.
+ * Propiedades con prefijo app.multimedia en application.properties.
+ * 
+ * @param directorio directorio de los ficheros de segmento
+ * @param tamanoMaxSegmento tamaño a partir del cual se empieza un segmento nuevo
+ * @param tamanoMaxArchivo tamaño máximo de un adjunto
+ * @param tiposPermitidos tipos MIME aceptados
+ */
+@ConfigurationProperties(prefix = "app.multimedia")
+public record MultimediaProperties(
+        String directorio,
+        DataSize tamanoMaxSegmento,
+        DataSize tamanoMaxArchivo,
+        List<String> tiposPermitidos) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public MultimediaProperties {
+        directorio = directorio == null ? "multimedia" : directorio;
+        tamanoMaxSegmento = tamanoMaxSegmento == null ? DataSize.ofMegabytes(256) : tamanoMaxSegmento;
+        tamanoMaxArchivo = tamanoMaxArchivo == null ? DataSize.ofMegabytes(10) : tamanoMaxArchivo;
+        tiposPermitidos = tiposPermitidos == null
+                ? List.of("image/png", "image/jpeg", "image/gif", "image/webp", "image/svg+xml")
+                : tiposPermitidos;
+    }
+}
@@ -0,0 +1,75 @@
+package com.midominio.group.app.spring.multimedia;
+
+/**
+ * Fragmento de un contenido pedido con la cabecera Range (RFC 9110, unidad bytes).
+ * 
+ * Solo se atiende un rango; las peticiones con varios rangos o mal formadas
+ * reciben el contenido completo, como permite la especificación.
+ * 
+ * @param inicio primer byte (incluido)
+ * @param fin último byte (incluido)
+ * @param parcial true si se pidió un fragmento (respuesta 206)
+ */
+public record RangoBytes(long inicio, long fin, boolean parcial) {
+    
+    private static final String PREFIJO = "bytes=";
+    
+    /**
+     * Número de bytes del fragmento
+     */
+    public long longitud() {
+        return fin - inicio + 1;
+    }
+    
+    /**
+     * Contenido completo
+     */
+    public static RangoBytes completo(long total) {
+        return new RangoBytes(0, total - 1, false);
+    }
+    
+    /**
+     * Interpreta una cabecera Range
+     * 
+     * @param cabecera valor de la cabecera (null si no se envió)
+     * @param total tamaño del contenido
+     * @return el rango pedido, el contenido completo, o null si el rango no es satisfacible (416)
+     */
+    public static RangoBytes parsear(String cabecera, long total) {
+        if (cabecera == null || !cabecera.startsWith(PREFIJO) || cabecera.indexOf(',') >= 0) {
+            return completo(total);
+        }
+        
+        String especificacion = cabecera.substring(PREFIJO.length()).trim();
+        int guion = especificacion.indexOf('-');
+        if (guion < 0) {
+            return completo(total);
+        }
+        
+        try {
+            String desde = especificacion.substring(0, guion).trim();
+            String hasta = especificacion.substring(guion + 1).trim();
+            if (desde.isEmpty()) {
+                // bytes=-N: los últimos N bytes
+                long sufijo = Long.parseLong(hasta);
+                if (sufijo <= 0 || total == 0) {
+                    return null;
+                }
+                return new RangoBytes(Math.max(0, total - sufijo), total - 1, true);
+            }
+            
+            long inicio = Long.parseLong(desde);
+            long ultimo = hasta.isEmpty() ? Long.MAX_VALUE : Long.parseLong(hasta);
+            if (ultimo < inicio) {
+                // Sintácticamente inválido: se ignora
+                return completo(total);
+            }
+            if (inicio >= total) {
+                return null;
+            }
+            return new RangoBytes(inicio, Math.min(ultimo, total - 1), true);
+        } catch (NumberFormatException e) {
+            return completo(total);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.midominio.group.app.spring.multimedia;
+
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Entrega HTTP del contenido multimedia almacenado en AlmacenSegmentos.
+ * 
+ * - ETag fuerte = hash SHA-256 del contenido; If-None-Match -> 304
+ * - Range de un solo fragmento -> 206 (If-Range con el ETag), fuera de rango -> 416
+ * - Caché inmutable: la URL incluye el hash, así que el contenido de una URL nunca cambia
+ * - Si el contenedor admite sendfile (Tomcat NIO), el fichero de segmento se envía
+ *   directamente del disco al socket; si no, se copia con FileChannel.transferTo.
+ *   En ningún caso el contenido se carga en el heap
+ * 
+ * Usado en:
+ * - MultimediaController (GET /api/multimedia/{hash})
+ */
+public class ServidorMultimedia {
+    
+    private static final Pattern HASH_VALIDO = Pattern.compile("[0-9a-f]{64}");
+    private static final String CACHE_INMUTABLE = "public, max-age=31536000, immutable";
+    // Evita que un SVG con scripts se ejecute al abrirlo directamente
+    private static final String POLITICA_CONTENIDO = "default-src 'none'; style-src 'unsafe-inline'; sandbox";
+    
+    private static final String SENDFILE_SOPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FICHERO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+    
+    private final AlmacenSegmentos almacen;
+    
+    public ServidorMultimedia(AlmacenSegmentos almacen) {
+        this.almacen = almacen;
+    }
+    
+    /**
+     * Escribe en la respuesta el contenido (o el fragmento pedido) con sus cabeceras
+     * 
+     * @param hash SHA-256 del contenido en hexadecimal
+     * @throws RecursoNoEncontradoException si no existe el contenido
+     */
+    public void servir(String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<AlmacenSegmentos.Ubicacion> encontrada = HASH_VALIDO.matcher(hash).matches()
+                ? almacen.buscar(hash) : Optional.empty();
+        AlmacenSegmentos.Ubicacion ubicacion = encontrada
+            .orElseThrow(() -> new RecursoNoEncontradoException("Contenido multimedia", hash));
+        
+        String etag = "\"" + ubicacion.hash() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_INMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("Content-Security-Policy", POLITICA_CONTENIDO);
+        
+        if (coincideEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        
+        String cabeceraRango = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            cabeceraRango = null;
+        }
+        
+        RangoBytes rango = RangoBytes.parsear(cabeceraRango, ubicacion.longitud());
+        if (rango == null) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + ubicacion.longitud());
+            return;
+        }
+        if (rango.parcial()) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + rango.inicio() + "-" + rango.fin() + "/" + ubicacion.longitud());
+        }
+        response.setContentType(ubicacion.tipoMime());
+        response.setContentLengthLong(rango.longitud());
+        
+        if ("HEAD".equals(request.getMethod()) || rango.longitud() == 0) {
+            return;
+        }
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SOPORTADO))) {
+            long inicio = ubicacion.desplazamiento() + rango.inicio();
+            request.setAttribute(SENDFILE_FICHERO, almacen.rutaSegmento(ubicacion).toString());
+            request.setAttribute(SENDFILE_INICIO, inicio);
+            request.setAttribute(SENDFILE_FIN, inicio + rango.longitud());
+            return;
+        }
+        almacen.transferir(ubicacion, rango.inicio(), rango.longitud(), Channels.newChannel(response.getOutputStream()));
+    }
+    
+    private boolean coincideEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || valor.equals(etag) || valor.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
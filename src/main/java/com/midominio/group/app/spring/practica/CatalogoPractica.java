@@ -0,0 +1,86 @@
+package com.midominio.group.app.spring.practica;
+
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.metadatos.IndicePreguntas;
+import com.midominio.group.app.spring.repository.PreguntaVerdaderoFalsoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preguntas candidatas del modo práctica por temática: IDs de las preguntas V/F activas, ordenados.
+ * 
+ * - Se obtienen del índice de metadatos en memoria (IndicePreguntas) y se guardan por temática
+ *   hasta que el índice cambia (IndicePreguntas.version())
+ * - Si tras un cambio los IDs de una temática son los mismos, se conserva su versión: los
+ *   cursores de preguntas nuevas de PlanificadorPractica no vuelven a empezar por cambios ajenos
+ * - Mientras el índice no está listo (arranque) se consultan los fragmentos, sin guardar el resultado
+ * 
+ * Usado en:
+ * - PracticaService
+ */
+@Component
+public class CatalogoPractica {
+    
+    static final String TIPO_PREGUNTA = "VERDADERO_FALSO";
+    
+    /**
+     * Candidatas de una temática calculadas con una versión del índice
+     */
+    private record Entrada(long versionIndice, PlanificadorPractica.Candidatas candidatas) {
+    }
+    
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final AtomicLong versiones = new AtomicLong();
+    
+    @Autowired
+    private IndicePreguntas indice;
+    
+    @Autowired
+    private PreguntaVerdaderoFalsoRepository repository;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    /**
+     * Normaliza una temática (sin espacios extremos y en minúsculas): clave del estado de práctica
+     */
+    public static String normalizar(String tematica) {
+        return tematica.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Candidatas de una temática ya normalizada
+     */
+    public PlanificadorPractica.Candidatas candidatas(String tematica) {
+        if (!indice.listo()) {
+            return new PlanificadorPractica.Candidatas(-1L, consultar(tematica));
+        }
+        long versionIndice = indice.version();
+        Entrada entrada = entradas.get(tematica);
+        if (entrada != null && entrada.versionIndice() == versionIndice) {
+            return entrada.candidatas();
+        }
+        long[] ids = indice.idsActivas(tematica, TIPO_PREGUNTA);
+        PlanificadorPractica.Candidatas candidatas = entrada != null && Arrays.equals(entrada.candidatas().ids(), ids)
+                ? entrada.candidatas()
+                : new PlanificadorPractica.Candidatas(versiones.incrementAndGet(), ids);
+        entradas.put(tematica, new Entrada(versionIndice, candidatas));
+        return candidatas;
+    }
+    
+    private long[] consultar(String tematica) {
+        List<List<Long>> porFragmento = fragmentos.enTodos(fragmento -> repository.findIdsActivasPorTematica(tematica));
+        return porFragmento.stream()
+                .flatMap(List::stream)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+    }
+}
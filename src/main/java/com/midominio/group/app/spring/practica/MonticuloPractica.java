@@ -0,0 +1,219 @@
+package com.midominio.group.app.spring.practica;
+
+import java.util.Arrays;
+
+/**
+ * Montículo mínimo indexado de las preguntas practicadas por un usuario en una temática,
+ * ordenado por el instante del siguiente repaso.
+ * 
+ * Todo en arrays primitivos, sin un objeto por pregunta:
+ * - ids[i], vencimientos[i] (epoch ms) y datos[i] (estado de repaso empaquetado, ver ProgramacionRepaso)
+ *   forman el montículo
+ * - una tabla hash de direccionamiento abierto (sondeo lineal) guarda la posición de cada ID
+ *   en el montículo, para actualizar o eliminar una pregunta en O(log n) sin buscarla
+ * 
+ * Los IDs deben ser positivos (el 0 marca las celdas vacías de la tabla).
+ * No es seguro para varios hilos: PlanificadorPractica lo usa bajo el cerrojo de su usuario.
+ * 
+ * Usado en:
+ * - PlanificadorPractica
+ */
+public class MonticuloPractica {
+    
+    private static final int CAPACIDAD_INICIAL = 8;
+    
+    private long[] ids = new long[CAPACIDAD_INICIAL];
+    private long[] vencimientos = new long[CAPACIDAD_INICIAL];
+    private long[] datos = new long[CAPACIDAD_INICIAL];
+    private int tamano;
+    
+    // Tabla id -> posición en el montículo; capacidad potencia de 2, ocupación <= 1/2
+    private long[] tablaIds = new long[CAPACIDAD_INICIAL * 2];
+    private int[] tablaPosiciones = new int[CAPACIDAD_INICIAL * 2];
+    
+    public int tamano() {
+        return tamano;
+    }
+    
+    public boolean contiene(long id) {
+        return tablaIds[celda(id)] == id;
+    }
+    
+    /**
+     * ID de la pregunta con el repaso más próximo (el montículo no debe estar vacío)
+     */
+    public long idCima() {
+        return ids[0];
+    }
+    
+    public long vencimientoCima() {
+        return vencimientos[0];
+    }
+    
+    /**
+     * Estado de repaso de una pregunta, o porDefecto si no está en el montículo
+     */
+    public long datos(long id, long porDefecto) {
+        int celda = celda(id);
+        return tablaIds[celda] == id ? datos[tablaPosiciones[celda]] : porDefecto;
+    }
+    
+    /**
+     * Añade una pregunta o cambia su siguiente repaso y su estado
+     */
+    public void fijar(long id, long vencimiento, long datosRepaso) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("ID de pregunta no válido: " + id);
+        }
+        int celda = celda(id);
+        if (tablaIds[celda] == id) {
+            int posicion = tablaPosiciones[celda];
+            long anterior = vencimientos[posicion];
+            vencimientos[posicion] = vencimiento;
+            datos[posicion] = datosRepaso;
+            if (vencimiento < anterior) {
+                subir(posicion);
+            } else {
+                bajar(posicion);
+            }
+            return;
+        }
+        
+        if (tamano == ids.length) {
+            ids = Arrays.copyOf(ids, tamano * 2);
+            vencimientos = Arrays.copyOf(vencimientos, tamano * 2);
+            datos = Arrays.copyOf(datos, tamano * 2);
+        }
+        if ((tamano + 1) * 2 > tablaIds.length) {
+            redimensionarTabla(tablaIds.length * 2);
+            celda = celda(id);
+        }
+        ids[tamano] = id;
+        vencimientos[tamano] = vencimiento;
+        datos[tamano] = datosRepaso;
+        tablaIds[celda] = id;
+        tablaPosiciones[celda] = tamano;
+        tamano++;
+        subir(tamano - 1);
+    }
+    
+    /**
+     * Quita una pregunta del montículo
+     * 
+     * @return true si estaba
+     */
+    public boolean eliminar(long id) {
+        int celda = celda(id);
+        if (tablaIds[celda] != id) {
+            return false;
+        }
+        int posicion = tablaPosiciones[celda];
+        quitarDeTabla(celda);
+        tamano--;
+        if (posicion != tamano) {
+            mover(tamano, posicion);
+            subir(posicion);
+            bajar(posicion);
+        }
+        return true;
+    }
+    
+    private void subir(int posicion) {
+        while (posicion > 0) {
+            int padre = (posicion - 1) >>> 1;
+            if (vencimientos[padre] <= vencimientos[posicion]) {
+                return;
+            }
+            intercambiar(posicion, padre);
+            posicion = padre;
+        }
+    }
+    
+    private void bajar(int posicion) {
+        while (true) {
+            int menor = posicion;
+            int izquierdo = 2 * posicion + 1;
+            int derecho = izquierdo + 1;
+            if (izquierdo < tamano && vencimientos[izquierdo] < vencimientos[menor]) {
+                menor = izquierdo;
+            }
+            if (derecho < tamano && vencimientos[derecho] < vencimientos[menor]) {
+                menor = derecho;
+            }
+            if (menor == posicion) {
+                return;
+            }
+            intercambiar(posicion, menor);
+            posicion = menor;
+        }
+    }
+    
+    private void intercambiar(int a, int b) {
+        long id = ids[a];
+        long vencimiento = vencimientos[a];
+        long dato = datos[a];
+        mover(b, a);
+        ids[b] = id;
+        vencimientos[b] = vencimiento;
+        datos[b] = dato;
+        tablaPosiciones[celda(id)] = b;
+    }
+    
+    /**
+     * Copia la entrada de la posición origen en destino y actualiza su posición en la tabla
+     */
+    private void mover(int origen, int destino) {
+        ids[destino] = ids[origen];
+        vencimientos[destino] = vencimientos[origen];
+        datos[destino] = datos[origen];
+        tablaPosiciones[celda(ids[destino])] = destino;
+    }
+    
+    /**
+     * Celda de la tabla con el ID, o la celda vacía donde iría
+     */
+    private int celda(long id) {
+        int mascara = tablaIds.length - 1;
+        int celda = (int) mezclar(id) & mascara;
+        while (tablaIds[celda] != 0 && tablaIds[celda] != id) {
+            celda = (celda + 1) & mascara;
+        }
+        return celda;
+    }
+    
+    /**
+     * Borrado con desplazamiento hacia atrás: recoloca las entradas siguientes del mismo
+     * grupo para que ninguna búsqueda se corte en el hueco (sin marcas de borrado)
+     */
+    private void quitarDeTabla(int celda) {
+        int mascara = tablaIds.length - 1;
+        int hueco = celda;
+        int siguiente = (hueco + 1) & mascara;
+        while (tablaIds[siguiente] != 0) {
+            int ideal = (int) mezclar(tablaIds[siguiente]) & mascara;
+            // La entrada puede ocupar el hueco si su celda ideal no está entre el hueco y ella
+            if (((siguiente - ideal) & mascara) >= ((siguiente - hueco) & mascara)) {
+                tablaIds[hueco] = tablaIds[siguiente];
+                tablaPosiciones[hueco] = tablaPosiciones[siguiente];
+                hueco = siguiente;
+            }
+            siguiente = (siguiente + 1) & mascara;
+        }
+        tablaIds[hueco] = 0;
+    }
+    
+    private void redimensionarTabla(int capacidad) {
+        tablaIds = new long[capacidad];
+        tablaPosiciones = new int[capacidad];
+        for (int posicion = 0; posicion < tamano; posicion++) {
+            int celda = celda(ids[posicion]);
+            tablaIds[celda] = ids[posicion];
+            tablaPosiciones[celda] = posicion;
+        }
+    }
+    
+    private static long mezclar(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,387 @@
+package com.midominio.group.app.spring.practica;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Planificador del modo práctica: decide cuál es la siguiente pregunta de un usuario
+ * en una temática, en memoria y sin consultar la base de datos.
+ * 
+ * Estado por usuario y temática: un MonticuloPractica con el siguiente repaso de cada pregunta
+ * ya respondida (estado SM-2 empaquetado, ver ProgramacionRepaso). siguiente() elige:
+ * 1. La pregunta con el repaso más atrasado, si ya le toca (las falladas vuelven al minuto)
+ * 2. Si no, una pregunta que el usuario aún no ha visto; las candidatas (IDs de las preguntas
+ *    V/F activas de la temática) se recorren con un cursor que empieza en una posición al azar
+ *    y solo avanza, así que recorrerlas cuesta O(n) en toda la vida del estado, no en cada llamada
+ * 3. Si las ha visto todas, la de repaso más próximo (practicar por adelantado)
+ * Las preguntas que ya no son candidatas (desactivadas, eliminadas) se descartan al llegar a la cima.
+ * 
+ * - El estado de un usuario se carga la primera vez que se usa (Carga) y se desaloja tras
+ *   un tiempo de inactividad, cuando no le quedan cambios por guardar (tarea periódica)
+ * - Con maxEstados estados en memoria, cada estado nuevo desaloja uno poco usado sin cambios
+ *   por guardar, elegido con el algoritmo del reloj: los estados esperan en una cola en orden
+ *   de llegada y los usados desde su última vuelta vuelven al final una vez. Es O(1) amortizado
+ *   y no recorre el mapa en el hilo de la petición
+ * - Cada respuesta deja un Cambio en una cola; drenar()/confirmar()/restaurar() permiten
+ *   guardarlos por lotes (ver PracticaService.volcar())
+ * 
+ * Seguro para varios hilos: un mapa concurrente de estados y un cerrojo por estado.
+ * 
+ * Usado en:
+ * - PracticaService
+ */
+public class PlanificadorPractica {
+    
+    /**
+     * Carga el estado guardado de un usuario en una temática, con fijar() sobre el montículo
+     */
+    @FunctionalInterface
+    public interface Carga {
+        void cargar(String usuario, String tematica, MonticuloPractica destino);
+    }
+    
+    /**
+     * Candidatas de una temática
+     * 
+     * @param version cambia cuando cambia la lista (el cursor de preguntas nuevas vuelve a empezar)
+     * @param ids IDs de las preguntas activas, ordenados
+     */
+    public record Candidatas(long version, long[] ids) {
+        
+        public boolean contiene(long id) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+    }
+    
+    /**
+     * Pregunta elegida
+     * 
+     * @param idPregunta ID de la pregunta
+     * @param nueva true si el usuario nunca la ha respondido
+     * @param vencimiento instante (epoch ms) en que le tocaba repasarla (0 si es nueva)
+     */
+    public record Seleccion(long idPregunta, boolean nueva, long vencimiento) {
+    }
+    
+    private record Clave(String usuario, String tematica) {
+    }
+    
+    /**
+     * Estado de un usuario en una temática; todos los campos se protegen con el propio objeto
+     */
+    private static final class Estado {
+        
+        private final Clave clave;
+        private final MonticuloPractica monticulo = new MonticuloPractica();
+        private long versionCandidatas = -1;
+        private int cursor;
+        private int recorridas;
+        private long ultimoAcceso;
+        // Usado desde que pasó por la cabeza del reloj (segunda oportunidad)
+        private boolean usado = true;
+        private int pendientes;
+        private boolean desalojado;
+        
+        private Estado(Clave clave) {
+            this.clave = clave;
+        }
+    }
+    
+    /**
+     * Cambio pendiente de guardar: estado de repaso de una pregunta tras una respuesta
+     */
+    public static final class Cambio {
+        
+        private final Estado estado;
+        private final long idPregunta;
+        private final long vencimiento;
+        private final long datos;
+        private final long secuencia;
+        // Cambios de la cola a los que sustituye este (el último de la misma pregunta)
+        private int agrupados = 1;
+        
+        private Cambio(Estado estado, long idPregunta, long vencimiento, long datos, long secuencia) {
+            this.estado = estado;
+            this.idPregunta = idPregunta;
+            this.vencimiento = vencimiento;
+            this.datos = datos;
+            this.secuencia = secuencia;
+        }
+        
+        public String usuario() {
+            return estado.clave.usuario();
+        }
+        
+        public String tematica() {
+            return estado.clave.tematica();
+        }
+        
+        public long idPregunta() {
+            return idPregunta;
+        }
+        
+        public long vencimiento() {
+            return vencimiento;
+        }
+        
+        public long datos() {
+            return datos;
+        }
+    }
+    
+    // Estados con cambios por guardar que salta un estado nuevo como máximo antes de rendirse
+    // (el volcado los liberará)
+    private static final int MAX_SALTOS_PENDIENTES = 16;
+    
+    private final Carga carga;
+    private final int maxEstados;
+    private final Map<Clave, Estado> estados = new ConcurrentHashMap<>();
+    // Cada estado en memoria, en orden de llegada o de su última segunda oportunidad (ver desalojarUno())
+    private final Queue<Estado> reloj = new ConcurrentLinkedQueue<>();
+    private final Queue<Cambio> cambios = new ConcurrentLinkedQueue<>();
+    private final AtomicLong secuencias = new AtomicLong();
+    
+    /**
+     * @param carga lectura del estado guardado de un usuario
+     * @param maxEstados estados (usuario × temática) en memoria; por encima, cada estado nuevo
+     *                   desaloja uno poco usado sin esperar a la tarea periódica
+     */
+    public PlanificadorPractica(Carga carga, int maxEstados) {
+        this.carga = carga;
+        this.maxEstados = maxEstados;
+    }
+    
+    /**
+     * Siguiente pregunta de un usuario en una temática
+     * 
+     * @param usuario usuario autenticado
+     * @param tematica temática normalizada
+     * @param candidatas preguntas que se pueden proponer
+     * @param ahora instante actual (epoch ms)
+     * @return la pregunta elegida, o null si no hay candidatas
+     */
+    public Seleccion siguiente(String usuario, String tematica, Candidatas candidatas, long ahora) {
+        if (candidatas.ids().length == 0) {
+            return null;
+        }
+        while (true) {
+            Estado estado = obtener(usuario, tematica);
+            synchronized (estado) {
+                if (estado.desalojado) {
+                    continue;
+                }
+                estado.ultimoAcceso = ahora;
+                estado.usado = true;
+                MonticuloPractica monticulo = estado.monticulo;
+                while (monticulo.tamano() > 0 && !candidatas.contiene(monticulo.idCima())) {
+                    monticulo.eliminar(monticulo.idCima());
+                }
+                if (monticulo.tamano() > 0 && monticulo.vencimientoCima() <= ahora) {
+                    return new Seleccion(monticulo.idCima(), false, monticulo.vencimientoCima());
+                }
+                long nueva = siguienteNueva(estado, candidatas);
+                if (nueva > 0) {
+                    return new Seleccion(nueva, true, 0L);
+                }
+                return monticulo.tamano() == 0 ? null
+                        : new Seleccion(monticulo.idCima(), false, monticulo.vencimientoCima());
+            }
+        }
+    }
+    
+    /**
+     * Registra la respuesta de un usuario y reprograma el siguiente repaso de la pregunta
+     * 
+     * @return instante (epoch ms) del siguiente repaso
+     */
+    public long registrar(String usuario, String tematica, long idPregunta, boolean correcta, long ahora) {
+        while (true) {
+            Estado estado = obtener(usuario, tematica);
+            synchronized (estado) {
+                if (estado.desalojado) {
+                    continue;
+                }
+                estado.ultimoAcceso = ahora;
+                estado.usado = true;
+                long datos = ProgramacionRepaso.responder(
+                        estado.monticulo.datos(idPregunta, ProgramacionRepaso.NUEVA), correcta);
+                long vencimiento = ahora + ProgramacionRepaso.intervaloSegundos(datos) * 1000L;
+                estado.monticulo.fijar(idPregunta, vencimiento, datos);
+                estado.pendientes++;
+                cambios.add(new Cambio(estado, idPregunta, vencimiento, datos, secuencias.incrementAndGet()));
+                return vencimiento;
+            }
+        }
+    }
+    
+    /**
+     * Saca de la cola hasta maximo cambios, dejando solo el último de cada pregunta
+     */
+    public List<Cambio> drenar(int maximo) {
+        Map<Clave, Map<Long, Cambio>> ultimos = new LinkedHashMap<>();
+        int sacados = 0;
+        Cambio cambio;
+        while (sacados < maximo && (cambio = cambios.poll()) != null) {
+            sacados++;
+            Map<Long, Cambio> delEstado = ultimos.computeIfAbsent(cambio.estado.clave, c -> new LinkedHashMap<>());
+            Cambio anterior = delEstado.get(cambio.idPregunta);
+            if (anterior == null) {
+                delEstado.put(cambio.idPregunta, cambio);
+            } else if (anterior.secuencia < cambio.secuencia) {
+                cambio.agrupados += anterior.agrupados;
+                delEstado.put(cambio.idPregunta, cambio);
+            } else {
+                anterior.agrupados += cambio.agrupados;
+            }
+        }
+        List<Cambio> lote = new ArrayList<>(sacados);
+        ultimos.values().forEach(delEstado -> lote.addAll(delEstado.values()));
+        return lote;
+    }
+    
+    /**
+     * Los cambios se han guardado: sus estados ya se pueden desalojar
+     */
+    public void confirmar(List<Cambio> lote) {
+        for (Cambio cambio : lote) {
+            synchronized (cambio.estado) {
+                cambio.estado.pendientes -= cambio.agrupados;
+            }
+        }
+    }
+    
+    /**
+     * Los cambios no se han podido guardar: vuelven a la cola para el siguiente intento
+     */
+    public void restaurar(List<Cambio> lote) {
+        cambios.addAll(lote);
+    }
+    
+    /**
+     * Cambios pendientes de guardar
+     */
+    public int pendientes() {
+        return cambios.size();
+    }
+    
+    /**
+     * Desaloja los estados sin uso desde antes del límite y sin cambios por guardar
+     * Recorre todos los estados: solo para la tarea periódica (ver PracticaService.desalojoPeriodico())
+     * 
+     * @return número de estados desalojados
+     */
+    public int desalojarInactivos(long limite) {
+        int desalojados = 0;
+        for (Iterator<Estado> iterador = reloj.iterator(); iterador.hasNext(); ) {
+            Estado estado = iterador.next();
+            synchronized (estado) {
+                if (estado.desalojado) {
+                    iterador.remove();
+                } else if (estado.ultimoAcceso < limite && estado.pendientes == 0) {
+                    desalojar(estado);
+                    iterador.remove();
+                    desalojados++;
+                }
+            }
+        }
+        return desalojados;
+    }
+    
+    /**
+     * Estados (usuario × temática) en memoria
+     */
+    public int tamano() {
+        return estados.size();
+    }
+    
+    /**
+     * Estado en memoria, o cargado de la base de datos fuera de cualquier cerrojo
+     * (si dos hilos lo cargan a la vez, se queda el primero)
+     */
+    private Estado obtener(String usuario, String tematica) {
+        Clave clave = new Clave(usuario, tematica);
+        Estado estado = estados.get(clave);
+        if (estado != null) {
+            return estado;
+        }
+        Estado nuevo = new Estado(clave);
+        carga.cargar(usuario, tematica, nuevo.monticulo);
+        Estado existente = estados.putIfAbsent(clave, nuevo);
+        if (existente != null) {
+            return existente;
+        }
+        reloj.add(nuevo);
+        if (estados.size() > maxEstados) {
+            desalojarUno();
+        }
+        return nuevo;
+    }
+    
+    /**
+     * Desaloja el primer estado de la cola que no se ha usado desde su última vuelta y no tiene
+     * cambios por guardar; los demás vuelven al final, sin marca de uso.
+     * Cada marca quitada la puso un uso, así que el coste es O(1) amortizado; los estados con
+     * cambios por guardar solo se saltan MAX_SALTOS_PENDIENTES veces por llamada.
+     */
+    private void desalojarUno() {
+        int saltosPendientes = 0;
+        Estado estado;
+        while (saltosPendientes < MAX_SALTOS_PENDIENTES && (estado = reloj.poll()) != null) {
+            synchronized (estado) {
+                if (estado.desalojado) {
+                    continue;
+                }
+                if (estado.pendientes > 0) {
+                    saltosPendientes++;
+                    reloj.add(estado);
+                } else if (estado.usado) {
+                    estado.usado = false;
+                    reloj.add(estado);
+                } else {
+                    desalojar(estado);
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Retira un estado del mapa; quien lo tenga ya en la mano lo verá desalojado y pedirá otro
+     * (llamado con el cerrojo del estado)
+     */
+    private void desalojar(Estado estado) {
+        estado.desalojado = true;
+        estados.remove(estado.clave, estado);
+    }
+    
+    /**
+     * Primera candidata a partir del cursor que el usuario no ha respondido nunca, o 0.
+     * El cursor no pasa de ella hasta que se responde: pedir la siguiente otra vez la repite.
+     */
+    private static long siguienteNueva(Estado estado, Candidatas candidatas) {
+        long[] ids = candidatas.ids();
+        if (estado.versionCandidatas != candidatas.version()) {
+            estado.versionCandidatas = candidatas.version();
+            estado.cursor = ThreadLocalRandom.current().nextInt(ids.length);
+            estado.recorridas = 0;
+        }
+        while (estado.recorridas < ids.length) {
+            long id = ids[estado.cursor];
+            if (!estado.monticulo.contiene(id)) {
+                return id;
+            }
+            estado.cursor = estado.cursor + 1 == ids.length ? 0 : estado.cursor + 1;
+            estado.recorridas++;
+        }
+        return 0L;
+    }
+}
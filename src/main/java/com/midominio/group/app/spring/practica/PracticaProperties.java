@@ -0,0 +1,30 @@
+package com.midominio.group.app.spring.practica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del modo práctica (repaso espaciado).
+ * Propiedades con prefijo app.practica en application.properties.
+ * 
+ * @param maxEstados estados (usuario × temática) en memoria; por encima, cada estado nuevo desaloja
+ *                   uno poco usado sin cambios por guardar, sin esperar a la tarea periódica
+ * @param inactividadDesalojo tiempo sin uso tras el que se desaloja el estado de un usuario
+ * @param intervaloVolcado cada cuánto se guardan en BD las respuestas acumuladas en memoria
+ * @param tamanoLote respuestas guardadas por transacción en cada volcado
+ */
+@ConfigurationProperties(prefix = "app.practica")
+public record PracticaProperties(Integer maxEstados, Duration inactividadDesalojo,
+                                 Duration intervaloVolcado, Integer tamanoLote) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public PracticaProperties {
+        maxEstados = maxEstados == null ? 200_000 : maxEstados;
+        inactividadDesalojo = inactividadDesalojo == null ? Duration.ofMinutes(30) : inactividadDesalojo;
+        intervaloVolcado = intervaloVolcado == null ? Duration.ofSeconds(5) : intervaloVolcado;
+        tamanoLote = tamanoLote == null ? 1000 : tamanoLote;
+    }
+}
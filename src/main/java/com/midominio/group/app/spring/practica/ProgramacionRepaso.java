@@ -0,0 +1,78 @@
+package com.midominio.group.app.spring.practica;
+
+/**
+ * Repaso espaciado al estilo SM-2, con el estado de cada pregunta empaquetado en un long:
+ * - bits 0-31: intervalo hasta el siguiente repaso, en segundos
+ * - bits 32-47: facilidad en centésimas (250 = 2,5: el intervalo se multiplica por 2,5 en cada acierto)
+ * - bits 48-63: aciertos seguidos
+ * 
+ * - Un fallo vuelve a poner la pregunta en {@value #INTERVALO_FALLO} s y baja la facilidad
+ *   (las preguntas falladas salen antes que las demás)
+ * - El primer acierto la aplaza {@value #PRIMER_INTERVALO} s, el segundo un día y los siguientes
+ *   multiplican el intervalo por la facilidad, con un máximo de {@value #INTERVALO_MAXIMO} s (180 días)
+ * 
+ * Usado en:
+ * - PlanificadorPractica
+ */
+public final class ProgramacionRepaso {
+    
+    static final int FACILIDAD_INICIAL = 250;
+    static final int FACILIDAD_MINIMA = 130;
+    static final int FACILIDAD_MAXIMA = 350;
+    static final int PENALIZACION_FALLO = 20;
+    static final int BONIFICACION_ACIERTO = 5;
+    static final long INTERVALO_FALLO = 60;
+    static final long PRIMER_INTERVALO = 600;
+    static final long SEGUNDO_INTERVALO = 86_400;
+    static final long INTERVALO_MAXIMO = 180 * 86_400L;
+    private static final int MAX_ACIERTOS = 0xFFFF;
+    
+    /**
+     * Estado de una pregunta que el usuario nunca ha respondido
+     */
+    public static final long NUEVA = empaquetar(0, FACILIDAD_INICIAL, 0);
+    
+    private ProgramacionRepaso() {
+    }
+    
+    /**
+     * Estado tras responder una pregunta
+     * 
+     * @param datos estado actual (NUEVA si nunca se ha respondido)
+     * @param correcta si la respuesta ha sido correcta
+     * @return el nuevo estado; el siguiente repaso es ahora + intervaloSegundos(nuevo estado)
+     */
+    public static long responder(long datos, boolean correcta) {
+        long intervalo = intervaloSegundos(datos);
+        int facilidad = facilidad(datos);
+        int aciertos = aciertosSeguidos(datos);
+        if (!correcta) {
+            return empaquetar(INTERVALO_FALLO, Math.max(FACILIDAD_MINIMA, facilidad - PENALIZACION_FALLO), 0);
+        }
+        aciertos = Math.min(MAX_ACIERTOS, aciertos + 1);
+        if (aciertos == 1) {
+            intervalo = PRIMER_INTERVALO;
+        } else if (aciertos == 2) {
+            intervalo = SEGUNDO_INTERVALO;
+        } else {
+            intervalo = Math.min(INTERVALO_MAXIMO, intervalo * facilidad / 100);
+        }
+        return empaquetar(intervalo, Math.min(FACILIDAD_MAXIMA, facilidad + BONIFICACION_ACIERTO), aciertos);
+    }
+    
+    public static long intervaloSegundos(long datos) {
+        return datos & 0xFFFF_FFFFL;
+    }
+    
+    public static int facilidad(long datos) {
+        return (int) ((datos >>> 32) & 0xFFFF);
+    }
+    
+    public static int aciertosSeguidos(long datos) {
+        return (int) (datos >>> 48);
+    }
+    
+    static long empaquetar(long intervaloSegundos, int facilidad, int aciertos) {
+        return ((long) aciertos << 48) | ((long) facilidad << 32) | intervaloSegundos;
+    }
+}
@@ -0,0 +1,114 @@
+package com.midominio.group.app.spring.proyeccion;
+
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import jakarta.persistence.DiscriminatorValue;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Campos de una pregunta que se pueden pedir con ?campos=... en los listados.
+ * 
+ * Cada campo sabe de qué expresiones JPQL sale. Los campos de la tabla base se leen tal cual;
+ * los propios de un tipo se leen con TREAT, de modo que solo se une la tabla de ese tipo
+ * (y ninguna si no se pide ningún campo de tipo). Con varias expresiones (un campo que existe en
+ * varios tipos) el valor es la primera no nula.
+ * 
+ * Los nombres coinciden con las propiedades JSON de la entidad completa.
+ * 
+ * Usado en:
+ * - ProyeccionPreguntas para montar la consulta
+ * - PreguntaService.filtrarCampos()
+ */
+public enum CampoPregunta {
+    
+    ID("id", "p.id"),
+    TIPO_PREGUNTA("tipoPregunta", "TYPE(p)"),
+    ENUNCIADO("enunciado", "p.enunciado"),
+    TEMATICA("tematica", "p.tematica"),
+    FECHA_CREACION("fechaCreacion", "p.fechaCreacion"),
+    ACTIVA("activa", "p.activa"),
+    VERSION("version", "p.version"),
+    RESPUESTA_CORRECTA("respuestaCorrecta",
+            "TREAT(p AS PreguntaVerdaderoFalso).respuestaCorrecta"),
+    OPCIONES("opciones",
+            "TREAT(p AS PreguntaSeleccionUnica).opciones",
+            "TREAT(p AS PreguntaSeleccionMultiple).opciones"),
+    NUMERO_OPCIONES("numeroOpciones",
+            "TREAT(p AS PreguntaSeleccionUnica).numeroOpciones",
+            "TREAT(p AS PreguntaSeleccionMultiple).numeroOpciones"),
+    MASCARA_CORRECTA("mascaraCorrecta",
+            "TREAT(p AS PreguntaSeleccionUnica).mascaraCorrecta",
+            "TREAT(p AS PreguntaSeleccionMultiple).mascaraCorrecta"),
+    EXPLICACION("explicacion",
+            "TREAT(p AS PreguntaVerdaderoFalso).explicacion",
+            "TREAT(p AS PreguntaSeleccionUnica).explicacion",
+            "TREAT(p AS PreguntaSeleccionMultiple).explicacion");
+    
+    private final String nombre;
+    private final List<String> expresiones;
+    
+    CampoPregunta(String nombre, String... expresiones) {
+        this.nombre = nombre;
+        this.expresiones = List.of(expresiones);
+    }
+    
+    public String nombre() {
+        return nombre;
+    }
+    
+    List<String> expresiones() {
+        return expresiones;
+    }
+    
+    /**
+     * Valor del campo a partir de los valores leídos de sus expresiones (en el mismo orden)
+     */
+    Object valor(Object[] leidos) {
+        for (Object leido : leidos) {
+            if (leido instanceof Class<?> tipo) {
+                // TYPE(p) devuelve la clase: se expone el discriminador, como getTipoPregunta()
+                return tipo.getAnnotation(DiscriminatorValue.class).value();
+            }
+            if (leido != null) {
+                return leido;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Interpreta la lista de campos de la petición (ej: "enunciado,tematica").
+     * El ID se incluye siempre.
+     * 
+     * @param campos nombres separados por comas
+     * @return campos pedidos, en el orden de la enumeración
+     * @throws DatosInvalidosException si algún nombre no es un campo conocido
+     */
+    public static Set<CampoPregunta> desdeTexto(String campos) {
+        Set<CampoPregunta> resultado = EnumSet.of(ID);
+        for (String nombre : campos.split(",")) {
+            String limpio = nombre.trim();
+            if (limpio.isEmpty()) {
+                continue;
+            }
+            resultado.add(porNombre(limpio));
+        }
+        return resultado;
+    }
+    
+    private static CampoPregunta porNombre(String nombre) {
+        for (CampoPregunta campo : values()) {
+            if (campo.nombre.equals(nombre)) {
+                return campo;
+            }
+        }
+        throw new DatosInvalidosException("campos", "Campo desconocido: " + nombre
+                + ". Campos disponibles: " + String.join(", ", nombres()));
+    }
+    
+    private static List<String> nombres() {
+        return EnumSet.allOf(CampoPregunta.class).stream().map(CampoPregunta::nombre).toList();
+    }
+}
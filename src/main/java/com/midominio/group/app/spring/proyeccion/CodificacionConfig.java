@@ -0,0 +1,29 @@
+package com.midominio.group.app.spring.proyeccion;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+
+/**
+ * Codificaciones binarias de las respuestas de la API, además de JSON.
+ * 
+ * Spring Boot añade estos conversores a los de Spring MVC y el cliente elige con la cabecera
+ * Accept: application/cbor o application/x-jackson-smile (sin cabecera se sigue respondiendo JSON).
+ * Ocupan menos que JSON y cuestan menos de generar, útil para los listados de la app móvil.
+ * 
+ * Como con JSON, Jackson escribe la respuesta directamente en el stream de salida.
+ */
+@Configuration
+public class CodificacionConfig {
+    
+    @Bean
+    public JacksonCborHttpMessageConverter conversorCbor() {
+        return new JacksonCborHttpMessageConverter();
+    }
+    
+    @Bean
+    public JacksonSmileHttpMessageConverter conversorSmile() {
+        return new JacksonSmileHttpMessageConverter();
+    }
+}
@@ -0,0 +1,90 @@
+package com.midominio.group.app.spring.proyeccion;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lectura parcial de preguntas: solo las columnas de los campos pedidos (sparse fieldsets).
+ * 
+ * Monta una consulta JPQL de proyección (SELECT p.id, p.enunciado, ... sin cargar entidades),
+ * así que las columnas que no se piden no se leen, las tablas de tipo solo se unen si se pide
+ * algún campo suyo y nada entra en el contexto de persistencia.
+ * 
+ * Usado en:
+ * - PreguntaService.filtrarCampos() (API REST GET /api/preguntas?campos=...)
+ */
+@Component
+public class ProyeccionPreguntas {
+    
+    // IDs por consulta IN (una página tiene como mucho 100)
+    private static final int TAMANO_BLOQUE_IN = 100;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Lee los campos indicados de las preguntas indicadas
+     * 
+     * @param ids IDs a leer
+     * @param campos campos a devolver, con CampoPregunta.ID el primero (ver CampoPregunta.desdeTexto())
+     * @return un mapa campo -> valor por pregunta encontrada, en el orden de ids
+     *         (sin los campos nulos o que no existen en el tipo de la pregunta)
+     */
+    public List<Map<String, Object>> cargar(List<Long> ids, Set<CampoPregunta> campos) {
+        List<CampoPregunta> orden = List.copyOf(campos);
+        String consulta = consulta(orden);
+        
+        Map<Long, Map<String, Object>> porId = new HashMap<>();
+        for (int desde = 0; desde < ids.size(); desde += TAMANO_BLOQUE_IN) {
+            List<Long> bloque = ids.subList(desde, Math.min(ids.size(), desde + TAMANO_BLOQUE_IN));
+            List<Object[]> filas = entityManager.createQuery(consulta, Object[].class)
+                    .setParameter("ids", bloque)
+                    .getResultList();
+            for (Object[] fila : filas) {
+                // la primera columna es p.id
+                porId.put((Long) fila[0], aMapa(orden, fila));
+            }
+        }
+        
+        List<Map<String, Object>> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Map<String, Object> pregunta = porId.get(id);
+            if (pregunta != null) { // eliminada entre el filtrado y la proyección
+                resultado.add(pregunta);
+            }
+        }
+        return resultado;
+    }
+    
+    static String consulta(List<CampoPregunta> campos) {
+        List<String> expresiones = new ArrayList<>();
+        for (CampoPregunta campo : campos) {
+            expresiones.addAll(campo.expresiones());
+        }
+        return "SELECT " + String.join(", ", expresiones) + " FROM Pregunta p WHERE p.id IN :ids";
+    }
+    
+    private static Map<String, Object> aMapa(List<CampoPregunta> campos, Object[] fila) {
+        Map<String, Object> pregunta = new LinkedHashMap<>();
+        int columna = 0;
+        for (CampoPregunta campo : campos) {
+            int expresiones = campo.expresiones().size();
+            Object[] leidos = new Object[expresiones];
+            System.arraycopy(fila, columna, leidos, 0, expresiones);
+            columna += expresiones;
+            Object valor = campo.valor(leidos);
+            if (valor != null) {
+                pregunta.put(campo.nombre(), valor);
+            }
+        }
+        return pregunta;
+    }
+}
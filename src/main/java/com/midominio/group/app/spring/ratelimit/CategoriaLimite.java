@@ -0,0 +1,53 @@
+package com.midominio.group.app.spring.ratelimit;
+
+/**
+ * Categorías de endpoints con límites de tasa independientes.
+ * 
+ * Usado en:
+ * - RateLimitFilter para clasificar cada petición
+ * - LimitadorTasaUsuario para separar los buckets de cada categoría
+ * - ControlCargaAdaptativo para decidir qué tráfico se descarta primero
+ * 
+ * El orden importa: las categorías con mayor prioridad se descartan las últimas.
+ */
+public enum CategoriaLimite {
+    
+    /**
+     * Validación de respuestas (validarRespuesta, también en el modo práctica) y escrituras de
+     * exámenes cronometrados (iniciar, responder, entregar). Tráfico de alumnos durante exámenes.
+     */
+    CALIFICACION,
+    
+    /**
+     * Listados, filtros y búsquedas de solo lectura (incluida la lectura por lotes, que usa POST).
+     */
+    BUSQUEDA,
+    
+    /**
+     * Operaciones de escritura de administración (crear, actualizar, eliminar, cambiar estado).
+     */
+    ADMINISTRACION;
+    
+    /**
+     * Clasifica una petición de la API según su método HTTP y su ruta
+     * 
+     * @param metodo método HTTP (GET, POST, ...)
+     * @param ruta ruta de la petición sin contexto (ej: /api/preguntas/1/validar)
+     * @return la categoría de la petición
+     */
+    public static CategoriaLimite clasificar(String metodo, String ruta) {
+        if (ruta.endsWith("/validar")) {
+            return CALIFICACION;
+        }
+        if (ruta.startsWith("/api/examenes") && !"GET".equalsIgnoreCase(metodo)) {
+            return CALIFICACION;
+        }
+        if (ruta.endsWith("/lote")) {
+            return BUSQUEDA;
+        }
+        if ("GET".equalsIgnoreCase(metodo) || "HEAD".equalsIgnoreCase(metodo)) {
+            return BUSQUEDA;
+        }
+        return ADMINISTRACION;
+    }
+}
@@ -0,0 +1,127 @@
+package com.midominio.group.app.spring.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Descarte de carga adaptativo basado en la latencia observada del servicio.
+ * 
+ * Mantiene un límite de peticiones simultáneas que se ajusta con AIMD a partir
+ * de la latencia de la calificación (el camino con SLA durante los exámenes):
+ * - Si la latencia media (EWMA) supera la objetivo, el límite se reduce un 10%
+ * - Si está por debajo, el límite crece de uno en uno
+ * 
+ * Las categorías de menor prioridad se descartan antes:
+ * - ADMINISTRACION: se rechaza al superar el 50% del límite
+ * - BUSQUEDA: se rechaza al superar el 80% del límite
+ * - CALIFICACION: se rechaza al superar el 100% del límite
+ * 
+ * Usado en:
+ * - RateLimitFilter (antes y después de cada petición)
+ */
+public class ControlCargaAdaptativo {
+    
+    // Peso de la nueva muestra en la media exponencial (1/8)
+    private static final int DESPLAZAMIENTO_EWMA = 3;
+    // Número de muestras entre ajustes del límite
+    private static final int MUESTRAS_POR_AJUSTE = 64;
+    
+    private final long latenciaObjetivoNanos;
+    private final int concurrenciaMinima;
+    private final int concurrenciaMaxima;
+    
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicInteger limite;
+    private final AtomicLong latenciaMediaNanos = new AtomicLong();
+    private final AtomicInteger muestras = new AtomicInteger();
+    private final AtomicLong descartadas = new AtomicLong();
+    
+    public ControlCargaAdaptativo(RateLimitProperties propiedades) {
+        this.latenciaObjetivoNanos = propiedades.latenciaObjetivo().toNanos();
+        this.concurrenciaMinima = propiedades.concurrenciaMinima();
+        this.concurrenciaMaxima = propiedades.concurrenciaMaxima();
+        this.limite = new AtomicInteger(propiedades.concurrenciaInicial());
+    }
+    
+    /**
+     * Intenta admitir una petición
+     * 
+     * @param categoria categoría de la petición
+     * @return true si se admite (hay que llamar a finalizar()), false si se descarta
+     */
+    public boolean intentarAdmitir(CategoriaLimite categoria) {
+        int umbral = umbralPara(categoria);
+        int actuales = enCurso.incrementAndGet();
+        if (actuales > umbral) {
+            enCurso.decrementAndGet();
+            descartadas.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Registra el fin de una petición admitida y su latencia
+     * 
+     * @param categoria categoría de la petición
+     * @param latenciaNanos duración de la petición
+     */
+    public void finalizar(CategoriaLimite categoria, long latenciaNanos) {
+        enCurso.decrementAndGet();
+        
+        // Solo la calificación alimenta la latencia observada: los informes de
+        // administración son lentos por naturaleza y no deben provocar descartes
+        if (categoria != CategoriaLimite.CALIFICACION) {
+            return;
+        }
+        
+        // EWMA: media += (muestra - media) / 8 (reintenta el CAS: con contención no se pierde ninguna muestra)
+        latenciaMediaNanos.accumulateAndGet(latenciaNanos,
+                (media, muestra) -> media + ((muestra - media) >> DESPLAZAMIENTO_EWMA));
+        
+        if (muestras.incrementAndGet() % MUESTRAS_POR_AJUSTE == 0) {
+            ajustarLimite();
+        }
+    }
+    
+    /**
+     * Ajuste AIMD del límite de concurrencia
+     */
+    private void ajustarLimite() {
+        int actual = limite.get();
+        int nuevo;
+        if (latenciaMediaNanos.get() > latenciaObjetivoNanos) {
+            nuevo = Math.max(concurrenciaMinima, actual - Math.max(1, actual / 10));
+        } else {
+            nuevo = Math.min(concurrenciaMaxima, actual + 1);
+        }
+        limite.compareAndSet(actual, nuevo);
+    }
+    
+    private int umbralPara(CategoriaLimite categoria) {
+        int actual = limite.get();
+        return switch (categoria) {
+            case CALIFICACION -> actual;
+            case BUSQUEDA -> actual * 8 / 10;
+            case ADMINISTRACION -> actual / 2;
+        };
+    }
+    
+    // Getters para métricas
+    
+    public int getLimite() {
+        return limite.get();
+    }
+    
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+    
+    public long getLatenciaMediaNanos() {
+        return latenciaMediaNanos.get();
+    }
+    
+    public long getDescartadas() {
+        return descartadas.get();
+    }
+}
@@ -0,0 +1,119 @@
+package com.midominio.group.app.spring.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registro de token buckets por usuario y categoría de endpoint.
+ * 
+ * - Un mapa concurrente por categoría (calificación, búsqueda, administración)
+ * - Los buckets se crean bajo demanda y se desalojan tras un tiempo de inactividad
+ * - El número de buckets está acotado: si se alcanza el máximo y el desalojo no
+ *   libera espacio, los usuarios nuevos comparten un bucket de desbordamiento
+ * 
+ * Usado en:
+ * - RateLimitFilter (una consulta por petición a la API)
+ * 
+ * Nota: No accede a base de datos; todas las decisiones se toman en memoria.
+ */
+public class LimitadorTasaUsuario {
+    
+    private final RateLimitProperties propiedades;
+    private final long epochNanos = System.nanoTime();
+    private final Map<CategoriaLimite, ConcurrentHashMap<String, TokenBucket>> buckets =
+            new EnumMap<>(CategoriaLimite.class);
+    private final Map<CategoriaLimite, TokenBucket> desbordamiento = new EnumMap<>(CategoriaLimite.class);
+    private final AtomicBoolean desalojando = new AtomicBoolean(false);
+    
+    public LimitadorTasaUsuario(RateLimitProperties propiedades) {
+        this.propiedades = propiedades;
+        for (CategoriaLimite categoria : CategoriaLimite.values()) {
+            buckets.put(categoria, new ConcurrentHashMap<>());
+            desbordamiento.put(categoria, crearBucket(categoria));
+        }
+    }
+    
+    /**
+     * Obtiene (o crea) el bucket de un usuario para una categoría
+     * 
+     * @param usuario nombre del usuario autenticado (o IP para anónimos)
+     * @param categoria categoría del endpoint
+     * @return el bucket a consumir
+     */
+    public TokenBucket bucketPara(String usuario, CategoriaLimite categoria) {
+        ConcurrentHashMap<String, TokenBucket> mapa = buckets.get(categoria);
+        TokenBucket bucket = mapa.get(usuario);
+        if (bucket != null) {
+            return bucket;
+        }
+        
+        if (mapa.size() >= propiedades.maxBuckets()) {
+            desalojarInactivos();
+            if (mapa.size() >= propiedades.maxBuckets()) {
+                return desbordamiento.get(categoria);
+            }
+        }
+        return mapa.computeIfAbsent(usuario, u -> crearBucket(categoria));
+    }
+    
+    /**
+     * Elimina los buckets sin uso durante más de app.rate-limit.inactividad-desalojo.
+     * Un bucket inactivo está lleno, así que desalojarlo no cambia el comportamiento.
+     * 
+     * Llamado desde:
+     * - desalojoPeriodico()
+     * - bucketPara() cuando se alcanza el máximo de buckets
+     * 
+     * @return número de buckets desalojados
+     */
+    public int desalojarInactivos() {
+        // Evita que varios hilos recorran los mapas a la vez
+        if (!desalojando.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long limite = ahoraMs() - propiedades.inactividadDesalojo().toMillis();
+            int desalojados = 0;
+            for (ConcurrentHashMap<String, TokenBucket> mapa : buckets.values()) {
+                int antes = mapa.size();
+                mapa.values().removeIf(bucket -> bucket.ultimoAccesoMs() < limite);
+                desalojados += antes - mapa.size();
+            }
+            return desalojados;
+        } finally {
+            desalojando.set(false);
+        }
+    }
+    
+    /**
+     * Tarea periódica de desalojo (app.rate-limit.periodo-desalojo, por defecto 60 s)
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.periodo-desalojo:60000}")
+    public void desalojoPeriodico() {
+        desalojarInactivos();
+    }
+    
+    /**
+     * Número total de buckets en memoria (para métricas)
+     */
+    public int totalBuckets() {
+        int total = 0;
+        for (ConcurrentHashMap<String, TokenBucket> mapa : buckets.values()) {
+            total += mapa.size();
+        }
+        return total;
+    }
+    
+    private TokenBucket crearBucket(CategoriaLimite categoria) {
+        RateLimitProperties.Limite limite = propiedades.limitePara(categoria);
+        return new TokenBucket(limite.capacidad(), limite.tokensPorSegundo(), this::ahoraMs);
+    }
+    
+    private long ahoraMs() {
+        return (System.nanoTime() - epochNanos) / 1_000_000L;
+    }
+}
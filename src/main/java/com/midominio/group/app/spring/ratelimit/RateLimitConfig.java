@@ -0,0 +1,43 @@
+package com.midominio.group.app.spring.ratelimit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del limitador de tasa y del descarte de carga.
+ * 
+ * - Registra RateLimitFilter solo para la API REST (/api/*)
+ * - Desaloja periódicamente los buckets de usuarios inactivos
+ * 
+ * Se desactiva con app.rate-limit.habilitado=false
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+    
+    // Orden posterior a springSecurityFilterChain (-100) para disponer del usuario autenticado
+    private static final int ORDEN_FILTRO = 0;
+    
+    @Bean
+    public LimitadorTasaUsuario limitadorTasaUsuario(RateLimitProperties propiedades) {
+        return new LimitadorTasaUsuario(propiedades);
+    }
+    
+    @Bean
+    public ControlCargaAdaptativo controlCargaAdaptativo(RateLimitProperties propiedades) {
+        return new ControlCargaAdaptativo(propiedades);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties propiedades,
+            LimitadorTasaUsuario limitador, ControlCargaAdaptativo controlCarga) {
+        FilterRegistrationBean<RateLimitFilter> registro =
+                new FilterRegistrationBean<>(new RateLimitFilter(limitador, controlCarga));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(ORDEN_FILTRO);
+        registro.setEnabled(propiedades.habilitado());
+        return registro;
+    }
+}
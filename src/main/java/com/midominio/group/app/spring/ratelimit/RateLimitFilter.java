@@ -0,0 +1,94 @@
+package com.midominio.group.app.spring.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filtro que aplica el límite de tasa por usuario y el descarte de carga a la API REST.
+ * 
+ * Se registra después de la cadena de Spring Security para conocer el usuario
+ * autenticado, pero antes del DispatcherServlet: las peticiones rechazadas
+ * nunca llegan a los controllers ni a la base de datos.
+ * 
+ * Orden de comprobaciones:
+ * 1. Token bucket del usuario para la categoría del endpoint
+ * 2. Control de carga adaptativo (concurrencia según latencia observada)
+ * 
+ * Respuesta de rechazo: HTTP 429 con cabecera Retry-After y cuerpo JSON fijo.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    // Cuerpos precalculados para que un rechazo no genere basura ni serialice JSON
+    private static final byte[] CUERPO_LIMITE = (
+            "{\"status\":429,\"error\":\"Demasiadas peticiones\","
+            + "\"mensaje\":\"Se ha superado el límite de peticiones. Inténtelo más tarde.\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CUERPO_SOBRECARGA = (
+            "{\"status\":429,\"error\":\"Servicio saturado\","
+            + "\"mensaje\":\"El servicio está saturado. Inténtelo más tarde.\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    
+    private final LimitadorTasaUsuario limitador;
+    private final ControlCargaAdaptativo controlCarga;
+    
+    public RateLimitFilter(LimitadorTasaUsuario limitador, ControlCargaAdaptativo controlCarga) {
+        this.limitador = limitador;
+        this.controlCarga = controlCarga;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        CategoriaLimite categoria = CategoriaLimite.clasificar(request.getMethod(), request.getRequestURI());
+        
+        TokenBucket bucket = limitador.bucketPara(claveUsuario(request), categoria);
+        if (!bucket.intentarConsumir()) {
+            rechazar(response, bucket.msHastaSiguienteToken(), CUERPO_LIMITE);
+            return;
+        }
+        
+        if (!controlCarga.intentarAdmitir(categoria)) {
+            rechazar(response, 1000, CUERPO_SOBRECARGA);
+            return;
+        }
+        
+        long inicio = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            controlCarga.finalizar(categoria, System.nanoTime() - inicio);
+        }
+    }
+    
+    /**
+     * Clave del bucket: nombre del usuario autenticado, o la IP para peticiones anónimas
+     */
+    private String claveUsuario(HttpServletRequest request) {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion != null && autenticacion.isAuthenticated()
+                && !(autenticacion instanceof AnonymousAuthenticationToken)) {
+            return autenticacion.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    private void rechazar(HttpServletResponse response, long esperaMs, byte[] cuerpo) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (esperaMs + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(cuerpo.length);
+        response.getOutputStream().write(cuerpo);
+    }
+}
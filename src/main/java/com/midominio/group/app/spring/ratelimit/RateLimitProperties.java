@@ -0,0 +1,75 @@
+package com.midominio.group.app.spring.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del limitador de tasa y del descarte de carga.
+ * Propiedades con prefijo app.rate-limit en application.properties.
+ * 
+ * Ejemplo:
+ *   app.rate-limit.calificacion.capacidad=20
+ *   app.rate-limit.calificacion.tokens-por-segundo=5
+ *   app.rate-limit.latencia-objetivo=150ms
+ * 
+ * @param habilitado activa o desactiva el filtro completo
+ * @param calificacion límites para validarRespuesta
+ * @param busqueda límites para listados y búsquedas
+ * @param administracion límites para operaciones de escritura
+ * @param maxBuckets número máximo de buckets en memoria (por categoría)
+ * @param inactividadDesalojo tiempo sin uso tras el cual un bucket se desaloja
+ * @param latenciaObjetivo latencia a partir de la cual se empieza a descartar carga
+ * @param concurrenciaInicial límite inicial de peticiones simultáneas
+ * @param concurrenciaMinima límite mínimo al que puede bajar el control adaptativo
+ * @param concurrenciaMaxima límite máximo al que puede subir el control adaptativo
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        Boolean habilitado,
+        Limite calificacion,
+        Limite busqueda,
+        Limite administracion,
+        Integer maxBuckets,
+        Duration inactividadDesalojo,
+        Duration latenciaObjetivo,
+        Integer concurrenciaInicial,
+        Integer concurrenciaMinima,
+        Integer concurrenciaMaxima) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public RateLimitProperties {
+        habilitado = habilitado == null ? Boolean.TRUE : habilitado;
+        calificacion = calificacion == null ? new Limite(20, 5.0) : calificacion;
+        busqueda = busqueda == null ? new Limite(30, 10.0) : busqueda;
+        administracion = administracion == null ? new Limite(10, 1.0) : administracion;
+        maxBuckets = maxBuckets == null ? 100_000 : maxBuckets;
+        inactividadDesalojo = inactividadDesalojo == null ? Duration.ofMinutes(10) : inactividadDesalojo;
+        latenciaObjetivo = latenciaObjetivo == null ? Duration.ofMillis(150) : latenciaObjetivo;
+        concurrenciaInicial = concurrenciaInicial == null ? 200 : concurrenciaInicial;
+        concurrenciaMinima = concurrenciaMinima == null ? 20 : concurrenciaMinima;
+        concurrenciaMaxima = concurrenciaMaxima == null ? 1000 : concurrenciaMaxima;
+    }
+    
+    /**
+     * Devuelve el límite configurado para una categoría
+     */
+    public Limite limitePara(CategoriaLimite categoria) {
+        return switch (categoria) {
+            case CALIFICACION -> calificacion;
+            case BUSQUEDA -> busqueda;
+            case ADMINISTRACION -> administracion;
+        };
+    }
+    
+    /**
+     * Límite de un token bucket
+     * 
+     * @param capacidad ráfaga máxima permitida
+     * @param tokensPorSegundo tasa sostenida permitida
+     */
+    public record Limite(int capacidad, double tokensPorSegundo) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.midominio.group.app.spring.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket sin bloqueos (lock-free) para limitar la tasa de peticiones de un usuario.
+ * 
+ * Todo el estado del bucket se empaqueta en un único long para poder
+ * actualizarlo con una sola operación CAS, sin locks ni objetos intermedios:
+ * - Bits altos (23): tokens disponibles en milésimas de token
+ * - Bits bajos (40): instante de la última recarga en ms desde el epoch del limitador
+ * 
+ * Usado en:
+ * - LimitadorTasaUsuario (un bucket por usuario y categoría)
+ * 
+ * Nota: El instante de la última recarga sirve también como "último acceso"
+ * para desalojar buckets inactivos.
+ */
+public final class TokenBucket {
+    
+    // Constantes de empaquetado
+    private static final int BITS_TIEMPO = 40;
+    private static final long MASCARA_TIEMPO = (1L << BITS_TIEMPO) - 1;
+    static final long MAX_MILITOKENS = (1L << 23) - 1;
+    private static final long MILI = 1000L;
+    
+    private final AtomicLong estado;
+    private final long capacidadMili;
+    private final long recargaMiliPorMs; // escalado x1000 para no perder precisión
+    private final LongSupplier relojMs;
+    
+    /**
+     * Constructor principal
+     * 
+     * @param capacidad tokens máximos acumulables (ráfaga permitida)
+     * @param tokensPorSegundo tokens que se recargan por segundo
+     * @param relojMs reloj en milisegundos relativo al epoch del limitador
+     */
+    public TokenBucket(int capacidad, double tokensPorSegundo, LongSupplier relojMs) {
+        if (capacidad <= 0 || capacidad * MILI > MAX_MILITOKENS) {
+            throw new IllegalArgumentException("Capacidad fuera de rango: " + capacidad);
+        }
+        if (tokensPorSegundo <= 0) {
+            throw new IllegalArgumentException("La tasa de recarga debe ser positiva");
+        }
+        this.capacidadMili = capacidad * MILI;
+        // militokens por ms = tokens/s; se guarda x1000 para tasas fraccionarias
+        this.recargaMiliPorMs = Math.max(1L, Math.round(tokensPorSegundo * MILI));
+        this.relojMs = relojMs;
+        this.estado = new AtomicLong(empaquetar(capacidadMili, ahora()));
+    }
+    
+    /**
+     * Intenta consumir un token
+     * 
+     * @return true si había token disponible, false si se debe rechazar la petición
+     */
+    public boolean intentarConsumir() {
+        long ahora = ahora();
+        while (true) {
+            long actual = estado.get();
+            long tokens = recargar(actual, ahora);
+            if (tokens < MILI) {
+                return false;
+            }
+            long nuevo = empaquetar(tokens - MILI, ahora);
+            if (estado.compareAndSet(actual, nuevo)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Milisegundos estimados hasta que haya un token disponible.
+     * Usado para rellenar la cabecera Retry-After de las respuestas 429.
+     */
+    public long msHastaSiguienteToken() {
+        long tokens = recargar(estado.get(), ahora());
+        if (tokens >= MILI) {
+            return 0;
+        }
+        return ((MILI - tokens) * MILI + recargaMiliPorMs - 1) / recargaMiliPorMs;
+    }
+    
+    /**
+     * Instante (ms relativos) del último consumo o recarga.
+     * Usado por el desalojo de buckets inactivos.
+     */
+    public long ultimoAccesoMs() {
+        return estado.get() & MASCARA_TIEMPO;
+    }
+    
+    /**
+     * Calcula los militokens disponibles en {@code ahora} a partir del estado empaquetado
+     */
+    private long recargar(long empaquetado, long ahora) {
+        long tokens = empaquetado >>> BITS_TIEMPO;
+        long transcurrido = ahora - (empaquetado & MASCARA_TIEMPO);
+        if (transcurrido <= 0) {
+            return tokens;
+        }
+        // Evita overflow si el bucket ha estado inactivo mucho tiempo
+        if (transcurrido >= capacidadMili * MILI / recargaMiliPorMs) {
+            return capacidadMili;
+        }
+        return Math.min(capacidadMili, tokens + transcurrido * recargaMiliPorMs / MILI);
+    }
+    
+    private long ahora() {
+        return relojMs.getAsLong() & MASCARA_TIEMPO;
+    }
+    
+    private static long empaquetar(long militokens, long tiempoMs) {
+        return (militokens << BITS_TIEMPO) | (tiempoMs & MASCARA_TIEMPO);
+    }
+}
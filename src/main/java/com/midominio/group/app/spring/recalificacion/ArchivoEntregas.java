@@ -0,0 +1,129 @@
+package com.midominio.group.app.spring.recalificacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee entregas archivadas desde un fichero de texto UTF-8, una entrega por línea:
+ * 
+ *   idEntrega;usuario;idPregunta=respuesta,idPregunta=respuesta,...
+ * 
+ * Formato de la respuesta, según el tipo de la pregunta en las claves cargadas:
+ * - Verdadero/Falso: true / false
+ * - Selección: índices de las opciones elegidas separados por '|' (ej: 0|2), vacío si ninguna
+ * Una respuesta que no corresponde al tipo de su pregunta (true en una de selección, 1 en una
+ * Verdadero/Falso) invalida la línea: "true" y la opción 0 se codifican igual.
+ * 
+ * Ejemplo:
+ *   1001;alumno1;15=true,16=false,20=0|2,21=1
+ * 
+ * Las líneas vacías o que empiezan por '#' se ignoran. Las líneas mal formadas
+ * se cuentan como inválidas y se descartan sin detener la recalificación.
+ */
+public class ArchivoEntregas implements FuenteEntregas {
+    
+    private final Path archivo;
+    private BufferedReader lector;
+    private long invalidas;
+    
+    /**
+     * El fichero se abre en la primera lectura, ya en el hilo del trabajo,
+     * para que un error de E/S quede registrado en el estado del trabajo
+     */
+    public ArchivoEntregas(Path archivo) {
+        this.archivo = archivo;
+    }
+    
+    @Override
+    public List<Entrega> leer(int maximo, ClavesRespuesta claves) throws IOException {
+        if (lector == null) {
+            lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8);
+        }
+        List<Entrega> bloque = new ArrayList<>(maximo);
+        String linea;
+        while (bloque.size() < maximo && (linea = lector.readLine()) != null) {
+            if (linea.isBlank() || linea.startsWith("#")) {
+                continue;
+            }
+            try {
+                bloque.add(parsear(linea, claves));
+            } catch (RuntimeException e) {
+                invalidas++;
+            }
+        }
+        return bloque;
+    }
+    
+    @Override
+    public long invalidas() {
+        return invalidas;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (lector != null) {
+            lector.close();
+        }
+    }
+    
+    /**
+     * Convierte una línea en Entrega
+     * 
+     * @param claves claves de respuesta, para interpretar cada respuesta según el tipo de su pregunta
+     * @throws IllegalArgumentException si la línea no sigue el formato
+     */
+    static Entrega parsear(String linea, ClavesRespuesta claves) {
+        String[] campos = linea.split(";", -1);
+        if (campos.length != 3) {
+            throw new IllegalArgumentException("Se esperaban 3 campos: " + linea);
+        }
+        long idEntrega = Long.parseLong(campos[0].trim());
+        String usuario = campos[1].trim();
+        
+        String[] pares = campos[2].isBlank() ? new String[0] : campos[2].split(",");
+        long[] idsPregunta = new long[pares.length];
+        long[] respuestas = new long[pares.length];
+        for (int i = 0; i < pares.length; i++) {
+            int igual = pares[i].indexOf('=');
+            if (igual < 0) {
+                throw new IllegalArgumentException("Respuesta sin '=': " + pares[i]);
+            }
+            idsPregunta[i] = Long.parseLong(pares[i].substring(0, igual).trim());
+            respuestas[i] = parsearRespuesta(claves.tipo(idsPregunta[i]), pares[i].substring(igual + 1).trim());
+        }
+        return new Entrega(idEntrega, usuario, idsPregunta, respuestas);
+    }
+    
+    private static long parsearRespuesta(byte tipo, String respuesta) {
+        if (tipo == ClavesRespuesta.SIN_TIPO) {
+            // Sin clave no se califica: basta con que la línea esté bien formada
+            return 0L;
+        }
+        if (tipo == ClavesRespuesta.VERDADERO_FALSO) {
+            if ("true".equalsIgnoreCase(respuesta)) {
+                return 1L;
+            }
+            if ("false".equalsIgnoreCase(respuesta)) {
+                return 0L;
+            }
+            throw new IllegalArgumentException("Se esperaba true o false: " + respuesta);
+        }
+        long mascara = 0L;
+        if (respuesta.isEmpty()) {
+            return mascara;
+        }
+        for (String indice : respuesta.split("\\|")) {
+            int opcion = Integer.parseInt(indice.trim());
+            if (opcion < 0 || opcion >= Long.SIZE) {
+                throw new IllegalArgumentException("Opción fuera de rango: " + opcion);
+            }
+            mascara |= 1L << opcion;
+        }
+        return mascara;
+    }
+}
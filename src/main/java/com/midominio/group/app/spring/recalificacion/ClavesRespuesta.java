@@ -0,0 +1,134 @@
+package com.midominio.group.app.spring.recalificacion;
+
+import com.midominio.group.app.spring.entity.MascaraOpciones;
+
+import java.util.Arrays;
+
+/**
+ * Instantánea inmutable de las claves de respuesta de todas las preguntas,
+ * cargada una sola vez por recalificación.
+ * 
+ * Se guarda en arrays primitivos ordenados por id (búsqueda binaria, sin objetos por pregunta):
+ * - ids[i]: id de la pregunta
+ * - tipos[i]: tipo de pregunta (VERDADERO_FALSO, SELECCION_UNICA, SELECCION_MULTIPLE)
+ * - mascaras[i]: respuesta correcta codificada (V/F: 1 = verdadero, 0 = falso; selección: máscara de opciones)
+ * 
+ * Es segura para lectura concurrente desde todos los hilos del fork-join pool.
+ */
+public final class ClavesRespuesta {
+    
+    public static final byte VERDADERO_FALSO = 1;
+    public static final byte SELECCION_UNICA = 2;
+    public static final byte SELECCION_MULTIPLE = 3;
+    
+    /**
+     * Valor devuelto por tipo() cuando la pregunta no tiene clave
+     */
+    public static final byte SIN_TIPO = 0;
+    
+    /**
+     * Valor devuelto por calificar() cuando la pregunta no tiene clave (p. ej. eliminada)
+     */
+    public static final double SIN_CLAVE = -1.0;
+    
+    private final long[] ids;
+    private final byte[] tipos;
+    private final long[] mascaras;
+    
+    private ClavesRespuesta(long[] ids, byte[] tipos, long[] mascaras) {
+        this.ids = ids;
+        this.tipos = tipos;
+        this.mascaras = mascaras;
+    }
+    
+    /**
+     * Califica la respuesta a una pregunta
+     * 
+     * @param idPregunta ID de la pregunta
+     * @param respuesta respuesta codificada igual que la clave (V/F: 1/0; selección: máscara)
+     * @return puntuación en [0, 1] (1.0 = correcta), o SIN_CLAVE si la pregunta no existe
+     */
+    public double calificar(long idPregunta, long respuesta) {
+        int i = Arrays.binarySearch(ids, idPregunta);
+        if (i < 0) {
+            return SIN_CLAVE;
+        }
+        if (tipos[i] == SELECCION_MULTIPLE) {
+            return MascaraOpciones.puntuacionParcial(respuesta, mascaras[i]);
+        }
+        return respuesta == mascaras[i] ? 1.0 : 0.0;
+    }
+    
+    /**
+     * Tipo de una pregunta (para interpretar su respuesta)
+     * 
+     * @param idPregunta ID de la pregunta
+     * @return VERDADERO_FALSO, SELECCION_UNICA, SELECCION_MULTIPLE, o SIN_TIPO si la pregunta no existe
+     */
+    public byte tipo(long idPregunta) {
+        int i = Arrays.binarySearch(ids, idPregunta);
+        return i < 0 ? SIN_TIPO : tipos[i];
+    }
+    
+    /**
+     * Número de claves cargadas
+     */
+    public int tamano() {
+        return ids.length;
+    }
+    
+    public static Builder builder(int capacidadInicial) {
+        return new Builder(capacidadInicial);
+    }
+    
+    /**
+     * Acumula claves en cualquier orden y las ordena por id al construir
+     */
+    public static final class Builder {
+        
+        private long[] ids;
+        private byte[] tipos;
+        private long[] mascaras;
+        private int tamano;
+        
+        private Builder(int capacidadInicial) {
+            int capacidad = Math.max(16, capacidadInicial);
+            ids = new long[capacidad];
+            tipos = new byte[capacidad];
+            mascaras = new long[capacidad];
+        }
+        
+        public Builder anadir(long id, byte tipo, long mascara) {
+            if (tamano == ids.length) {
+                int capacidad = tamano * 2;
+                ids = Arrays.copyOf(ids, capacidad);
+                tipos = Arrays.copyOf(tipos, capacidad);
+                mascaras = Arrays.copyOf(mascaras, capacidad);
+            }
+            ids[tamano] = id;
+            tipos[tamano] = tipo;
+            mascaras[tamano] = mascara;
+            tamano++;
+            return this;
+        }
+        
+        public ClavesRespuesta build() {
+            // Ordena por id una permutación de índices y reordena los tres arrays
+            Integer[] orden = new Integer[tamano];
+            for (int i = 0; i < tamano; i++) {
+                orden[i] = i;
+            }
+            Arrays.sort(orden, (a, b) -> Long.compare(ids[a], ids[b]));
+            
+            long[] idsOrdenados = new long[tamano];
+            byte[] tiposOrdenados = new byte[tamano];
+            long[] mascarasOrdenadas = new long[tamano];
+            for (int i = 0; i < tamano; i++) {
+                idsOrdenados[i] = ids[orden[i]];
+                tiposOrdenados[i] = tipos[orden[i]];
+                mascarasOrdenadas[i] = mascaras[orden[i]];
+            }
+            return new ClavesRespuesta(idsOrdenados, tiposOrdenados, mascarasOrdenadas);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.midominio.group.app.spring.recalificacion;
+
+import java.util.List;
+
+/**
+ * Destino de los resultados de una recalificación, escritos por lotes.
+ * 
+ * Implementaciones:
+ * - JdbcDestinoResultados (inserciones JDBC en batch)
+ */
+public interface DestinoResultados {
+    
+    /**
+     * Escribe un lote de resultados
+     */
+    void escribir(List<ResultadoEntrega> resultados);
+}
@@ -0,0 +1,16 @@
+package com.midominio.group.app.spring.recalificacion;
+
+/**
+ * Hoja de respuestas archivada de un usuario.
+ * 
+ * Las respuestas van en arrays paralelos con la misma codificación que ClavesRespuesta:
+ * - V/F: 1 = verdadero, 0 = falso
+ * - Selección: máscara de bits de las opciones elegidas
+ * 
+ * @param id identificador de la entrega
+ * @param usuario usuario que respondió
+ * @param idsPregunta IDs de las preguntas respondidas
+ * @param respuestas respuesta codificada de cada pregunta
+ */
+public record Entrega(long id, String usuario, long[] idsPregunta, long[] respuestas) {
+}
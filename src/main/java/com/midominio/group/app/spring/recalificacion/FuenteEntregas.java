@@ -0,0 +1,30 @@
+package com.midominio.group.app.spring.recalificacion;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Origen de entregas archivadas para recalificar, leído por bloques.
+ * 
+ * Implementaciones:
+ * - ArchivoEntregas (fichero de texto, una entrega por línea)
+ */
+public interface FuenteEntregas extends AutoCloseable {
+    
+    /**
+     * Lee el siguiente bloque de entregas
+     * 
+     * @param maximo número máximo de entregas a devolver
+     * @param claves claves de respuesta (el tipo de cada pregunta decide cómo se codifica su respuesta)
+     * @return entregas leídas; lista vacía al llegar al final
+     */
+    List<Entrega> leer(int maximo, ClavesRespuesta claves) throws IOException;
+    
+    /**
+     * Número de registros descartados por formato inválido
+     */
+    long invalidas();
+    
+    @Override
+    void close() throws IOException;
+}
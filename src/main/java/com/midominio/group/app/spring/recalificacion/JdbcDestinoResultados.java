@@ -0,0 +1,44 @@
+package com.midominio.group.app.spring.recalificacion;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Escribe los resultados de una recalificación en resultados_recalificacion
+ * con inserciones JDBC por lotes (una ida y vuelta a la base de datos por lote).
+ */
+public class JdbcDestinoResultados implements DestinoResultados {
+    
+    private static final String INSERT =
+            "INSERT INTO resultados_recalificacion "
+            + "(id_trabajo, id_entrega, usuario, correctas, total, sin_clave, puntuacion, fecha_calificacion) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final String idTrabajo;
+    private final int tamanoLote;
+    
+    public JdbcDestinoResultados(JdbcTemplate jdbcTemplate, String idTrabajo, int tamanoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idTrabajo = idTrabajo;
+        this.tamanoLote = tamanoLote;
+    }
+    
+    @Override
+    public void escribir(List<ResultadoEntrega> resultados) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, resultados, tamanoLote, (ps, r) -> {
+            ps.setString(1, idTrabajo);
+            ps.setLong(2, r.idEntrega());
+            ps.setString(3, r.usuario());
+            ps.setInt(4, r.correctas());
+            ps.setInt(5, r.total());
+            ps.setInt(6, r.sinClave());
+            ps.setDouble(7, r.puntuacion());
+            ps.setTimestamp(8, ahora);
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.midominio.group.app.spring.recalificacion;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Motor de recalificación masiva en paralelo.
+ * 
+ * Pipeline por bloques:
+ * 1. El hilo coordinador lee un bloque de entregas de la fuente
+ * 2. El bloque se reparte en el ForkJoinPool (división recursiva hasta {@value #UMBRAL_DIVISION} entregas)
+ *    y cada entrega se califica contra la instantánea de claves, sin acceso a base de datos
+ * 3. Los resultados se entregan al hilo escritor, que los escribe por lotes mientras
+ *    se califica el bloque siguiente (como máximo una escritura pendiente)
+ * 
+ * La calificación no comparte estado mutable entre hilos, por lo que escala
+ * de forma casi lineal con el número de núcleos.
+ * 
+ * La cancelación se comprueba entre bloques y dentro de cada tarea hoja.
+ */
+public class MotorRecalificacion {
+    
+    static final int UMBRAL_DIVISION = 512;
+    
+    private final ForkJoinPool pool;
+    private final ExecutorService escritor;
+    private final int tamanoBloque;
+    
+    /**
+     * @param pool pool fork-join para la calificación (paralelismo = núcleos a usar)
+     * @param escritor ejecutor de un solo hilo para las escrituras
+     * @param tamanoBloque entregas leídas y calificadas por bloque
+     */
+    public MotorRecalificacion(ForkJoinPool pool, ExecutorService escritor, int tamanoBloque) {
+        this.pool = pool;
+        this.escritor = escritor;
+        this.tamanoBloque = tamanoBloque;
+    }
+    
+    /**
+     * Ejecuta una recalificación completa y deja el estado final en el trabajo
+     * 
+     * @param cargaClaves carga de la instantánea de claves (se invoca una sola vez)
+     * @param fuente entregas a recalificar
+     * @param destino destino de los resultados
+     * @param trabajo progreso, cancelación y estado final
+     */
+    public void ejecutar(Supplier<ClavesRespuesta> cargaClaves, FuenteEntregas fuente, DestinoResultados destino,
+            TrabajoRecalificacion trabajo) {
+        trabajo.iniciar();
+        Future<?> escrituraPendiente = null;
+        try (fuente) {
+            ClavesRespuesta claves = cargaClaves.get();
+            while (!trabajo.isCancelado()) {
+                List<Entrega> bloque = fuente.leer(tamanoBloque, claves);
+                trabajo.setInvalidas(fuente.invalidas());
+                if (bloque.isEmpty()) {
+                    break;
+                }
+                
+                Entrega[] entregas = bloque.toArray(new Entrega[0]);
+                ResultadoEntrega[] resultados = new ResultadoEntrega[entregas.length];
+                pool.invoke(new TareaCalificacion(claves, entregas, resultados, 0, entregas.length, trabajo));
+                if (trabajo.isCancelado()) {
+                    break;
+                }
+                trabajo.sumarCalificadas(entregas.length);
+                
+                esperar(escrituraPendiente);
+                List<ResultadoEntrega> lote = Arrays.asList(resultados);
+                escrituraPendiente = escritor.submit(() -> {
+                    destino.escribir(lote);
+                    trabajo.sumarEscritas(lote.size());
+                });
+            }
+            esperar(escrituraPendiente);
+            trabajo.finalizar(trabajo.isCancelado()
+                    ? TrabajoRecalificacion.Estado.CANCELADO
+                    : TrabajoRecalificacion.Estado.COMPLETADO, null);
+        } catch (Exception e) {
+            trabajo.finalizar(TrabajoRecalificacion.Estado.ERROR, e.getMessage());
+        }
+    }
+    
+    /**
+     * Califica una entrega completa
+     * También se usa en la entrega de exámenes cronometrados (ExamenService)
+     */
+    public static ResultadoEntrega calificar(ClavesRespuesta claves, Entrega entrega) {
+        int correctas = 0;
+        int total = 0;
+        int sinClave = 0;
+        double puntuacion = 0.0;
+        long[] ids = entrega.idsPregunta();
+        long[] respuestas = entrega.respuestas();
+        for (int i = 0; i < ids.length; i++) {
+            double nota = claves.calificar(ids[i], respuestas[i]);
+            if (nota == ClavesRespuesta.SIN_CLAVE) {
+                sinClave++;
+                continue;
+            }
+            total++;
+            puntuacion += nota;
+            if (nota == 1.0) {
+                correctas++;
+            }
+        }
+        return new ResultadoEntrega(entrega.id(), entrega.usuario(), correctas, total, sinClave, puntuacion);
+    }
+    
+    private static void esperar(Future<?> escritura) throws InterruptedException, ExecutionException {
+        if (escritura != null) {
+            escritura.get();
+        }
+    }
+    
+    /**
+     * Tarea fork-join: divide el rango por la mitad hasta UMBRAL_DIVISION entregas
+     */
+    private static final class TareaCalificacion extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final transient ClavesRespuesta claves;
+        private final Entrega[] entregas;
+        private final ResultadoEntrega[] resultados;
+        private final int desde;
+        private final int hasta;
+        private final transient TrabajoRecalificacion trabajo;
+        
+        TareaCalificacion(ClavesRespuesta claves, Entrega[] entregas, ResultadoEntrega[] resultados,
+                int desde, int hasta, TrabajoRecalificacion trabajo) {
+            this.claves = claves;
+            this.entregas = entregas;
+            this.resultados = resultados;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.trabajo = trabajo;
+        }
+        
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_DIVISION) {
+                if (trabajo.isCancelado()) {
+                    return;
+                }
+                for (int i = desde; i < hasta; i++) {
+                    resultados[i] = calificar(claves, entregas[i]);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(
+                    new TareaCalificacion(claves, entregas, resultados, desde, medio, trabajo),
+                    new TareaCalificacion(claves, entregas, resultados, medio, hasta, trabajo));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.midominio.group.app.spring.recalificacion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de la recalificación masiva.
+ * Propiedades con prefijo app.recalificacion en application.properties.
+ * 
+ * @param directorio directorio del servidor con los ficheros de entregas archivadas
+ * @param paralelismo hilos del fork-join pool de calificación (por defecto, todos los núcleos)
+ * @param tamanoBloque entregas leídas y calificadas por bloque
+ * @param tamanoLoteEscritura filas por lote JDBC al escribir resultados
+ * @param maxTerminados trabajos terminados que se conservan para consultar su estado (los más recientes)
+ */
+@ConfigurationProperties(prefix = "app.recalificacion")
+public record RecalificacionProperties(
+        String directorio,
+        Integer paralelismo,
+        Integer tamanoBloque,
+        Integer tamanoLoteEscritura,
+        Integer maxTerminados) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public RecalificacionProperties {
+        directorio = directorio == null ? "recalificaciones" : directorio;
+        paralelismo = paralelismo == null ? Runtime.getRuntime().availableProcessors() : paralelismo;
+        tamanoBloque = tamanoBloque == null ? 20_000 : tamanoBloque;
+        tamanoLoteEscritura = tamanoLoteEscritura == null ? 1000 : tamanoLoteEscritura;
+        maxTerminados = maxTerminados == null ? 100 : maxTerminados;
+    }
+}
@@ -0,0 +1,15 @@
+package com.midominio.group.app.spring.recalificacion;
+
+/**
+ * Resultado de recalificar una entrega.
+ * 
+ * @param idEntrega identificador de la entrega
+ * @param usuario usuario que respondió
+ * @param correctas número de respuestas totalmente correctas
+ * @param total número de respuestas con clave disponible
+ * @param sinClave respuestas a preguntas que ya no existen (no puntúan)
+ * @param puntuacion suma de puntuaciones (incluye puntuación parcial de selección múltiple)
+ */
+public record ResultadoEntrega(long idEntrega, String usuario, int correctas, int total, int sinClave,
+        double puntuacion) {
+}
@@ -0,0 +1,112 @@
+package com.midominio.group.app.spring.recalificacion;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado y progreso de una recalificación en curso.
+ * 
+ * Los contadores se actualizan desde el hilo coordinador y el hilo escritor,
+ * y se leen desde las peticiones de consulta de estado.
+ * 
+ * Usado en:
+ * - MotorRecalificacion (actualiza progreso y consulta la cancelación)
+ * - RecalificacionService (consulta de estado y cancelación)
+ */
+public class TrabajoRecalificacion {
+    
+    public enum Estado {
+        PENDIENTE,
+        EN_CURSO,
+        COMPLETADO,
+        CANCELADO,
+        ERROR
+    }
+    
+    private final String id;
+    private final String archivo;
+    private final LocalDateTime inicio = LocalDateTime.now();
+    private final AtomicLong calificadas = new AtomicLong();
+    private final AtomicLong escritas = new AtomicLong();
+    private volatile long invalidas;
+    private volatile Estado estado = Estado.PENDIENTE;
+    private volatile boolean cancelado;
+    private volatile LocalDateTime fin;
+    private volatile String error;
+    
+    public TrabajoRecalificacion(String id, String archivo) {
+        this.id = id;
+        this.archivo = archivo;
+    }
+    
+    /**
+     * Solicita la cancelación: el motor se detiene al terminar el bloque en curso
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+    
+    public boolean isCancelado() {
+        return cancelado;
+    }
+    
+    void iniciar() {
+        estado = Estado.EN_CURSO;
+    }
+    
+    void sumarCalificadas(long n) {
+        calificadas.addAndGet(n);
+    }
+    
+    void sumarEscritas(long n) {
+        escritas.addAndGet(n);
+    }
+    
+    void setInvalidas(long invalidas) {
+        this.invalidas = invalidas;
+    }
+    
+    void finalizar(Estado estadoFinal, String error) {
+        this.error = error;
+        this.fin = LocalDateTime.now();
+        this.estado = estadoFinal;
+    }
+    
+    // Getters
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getArchivo() {
+        return archivo;
+    }
+    
+    public Estado getEstado() {
+        return estado;
+    }
+    
+    public long getCalificadas() {
+        return calificadas.get();
+    }
+    
+    public long getEscritas() {
+        return escritas.get();
+    }
+    
+    public long getInvalidas() {
+        return invalidas;
+    }
+    
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+    
+    public LocalDateTime getFin() {
+        return fin;
+    }
+    
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,42 @@
+package com.midominio.group.app.spring.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.midominio.group.app.spring.entity.AdjuntoPregunta;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository de adjuntos multimedia de las preguntas (solo metadatos).
+ * 
+ * Usado por:
+ * - AdjuntoService
+ */
+@Repository
+public interface AdjuntoPreguntaRepository extends JpaRepository<AdjuntoPregunta, Long> {
+    
+    /**
+     * Adjuntos de una pregunta en orden de alta
+     * Usado en: Listado de adjuntos de una pregunta
+     */
+    List<AdjuntoPregunta> findByPreguntaIdOrderByIdAsc(Long preguntaId);
+    
+    /**
+     * Adjunto de una pregunta con el mismo contenido (para no vincularlo dos veces)
+     * Usado en: Alta de adjuntos
+     */
+    Optional<AdjuntoPregunta> findFirstByPreguntaIdAndHash(Long preguntaId, String hash);
+    
+    /**
+     * Desvincula todos los adjuntos de una pregunta
+     * Usado en: Eliminación de preguntas
+     */
+    @Modifying
+    @Query("DELETE FROM AdjuntoPregunta a WHERE a.preguntaId = :preguntaId")
+    int deleteByPreguntaId(@Param("preguntaId") Long preguntaId);
+}
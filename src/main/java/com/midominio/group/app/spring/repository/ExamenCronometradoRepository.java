@@ -0,0 +1,44 @@
+package com.midominio.group.app.spring.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.midominio.group.app.spring.dto.LimiteExamen;
+import com.midominio.group.app.spring.entity.EstadoExamen;
+import com.midominio.group.app.spring.entity.ExamenCronometrado;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository de exámenes cronometrados.
+ * 
+ * Usado por:
+ * - ExamenService (inicio, respuestas y entregas)
+ * - TemporizadorExamenes (reprogramación de vencimientos al arrancar)
+ */
+@Repository
+public interface ExamenCronometradoRepository extends JpaRepository<ExamenCronometrado, Long> {
+    
+    /**
+     * Recorre id y fecha límite de los exámenes en un estado por bloques (paginación por clave)
+     * Usado en: Reprogramación de los exámenes EN_CURSO tras un reinicio
+     */
+    @Query("SELECT new com.midominio.group.app.spring.dto.LimiteExamen(e.id, e.fechaLimite) "
+         + "FROM ExamenCronometrado e WHERE e.estado = :estado AND e.id > :ultimoId ORDER BY e.id")
+    List<LimiteExamen> findLimitesDesde(@Param("estado") EstadoExamen estado, @Param("ultimoId") Long ultimoId,
+            Pageable pageable);
+    
+    /**
+     * Exámenes indicados que siguen en un estado y cuyo tiempo ya ha terminado
+     * Usado en: Entrega automática por lotes (los entregados entre tanto se ignoran)
+     */
+    @Query("SELECT e FROM ExamenCronometrado e WHERE e.id IN :ids AND e.estado = :estado "
+         + "AND e.fechaLimite <= :ahora")
+    List<ExamenCronometrado> findVencidos(@Param("ids") Collection<Long> ids, @Param("estado") EstadoExamen estado,
+            @Param("ahora") LocalDateTime ahora);
+}
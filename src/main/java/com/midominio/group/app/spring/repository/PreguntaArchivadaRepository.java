@@ -0,0 +1,17 @@
+package com.midominio.group.app.spring.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.midominio.group.app.spring.entity.PreguntaArchivada;
+
+/**
+ * Repository de lectura de preguntas archivadas (nivel frío, todos los tipos).
+ * El traspaso entre niveles no usa este repository (ver ArchivadorPreguntas).
+ * 
+ * Usado por:
+ * - ArchivoPreguntasService (obtenerPorId sobre ambos niveles)
+ */
+@Repository
+public interface PreguntaArchivadaRepository extends JpaRepository<PreguntaArchivada, Long> {
+}
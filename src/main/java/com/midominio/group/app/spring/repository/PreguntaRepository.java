@@ -7,8 +7,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.midominio.group.app.spring.dto.EnunciadoPregunta;
+import com.midominio.group.app.spring.dto.TematicaPregunta;
+import com.midominio.group.app.spring.dto.VersionPregunta;
 import com.midominio.group.app.spring.entity.Pregunta;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 /**
 * Repository genérico para todas las preguntas (clase base Pregunta).
@@ -16,6 +21,7 @@ import java.util.List;
 * 
 * Usado por:
 * - PreguntaService (service genérico)
+* - ExamenService (enunciados y temáticas de las preguntas de un examen)
 * - Vistas de administración que muestran todos los tipos de preguntas
 */
 
@@ -90,4 +96,120 @@ public interface PreguntaRepository extends JpaRepository<Pregunta, Long> {
     */
    @Query("SELECT COUNT(p) FROM Pregunta p WHERE p.class = :tipo")
    long countByTipoPregunta(@Param("tipo") Class<? extends Pregunta> tipo);
+   
+   /**
+    * Recorre id y enunciado de todas las preguntas por bloques (paginación por clave)
+    * Usado en: Reconstrucción del índice de duplicados al arrancar
+    * 
+    * Ejemplo: findEnunciadosDesde(0L, PageRequest.of(0, 1000)) y luego desde el último id leído
+    */
+   @Query("SELECT new com.midominio.group.app.spring.dto.EnunciadoPregunta(p.id, p.enunciado) "
+        + "FROM Pregunta p WHERE p.id > :ultimoId ORDER BY p.id")
+   List<EnunciadoPregunta> findEnunciadosDesde(@Param("ultimoId") Long ultimoId, Pageable pageable);
+   
+   /**
+    * Id y enunciado de las preguntas indicadas, leyendo solo la tabla base
+    * Usado en: Preguntas de un examen cronometrado (sin cargar las claves de respuesta)
+    */
+   @Query("SELECT new com.midominio.group.app.spring.dto.EnunciadoPregunta(p.id, p.enunciado) "
+        + "FROM Pregunta p WHERE p.id IN :ids")
+   List<EnunciadoPregunta> findEnunciados(@Param("ids") Collection<Long> ids);
+   
+   /**
+    * Id y temática de las preguntas indicadas, leyendo solo la tabla base
+    * Usado en: Clasificaciones por temática al calificar exámenes cronometrados
+    */
+   @Query("SELECT new com.midominio.group.app.spring.dto.TematicaPregunta(p.id, p.tematica) "
+        + "FROM Pregunta p WHERE p.id IN :ids")
+   List<TematicaPregunta> findTematicas(@Param("ids") Collection<Long> ids);
+   
+   /**
+    * Id, versión y tipo de las preguntas indicadas, leyendo solo la tabla base
+    * Usado en: Lectura por lotes (decide qué preguntas reenviar y en qué tabla de subtipo buscarlas)
+    */
+   @Query("SELECT new com.midominio.group.app.spring.dto.VersionPregunta(p.id, p.version, TYPE(p)) "
+        + "FROM Pregunta p WHERE p.id IN :ids")
+   List<VersionPregunta> findVersiones(@Param("ids") Collection<Long> ids);
+   
+   /**
+    * Bloque de preguntas cuyo estado difiere del indicado (paginación por clave)
+    * Usado en: Trabajo en segundo plano de cambio de estado masivo
+    * 
+    * Ejemplo: findParaCambioEstadoDesde(0L, false, "Java", PageRequest.of(0, 500))
+    */
+   @Query("SELECT p FROM Pregunta p WHERE p.id > :ultimoId AND p.activa <> :activa "
+        + "AND (:tematica IS NULL OR LOWER(p.tematica) = LOWER(:tematica)) ORDER BY p.id")
+   List<Pregunta> findParaCambioEstadoDesde(
+       @Param("ultimoId") Long ultimoId,
+       @Param("activa") Boolean activa,
+       @Param("tematica") String tematica,
+       Pageable pageable
+   );
+   
+   /**
+    * Cuenta las preguntas cuyo estado difiere del indicado
+    * Usado en: Progreso del cambio de estado masivo
+    */
+   @Query("SELECT COUNT(p) FROM Pregunta p WHERE p.activa <> :activa "
+        + "AND (:tematica IS NULL OR LOWER(p.tematica) = LOWER(:tematica))")
+   long countParaCambioEstado(@Param("activa") Boolean activa, @Param("tematica") String tematica);
+   
+   /**
+    * Filtro combinado de metadatos (parámetros null = sin filtrar; tipos = clases admitidas)
+    * Usado en: PreguntaService mientras el índice columnar (IndicePreguntas) no está cargado
+    *           y para ordenaciones que el índice no resuelve
+    */
+   @Query("SELECT p FROM Pregunta p WHERE p.class IN :tipos "
+        + "AND (:tematica IS NULL OR LOWER(p.tematica) LIKE LOWER(CONCAT('%', :tematica, '%'))) "
+        + "AND (:activa IS NULL OR p.activa = :activa) "
+        + "AND (:desde IS NULL OR p.fechaCreacion >= :desde) "
+        + "AND (:hasta IS NULL OR p.fechaCreacion <= :hasta)")
+   Page<Pregunta> buscarPorFiltros(
+       @Param("tematica") String tematica,
+       @Param("activa") Boolean activa,
+       @Param("tipos") Collection<Class<? extends Pregunta>> tipos,
+       @Param("desde") LocalDateTime desde,
+       @Param("hasta") LocalDateTime hasta,
+       Pageable pageable
+   );
+   
+   /**
+    * Solo los IDs del filtro combinado (mismos parámetros que buscarPorFiltros)
+    * Usado en: PreguntaService.filtrarCampos() sin índice columnar, antes de la proyección
+    */
+   @Query(value = "SELECT p.id FROM Pregunta p WHERE p.class IN :tipos "
+        + "AND (:tematica IS NULL OR LOWER(p.tematica) LIKE LOWER(CONCAT('%', :tematica, '%'))) "
+        + "AND (:activa IS NULL OR p.activa = :activa) "
+        + "AND (:desde IS NULL OR p.fechaCreacion >= :desde) "
+        + "AND (:hasta IS NULL OR p.fechaCreacion <= :hasta)",
+        countQuery = "SELECT COUNT(p) FROM Pregunta p WHERE p.class IN :tipos "
+        + "AND (:tematica IS NULL OR LOWER(p.tematica) LIKE LOWER(CONCAT('%', :tematica, '%'))) "
+        + "AND (:activa IS NULL OR p.activa = :activa) "
+        + "AND (:desde IS NULL OR p.fechaCreacion >= :desde) "
+        + "AND (:hasta IS NULL OR p.fechaCreacion <= :hasta)")
+   Page<Long> buscarIdsPorFiltros(
+       @Param("tematica") String tematica,
+       @Param("activa") Boolean activa,
+       @Param("tipos") Collection<Class<? extends Pregunta>> tipos,
+       @Param("desde") LocalDateTime desde,
+       @Param("hasta") LocalDateTime hasta,
+       Pageable pageable
+   );
+   
+   /**
+    * Cuenta las preguntas que cumplen el filtro combinado (mismos parámetros que buscarPorFiltros)
+    * Usado en: PreguntaService.contar() mientras el índice columnar no está cargado
+    */
+   @Query("SELECT COUNT(p) FROM Pregunta p WHERE p.class IN :tipos "
+        + "AND (:tematica IS NULL OR LOWER(p.tematica) LIKE LOWER(CONCAT('%', :tematica, '%'))) "
+        + "AND (:activa IS NULL OR p.activa = :activa) "
+        + "AND (:desde IS NULL OR p.fechaCreacion >= :desde) "
+        + "AND (:hasta IS NULL OR p.fechaCreacion <= :hasta)")
+   long contarPorFiltros(
+       @Param("tematica") String tematica,
+       @Param("activa") Boolean activa,
+       @Param("tipos") Collection<Class<? extends Pregunta>> tipos,
+       @Param("desde") LocalDateTime desde,
+       @Param("hasta") LocalDateTime hasta
+   );
 }
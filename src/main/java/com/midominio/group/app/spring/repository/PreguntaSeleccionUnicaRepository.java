@@ -0,0 +1,49 @@
+package com.midominio.group.app.spring.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.midominio.group.app.spring.dto.ClaveRespuestaSeleccion;
+import com.midominio.group.app.spring.entity.PreguntaSeleccionUnica;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository específico para preguntas de tipo Selección Única.
+ * Solo contiene métodos que son exclusivos de este tipo.
+ * 
+ * Para consultas generales usar PreguntaRepository (genérico).
+ * 
+ * Usado por:
+ * - PreguntaSeleccionUnicaService
+ */
+@Repository
+public interface PreguntaSeleccionUnicaRepository extends JpaRepository<PreguntaSeleccionUnica, Long> {
+    
+    /**
+     * Obtiene preguntas aleatorias activas de tipo Selección Única (para tests)
+     * Usado en: Generación de tests que solo contengan preguntas de este tipo
+     */
+    @Query("SELECT p FROM PreguntaSeleccionUnica p WHERE p.activa = true ORDER BY FUNCTION('RANDOM')")
+    List<PreguntaSeleccionUnica> findRandomPreguntas(Pageable pageable);
+    
+    /**
+     * Obtiene solo la clave de respuesta de una pregunta (sin enunciado ni opciones)
+     * Usado en: Corrección de respuestas (validarRespuesta)
+     */
+    @Query("SELECT new com.midominio.group.app.spring.dto.ClaveRespuestaSeleccion(p.id, p.activa, p.tematica, p.numeroOpciones, p.mascaraCorrecta) "
+         + "FROM PreguntaSeleccionUnica p WHERE p.id = :id")
+    Optional<ClaveRespuestaSeleccion> findClaveRespuesta(@Param("id") Long id);
+    
+    /**
+     * Obtiene las claves de respuesta de todas las preguntas de este tipo (activas o no)
+     * Usado en: Recalificación masiva (se cargan una sola vez por trabajo)
+     */
+    @Query("SELECT new com.midominio.group.app.spring.dto.ClaveRespuestaSeleccion(p.id, p.activa, p.tematica, p.numeroOpciones, p.mascaraCorrecta) "
+         + "FROM PreguntaSeleccionUnica p")
+    List<ClaveRespuestaSeleccion> findAllClaves();
+}
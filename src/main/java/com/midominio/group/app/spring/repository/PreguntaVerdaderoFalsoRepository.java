@@ -3,10 +3,13 @@ package com.midominio.group.app.spring.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.midominio.group.app.spring.dto.ClaveRespuestaVerdaderoFalso;
 import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +21,8 @@ import java.util.List;
  * 
  * Usado por:
  * - PreguntaVerdaderoFalsoService (para operaciones específicas de V/F)
+ * - ExamenService (claves para calificar los exámenes cronometrados)
+ * - CatalogoPractica (preguntas candidatas del modo práctica mientras arranca el índice)
  */
 @Repository
 public interface PreguntaVerdaderoFalsoRepository extends JpaRepository<PreguntaVerdaderoFalso, Long> {
@@ -31,4 +36,28 @@ public interface PreguntaVerdaderoFalsoRepository extends JpaRepository<Pregunta
      */
     @Query("SELECT p FROM PreguntaVerdaderoFalso p WHERE p.activa = true ORDER BY FUNCTION('RANDOM')")
     List<PreguntaVerdaderoFalso> findRandomPreguntas(Pageable pageable);
-}
\ No newline at end of file
+    
+    /**
+     * Obtiene las claves de respuesta de todas las preguntas V/F (activas o no)
+     * Usado en: Recalificación masiva (se cargan una sola vez por trabajo)
+     */
+    @Query("SELECT new com.midominio.group.app.spring.dto.ClaveRespuestaVerdaderoFalso(p.id, p.respuestaCorrecta) "
+         + "FROM PreguntaVerdaderoFalso p")
+    List<ClaveRespuestaVerdaderoFalso> findAllClaves();
+    
+    /**
+     * Obtiene las claves de respuesta de las preguntas V/F indicadas (activas o no)
+     * Usado en: Entrega de exámenes cronometrados (una consulta por lote de exámenes)
+     */
+    @Query("SELECT new com.midominio.group.app.spring.dto.ClaveRespuestaVerdaderoFalso(p.id, p.respuestaCorrecta) "
+         + "FROM PreguntaVerdaderoFalso p WHERE p.id IN :ids")
+    List<ClaveRespuestaVerdaderoFalso> findClaves(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * IDs de las preguntas V/F activas de una temática (ya normalizada: sin espacios extremos, en minúsculas)
+     * Usado en: Modo práctica, mientras el índice de metadatos no está listo
+     */
+    @Query("SELECT p.id FROM PreguntaVerdaderoFalso p "
+         + "WHERE p.activa = true AND LOWER(TRIM(p.tematica)) = :tematica ORDER BY p.id")
+    List<Long> findIdsActivasPorTematica(@Param("tematica") String tematica);
+}
@@ -0,0 +1,72 @@
+package com.midominio.group.app.spring.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.midominio.group.app.spring.analitica.Granularidad;
+import com.midominio.group.app.spring.entity.RollupCalificacion;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository de buckets pre-agregados de estadísticas de calificación.
+ * 
+ * Usado por:
+ * - AnaliticaService (volcado incremental, compactación y consultas)
+ */
+@Repository
+public interface RollupCalificacionRepository extends JpaRepository<RollupCalificacion, Long> {
+    
+    /**
+     * Suma contadores a un bucket existente
+     * Usado en: Volcado incremental (si devuelve 0, el bucket aún no existe y se inserta)
+     * 
+     * @return número de filas actualizadas (0 o 1)
+     */
+    @Modifying
+    @Query("UPDATE RollupCalificacion r SET r.intentos = r.intentos + :intentos, "
+         + "r.aciertos = r.aciertos + :aciertos, r.puntosMilesimas = r.puntosMilesimas + :puntos "
+         + "WHERE r.tematica = :tematica AND r.tipoPregunta = :tipo "
+         + "AND r.granularidad = :granularidad AND r.inicioBucket = :inicio")
+    int incrementar(@Param("tematica") String tematica,
+                    @Param("tipo") String tipoPregunta,
+                    @Param("granularidad") Granularidad granularidad,
+                    @Param("inicio") LocalDateTime inicioBucket,
+                    @Param("intentos") long intentos,
+                    @Param("aciertos") long aciertos,
+                    @Param("puntos") long puntosMilesimas);
+    
+    /**
+     * Buckets de un rango de tiempo (cualquier granularidad)
+     * Usado en: Series temporales de estadísticas
+     */
+    @Query("SELECT r FROM RollupCalificacion r WHERE r.inicioBucket >= :desde AND r.inicioBucket < :hasta "
+         + "AND (:tematica IS NULL OR r.tematica = :tematica) AND (:tipo IS NULL OR r.tipoPregunta = :tipo) "
+         + "ORDER BY r.inicioBucket")
+    List<RollupCalificacion> buscarEnRango(@Param("desde") LocalDateTime desde,
+                                           @Param("hasta") LocalDateTime hasta,
+                                           @Param("tematica") String tematica,
+                                           @Param("tipo") String tipoPregunta);
+    
+    /**
+     * Totales por temática y tipo en un rango de tiempo
+     * Usado en: Resumen de precisión y volumen por temática
+     * 
+     * Cada fila: [tematica, tipoPregunta, SUM(intentos), SUM(aciertos), SUM(puntosMilesimas)]
+     */
+    @Query("SELECT r.tematica, r.tipoPregunta, SUM(r.intentos), SUM(r.aciertos), SUM(r.puntosMilesimas) "
+         + "FROM RollupCalificacion r WHERE r.inicioBucket >= :desde AND r.inicioBucket < :hasta "
+         + "GROUP BY r.tematica, r.tipoPregunta ORDER BY r.tematica, r.tipoPregunta")
+    List<Object[]> totalesPorTematicaYTipo(@Param("desde") LocalDateTime desde,
+                                           @Param("hasta") LocalDateTime hasta);
+    
+    /**
+     * Buckets de una granularidad anteriores a un instante
+     * Usado en: Compactación de buckets horarios antiguos
+     */
+    List<RollupCalificacion> findByGranularidadAndInicioBucketBefore(Granularidad granularidad, LocalDateTime limite);
+}
@@ -0,0 +1,40 @@
+package com.midominio.group.app.spring.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.midominio.group.app.spring.entity.EstadoTrabajo;
+import com.midominio.group.app.spring.entity.Trabajo;
+
+import java.util.List;
+
+/**
+ * Repository de trabajos en segundo plano.
+ * 
+ * Usado por:
+ * - MotorTrabajos (cola, checkpoints y reanudación)
+ * - TrabajoService (consulta de estado y cancelación)
+ */
+@Repository
+public interface TrabajoRepository extends JpaRepository<Trabajo, String> {
+    
+    /**
+     * Trabajos en un estado, los más antiguos primero
+     * Usado en: Despacho de la cola (PENDIENTE) y reanudación tras reinicio (EN_CURSO)
+     */
+    List<Trabajo> findByEstadoOrderByFechaCreacionAsc(EstadoTrabajo estado);
+    
+    /**
+     * Trabajos en un estado, los más recientes primero
+     * Usado en: API REST GET /api/trabajos?estado=...
+     */
+    Page<Trabajo> findByEstadoOrderByFechaCreacionDesc(EstadoTrabajo estado, Pageable pageable);
+    
+    /**
+     * Todos los trabajos, los más recientes primero
+     * Usado en: API REST GET /api/trabajos
+     */
+    Page<Trabajo> findAllByOrderByFechaCreacionDesc(Pageable pageable);
+}
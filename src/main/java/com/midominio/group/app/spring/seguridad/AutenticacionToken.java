@@ -0,0 +1,37 @@
+package com.midominio.group.app.spring.seguridad;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Autenticación obtenida de un token firmado (Authorization: Bearer), no de una contraseña.
+ *
+ * Tipo propio para distinguirla de HTTP Basic: POST /api/auth/token no emite tokens
+ * a partir de otro token (un token robado no se podría renovar indefinidamente).
+ *
+ * Usado en:
+ * - CachePrincipales.autenticar() (la crea)
+ * - SecurityConfig (la rechaza en la emisión de tokens)
+ */
+public class AutenticacionToken extends AbstractAuthenticationToken {
+
+    private final String usuario;
+
+    public AutenticacionToken(String usuario, Collection<? extends GrantedAuthority> roles) {
+        super(roles);
+        this.usuario = usuario;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return usuario;
+    }
+}
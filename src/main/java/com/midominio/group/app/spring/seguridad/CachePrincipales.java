@@ -0,0 +1,130 @@
+package com.midominio.group.app.spring.seguridad;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché de corta duración de principales ya verificados, indexada por el hash SHA-256 del token.
+ * 
+ * - Un acierto evita decodificar el token y recalcular su firma
+ * - Las entradas caducan tras app.seguridad.token.duracion-cache o al caducar el token (lo que ocurra antes)
+ * - Los tokens no se guardan en claro: la clave es su hash
+ * - El número de entradas está acotado: si se alcanza el máximo y el desalojo no
+ *   libera espacio, el token se verifica igualmente pero no se guarda
+ * 
+ * Usado en:
+ * - FiltroAutenticacionToken (una consulta por petición con Bearer)
+ * 
+ * Nota: No accede a base de datos; todas las decisiones se toman en memoria.
+ */
+public class CachePrincipales {
+    
+    private final FirmaTokens firma;
+    private final TokenProperties propiedades;
+    private final LongSupplier relojMs;
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final AtomicBoolean desalojando = new AtomicBoolean(false);
+    private final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    
+    public CachePrincipales(FirmaTokens firma, TokenProperties propiedades) {
+        this(firma, propiedades, System::currentTimeMillis);
+    }
+    
+    public CachePrincipales(FirmaTokens firma, TokenProperties propiedades, LongSupplier relojMs) {
+        this.firma = firma;
+        this.propiedades = propiedades;
+        this.relojMs = relojMs;
+    }
+    
+    /**
+     * Devuelve la autenticación de un token, verificándolo solo si no está en caché
+     * 
+     * @param token token recibido en la cabecera Authorization
+     * @return autenticación con el usuario y los roles del token
+     * @throws org.springframework.security.authentication.BadCredentialsException si el token es inválido
+     */
+    public Authentication autenticar(String token) {
+        String clave = hash(token);
+        long ahora = relojMs.getAsLong();
+        
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null && entrada.expiraMs() > ahora) {
+            return entrada.autenticacion();
+        }
+        
+        FirmaTokens.TokenVerificado verificado = firma.verificar(token, ahora / 1000);
+        Authentication autenticacion = new AutenticacionToken(
+                verificado.usuario(), AuthorityUtils.createAuthorityList(verificado.roles()));
+        long expira = Math.min(ahora + propiedades.duracionCache().toMillis(), verificado.expiraEpochSegundos() * 1000);
+        
+        if (entradas.size() >= propiedades.maxEntradasCache()) {
+            desalojarCaducadas();
+        }
+        if (entradas.size() < propiedades.maxEntradasCache()) {
+            entradas.put(clave, new Entrada(autenticacion, expira));
+        }
+        return autenticacion;
+    }
+    
+    /**
+     * Elimina las entradas caducadas
+     * 
+     * Llamado desde:
+     * - desalojoPeriodico()
+     * - autenticar() cuando se alcanza el máximo de entradas
+     * 
+     * @return número de entradas desalojadas
+     */
+    public int desalojarCaducadas() {
+        // Evita que varios hilos recorran el mapa a la vez
+        if (!desalojando.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long ahora = relojMs.getAsLong();
+            int antes = entradas.size();
+            entradas.values().removeIf(entrada -> entrada.expiraMs() <= ahora);
+            return antes - entradas.size();
+        } finally {
+            desalojando.set(false);
+        }
+    }
+    
+    /**
+     * Tarea periódica de desalojo (app.seguridad.token.periodo-desalojo, por defecto 60 s)
+     */
+    @Scheduled(fixedDelayString = "${app.seguridad.token.periodo-desalojo:60000}")
+    public void desalojoPeriodico() {
+        desalojarCaducadas();
+    }
+    
+    /**
+     * Número de tokens verificados en memoria (para métricas)
+     */
+    public int totalEntradas() {
+        return entradas.size();
+    }
+    
+    private String hash(String token) {
+        byte[] digest = sha256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+    
+    private record Entrada(Authentication autenticacion, long expiraMs) {
+    }
+}
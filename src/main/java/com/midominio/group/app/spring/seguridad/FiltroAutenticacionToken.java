@@ -0,0 +1,69 @@
+package com.midominio.group.app.spring.seguridad;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filtro de autenticación por token firmado (cabecera Authorization: Bearer ...).
+ * 
+ * Se ejecuta dentro de la cadena de seguridad de la API, antes de HTTP Basic:
+ * - Con Bearer: el usuario y los roles salen del token (caché o verificación HMAC),
+ *   sin calcular el hash de la contraseña ni consultar la base de datos
+ * - Sin Bearer: la petición sigue a HTTP Basic (necesario para obtener el token)
+ * 
+ * Respuesta de rechazo: HTTP 401 con cabecera WWW-Authenticate y cuerpo JSON fijo.
+ */
+public class FiltroAutenticacionToken extends OncePerRequestFilter {
+    
+    private static final String PREFIJO = "Bearer ";
+    
+    // Cuerpo precalculado para que un rechazo no genere basura ni serialice JSON
+    private static final byte[] CUERPO_TOKEN_INVALIDO = (
+            "{\"status\":401,\"error\":\"Token inválido\","
+            + "\"mensaje\":\"El token no es válido o ha caducado. Solicite uno nuevo en /api/auth/token.\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    
+    private final CachePrincipales cache;
+    
+    public FiltroAutenticacionToken(CachePrincipales cache) {
+        this.cache = cache;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        String cabecera = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (cabecera == null || !cabecera.regionMatches(true, 0, PREFIJO, 0, PREFIJO.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        try {
+            SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+            contexto.setAuthentication(cache.autenticar(cabecera.substring(PREFIJO.length()).trim()));
+            SecurityContextHolder.setContext(contexto);
+        } catch (AuthenticationException e) {
+            SecurityContextHolder.clearContext();
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(CUERPO_TOKEN_INVALIDO.length);
+            response.getOutputStream().write(CUERPO_TOKEN_INVALIDO);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
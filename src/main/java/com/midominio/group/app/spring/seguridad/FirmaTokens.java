@@ -0,0 +1,144 @@
+package com.midominio.group.app.spring.seguridad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emisión y verificación de tokens firmados con HMAC-SHA256.
+ * 
+ * Formato: {idClave}.{contenido en Base64url}.{firma en Base64url}
+ * Contenido: {expiración en segundos epoch}\n{roles separados por comas}\n{usuario}
+ * 
+ * - Las claves se decodifican una sola vez al arrancar
+ * - Cada hilo reutiliza su instancia de Mac por clave (Mac no es thread-safe
+ *   y crearla en cada petición cuesta más que la propia firma)
+ * - Verificar un token no accede a base de datos ni calcula hashes de contraseñas
+ * 
+ * Usado en:
+ * - CachePrincipales (verificación en caso de fallo de caché)
+ * - AutenticacionController (emisión tras autenticarse con HTTP Basic)
+ */
+public class FirmaTokens {
+    
+    private static final Logger log = LoggerFactory.getLogger(FirmaTokens.class);
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+    
+    private final Map<String, SecretKeySpec> claves;
+    private final String claveActiva;
+    private final ThreadLocal<Map<String, Mac>> macsPorHilo = ThreadLocal.withInitial(HashMap::new);
+    
+    public FirmaTokens(TokenProperties propiedades) {
+        Map<String, SecretKeySpec> decodificadas = new HashMap<>();
+        propiedades.claves().forEach((id, secreto) ->
+                decodificadas.put(id, new SecretKeySpec(Base64.getDecoder().decode(secreto), ALGORITMO)));
+        
+        if (decodificadas.isEmpty()) {
+            log.warn("Sin claves en app.seguridad.token.claves: se usa una clave aleatoria "
+                    + "(los tokens no sobreviven a un reinicio)");
+            byte[] aleatoria = new byte[32];
+            new SecureRandom().nextBytes(aleatoria);
+            decodificadas.put(propiedades.claveActiva(), new SecretKeySpec(aleatoria, ALGORITMO));
+        }
+        if (!decodificadas.containsKey(propiedades.claveActiva())) {
+            throw new IllegalStateException("La clave activa '" + propiedades.claveActiva()
+                    + "' no está en app.seguridad.token.claves");
+        }
+        this.claves = Map.copyOf(decodificadas);
+        this.claveActiva = propiedades.claveActiva();
+    }
+    
+    /**
+     * Firma un token con la clave activa
+     * 
+     * @param usuario nombre del usuario autenticado
+     * @param roles autoridades concedidas
+     * @param expiraEpochSegundos instante de expiración
+     * @return el token
+     */
+    public String emitir(String usuario, List<String> roles, long expiraEpochSegundos) {
+        String contenido = expiraEpochSegundos + "\n" + String.join(",", roles) + "\n" + usuario;
+        String cuerpo = claveActiva + "." + BASE64.encodeToString(contenido.getBytes(StandardCharsets.UTF_8));
+        return cuerpo + "." + BASE64.encodeToString(firmar(claveActiva, cuerpo));
+    }
+    
+    /**
+     * Comprueba la firma y la expiración de un token
+     * 
+     * @param token token recibido en la cabecera Authorization
+     * @param ahoraEpochSegundos instante actual
+     * @return usuario, roles y expiración del token
+     * @throws BadCredentialsException si el token está mal formado, manipulado o caducado
+     */
+    public TokenVerificado verificar(String token, long ahoraEpochSegundos) {
+        int primerPunto = token.indexOf('.');
+        int ultimoPunto = token.lastIndexOf('.');
+        if (primerPunto <= 0 || ultimoPunto == primerPunto) {
+            throw new BadCredentialsException("Token mal formado");
+        }
+        
+        String idClave = token.substring(0, primerPunto);
+        if (!claves.containsKey(idClave)) {
+            throw new BadCredentialsException("Clave de firma desconocida");
+        }
+        
+        String cuerpo = token.substring(0, ultimoPunto);
+        try {
+            byte[] firma = BASE64_DECODER.decode(token.substring(ultimoPunto + 1));
+            if (!MessageDigest.isEqual(firma, firmar(idClave, cuerpo))) {
+                throw new BadCredentialsException("Firma del token inválida");
+            }
+            
+            String contenido = new String(BASE64_DECODER.decode(cuerpo.substring(primerPunto + 1)), StandardCharsets.UTF_8);
+            String[] campos = contenido.split("\n", 3);
+            if (campos.length != 3) {
+                throw new BadCredentialsException("Token mal formado");
+            }
+            long expira = Long.parseLong(campos[0]);
+            if (expira <= ahoraEpochSegundos) {
+                throw new BadCredentialsException("Token caducado");
+            }
+            List<String> roles = campos[1].isEmpty() ? List.of() : List.of(campos[1].split(","));
+            return new TokenVerificado(campos[2], roles, expira);
+        } catch (IllegalArgumentException e) {
+            // Base64 o número inválidos
+            throw new BadCredentialsException("Token mal formado", e);
+        }
+    }
+    
+    private byte[] firmar(String idClave, String cuerpo) {
+        Mac mac = macsPorHilo.get().computeIfAbsent(idClave, id -> {
+            try {
+                Mac nuevo = Mac.getInstance(ALGORITMO);
+                nuevo.init(claves.get(id));
+                return nuevo;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("No se puede inicializar " + ALGORITMO, e);
+            }
+        });
+        return mac.doFinal(cuerpo.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Contenido de un token con firma válida y no caducado
+     * 
+     * @param usuario nombre del usuario
+     * @param roles autoridades concedidas
+     * @param expiraEpochSegundos instante de expiración
+     */
+    public record TokenVerificado(String usuario, List<String> roles, long expiraEpochSegundos) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.midominio.group.app.spring.seguridad;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+/**
+ * Configuración de Spring Security.
+ * 
+ * - API REST (/api/**): sin sesión ni CSRF (clientes no navegadores)
+ *   - Authorization: Bearer <token>: token firmado (FiltroAutenticacionToken), sin hash de contraseña por petición
+ *   - HTTP Basic: para obtener el token en POST /api/auth/token (y clientes antiguos)
+ *   - POST /api/auth/token solo con contraseña: con Bearer responde 403 (un token no renueva tokens)
+ * - Resto (vistas, consola H2): configuración por defecto con formulario de login
+ */
+@Configuration
+@EnableConfigurationProperties(TokenProperties.class)
+public class SecurityConfig {
+    
+    @Bean
+    public FirmaTokens firmaTokens(TokenProperties propiedades) {
+        return new FirmaTokens(propiedades);
+    }
+    
+    @Bean
+    public CachePrincipales cachePrincipales(FirmaTokens firmaTokens, TokenProperties propiedades) {
+        return new CachePrincipales(firmaTokens, propiedades);
+    }
+    
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, CachePrincipales cachePrincipales) throws Exception {
+        // El filtro no se declara como bean para que no se registre también fuera de la cadena de seguridad
+        http.securityMatcher("/api/**")
+            .addFilterBefore(new FiltroAutenticacionToken(cachePrincipales), BasicAuthenticationFilter.class)
+            .authorizeHttpRequests(peticiones -> peticiones
+                .requestMatchers(HttpMethod.POST, "/api/auth/token").access(soloConContrasena())
+                .anyRequest().authenticated())
+            .httpBasic(Customizer.withDefaults())
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(sesion -> sesion.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        return http.build();
+    }
+    
+    /**
+     * Autenticado, pero no por token: la emisión de tokens exige comprobar la contraseña
+     */
+    private static AuthorizationManager<RequestAuthorizationContext> soloConContrasena() {
+        AuthorizationManager<RequestAuthorizationContext> autenticado = AuthenticatedAuthorizationManager.authenticated();
+        return (autenticacion, contexto) -> autenticacion.get() instanceof AutenticacionToken
+                ? new AuthorizationDecision(false)
+                : autenticado.authorize(autenticacion, contexto);
+    }
+    
+    @Bean
+    @Order(2)
+    public SecurityFilterChain webFilterChain(HttpSecurity http) throws Exception {
+        http.authorizeHttpRequests(peticiones -> peticiones.anyRequest().authenticated())
+            .formLogin(Customizer.withDefaults())
+            .httpBasic(Customizer.withDefaults());
+        return http.build();
+    }
+}
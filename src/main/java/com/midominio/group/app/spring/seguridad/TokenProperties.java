@@ -0,0 +1,45 @@
+package com.midominio.group.app.spring.seguridad;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuración de los tokens firmados de la API REST.
+ * Propiedades con prefijo app.seguridad.token en application.properties.
+ * 
+ * Ejemplo (rotación: se añade la clave nueva, se activa y la antigua se retira
+ * cuando hayan caducado los tokens firmados con ella):
+ *   app.seguridad.token.claves.k1=<secreto en Base64, 32 bytes o más>
+ *   app.seguridad.token.claves.k2=<secreto en Base64>
+ *   app.seguridad.token.clave-activa=k2
+ * 
+ * Sin claves configuradas se genera una clave aleatoria al arrancar
+ * (los tokens dejan de ser válidos al reiniciar y no sirven entre instancias).
+ * 
+ * @param claveActiva identificador de la clave con la que se firman los tokens nuevos
+ * @param claves secretos HMAC-SHA256 en Base64 por identificador de clave
+ * @param duracion validez de los tokens emitidos
+ * @param duracionCache tiempo que se reutiliza un token ya verificado sin volver a comprobar la firma
+ * @param maxEntradasCache número máximo de tokens verificados en memoria
+ */
+@ConfigurationProperties(prefix = "app.seguridad.token")
+public record TokenProperties(
+        String claveActiva,
+        Map<String, String> claves,
+        Duration duracion,
+        Duration duracionCache,
+        Integer maxEntradasCache) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public TokenProperties {
+        claves = claves == null ? Map.of() : claves;
+        claveActiva = claveActiva == null ? "k1" : claveActiva;
+        duracion = duracion == null ? Duration.ofHours(1) : duracion;
+        duracionCache = duracionCache == null ? Duration.ofMinutes(1) : duracionCache;
+        maxEntradasCache = maxEntradasCache == null ? 10_000 : maxEntradasCache;
+    }
+}
@@ -1,10 +1,28 @@
 package com.midominio.group.app.spring.service;
 
+import com.midominio.group.app.spring.coalescencia.CoalescedorLecturas;
+import com.midominio.group.app.spring.duplicados.DetectorDuplicados;
+import com.midominio.group.app.spring.entity.MascaraOpciones;
+import com.midominio.group.app.spring.entity.OpcionesConverter;
 import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.exception.ConflictoVersionException;
 import com.midominio.group.app.spring.exception.DatosInvalidosException;
 import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * Clase abstracta base para servicios específicos de preguntas.
@@ -31,6 +49,36 @@ public abstract class AbstractPreguntaService<T extends Pregunta> {
     protected static final int ENUNCIADO_MAX_LENGTH = 500;
     protected static final int TEMATICA_MAX_LENGTH = 100;
     protected static final int EXPLICACION_MAX_LENGTH = 1000;
+    protected static final int OPCIONES_MIN = 2;
+    protected static final int OPCIONES_MAX = 10;
+    protected static final int OPCION_MAX_LENGTH = 200;
+    
+    @Autowired
+    private DetectorDuplicados detectorDuplicados;
+    
+    @Autowired
+    private AnaliticaService analiticaService;
+    
+    @Autowired
+    private EventoRespuestaService eventoRespuestaService;
+    
+    @Autowired
+    private ArchivoPreguntasService archivo;
+    
+    @Autowired
+    private CoalescedorLecturas coalescedor;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    // Transacción de solo lectura de las lecturas coalescidas (ver coalescer())
+    private TransactionTemplate lectura;
+    
+    @Autowired
+    void setTransacciones(PlatformTransactionManager transacciones) {
+        lectura = new TransactionTemplate(transacciones);
+        lectura.setReadOnly(true);
+    }
     
     /**
      * Obtiene el repositorio específico para este tipo de pregunta.
@@ -40,20 +88,224 @@ public abstract class AbstractPreguntaService<T extends Pregunta> {
      */
     protected abstract JpaRepository<T, Long> getRepository();
     
+    /**
+     * Obtiene la clase de entidad de este tipo de pregunta.
+     * Implementado por subclases.
+     * 
+     * @return clase del tipo de pregunta
+     */
+    protected abstract Class<T> getTipoEntidad();
+    
     /**
      * Obtiene una pregunta por ID con validación
+     * Si no está en las tablas calientes, la busca en el archivo (ver ArchivoPreguntasService)
+     * Las llamadas simultáneas con el mismo ID comparten una sola consulta (ver coalescer());
+     * fuera de una transacción la abre solo la llamada que consulta
      * 
      * @param id identificador de la pregunta
      * @return la pregunta encontrada
-     * @throws RecursoNoEncontradoException si no existe
+     * @throws RecursoNoEncontradoException si no existe en ningún nivel
      * @throws DatosInvalidosException si el ID es inválido
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public T obtenerPorId(Long id) {
         validarIdPositivo(id);
         String nombreTipo = getRepository().getClass().getSimpleName();
         
-        return getRepository().findById(id)
-            .orElseThrow(() -> new RecursoNoEncontradoException(nombreTipo, id));
+        return coalescer(CoalescedorLecturas.clave("obtenerPorId", getTipoEntidad(), id), () -> {
+            usarFragmentoDe(id);
+            return getRepository().findById(id)
+                .or(() -> archivo.buscarArchivada(id)
+                    .filter(getTipoEntidad()::isInstance)
+                    .map(getTipoEntidad()::cast))
+                .orElseThrow(() -> new RecursoNoEncontradoException(nombreTipo, id));
+        }, pregunta -> getTipoEntidad().cast(pregunta.copiar()));
+    }
+    
+    /**
+     * Obtiene una pregunta para modificarla: solo en las tablas calientes, como entidad gestionada
+     * Una pregunta archivada no se modifica (su copia no tiene fila caliente que actualizar):
+     * hay que restaurarla antes con PATCH /api/preguntas/{id}/estado?activa=true
+     * Usado en: actualizar(), actualizarParcial() de los servicios de cada tipo
+     * 
+     * @param id identificador (ya validado) de la pregunta
+     * @param nombreTipo nombre del tipo para el mensaje de error
+     * @return la pregunta gestionada por el contexto de persistencia actual
+     * @throws RecursoNoEncontradoException si no existe en ningún nivel
+     * @throws IllegalStateException si está archivada
+     */
+    protected T obtenerParaModificar(Long id, String nombreTipo) {
+        return getRepository().findById(id).orElseThrow(() -> {
+            if (archivo.buscarArchivada(id).isPresent()) {
+                return new IllegalStateException("La pregunta con ID " + id
+                        + " está archivada: hay que restaurarla (activarla) antes de modificarla");
+            }
+            return new RecursoNoEncontradoException(nombreTipo, id);
+        });
+    }
+    
+    /**
+     * Comparte la carga con las llamadas idénticas simultáneas (CoalescedorLecturas)
+     * Solo fuera de una transacción: la llamada que carga abre la suya de solo lectura y las que
+     * esperan no piden conexión. Dentro de una (p. ej. obtenerPorId() llamado desde actualizar())
+     * se carga directamente: la entidad tiene que pertenecer al contexto de persistencia propio
+     * Las llamadas que esperan reciben una copia no gestionada (Pregunta.copiar()), nunca la entidad
+     * del contexto de persistencia de otro hilo
+     * 
+     * @param clave identifica la lectura (operación y argumentos)
+     * @param carga consulta a la base de datos
+     * @param copiar copia no gestionada del resultado
+     * @return el resultado, propio o copiado del de otra llamada
+     */
+    protected <R> R coalescer(CoalescedorLecturas.Clave clave, Supplier<R> carga, UnaryOperator<R> copiar) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return carga.get();
+        }
+        return coalescedor.cargar(clave, carga, copiar, propia -> lectura.execute(estado -> propia.get()));
+    }
+    
+    /**
+     * Fija el fragmento de la transacción en el de la pregunta (ver Fragmentos)
+     * Usado en: obtenerPorId(), actualizar(), actualizarParcial() y validarRespuesta(), antes de la primera consulta
+     * 
+     * @param id identificador (ya validado) de la pregunta
+     */
+    protected void usarFragmentoDe(Long id) {
+        fragmentos.fijarPorId(id);
+    }
+    
+    /**
+     * Fija el fragmento de la transacción en el que corresponde a una pregunta nueva
+     * La pregunta se queda en ese fragmento aunque después cambie de temática (se localiza por ID)
+     * Usado en: crear(), antes de guardar
+     * 
+     * @param tematica temática (ya validada) de la pregunta nueva
+     */
+    protected void usarFragmentoDeTematica(String tematica) {
+        fragmentos.fijarPorTematica(tematica);
+    }
+    
+    /**
+     * Elige preguntas al azar en todos los fragmentos: cada uno aporta hasta cantidad y se baraja el conjunto
+     * Con un solo fragmento es la consulta tal cual
+     * Usado en: generarTestAleatorio()
+     * 
+     * @param cantidad número de preguntas pedido
+     * @param consulta elección aleatoria en un fragmento
+     * @return hasta cantidad preguntas en orden aleatorio
+     */
+    protected List<T> elegirAlAzar(int cantidad, Supplier<List<T>> consulta) {
+        if (fragmentos.total() == 1) {
+            return consulta.get();
+        }
+        List<T> candidatas = new ArrayList<>();
+        fragmentos.enTodos(fragmento -> consulta.get()).forEach(candidatas::addAll);
+        Collections.shuffle(candidatas);
+        return candidatas.size() > cantidad ? List.copyOf(candidatas.subList(0, cantidad)) : candidatas;
+    }
+    
+    /**
+     * Comprueba que el enunciado no sea casi duplicado de otra pregunta existente
+     * Usado en: crear(), actualizar()
+     * 
+     * @param enunciado enunciado a comprobar
+     * @param idExcluido ID de la propia pregunta al actualizar (null al crear)
+     * @throws DatosInvalidosException si es casi duplicado y app.duplicados.modo=RECHAZAR
+     */
+    protected void comprobarDuplicados(String enunciado, Long idExcluido) {
+        detectorDuplicados.comprobar(enunciado, idExcluido);
+    }
+    
+    /**
+     * Registra el enunciado de una pregunta guardada en el índice de duplicados
+     * Usado en: crear(), actualizar() después de guardar
+     * 
+     * @param pregunta pregunta ya guardada (con ID)
+     * @return la misma pregunta
+     */
+    protected T registrarEnunciado(T pregunta) {
+        detectorDuplicados.registrar(pregunta.getId(), pregunta.getEnunciado());
+        return pregunta;
+    }
+    
+    /**
+     * Comprueba que el cliente parte de la versión actual de la pregunta (bloqueo optimista)
+     * Usado en: actualizarParcial()
+     * 
+     * @param pregunta pregunta leída de la base de datos
+     * @param versionEsperada versión enviada por el cliente
+     * @throws DatosInvalidosException si no se envía la versión
+     * @throws ConflictoVersionException si la pregunta ha cambiado desde que el cliente la leyó
+     */
+    protected void comprobarVersion(T pregunta, Long versionEsperada) {
+        if (versionEsperada == null) {
+            throw new DatosInvalidosException("version", "La versión es obligatoria en las actualizaciones parciales");
+        }
+        if (!versionEsperada.equals(pregunta.getVersion())) {
+            throw new ConflictoVersionException(pregunta.getId(), versionEsperada, pregunta.getVersion());
+        }
+    }
+    
+    /**
+     * Aplica los cambios comunes de una actualización parcial, validando solo los campos que cambian
+     * Los valores nulos o iguales a los actuales no se tocan (y no entran en el UPDATE dinámico)
+     * Usado en: actualizarParcial()
+     * 
+     * @param pregunta pregunta gestionada por JPA
+     * @param enunciado nuevo enunciado (null = sin cambios)
+     * @param tematica nueva temática (null = sin cambios)
+     * @param activa nuevo estado (null = sin cambios)
+     * @return true si algún campo ha cambiado
+     * @throws DatosInvalidosException si algún valor nuevo es inválido
+     */
+    protected boolean aplicarCambiosComunes(T pregunta, String enunciado, String tematica, Boolean activa) {
+        boolean modificada = false;
+        
+        if (enunciado != null && !enunciado.equals(pregunta.getEnunciado())) {
+            validarEnunciado(enunciado);
+            comprobarDuplicados(enunciado, pregunta.getId());
+            pregunta.setEnunciado(enunciado);
+            registrarEnunciado(pregunta);
+            modificada = true;
+        }
+        if (tematica != null && !tematica.equals(pregunta.getTematica())) {
+            validarTematica(tematica);
+            pregunta.setTematica(tematica);
+            modificada = true;
+        }
+        if (activa != null && !activa.equals(pregunta.getActiva())) {
+            pregunta.setActiva(activa);
+            modificada = true;
+        }
+        return modificada;
+    }
+    
+    /**
+     * Indica si un campo de una actualización parcial cambia el valor actual
+     * Usado en: actualizarParcial() para los campos específicos de cada tipo
+     * 
+     * @param nuevo valor enviado (null = sin cambios)
+     * @param actual valor almacenado
+     */
+    protected static boolean cambia(Object nuevo, Object actual) {
+        return nuevo != null && !Objects.equals(nuevo, actual);
+    }
+    
+    /**
+     * Registra un intento calificado en las estadísticas por temática y tipo
+     * y en el log de eventos de respuestas
+     * (no en las clasificaciones: una pregunta se puede validar sin límite, solo puntúan los exámenes)
+     * Usado en: validarRespuesta(), calcularPuntuacion() después de calificar
+     * 
+     * @param idPregunta ID de la pregunta respondida
+     * @param tematica temática de la pregunta respondida
+     * @param tipoPregunta tipo de pregunta (valor del discriminador)
+     * @param respuesta respuesta codificada (V/F: 0/1; selección: máscara de opciones elegidas)
+     * @param puntuacion puntuación obtenida entre 0.0 y 1.0 (1.0 = acierto)
+     */
+    protected void registrarIntento(Long idPregunta, String tematica, String tipoPregunta, long respuesta, double puntuacion) {
+        analiticaService.registrarIntento(tematica, tipoPregunta, puntuacion);
+        eventoRespuestaService.registrar(idPregunta, tipoPregunta, respuesta, puntuacion);
     }
     
     /**
@@ -163,6 +415,90 @@ public abstract class AbstractPreguntaService<T extends Pregunta> {
         }
     }
     
+    /**
+     * Valida que la lista de opciones elegidas por el usuario no sea nula
+     * 
+     * @param opcionesElegidas índices de las opciones elegidas
+     * @throws DatosInvalidosException si la lista es nula
+     */
+    protected void validarRespuestaUsuario(List<Long> opcionesElegidas) {
+        if (opcionesElegidas == null) {
+            throw new DatosInvalidosException("respuesta", "La respuesta no puede ser nula");
+        }
+    }
+    
+    /**
+     * Valida las opciones de una pregunta de selección
+     * Verifica: número de opciones permitido, ninguna vacía, longitud máxima
+     * 
+     * @param opciones opciones a validar (en orden; el índice identifica la opción)
+     * @throws DatosInvalidosException si las opciones son inválidas
+     */
+    protected void validarOpciones(List<String> opciones) {
+        if (opciones == null || opciones.size() < OPCIONES_MIN) {
+            throw new DatosInvalidosException(
+                "opciones",
+                "La pregunta debe tener al menos " + OPCIONES_MIN + " opciones"
+            );
+        }
+        
+        if (opciones.size() > OPCIONES_MAX) {
+            throw new DatosInvalidosException(
+                "opciones",
+                "La pregunta no puede tener más de " + OPCIONES_MAX + " opciones"
+            );
+        }
+        
+        for (String opcion : opciones) {
+            if (opcion == null || opcion.trim().isEmpty()) {
+                throw new DatosInvalidosException("opciones", "Las opciones no pueden estar vacías");
+            }
+            if (opcion.length() > OPCION_MAX_LENGTH || opcion.indexOf(OpcionesConverter.SEPARADOR) >= 0) {
+                throw new DatosInvalidosException(
+                    "opciones",
+                    "Cada opción debe tener como máximo " + OPCION_MAX_LENGTH + " caracteres válidos"
+                );
+            }
+        }
+    }
+    
+    /**
+     * Valida la máscara de respuestas correctas de una pregunta de selección
+     * Verifica: no nula, al menos una opción correcta y solo opciones existentes
+     * 
+     * @param mascaraCorrecta máscara de bits de las opciones correctas
+     * @param numeroOpciones número de opciones de la pregunta
+     * @throws DatosInvalidosException si la máscara es inválida
+     */
+    protected void validarMascaraCorrecta(Long mascaraCorrecta, int numeroOpciones) {
+        if (mascaraCorrecta == null || mascaraCorrecta == 0L) {
+            throw new DatosInvalidosException("mascaraCorrecta", "Debe haber al menos una opción correcta");
+        }
+        
+        if ((mascaraCorrecta & ~MascaraOpciones.todas(numeroOpciones)) != 0L) {
+            throw new DatosInvalidosException(
+                "mascaraCorrecta",
+                "La respuesta correcta hace referencia a opciones inexistentes"
+            );
+        }
+    }
+    
+    /**
+     * Convierte los índices elegidos por el usuario en máscara de bits
+     * 
+     * @param opcionesElegidas índices de las opciones elegidas
+     * @param numeroOpciones número de opciones de la pregunta
+     * @return máscara de las opciones elegidas
+     * @throws DatosInvalidosException si algún índice no corresponde a una opción
+     */
+    protected long convertirAMascara(List<Long> opcionesElegidas, int numeroOpciones) {
+        try {
+            return MascaraOpciones.desdeIndices(opcionesElegidas, numeroOpciones);
+        } catch (IllegalArgumentException ex) {
+            throw new DatosInvalidosException("respuesta", ex.getMessage());
+        }
+    }
+    
     /**
      * Valida que una pregunta esté activa
      * 
@@ -171,7 +507,19 @@ public abstract class AbstractPreguntaService<T extends Pregunta> {
      * @throws IllegalStateException si la pregunta está inactiva
      */
     protected void validarPreguntaActiva(T pregunta, Long idPregunta) {
-        if (!pregunta.getActiva()) {
+        validarEstadoActivo(pregunta.getActiva(), idPregunta);
+    }
+    
+    /**
+     * Valida que una pregunta esté activa a partir de su estado
+     * Usado cuando se corrige desde una proyección sin cargar la entidad
+     * 
+     * @param activa estado de la pregunta
+     * @param idPregunta ID de la pregunta (para mensaje de error)
+     * @throws IllegalStateException si la pregunta está inactiva
+     */
+    protected void validarEstadoActivo(Boolean activa, Long idPregunta) {
+        if (!Boolean.TRUE.equals(activa)) {
             throw new IllegalStateException(
                 "La pregunta con ID " + idPregunta + " está inactiva y no puede ser respondida"
             );
@@ -0,0 +1,133 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.dto.AdjuntoResponse;
+import com.midominio.group.app.spring.entity.AdjuntoPregunta;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.multimedia.AlmacenSegmentos;
+import com.midominio.group.app.spring.multimedia.MultimediaProperties;
+import com.midominio.group.app.spring.repository.AdjuntoPreguntaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Service de adjuntos multimedia (imágenes y diagramas) de las preguntas.
+ * 
+ * El contenido se guarda una sola vez en AlmacenSegmentos (direccionado por hash)
+ * y aquí solo se gestionan los vínculos pregunta -> contenido, que viven en el mismo
+ * fragmento que su pregunta (ver Fragmentos).
+ * 
+ * Usado en:
+ * - API REST /api/preguntas/{id}/adjuntos
+ * 
+ * Excepciones lanzadas:
+ * - RecursoNoEncontradoException: cuando no existe la pregunta o el adjunto
+ * - DatosInvalidosException: cuando el fichero está vacío, es demasiado grande o de un tipo no permitido
+ */
+@Lazy
+@Service
+@Transactional
+public class AdjuntoService {
+    
+    @Autowired
+    private AdjuntoPreguntaRepository repository;
+    
+    @Autowired
+    private PreguntaService preguntaService;
+    
+    @Autowired
+    private AlmacenSegmentos almacen;
+    
+    @Autowired
+    private MultimediaProperties propiedades;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    /**
+     * Adjunta un fichero a una pregunta
+     * Si la pregunta ya tiene ese mismo contenido, devuelve el adjunto existente
+     * 
+     * Usado en:
+     * - API REST POST /api/preguntas/{id}/adjuntos
+     * 
+     * @param preguntaId identificador de la pregunta
+     * @param fichero fichero subido (multipart)
+     * @return el adjunto creado
+     * @throws RecursoNoEncontradoException si no existe la pregunta
+     * @throws DatosInvalidosException si el fichero no es válido
+     */
+    public AdjuntoResponse adjuntar(Long preguntaId, MultipartFile fichero) {
+        preguntaService.obtenerPorId(preguntaId);
+        validarFichero(fichero);
+        
+        AlmacenSegmentos.Ubicacion ubicacion;
+        try (InputStream contenido = fichero.getInputStream()) {
+            ubicacion = almacen.guardar(contenido, fichero.getContentType());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el adjunto", e);
+        }
+        
+        AdjuntoPregunta adjunto = repository.findFirstByPreguntaIdAndHash(preguntaId, ubicacion.hash())
+            .orElseGet(() -> repository.save(new AdjuntoPregunta(preguntaId, ubicacion.hash(),
+                    ubicacion.tipoMime(), fichero.getOriginalFilename(), ubicacion.longitud())));
+        return AdjuntoResponse.de(adjunto);
+    }
+    
+    /**
+     * Lista los adjuntos de una pregunta
+     * 
+     * Usado en:
+     * - API REST GET /api/preguntas/{id}/adjuntos
+     * 
+     * @param preguntaId identificador de la pregunta
+     * @return adjuntos en orden de alta
+     */
+    @Transactional(readOnly = true)
+    public List<AdjuntoResponse> listar(Long preguntaId) {
+        fragmentos.fijarPorId(preguntaId);
+        return repository.findByPreguntaIdOrderByIdAsc(preguntaId).stream()
+            .map(AdjuntoResponse::de)
+            .toList();
+    }
+    
+    /**
+     * Desvincula un adjunto de su pregunta (el contenido permanece en el almacén)
+     * 
+     * Usado en:
+     * - API REST DELETE /api/preguntas/{id}/adjuntos/{adjuntoId}
+     * 
+     * @throws RecursoNoEncontradoException si el adjunto no existe o es de otra pregunta
+     */
+    public void eliminar(Long preguntaId, Long adjuntoId) {
+        fragmentos.fijarPorId(preguntaId);
+        AdjuntoPregunta adjunto = repository.findById(adjuntoId)
+            .filter(encontrado -> encontrado.getPreguntaId().equals(preguntaId))
+            .orElseThrow(() -> new RecursoNoEncontradoException("Adjunto", adjuntoId));
+        repository.delete(adjunto);
+    }
+    
+    private void validarFichero(MultipartFile fichero) {
+        if (fichero == null || fichero.isEmpty()) {
+            throw new DatosInvalidosException("fichero", "El fichero no puede estar vacío");
+        }
+        if (fichero.getSize() > propiedades.tamanoMaxArchivo().toBytes()) {
+            throw new DatosInvalidosException("fichero",
+                    "El fichero no puede superar " + propiedades.tamanoMaxArchivo().toMegabytes() + " MB");
+        }
+        String tipo = fichero.getContentType();
+        if (tipo == null || !propiedades.tiposPermitidos().contains(tipo)) {
+            throw new DatosInvalidosException("fichero",
+                    "Tipo de fichero no permitido. Valores permitidos: " + String.join(", ", propiedades.tiposPermitidos()));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.analitica.AcumuladorRollups;
+import com.midominio.group.app.spring.analitica.AnaliticaProperties;
+import com.midominio.group.app.spring.analitica.Granularidad;
+import com.midominio.group.app.spring.dto.EstadisticaTematicaResponse;
+import com.midominio.group.app.spring.dto.PuntoSerieResponse;
+import com.midominio.group.app.spring.entity.RollupCalificacion;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.repository.RollupCalificacionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service de estadísticas de calificación por temática y tipo de pregunta.
+ * 
+ * Las estadísticas se mantienen pre-agregadas en rollups_calificacion:
+ * - Cada calificación incrementa contadores en memoria (AcumuladorRollups), sin acceso a BD
+ * - volcar() suma periódicamente los deltas a los buckets horarios (un UPDATE por bucket modificado)
+ * - compactar() fusiona los buckets horarios antiguos en buckets diarios y borra los horarios
+ * 
+ * Las consultas leen solo los rollups, nunca las respuestas individuales. Los intentos
+ * aún no volcados (como mucho app.analitica.intervalo-volcado) no aparecen en ellas.
+ * 
+ * Usado en:
+ * - AbstractPreguntaService.registrarIntento() (servicios de cada tipo al validar respuestas)
+ * - AnaliticaController (API REST /api/analitica)
+ * 
+ * Excepciones lanzadas:
+ * - DatosInvalidosException: rango de fechas inválido
+ */
+@Service
+@EnableConfigurationProperties(AnaliticaProperties.class)
+public class AnaliticaService {
+    
+    private static final Logger log = LoggerFactory.getLogger(AnaliticaService.class);
+    
+    private static final int DIAS_POR_DEFECTO = 7;
+    
+    private static final Comparator<AcumuladorRollups.Clave> ORDEN_CLAVES =
+        Comparator.comparing(AcumuladorRollups.Clave::tematica)
+            .thenComparing(AcumuladorRollups.Clave::tipoPregunta)
+            .thenComparing(AcumuladorRollups.Clave::inicioHora);
+    
+    @Autowired
+    private RollupCalificacionRepository repository;
+    
+    @Autowired
+    private AnaliticaProperties propiedades;
+    
+    private final AcumuladorRollups acumulador = new AcumuladorRollups();
+    
+    private final TransactionTemplate transaccion;
+    
+    public AnaliticaService(PlatformTransactionManager transactionManager) {
+        this.transaccion = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Registra un intento calificado en el acumulador en memoria
+     * 
+     * Usado en:
+     * - AbstractPreguntaService.registrarIntento()
+     * 
+     * @param tematica temática de la pregunta
+     * @param tipoPregunta tipo de pregunta (valor del discriminador)
+     * @param puntuacion puntuación entre 0.0 y 1.0 (1.0 = acierto)
+     */
+    public void registrarIntento(String tematica, String tipoPregunta, double puntuacion) {
+        acumulador.registrar(tematica, tipoPregunta, puntuacion, LocalDateTime.now());
+    }
+    
+    /**
+     * Vuelca los deltas acumulados en memoria a los buckets horarios
+     * Si el volcado falla, los deltas vuelven al acumulador para el siguiente intento
+     */
+    @Scheduled(fixedDelayString = "${app.analitica.intervalo-volcado:10s}")
+    public void volcar() {
+        List<AcumuladorRollups.Delta> deltas = acumulador.drenar(Granularidad.HORA.inicioBucket(LocalDateTime.now()));
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transaccion.executeWithoutResult(estado -> {
+                for (AcumuladorRollups.Delta delta : deltas) {
+                    AcumuladorRollups.Clave clave = delta.clave();
+                    sumarABucket(clave.tematica(), clave.tipoPregunta(), Granularidad.HORA, clave.inicioHora(),
+                            delta.intentos(), delta.aciertos(), delta.puntosMilesimas());
+                }
+            });
+        } catch (RuntimeException e) {
+            acumulador.restaurar(deltas);
+            log.warn("Volcado de estadísticas fallido ({} buckets); se reintentará", deltas.size(), e);
+        }
+    }
+    
+    /**
+     * Fusiona los buckets horarios anteriores a app.analitica.retencion-horaria en buckets diarios
+     * Solo se compactan días completos: el límite se redondea al inicio del día
+     */
+    @Scheduled(cron = "${app.analitica.cron-compactacion:0 15 3 * * *}")
+    public void compactar() {
+        LocalDateTime limite = Granularidad.DIA.inicioBucket(LocalDateTime.now().minus(propiedades.retencionHoraria()));
+        
+        int compactados = transaccion.execute(estado -> {
+            List<RollupCalificacion> horarios = repository.findByGranularidadAndInicioBucketBefore(Granularidad.HORA, limite);
+            if (horarios.isEmpty()) {
+                return 0;
+            }
+            
+            Map<AcumuladorRollups.Clave, long[]> diarios = new TreeMap<>(ORDEN_CLAVES);
+            for (RollupCalificacion horario : horarios) {
+                AcumuladorRollups.Clave dia = new AcumuladorRollups.Clave(horario.getTematica(),
+                        horario.getTipoPregunta(), Granularidad.DIA.inicioBucket(horario.getInicioBucket()));
+                long[] totales = diarios.computeIfAbsent(dia, k -> new long[3]);
+                totales[0] += horario.getIntentos();
+                totales[1] += horario.getAciertos();
+                totales[2] += horario.getPuntosMilesimas();
+            }
+            
+            diarios.forEach((dia, totales) -> sumarABucket(dia.tematica(), dia.tipoPregunta(), Granularidad.DIA,
+                    dia.inicioHora(), totales[0], totales[1], totales[2]));
+            repository.deleteAllInBatch(horarios);
+            return horarios.size();
+        });
+        
+        if (compactados > 0) {
+            log.info("Compactados {} buckets horarios anteriores a {}", compactados, limite);
+        }
+    }
+    
+    /**
+     * Estadísticas por temática y tipo de pregunta en un rango de tiempo
+     * 
+     * Usado en:
+     * - API REST GET /api/analitica/tematicas
+     * 
+     * @param desde inicio del rango (por defecto, hace 7 días)
+     * @param hasta fin del rango, exclusivo (por defecto, ahora)
+     * @return una fila por temática × tipo con intentos
+     * @throws DatosInvalidosException si desde no es anterior a hasta
+     */
+    public List<EstadisticaTematicaResponse> estadisticasPorTematica(LocalDateTime desde, LocalDateTime hasta) {
+        LocalDateTime fin = hasta == null ? LocalDateTime.now() : hasta;
+        LocalDateTime inicio = desde == null ? fin.minusDays(DIAS_POR_DEFECTO) : desde;
+        validarRango(inicio, fin);
+        
+        return repository.totalesPorTematicaYTipo(inicio, fin).stream()
+            .map(fila -> EstadisticaTematicaResponse.de((String) fila[0], (String) fila[1],
+                    ((Number) fila[2]).longValue(), ((Number) fila[3]).longValue(), ((Number) fila[4]).longValue()))
+            .toList();
+    }
+    
+    /**
+     * Serie temporal de estadísticas, opcionalmente filtrada por temática y tipo
+     * 
+     * Con granularidad HORA, los periodos ya compactados aparecen como un punto por día.
+     * 
+     * Usado en:
+     * - API REST GET /api/analitica/serie
+     * 
+     * @param tematica temática exacta (null = todas)
+     * @param tipoPregunta tipo de pregunta (null = todos)
+     * @param granularidad HORA o DIA (por defecto, DIA)
+     * @param desde inicio del rango (por defecto, hace 7 días)
+     * @param hasta fin del rango, exclusivo (por defecto, ahora)
+     * @return puntos ordenados por inicio
+     * @throws DatosInvalidosException si desde no es anterior a hasta
+     */
+    public List<PuntoSerieResponse> serie(String tematica, String tipoPregunta, Granularidad granularidad,
+                                          LocalDateTime desde, LocalDateTime hasta) {
+        LocalDateTime fin = hasta == null ? LocalDateTime.now() : hasta;
+        LocalDateTime inicio = desde == null ? fin.minusDays(DIAS_POR_DEFECTO) : desde;
+        validarRango(inicio, fin);
+        Granularidad paso = granularidad == null ? Granularidad.DIA : granularidad;
+        
+        Map<LocalDateTime, long[]> puntos = new TreeMap<>();
+        for (RollupCalificacion rollup : repository.buscarEnRango(inicio, fin, tematica, tipoPregunta)) {
+            long[] totales = puntos.computeIfAbsent(paso.inicioBucket(rollup.getInicioBucket()), k -> new long[3]);
+            totales[0] += rollup.getIntentos();
+            totales[1] += rollup.getAciertos();
+            totales[2] += rollup.getPuntosMilesimas();
+        }
+        
+        List<PuntoSerieResponse> serie = new ArrayList<>(puntos.size());
+        puntos.forEach((momento, totales) -> serie.add(PuntoSerieResponse.de(momento, totales[0], totales[1], totales[2])));
+        return serie;
+    }
+    
+    /**
+     * Vuelca los intentos pendientes al parar la aplicación
+     */
+    @PreDestroy
+    public void detener() {
+        volcar();
+    }
+    
+    /**
+     * Suma contadores a un bucket, creándolo si no existe
+     * Debe llamarse dentro de una transacción
+     */
+    private void sumarABucket(String tematica, String tipoPregunta, Granularidad granularidad, LocalDateTime inicio,
+                              long intentos, long aciertos, long puntosMilesimas) {
+        int actualizados = repository.incrementar(tematica, tipoPregunta, granularidad, inicio,
+                intentos, aciertos, puntosMilesimas);
+        if (actualizados == 0) {
+            repository.save(new RollupCalificacion(tematica, tipoPregunta, granularidad, inicio,
+                    intentos, aciertos, puntosMilesimas));
+        }
+    }
+    
+    private void validarRango(LocalDateTime desde, LocalDateTime hasta) {
+        if (!desde.isBefore(hasta)) {
+            throw new DatosInvalidosException("desde", "La fecha de inicio debe ser anterior a la de fin");
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.archivo.ArchivadorPreguntas;
+import com.midominio.group.app.spring.autocompletado.IndiceAutocompletado;
+import com.midominio.group.app.spring.archivo.ArchivoProperties;
+import com.midominio.group.app.spring.cambios.OutboxCambios;
+import com.midominio.group.app.spring.duplicados.DetectorDuplicados;
+import com.midominio.group.app.spring.metadatos.IndicePreguntas;
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.entity.PreguntaArchivada;
+import com.midominio.group.app.spring.entity.TipoCambioPregunta;
+import com.midominio.group.app.spring.entity.Trabajo;
+import com.midominio.group.app.spring.repository.PreguntaArchivadaRepository;
+import com.midominio.group.app.spring.trabajos.MotorTrabajos;
+import com.midominio.group.app.spring.trabajos.TrabajoArchivado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service de archivado de preguntas inactivas (niveles caliente/frío).
+ * 
+ * El borrado lógico (activa = false) hace crecer indefinidamente la tabla preguntas y todas
+ * las consultas de preguntas activas recorren también las inactivas. Periódicamente,
+ * las preguntas inactivas desde hace más de app.archivo.inactividad-minima se mueven
+ * (con su fila de tipo) a las tablas *_archivo, de modo que las tablas calientes
+ * solo contengan preguntas en uso. El movimiento se ejecuta como trabajo en segundo
+ * plano (TrabajoArchivado), un lote por transacción y reanudable tras un reinicio.
+ * 
+ * Las preguntas archivadas siguen siendo accesibles:
+ * - obtenerPorId() de PreguntaService y de los servicios de cada tipo las busca en ambos niveles
+ * - PreguntaService.cambiarEstado(id, true) las restaura con su mismo ID
+ * - PreguntaService.eliminar() las borra también del archivo
+ * 
+ * Los listados y filtros solo recorren el nivel caliente.
+ * 
+ * Usado en:
+ * - PreguntaService y AbstractPreguntaService (acceso transparente al archivo)
+ * - API REST POST /api/preguntas/archivar (archivado bajo demanda)
+ */
+@Service
+@Transactional
+@EnableConfigurationProperties(ArchivoProperties.class)
+public class ArchivoPreguntasService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ArchivoPreguntasService.class);
+    
+    @Autowired
+    private ArchivoProperties propiedades;
+    
+    @Autowired
+    private PreguntaArchivadaRepository repository;
+    
+    @Autowired
+    private DetectorDuplicados detectorDuplicados;
+    
+    @Autowired
+    private IndicePreguntas indicePreguntas;
+    
+    @Autowired
+    private IndiceAutocompletado autocompletado;
+    
+    @Autowired
+    private OutboxCambios outbox;
+    
+    @Autowired
+    private MotorTrabajos motor;
+    
+    private final ArchivadorPreguntas archivador;
+    
+    public ArchivoPreguntasService(JdbcTemplate jdbcTemplate) {
+        this.archivador = new ArchivadorPreguntas(jdbcTemplate);
+    }
+    
+    /**
+     * Encola un trabajo de archivado de las preguntas inactivas desde hace más de
+     * app.archivo.inactividad-minima (tipo ARCHIVADO de MotorTrabajos)
+     * 
+     * Usado en:
+     * - Tarea programada (app.archivo.cron)
+     * - API REST POST /api/preguntas/archivar
+     * 
+     * @return el trabajo encolado
+     */
+    @Scheduled(cron = "${app.archivo.cron:0 30 2 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Trabajo archivarInactivas() {
+        LocalDateTime limite = LocalDateTime.now().minus(propiedades.inactividadMinima());
+        return motor.enviar(TrabajoArchivado.NOMBRE, Map.of(TrabajoArchivado.PARAM_LIMITE, limite.toString()));
+    }
+    
+    /**
+     * Mueve al archivo un lote de preguntas inactivas desde antes del límite
+     * Debe llamarse dentro de la transacción del bloque
+     * 
+     * Usado en:
+     * - TrabajoArchivado.procesarBloque()
+     * 
+     * @param limite fecha de desactivación máxima
+     * @param tamanoLote número máximo de preguntas del lote
+     * @return número de preguntas archivadas (0 si no quedan candidatas)
+     */
+    public int archivarLote(LocalDateTime limite, int tamanoLote) {
+        List<Long> ids = archivador.buscarCandidatas(limite, tamanoLote);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int movidas = archivador.archivar(ids, LocalDateTime.now());
+        // Las preguntas archivadas dejan de participar en la detección de duplicados
+        ids.forEach(detectorDuplicados::eliminar);
+        // El archivado no pasa por JPA: los índices de metadatos y autocompletado no reciben @PostRemove
+        indicePreguntas.eliminarTrasCommit(ids);
+        autocompletado.eliminarTrasCommit(ids);
+        outbox.registrar(ids, TipoCambioPregunta.ELIMINADA);
+        if (movidas > 0) {
+            log.info("Archivadas {} preguntas inactivas desde antes de {}", movidas, limite);
+        }
+        return movidas;
+    }
+    
+    /**
+     * Número de preguntas pendientes de archivar para un límite
+     * 
+     * Usado en:
+     * - TrabajoArchivado.estimarTotal()
+     */
+    @Transactional(readOnly = true)
+    public long contarCandidatas(LocalDateTime limite) {
+        return archivador.contarCandidatas(limite);
+    }
+    
+    /**
+     * Busca varias preguntas en el archivo (una consulta IN) y las devuelve como su tipo original
+     * 
+     * Usado en:
+     * - PreguntaService.obtenerLote()
+     * 
+     * @param ids identificadores de las preguntas (como mucho unos cientos)
+     * @return las preguntas archivadas encontradas, en cualquier orden
+     */
+    @Transactional(readOnly = true)
+    public List<Pregunta> buscarArchivadas(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return repository.findAllById(ids).stream().map(PreguntaArchivada::aPregunta).toList();
+    }
+    
+    /**
+     * Busca una pregunta en el archivo y la devuelve como su tipo original (inactiva, no gestionada)
+     * 
+     * Usado en:
+     * - PreguntaService.obtenerPorId()
+     * - AbstractPreguntaService.obtenerPorId()
+     * 
+     * @param id identificador de la pregunta
+     * @return la pregunta archivada, si existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<Pregunta> buscarArchivada(Long id) {
+        return repository.findById(id).map(PreguntaArchivada::aPregunta);
+    }
+    
+    /**
+     * Devuelve una pregunta archivada a las tablas calientes con su mismo ID
+     * Debe llamarse dentro de la transacción que la reactiva
+     * 
+     * Usado en:
+     * - PreguntaService.cambiarEstado(id, true)
+     * 
+     * @param id identificador de la pregunta
+     * @return true si la pregunta estaba archivada
+     */
+    public boolean restaurar(Long id) {
+        return archivador.restaurar(id);
+    }
+    
+    /**
+     * Borra definitivamente una pregunta archivada
+     * 
+     * Usado en:
+     * - PreguntaService.eliminar()
+     * 
+     * @param id identificador de la pregunta
+     * @return true si la pregunta estaba archivada
+     */
+    public boolean eliminar(Long id) {
+        return archivador.eliminar(id);
+    }
+    
+    /**
+     * Número de preguntas archivadas
+     * 
+     * Usado en:
+     * - PreguntaService.contarTotal()
+     */
+    @Transactional(readOnly = true)
+    public long contarArchivadas() {
+        return repository.count();
+    }
+}
@@ -0,0 +1,305 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.clasificacion.Clasificacion;
+import com.midominio.group.app.spring.clasificacion.ClasificacionProperties;
+import com.midominio.group.app.spring.clasificacion.ListaSaltosClasificacion;
+import com.midominio.group.app.spring.dto.PosicionClasificacionResponse;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service de clasificaciones de alumnos por temática y general, en vivo.
+ * 
+ * Cada clasificación es una lista de saltos con estadísticas de orden en memoria (Clasificacion):
+ * sumar puntos, la posición de un usuario y el top-k cuestan O(log n), sin ORDER BY en la BD.
+ * - Los puntos son la suma de las puntuaciones de los exámenes cronometrados calificados (1.0 por
+ *   respuesta correcta). Las validaciones sueltas y el modo práctica no puntúan: se pueden repetir
+ *   sin límite con la misma pregunta
+ * - Cada respuesta suma en la clasificación de su temática y en la general, tras el commit
+ *   (un examen cuya entrega se reintenta no puntúa dos veces)
+ * - volcar() suma periódicamente a puntuaciones_clasificacion lo ganado desde el último volcado;
+ *   al arrancar, recuperar() carga esa tabla
+ * 
+ * Con varias instancias, la tabla acumula los puntos de todas, pero cada instancia solo ve
+ * en memoria lo recuperado al arrancar más lo que califica ella.
+ * 
+ * Usado en:
+ * - ExamenService (al calificar exámenes cronometrados)
+ * - ClasificacionController (API REST /api/clasificaciones)
+ * 
+ * Excepciones lanzadas:
+ * - DatosInvalidosException: rango de posiciones inválido
+ * - RecursoNoEncontradoException: el usuario no está en la clasificación
+ */
+@Service
+@EnableConfigurationProperties(ClasificacionProperties.class)
+public class ClasificacionService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ClasificacionService.class);
+    
+    /**
+     * Clave de la clasificación general (todas las temáticas)
+     */
+    public static final String GENERAL = "";
+    
+    private static final int FRAGMENTO_CLASIFICACIONES = 0;
+    private static final int MAX_RESULTADOS = 100;
+    private static final String USUARIO_ANONIMO = "anonimo";
+    
+    private static final String RECUPERAR =
+            "SELECT id, clasificacion, usuario, puntos_milesimas FROM puntuaciones_clasificacion "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SUMAR =
+            "UPDATE puntuaciones_clasificacion SET puntos_milesimas = puntos_milesimas + ? "
+            + "WHERE clasificacion = ? AND usuario = ?";
+    private static final String INSERTAR =
+            "INSERT INTO puntuaciones_clasificacion (clasificacion, usuario, puntos_milesimas) VALUES (?, ?, ?)";
+    
+    /**
+     * Puntos pendientes de volcar de un usuario en una clasificación
+     */
+    private record Delta(String clasificacion, String usuario, long puntosMilesimas) {
+    }
+    
+    @Autowired
+    private ClasificacionProperties propiedades;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    private final Map<String, Clasificacion> clasificaciones = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaccion;
+    // Hasta recuperar la tabla no se vuelca: lo volcado antes se contaría dos veces al cargarla
+    private volatile boolean recuperadas;
+    
+    public ClasificacionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaccion = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Suma las puntuaciones de un usuario por temática (tras el commit si hay transacción)
+     * Los usuarios anónimos y las puntuaciones nulas no cambian ninguna clasificación.
+     * 
+     * Usado en:
+     * - ExamenService (un examen calificado)
+     * 
+     * @param usuario usuario que ha respondido
+     * @param puntuaciones temática -> suma de las puntuaciones de sus preguntas
+     */
+    public void registrar(String usuario, Map<String, Double> puntuaciones) {
+        if (usuario == null || USUARIO_ANONIMO.equals(usuario)) {
+            return;
+        }
+        long total = 0;
+        List<Delta> deltas = new ArrayList<>(puntuaciones.size() + 1);
+        for (Map.Entry<String, Double> puntuacion : puntuaciones.entrySet()) {
+            long milesimas = Math.round(puntuacion.getValue() * 1000);
+            if (milesimas > 0 && puntuacion.getKey() != null && !puntuacion.getKey().isBlank()) {
+                deltas.add(new Delta(normalizar(puntuacion.getKey()), usuario, milesimas));
+                total += milesimas;
+            }
+        }
+        if (total == 0) {
+            return;
+        }
+        deltas.add(new Delta(GENERAL, usuario, total));
+        trasCommit(() -> deltas.forEach(delta ->
+                obtener(delta.clasificacion()).sumar(delta.usuario(), delta.puntosMilesimas())));
+    }
+    
+    /**
+     * Usuarios a partir de una posición de una clasificación
+     * 
+     * Usado en:
+     * - API REST GET /api/clasificaciones?tematica=Java&desde=1&cantidad=10
+     * 
+     * @param tematica temática, o null para la clasificación general
+     * @param desde primera posición (1 = primero)
+     * @param cantidad número de usuarios (entre 1 y 100)
+     * @return usuarios en orden de clasificación (vacía si nadie ha puntuado aún)
+     * @throws DatosInvalidosException si desde o cantidad están fuera de rango
+     */
+    public List<PosicionClasificacionResponse> rango(String tematica, Integer desde, Integer cantidad) {
+        if (desde == null || desde < 1) {
+            throw new DatosInvalidosException("desde", "La posición inicial debe ser 1 o mayor");
+        }
+        if (cantidad == null || cantidad < 1 || cantidad > MAX_RESULTADOS) {
+            throw new DatosInvalidosException(
+                "cantidad",
+                "La cantidad de usuarios debe estar entre 1 y " + MAX_RESULTADOS
+            );
+        }
+        Clasificacion clasificacion = clasificaciones.get(clave(tematica));
+        if (clasificacion == null) {
+            return List.of();
+        }
+        return clasificacion.rango(desde, cantidad).stream().map(ClasificacionService::aResponse).toList();
+    }
+    
+    /**
+     * Posición del usuario autenticado en una clasificación
+     * 
+     * Usado en:
+     * - API REST GET /api/clasificaciones/posicion?tematica=Java
+     * 
+     * @param tematica temática, o null para la clasificación general
+     * @return su posición y sus puntos
+     * @throws RecursoNoEncontradoException si el usuario aún no ha puntuado en ella
+     */
+    public PosicionClasificacionResponse posicion(String tematica) {
+        String usuario = usuarioActual();
+        Clasificacion clasificacion = clasificaciones.get(clave(tematica));
+        ListaSaltosClasificacion.Entrada entrada = clasificacion == null ? null : clasificacion.posicion(usuario);
+        if (entrada == null) {
+            throw new RecursoNoEncontradoException("Usuario en la clasificación", usuario,
+                    "El usuario " + usuario + " aún no tiene puntos en esta clasificación");
+        }
+        return aResponse(entrada);
+    }
+    
+    /**
+     * Suma a puntuaciones_clasificacion los puntos ganados desde el último volcado
+     * (UPDATE por lotes y, para los usuarios sin fila, INSERT por lotes)
+     * Si el volcado falla, los puntos vuelven a sus clasificaciones para el siguiente intento
+     */
+    @Scheduled(fixedDelayString = "${app.clasificaciones.intervalo-volcado:10s}")
+    public void volcar() {
+        if (!recuperadas) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>();
+        clasificaciones.forEach((clave, clasificacion) -> clasificacion.drenar()
+                .forEach((usuario, puntos) -> deltas.add(new Delta(clave, usuario, puntos))));
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transaccion.executeWithoutResult(estado -> guardar(deltas));
+        } catch (RuntimeException e) {
+            deltas.forEach(delta -> obtener(delta.clasificacion())
+                    .restaurar(Map.of(delta.usuario(), delta.puntosMilesimas())));
+            log.warn("Volcado de clasificaciones fallido ({} puntuaciones); se reintentará", deltas.size(), e);
+        }
+    }
+    
+    /**
+     * Carga las clasificaciones guardadas al arrancar, por bloques de id.
+     * Sus puntos se suman a los calificados mientras tanto, que aún no se han volcado.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recuperar() {
+        long inicio = System.nanoTime();
+        int tamanoBloque = propiedades.tamanoLote();
+        long ultimoId = 0;
+        int leidas;
+        int total = 0;
+        do {
+            long desdeId = ultimoId;
+            List<Object[]> bloque = fragmentos.enFragmento(FRAGMENTO_CLASIFICACIONES, () -> jdbcTemplate.query(
+                    RECUPERAR,
+                    (fila, n) -> new Object[] {fila.getLong(1), fila.getString(2), fila.getString(3), fila.getLong(4)},
+                    desdeId, tamanoBloque));
+            for (Object[] fila : bloque) {
+                obtener((String) fila[1]).cargar((String) fila[2], (Long) fila[3]);
+                ultimoId = (Long) fila[0];
+            }
+            leidas = bloque.size();
+            total += leidas;
+        } while (leidas == tamanoBloque);
+        recuperadas = true;
+        
+        log.info("Clasificaciones recuperadas: {} ({} puntuaciones) en {} ms",
+                clasificaciones.size(), total, (System.nanoTime() - inicio) / 1_000_000L);
+    }
+    
+    @PreDestroy
+    public void detener() {
+        volcar();
+    }
+    
+    private void guardar(List<Delta> deltas) {
+        fragmentos.fijar(FRAGMENTO_CLASIFICACIONES);
+        int[][] sumadas = jdbcTemplate.batchUpdate(SUMAR, deltas, propiedades.tamanoLote(), (ps, delta) -> {
+            ps.setLong(1, delta.puntosMilesimas());
+            ps.setString(2, delta.clasificacion());
+            ps.setString(3, delta.usuario());
+        });
+        List<Delta> nuevas = new ArrayList<>();
+        int i = 0;
+        for (int[] lote : sumadas) {
+            for (int filas : lote) {
+                if (filas == 0) {
+                    nuevas.add(deltas.get(i));
+                }
+                i++;
+            }
+        }
+        if (!nuevas.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERTAR, nuevas, propiedades.tamanoLote(), (ps, delta) -> {
+                ps.setString(1, delta.clasificacion());
+                ps.setString(2, delta.usuario());
+                ps.setLong(3, delta.puntosMilesimas());
+            });
+        }
+    }
+    
+    private Clasificacion obtener(String clave) {
+        return clasificaciones.computeIfAbsent(clave, c -> new Clasificacion());
+    }
+    
+    private static String clave(String tematica) {
+        return tematica == null || tematica.isBlank() ? GENERAL : normalizar(tematica);
+    }
+    
+    private static String normalizar(String tematica) {
+        return tematica.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static PosicionClasificacionResponse aResponse(ListaSaltosClasificacion.Entrada entrada) {
+        return new PosicionClasificacionResponse(entrada.posicion(), entrada.usuario(), entrada.puntos() / 1000.0);
+    }
+    
+    private void trasCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+    
+    private String usuarioActual() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacion == null ? USUARIO_ANONIMO : autenticacion.getName();
+    }
+}
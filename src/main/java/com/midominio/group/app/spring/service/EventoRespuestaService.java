@@ -0,0 +1,115 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.dto.PaginaEventosResponse;
+import com.midominio.group.app.spring.eventos.EventoRespuesta;
+import com.midominio.group.app.spring.eventos.EventosProperties;
+import com.midominio.group.app.spring.eventos.RegistroEventos;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service del log de eventos de respuestas calificadas (auditoría y reproducción para analítica).
+ * 
+ * Cada calificación se añade a RegistroEventos (ficheros de segmento, sin base de datos),
+ * así que la auditoría no duplica la carga de escritura de la BD durante los exámenes.
+ * 
+ * Usado en:
+ * - AbstractPreguntaService.registrarIntento() (un evento por respuesta calificada)
+ * - API REST GET /api/eventos/respuestas (lectura por bloques)
+ * 
+ * Si app.eventos.habilitado=false, registrar() no hace nada y leer() devuelve bloques vacíos.
+ */
+@Service
+public class EventoRespuestaService {
+    
+    private static final int MAX_LIMITE = 10_000;
+    private static final String USUARIO_ANONIMO = "anonimo";
+    
+    @Autowired(required = false)
+    private RegistroEventos registro;
+    
+    @Autowired
+    private EventosProperties propiedades;
+    
+    /**
+     * Registra una respuesta calificada del usuario autenticado
+     * 
+     * Usado en:
+     * - AbstractPreguntaService.registrarIntento()
+     * 
+     * @param preguntaId ID de la pregunta
+     * @param tipoPregunta tipo de pregunta (valor del discriminador)
+     * @param respuesta respuesta codificada (V/F: 0/1; selección: máscara de opciones elegidas)
+     * @param puntuacion puntuación entre 0.0 y 1.0 (1.0 = acierto)
+     */
+    public void registrar(Long preguntaId, String tipoPregunta, long respuesta, double puntuacion) {
+        if (registro == null) {
+            return;
+        }
+        registro.registrar(new EventoRespuesta(System.currentTimeMillis(), preguntaId, tipoPregunta,
+                respuesta, puntuacion == 1.0, puntuacion, usuarioActual()));
+    }
+    
+    /**
+     * Lee un bloque de eventos durables en orden de secuencia
+     * 
+     * Usado en:
+     * - API REST GET /api/eventos/respuestas?desde=0&limite=1000
+     * - Procesos de reproducción hacia analítica (leen hasta alcanzar "durable")
+     * 
+     * @param desde primera secuencia a leer
+     * @param limite número máximo de eventos
+     * @return eventos y secuencia desde la que continuar
+     * @throws DatosInvalidosException si los parámetros son inválidos
+     */
+    public PaginaEventosResponse leer(long desde, int limite) {
+        if (desde < 0) {
+            throw new DatosInvalidosException("desde", "La secuencia no puede ser negativa");
+        }
+        if (limite <= 0 || limite > MAX_LIMITE) {
+            throw new DatosInvalidosException("limite", "El límite debe estar entre 1 y " + MAX_LIMITE);
+        }
+        if (registro == null) {
+            return new PaginaEventosResponse(List.of(), desde, 0);
+        }
+        
+        List<EventoRespuesta> eventos = new ArrayList<>();
+        try {
+            long siguiente = registro.reproducir(desde, limite, eventos::add);
+            return new PaginaEventosResponse(eventos, siguiente, registro.secuenciaDurable());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el log de eventos", e);
+        }
+    }
+    
+    /**
+     * Borra los segmentos más antiguos que app.eventos.retencion o que exceden app.eventos.tamano-maximo
+     * 
+     * Usado en:
+     * - Tarea programada (app.eventos.cron-retencion)
+     * 
+     * @return número de segmentos borrados
+     */
+    @Scheduled(cron = "${app.eventos.cron-retencion:0 0 4 * * *}")
+    public int aplicarRetencion() throws IOException {
+        if (registro == null) {
+            return 0;
+        }
+        long limite = System.currentTimeMillis() - propiedades.retencion().toMillis();
+        return registro.aplicarRetencion(limite, propiedades.tamanoMaximo().toBytes());
+    }
+    
+    private String usuarioActual() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacion == null ? USUARIO_ANONIMO : autenticacion.getName();
+    }
+}
@@ -0,0 +1,357 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.dto.ClaveRespuestaVerdaderoFalso;
+import com.midominio.group.app.spring.dto.EnunciadoPregunta;
+import com.midominio.group.app.spring.dto.ExamenCronometradoResponse;
+import com.midominio.group.app.spring.dto.TematicaPregunta;
+import com.midominio.group.app.spring.entity.EstadoExamen;
+import com.midominio.group.app.spring.entity.ExamenCronometrado;
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.examenes.ExamenesProperties;
+import com.midominio.group.app.spring.examenes.TemporizadorExamenes;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.recalificacion.ClavesRespuesta;
+import com.midominio.group.app.spring.recalificacion.Entrega;
+import com.midominio.group.app.spring.recalificacion.MotorRecalificacion;
+import com.midominio.group.app.spring.recalificacion.ResultadoEntrega;
+import com.midominio.group.app.spring.repository.ExamenCronometradoRepository;
+import com.midominio.group.app.spring.repository.PreguntaRepository;
+import com.midominio.group.app.spring.repository.PreguntaVerdaderoFalsoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service de exámenes cronometrados de preguntas Verdadero/Falso.
+ * 
+ * - iniciar() elige las preguntas al azar, guarda el examen con su fecha límite y programa
+ *   su entrega automática en TemporizadorExamenes
+ * - responder() guarda cada respuesta mientras quede tiempo; después, HTTP 409
+ * - entregar() califica el examen a petición del alumno; entregarVencidos() califica por lotes
+ *   los que ha entregado el temporizador
+ * 
+ * La calificación usa la misma lógica que la recalificación masiva: las claves V/F de las preguntas
+ * del lote se cargan en una ClavesRespuesta (una consulta por fragmento) y cada examen se califica
+ * con MotorRecalificacion.calificar(). Las preguntas sin responder cuentan como falladas;
+ * las eliminadas durante el examen no cuentan.
+ * 
+ * Los puntos de cada examen calificado se suman a las clasificaciones del alumno por temática
+ * (ClasificacionService), tras el commit.
+ * 
+ * Los exámenes viven en el fragmento 0 (las preguntas pueden estar repartidas, ver Fragmentos).
+ * 
+ * Usado en:
+ * - ExamenController (API REST /api/examenes)
+ * - TemporizadorExamenes (entrega automática)
+ * 
+ * Excepciones lanzadas:
+ * - RecursoNoEncontradoException: examen inexistente o de otro usuario, o pregunta que no es del examen
+ * - DatosInvalidosException: cantidad, duración o respuesta inválidas
+ * - IllegalStateException: responder o entregar un examen ya entregado o sin tiempo
+ */
+@Service
+@Transactional
+public class ExamenService {
+    
+    private static final int FRAGMENTO_EXAMENES = 0;
+    private static final String USUARIO_ANONIMO = "anonimo";
+    
+    @Autowired
+    private ExamenCronometradoRepository repository;
+    
+    @Autowired
+    private PreguntaVerdaderoFalsoService verdaderoFalsoService;
+    
+    @Autowired
+    private PreguntaVerdaderoFalsoRepository verdaderoFalsoRepository;
+    
+    @Autowired
+    private PreguntaRepository preguntaRepository;
+    
+    @Autowired
+    private TemporizadorExamenes temporizador;
+    
+    @Autowired
+    private ClasificacionService clasificacionService;
+    
+    @Autowired
+    private ExamenesProperties propiedades;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    /**
+     * Inicia un examen cronometrado para el usuario autenticado
+     * 
+     * Usado en:
+     * - API REST POST /api/examenes?cantidad=20&minutos=30
+     * 
+     * @param cantidad número de preguntas (entre 1 y 50)
+     * @param minutos duración del examen (entre 1 y app.examenes.duracion-maxima)
+     * @return el examen en curso con los enunciados de sus preguntas
+     * @throws DatosInvalidosException si la cantidad o la duración están fuera de rango
+     * @throws IllegalStateException si no hay preguntas V/F activas
+     */
+    public ExamenCronometradoResponse iniciar(Integer cantidad, Integer minutos) {
+        if (minutos == null || minutos < 1 || minutos > propiedades.duracionMaxima().toMinutes()) {
+            throw new DatosInvalidosException(
+                "minutos",
+                "La duración del examen debe estar entre 1 y " + propiedades.duracionMaxima().toMinutes() + " minutos"
+            );
+        }
+        fragmentos.fijar(FRAGMENTO_EXAMENES);
+        List<PreguntaVerdaderoFalso> preguntas = verdaderoFalsoService.generarTestAleatorio(cantidad);
+        if (preguntas.isEmpty()) {
+            throw new IllegalStateException("No hay preguntas Verdadero/Falso activas para el examen");
+        }
+        
+        List<Long> ids = new ArrayList<>(preguntas.size());
+        List<EnunciadoPregunta> enunciados = new ArrayList<>(preguntas.size());
+        for (PreguntaVerdaderoFalso pregunta : preguntas) {
+            ids.add(pregunta.getId());
+            enunciados.add(new EnunciadoPregunta(pregunta.getId(), pregunta.getEnunciado()));
+        }
+        // Milisegundos exactos: la fecha límite persistida es el vencimiento del temporizador
+        LocalDateTime inicio = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        ExamenCronometrado examen = repository.save(new ExamenCronometrado(
+                usuarioActual(), ids, inicio, inicio.plus(Duration.ofMinutes(minutos))));
+        
+        temporizador.programar(examen.getId(), examen.getFechaLimite());
+        return aResponse(examen, enunciados);
+    }
+    
+    /**
+     * Obtiene un examen del usuario autenticado
+     * 
+     * Usado en:
+     * - API REST GET /api/examenes/{id}
+     * 
+     * @param id ID del examen
+     * @return el examen con sus respuestas (y su nota si ya se ha entregado)
+     * @throws RecursoNoEncontradoException si no existe o es de otro usuario
+     */
+    @Transactional(readOnly = true)
+    public ExamenCronometradoResponse obtener(Long id) {
+        fragmentos.fijar(FRAGMENTO_EXAMENES);
+        ExamenCronometrado examen = buscarDelUsuario(id);
+        return aResponse(examen, cargarEnunciados(examen.getIdsPregunta()));
+    }
+    
+    /**
+     * Guarda (o cambia) la respuesta a una pregunta de un examen en curso
+     * 
+     * Usado en:
+     * - API REST PUT /api/examenes/{id}/respuestas/{idPregunta}
+     * 
+     * @param id ID del examen
+     * @param idPregunta ID de la pregunta
+     * @param respuesta respuesta del usuario (true/false)
+     * @return el examen con la respuesta guardada
+     * @throws RecursoNoEncontradoException si el examen no existe, es de otro usuario
+     *         o la pregunta no forma parte de él
+     * @throws DatosInvalidosException si la respuesta es nula
+     * @throws IllegalStateException si el examen ya se ha entregado o se ha acabado el tiempo
+     */
+    public ExamenCronometradoResponse responder(Long id, Long idPregunta, Boolean respuesta) {
+        if (respuesta == null) {
+            throw new DatosInvalidosException("respuesta", "La respuesta del usuario no puede ser nula");
+        }
+        fragmentos.fijar(FRAGMENTO_EXAMENES);
+        ExamenCronometrado examen = buscarDelUsuario(id);
+        comprobarEnCurso(examen);
+        
+        int posicion = examen.posicionDe(idPregunta);
+        if (posicion < 0) {
+            throw new RecursoNoEncontradoException("Pregunta del examen", idPregunta);
+        }
+        examen.responder(posicion, respuesta);
+        // Flush inmediato: si la entrega automática se ha adelantado, el conflicto de versión es un 409
+        return aResponse(repository.saveAndFlush(examen), null);
+    }
+    
+    /**
+     * Entrega y califica un examen en curso a petición del alumno
+     * 
+     * Usado en:
+     * - API REST POST /api/examenes/{id}/entregar
+     * 
+     * @param id ID del examen
+     * @return el examen calificado
+     * @throws RecursoNoEncontradoException si no existe o es de otro usuario
+     * @throws IllegalStateException si ya se ha entregado o se ha acabado el tiempo
+     *         (en ese caso lo entrega el temporizador)
+     */
+    public ExamenCronometradoResponse entregar(Long id) {
+        fragmentos.fijar(FRAGMENTO_EXAMENES);
+        ExamenCronometrado examen = buscarDelUsuario(id);
+        comprobarEnCurso(examen);
+        
+        calificar(List.of(examen), EstadoExamen.ENTREGADO, LocalDateTime.now());
+        ExamenCronometradoResponse entregado = aResponse(repository.saveAndFlush(examen), null);
+        // Se cancela en afterCommit (ver TemporizadorExamenes.cancelar()): si la entrega se revierte,
+        // p. ej. por un conflicto de versión con la automática, el temporizador sigue programado
+        temporizador.cancelar(id);
+        return entregado;
+    }
+    
+    /**
+     * Entrega y califica por lotes los exámenes cuyo tiempo ha terminado
+     * Los que ya se han entregado o aún tienen tiempo se ignoran.
+     * 
+     * Usado en:
+     * - TemporizadorExamenes (hilo de entregas)
+     * 
+     * @param ids IDs de los exámenes vencidos
+     * @return número de exámenes entregados
+     */
+    public int entregarVencidos(Collection<Long> ids) {
+        fragmentos.fijar(FRAGMENTO_EXAMENES);
+        LocalDateTime ahora = LocalDateTime.now();
+        List<ExamenCronometrado> examenes = repository.findVencidos(ids, EstadoExamen.EN_CURSO, ahora);
+        if (examenes.isEmpty()) {
+            return 0;
+        }
+        calificar(examenes, EstadoExamen.ENTREGADO_AUTOMATICAMENTE, ahora);
+        return examenes.size();
+    }
+    
+    /**
+     * Califica los exámenes con las claves de todas sus preguntas, cargadas una sola vez
+     */
+    private void calificar(List<ExamenCronometrado> examenes, EstadoExamen estadoFinal, LocalDateTime fecha) {
+        Set<Long> idsPregunta = new LinkedHashSet<>();
+        examenes.forEach(examen -> idsPregunta.addAll(examen.getIdsPregunta()));
+        ClavesRespuesta claves = cargarClaves(idsPregunta);
+        
+        Map<Long, String> tematicas = null;
+        for (ExamenCronometrado examen : examenes) {
+            long[] ids = examen.getIdsPregunta().stream().mapToLong(Long::longValue).toArray();
+            long[] respuestas = examen.respuestasCodificadas();
+            ResultadoEntrega resultado = MotorRecalificacion.calificar(claves,
+                    new Entrega(examen.getId(), examen.getUsuario(), ids, respuestas));
+            examen.entregar(estadoFinal, resultado.correctas(), resultado.total(), resultado.puntuacion(), fecha);
+            
+            if (resultado.correctas() > 0) {
+                if (tematicas == null) {
+                    tematicas = cargarTematicas(idsPregunta);
+                }
+                clasificacionService.registrar(examen.getUsuario(),
+                        puntuacionesPorTematica(claves, tematicas, ids, respuestas));
+            }
+        }
+    }
+    
+    /**
+     * Suma de las puntuaciones de un examen por temática de sus preguntas
+     */
+    private static Map<String, Double> puntuacionesPorTematica(ClavesRespuesta claves, Map<Long, String> tematicas,
+            long[] ids, long[] respuestas) {
+        Map<String, Double> puntuaciones = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            double puntuacion = claves.calificar(ids[i], respuestas[i]);
+            String tematica = tematicas.get(ids[i]);
+            if (puntuacion > 0 && tematica != null) {
+                puntuaciones.merge(tematica, puntuacion, Double::sum);
+            }
+        }
+        return puntuaciones;
+    }
+    
+    /**
+     * Claves V/F de las preguntas indicadas, de sus fragmentos en paralelo
+     */
+    private ClavesRespuesta cargarClaves(Collection<Long> ids) {
+        Map<Integer, List<Long>> grupos = fragmentos.agruparPorId(ids);
+        ClavesRespuesta.Builder claves = ClavesRespuesta.builder(ids.size());
+        fragmentos.enTodos(fragmento -> grupos.containsKey(fragmento)
+                ? verdaderoFalsoRepository.findClaves(grupos.get(fragmento))
+                : List.<ClaveRespuestaVerdaderoFalso>of())
+            .forEach(lista -> lista.forEach(clave -> claves.anadir(
+                    clave.id(), ClavesRespuesta.VERDADERO_FALSO, clave.respuestaCorrecta() ? 1L : 0L)));
+        return claves.build();
+    }
+    
+    /**
+     * Temáticas de las preguntas indicadas, de sus fragmentos en paralelo
+     */
+    private Map<Long, String> cargarTematicas(Collection<Long> ids) {
+        Map<Integer, List<Long>> grupos = fragmentos.agruparPorId(ids);
+        Map<Long, String> tematicas = new HashMap<>(ids.size() * 2);
+        fragmentos.enTodos(fragmento -> grupos.containsKey(fragmento)
+                ? preguntaRepository.findTematicas(grupos.get(fragmento))
+                : List.<TematicaPregunta>of())
+            .forEach(lista -> lista.forEach(tematica -> tematicas.put(tematica.id(), tematica.tematica())));
+        return tematicas;
+    }
+    
+    /**
+     * Enunciados de las preguntas indicadas, en el mismo orden (las eliminadas se omiten)
+     */
+    private List<EnunciadoPregunta> cargarEnunciados(List<Long> ids) {
+        Map<Integer, List<Long>> grupos = fragmentos.agruparPorId(ids);
+        Map<Long, EnunciadoPregunta> porId = new HashMap<>();
+        fragmentos.enTodos(fragmento -> grupos.containsKey(fragmento)
+                ? preguntaRepository.findEnunciados(grupos.get(fragmento))
+                : List.<EnunciadoPregunta>of())
+            .forEach(lista -> lista.forEach(enunciado -> porId.put(enunciado.id(), enunciado)));
+        
+        List<EnunciadoPregunta> enunciados = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EnunciadoPregunta enunciado = porId.get(id);
+            if (enunciado != null) {
+                enunciados.add(enunciado);
+            }
+        }
+        return enunciados;
+    }
+    
+    /**
+     * Busca un examen del usuario autenticado (los de otros usuarios no existen para él)
+     */
+    private ExamenCronometrado buscarDelUsuario(Long id) {
+        if (id == null || id <= 0) {
+            throw new DatosInvalidosException("id", "El ID debe ser un número positivo");
+        }
+        return repository.findById(id)
+            .filter(examen -> examen.getUsuario().equals(usuarioActual()))
+            .orElseThrow(() -> new RecursoNoEncontradoException("Examen", id));
+    }
+    
+    private void comprobarEnCurso(ExamenCronometrado examen) {
+        if (examen.getEstado().esFinal()) {
+            throw new IllegalStateException("El examen con ID " + examen.getId() + " ya se ha entregado");
+        }
+        if (examen.vencido(LocalDateTime.now())) {
+            throw new IllegalStateException("El tiempo del examen con ID " + examen.getId() + " ha terminado");
+        }
+    }
+    
+    /**
+     * @param enunciados enunciados de las preguntas, o null para no incluirlos
+     */
+    private ExamenCronometradoResponse aResponse(ExamenCronometrado examen, List<EnunciadoPregunta> enunciados) {
+        return new ExamenCronometradoResponse(examen.getId(), examen.getEstado(), examen.getFechaInicio(),
+                examen.getFechaLimite(), examen.getFechaEntrega(), enunciados, examen.getRespuestas(),
+                examen.getCorrectas(), examen.getTotal(), examen.getPuntuacion());
+    }
+    
+    private String usuarioActual() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacion == null ? USUARIO_ANONIMO : autenticacion.getName();
+    }
+}
@@ -0,0 +1,251 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.dto.ResultadoValidacionResponse;
+import com.midominio.group.app.spring.dto.SiguientePracticaResponse;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.practica.CatalogoPractica;
+import com.midominio.group.app.spring.practica.MonticuloPractica;
+import com.midominio.group.app.spring.practica.PlanificadorPractica;
+import com.midominio.group.app.spring.practica.PracticaProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service del modo práctica: repaso espaciado de preguntas Verdadero/Falso por temática.
+ * 
+ * La decisión de qué pregunta toca se toma en memoria (PlanificadorPractica), sin consultar la BD:
+ * - Candidatas: IDs de las preguntas V/F activas de la temática (CatalogoPractica, desde el índice de metadatos)
+ * - Estado del usuario: un montículo con el siguiente repaso de cada pregunta que ha respondido,
+ *   cargado de estados_practica la primera vez que practica esa temática
+ * Después solo se lee el enunciado de la pregunta elegida, por clave primaria.
+ * 
+ * Las respuestas se validan como en /api/preguntas/verdadero-falso/{id}/validar (cuentan para
+ * estadísticas y eventos) y el nuevo estado de repaso se guarda por lotes con volcar(),
+ * como mucho app.practica.intervalo-volcado después. Un estado solo se desaloja de memoria
+ * cuando no le quedan cambios por guardar.
+ * 
+ * Los estados viven en el fragmento 0 (las preguntas pueden estar repartidas, ver Fragmentos).
+ * 
+ * Usado en:
+ * - PracticaController (API REST /api/practica)
+ * 
+ * Excepciones lanzadas:
+ * - DatosInvalidosException: temática vacía, respuesta nula o pregunta que no es de la temática
+ * - RecursoNoEncontradoException: temática sin preguntas V/F activas
+ */
+@Service
+@EnableConfigurationProperties(PracticaProperties.class)
+public class PracticaService {
+    
+    private static final Logger log = LoggerFactory.getLogger(PracticaService.class);
+    
+    private static final int FRAGMENTO_ESTADOS = 0;
+    private static final String USUARIO_ANONIMO = "anonimo";
+    
+    private static final String CARGAR =
+            "SELECT pregunta_id, vencimiento, datos FROM estados_practica WHERE usuario = ? AND tematica = ?";
+    private static final String ACTUALIZAR =
+            "UPDATE estados_practica SET vencimiento = ?, datos = ? WHERE usuario = ? AND tematica = ? AND pregunta_id = ?";
+    private static final String INSERTAR =
+            "INSERT INTO estados_practica (usuario, tematica, pregunta_id, vencimiento, datos) VALUES (?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private CatalogoPractica catalogo;
+    
+    @Autowired
+    private PreguntaVerdaderoFalsoService verdaderoFalsoService;
+    
+    @Autowired
+    private PracticaProperties propiedades;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaccion;
+    private PlanificadorPractica planificador;
+    
+    public PracticaService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaccion = new TransactionTemplate(transactionManager);
+    }
+    
+    @PostConstruct
+    void crearPlanificador() {
+        planificador = new PlanificadorPractica(this::cargar, propiedades.maxEstados());
+    }
+    
+    /**
+     * Siguiente pregunta que debe practicar el usuario autenticado en una temática:
+     * la de repaso más atrasado, si no una que no haya visto, y si no la de repaso más próximo
+     * 
+     * Usado en:
+     * - API REST GET /api/practica/siguiente?tematica=Java
+     * 
+     * @param tematica temática (sin distinguir mayúsculas ni espacios extremos)
+     * @return la pregunta con su enunciado
+     * @throws DatosInvalidosException si la temática está vacía
+     * @throws RecursoNoEncontradoException si la temática no tiene preguntas V/F activas
+     */
+    public SiguientePracticaResponse siguiente(String tematica) {
+        String normalizada = normalizar(tematica);
+        PlanificadorPractica.Candidatas candidatas = candidatas(tematica, normalizada);
+        
+        long ahora = System.currentTimeMillis();
+        PlanificadorPractica.Seleccion seleccion = planificador.siguiente(usuarioActual(), normalizada, candidatas, ahora);
+        String enunciado = verdaderoFalsoService.obtenerPorId(seleccion.idPregunta()).getEnunciado();
+        return new SiguientePracticaResponse(seleccion.idPregunta(), enunciado, seleccion.nueva(),
+                seleccion.nueva() ? null : aFecha(seleccion.vencimiento()));
+    }
+    
+    /**
+     * Valida la respuesta del usuario autenticado y reprograma el repaso de la pregunta
+     * (una fallada vuelve al minuto; cada acierto seguido alarga el intervalo)
+     * 
+     * Usado en:
+     * - API REST POST /api/practica/{idPregunta}/validar?tematica=Java
+     * 
+     * @param tematica temática en la que practica
+     * @param idPregunta pregunta respondida
+     * @param respuesta respuesta del usuario
+     * @return si la respuesta es correcta
+     * @throws DatosInvalidosException si la temática está vacía o la pregunta no es una candidata de ella
+     * @throws RecursoNoEncontradoException si la temática no tiene preguntas V/F activas
+     */
+    public ResultadoValidacionResponse responder(String tematica, Long idPregunta, Boolean respuesta) {
+        String normalizada = normalizar(tematica);
+        PlanificadorPractica.Candidatas candidatas = candidatas(tematica, normalizada);
+        if (idPregunta == null || !candidatas.contiene(idPregunta)) {
+            throw new DatosInvalidosException(
+                "idPregunta",
+                "La pregunta " + idPregunta + " no es una pregunta Verdadero/Falso activa de la temática " + tematica
+            );
+        }
+        
+        boolean correcta = verdaderoFalsoService.validarRespuesta(idPregunta, respuesta);
+        long ahora = System.currentTimeMillis();
+        planificador.registrar(usuarioActual(), normalizada, idPregunta, correcta, ahora);
+        return new ResultadoValidacionResponse(idPregunta, correcta);
+    }
+    
+    /**
+     * Guarda los estados de repaso pendientes, por lotes de app.practica.tamano-lote
+     * (UPDATE por lotes y, para las preguntas que el usuario aún no tenía, INSERT por lotes)
+     * Si un lote falla, vuelve a la cola para el siguiente intento
+     */
+    @Scheduled(fixedDelayString = "${app.practica.intervalo-volcado:5s}")
+    public void volcar() {
+        List<PlanificadorPractica.Cambio> lote;
+        while (!(lote = planificador.drenar(propiedades.tamanoLote())).isEmpty()) {
+            List<PlanificadorPractica.Cambio> guardados = lote;
+            try {
+                transaccion.executeWithoutResult(estado -> guardar(guardados));
+            } catch (RuntimeException e) {
+                planificador.restaurar(guardados);
+                log.warn("Volcado de estados de práctica fallido ({} respuestas); se reintentará", guardados.size(), e);
+                return;
+            }
+            planificador.confirmar(guardados);
+        }
+    }
+    
+    /**
+     * Desaloja de memoria los estados sin uso desde hace app.practica.inactividad-desalojo
+     * (app.practica.periodo-desalojo, por defecto 60 s)
+     */
+    @Scheduled(fixedDelayString = "${app.practica.periodo-desalojo:60s}")
+    public void desalojoPeriodico() {
+        int desalojados = planificador.desalojarInactivos(
+                System.currentTimeMillis() - propiedades.inactividadDesalojo().toMillis());
+        if (desalojados > 0) {
+            log.debug("Estados de práctica desalojados: {} (quedan {})", desalojados, planificador.tamano());
+        }
+    }
+    
+    @PreDestroy
+    public void detener() {
+        volcar();
+    }
+    
+    private void guardar(List<PlanificadorPractica.Cambio> lote) {
+        fragmentos.fijar(FRAGMENTO_ESTADOS);
+        int[][] actualizadas = jdbcTemplate.batchUpdate(ACTUALIZAR, lote, lote.size(), (ps, cambio) -> {
+            ps.setLong(1, cambio.vencimiento());
+            ps.setLong(2, cambio.datos());
+            ps.setString(3, cambio.usuario());
+            ps.setString(4, cambio.tematica());
+            ps.setLong(5, cambio.idPregunta());
+        });
+        List<PlanificadorPractica.Cambio> nuevas = new ArrayList<>();
+        for (int i = 0; i < lote.size(); i++) {
+            if (actualizadas[0][i] == 0) {
+                nuevas.add(lote.get(i));
+            }
+        }
+        if (!nuevas.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERTAR, nuevas, nuevas.size(), (ps, cambio) -> {
+                ps.setString(1, cambio.usuario());
+                ps.setString(2, cambio.tematica());
+                ps.setLong(3, cambio.idPregunta());
+                ps.setLong(4, cambio.vencimiento());
+                ps.setLong(5, cambio.datos());
+            });
+        }
+    }
+    
+    /**
+     * Carga el estado guardado de un usuario (PlanificadorPractica.Carga)
+     */
+    private void cargar(String usuario, String tematica, MonticuloPractica destino) {
+        fragmentos.enFragmento(FRAGMENTO_ESTADOS, () -> {
+            jdbcTemplate.query(CARGAR, fila -> {
+                destino.fijar(fila.getLong(1), fila.getLong(2), fila.getLong(3));
+            }, usuario, tematica);
+            return null;
+        });
+    }
+    
+    private PlanificadorPractica.Candidatas candidatas(String tematica, String normalizada) {
+        PlanificadorPractica.Candidatas candidatas = catalogo.candidatas(normalizada);
+        if (candidatas.ids().length == 0) {
+            throw new RecursoNoEncontradoException("Temática", tematica,
+                    "No hay preguntas Verdadero/Falso activas en la temática: " + tematica);
+        }
+        return candidatas;
+    }
+    
+    private static String normalizar(String tematica) {
+        if (tematica == null || tematica.isBlank()) {
+            throw new DatosInvalidosException("tematica", "La temática es obligatoria");
+        }
+        return CatalogoPractica.normalizar(tematica);
+    }
+    
+    private static LocalDateTime aFecha(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+    
+    private String usuarioActual() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacion == null ? USUARIO_ANONIMO : autenticacion.getName();
+    }
+}
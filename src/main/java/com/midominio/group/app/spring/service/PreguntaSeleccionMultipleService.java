@@ -0,0 +1,258 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.dto.ActualizacionSeleccionRequest;
+import com.midominio.group.app.spring.dto.ClaveRespuestaSeleccion;
+import com.midominio.group.app.spring.entity.MascaraOpciones;
+import com.midominio.group.app.spring.entity.PreguntaSeleccionMultiple;
+import com.midominio.group.app.spring.exception.ConflictoVersionException;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import com.midominio.group.app.spring.repository.PreguntaSeleccionMultipleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service específico para preguntas de tipo Selección Múltiple.
+ * Solo contiene métodos que son exclusivos de este tipo de pregunta.
+ * 
+ * Hereda de:
+ * - AbstractPreguntaService<PreguntaSeleccionMultiple> para funcionalidades comunes
+ * 
+ * La corrección lee solo la clave de respuesta (estado, número de opciones y máscara):
+ * - Respuesta exacta: (elegidas XOR correctas) == 0
+ * - Puntuación parcial: popcount(elegidas AND correctas) - popcount(elegidas AND NOT correctas)
+ * 
+ * Usado en:
+ * - PreguntaSeleccionMultipleController (API REST) para operaciones CRUD específicas
+ * - TestService para validación y puntuación de respuestas en evaluaciones
+ * 
+ * Excepciones lanzadas:
+ * - RecursoNoEncontradoException: cuando no existe una pregunta con el ID solicitado
+ * - DatosInvalidosException: cuando los datos de entrada no cumplen las validaciones
+ * - IllegalStateException: cuando se intenta usar una pregunta inactiva
+ */
+@Service
+@Transactional
+public class PreguntaSeleccionMultipleService extends AbstractPreguntaService<PreguntaSeleccionMultiple> {
+    
+    @Autowired
+    private PreguntaSeleccionMultipleRepository repository;
+    
+    @Override
+    protected JpaRepository<PreguntaSeleccionMultiple, Long> getRepository() {
+        return repository;
+    }
+    
+    @Override
+    protected Class<PreguntaSeleccionMultiple> getTipoEntidad() {
+        return PreguntaSeleccionMultiple.class;
+    }
+    
+    /**
+     * Crea una nueva pregunta de tipo Selección Múltiple
+     * 
+     * Usado en: 
+     * - API REST POST /api/preguntas/seleccion-multiple
+     * 
+     * @param pregunta objeto con los datos de la nueva pregunta
+     * @return la pregunta guardada con su ID generado
+     * @throws DatosInvalidosException si los datos de entrada son inválidos
+     */
+    public PreguntaSeleccionMultiple crear(PreguntaSeleccionMultiple pregunta) {
+        validarDatosPregunta(pregunta);
+        
+        comprobarDuplicados(pregunta.getEnunciado(), null);
+        
+        if (pregunta.getActiva() == null) {
+            pregunta.setActiva(true);
+        }
+        
+        usarFragmentoDeTematica(pregunta.getTematica());
+        return registrarEnunciado(repository.save(pregunta));
+    }
+    
+    /**
+     * Actualiza una pregunta de tipo Selección Múltiple existente
+     * 
+     * Usado en: 
+     * - API REST PUT /api/preguntas/seleccion-multiple/{id}
+     * 
+     * @param id identificador de la pregunta a actualizar
+     * @param preguntaActualizada datos actualizados
+     * @return la pregunta actualizada
+     * @throws RecursoNoEncontradoException si no existe la pregunta con ese ID
+     * @throws IllegalStateException si la pregunta está archivada (409: hay que restaurarla antes)
+     * @throws DatosInvalidosException si los datos de entrada son inválidos
+     */
+    public PreguntaSeleccionMultiple actualizar(Long id, PreguntaSeleccionMultiple preguntaActualizada) {
+        validarIdPositivo(id);
+        usarFragmentoDe(id);
+        validarDatosPregunta(preguntaActualizada);
+        comprobarDuplicados(preguntaActualizada.getEnunciado(), id);
+        
+        PreguntaSeleccionMultiple preguntaExistente = obtenerParaModificar(id, "Pregunta Selección Múltiple");
+        
+        preguntaExistente.setEnunciado(preguntaActualizada.getEnunciado());
+        preguntaExistente.setTematica(preguntaActualizada.getTematica());
+        preguntaExistente.setActiva(preguntaActualizada.getActiva());
+        preguntaExistente.setOpciones(preguntaActualizada.getOpciones());
+        preguntaExistente.setMascaraCorrecta(preguntaActualizada.getMascaraCorrecta());
+        preguntaExistente.setExplicacion(preguntaActualizada.getExplicacion());
+        
+        return registrarEnunciado(repository.save(preguntaExistente));
+    }
+    
+    /**
+     * Actualiza solo los campos enviados de una pregunta de Selección Múltiple (PATCH)
+     * Mismo comportamiento que PreguntaVerdaderoFalsoService.actualizarParcial():
+     * bloqueo optimista, UPDATE solo de columnas modificadas y sin escritura si nada cambia
+     * 
+     * Usado en: 
+     * - API REST PATCH /api/preguntas/seleccion-multiple/{id}
+     * 
+     * @param id identificador de la pregunta a actualizar
+     * @param cambios versión leída y campos a modificar (null = sin cambios)
+     * @return la pregunta actualizada (con su nueva versión)
+     * @throws RecursoNoEncontradoException si no existe la pregunta con ese ID
+     * @throws IllegalStateException si la pregunta está archivada (409: hay que restaurarla antes)
+     * @throws DatosInvalidosException si algún valor nuevo es inválido o falta la versión
+     * @throws ConflictoVersionException si la versión no es la actual
+     */
+    public PreguntaSeleccionMultiple actualizarParcial(Long id, ActualizacionSeleccionRequest cambios) {
+        validarIdPositivo(id);
+        usarFragmentoDe(id);
+        validarNoNulo(cambios, "Cambios");
+        
+        PreguntaSeleccionMultiple pregunta = obtenerParaModificar(id, "Pregunta Selección Múltiple");
+        comprobarVersion(pregunta, cambios.version());
+        
+        boolean modificada = aplicarCambiosComunes(pregunta, cambios.enunciado(), cambios.tematica(), cambios.activa());
+        
+        // Opciones y máscara se validan juntas (la máscara depende del número de opciones)
+        boolean cambianOpciones = cambia(cambios.opciones(), pregunta.getOpciones());
+        boolean cambiaMascara = cambia(cambios.mascaraCorrecta(), pregunta.getMascaraCorrecta());
+        if (cambianOpciones || cambiaMascara) {
+            if (cambianOpciones) {
+                validarOpciones(cambios.opciones());
+            }
+            int numeroOpciones = cambianOpciones ? cambios.opciones().size() : pregunta.getNumeroOpciones();
+            Long mascara = cambiaMascara ? cambios.mascaraCorrecta() : pregunta.getMascaraCorrecta();
+            validarMascaraCorrecta(mascara, numeroOpciones);
+            
+            if (cambianOpciones) {
+                pregunta.setOpciones(cambios.opciones());
+            }
+            pregunta.setMascaraCorrecta(mascara);
+            modificada = true;
+        }
+        if (cambia(cambios.explicacion(), pregunta.getExplicacion())) {
+            validarExplicacion(cambios.explicacion());
+            pregunta.setExplicacion(cambios.explicacion());
+            modificada = true;
+        }
+        
+        if (!modificada) {
+            return pregunta;
+        }
+        return repository.saveAndFlush(pregunta);
+    }
+    
+    /**
+     * Valida si las opciones elegidas por un usuario son exactamente las correctas
+     * 
+     * Usado en: 
+     * - API REST POST /api/preguntas/seleccion-multiple/{id}/validar
+     * - TestService al procesar respuestas de evaluaciones
+     * 
+     * @param idPregunta ID de la pregunta
+     * @param opcionesElegidas índices de las opciones elegidas
+     * @return true si la respuesta es exacta, false en otro caso
+     * @throws RecursoNoEncontradoException si no existe la pregunta
+     * @throws DatosInvalidosException si los parámetros son inválidos
+     * @throws IllegalStateException si la pregunta está inactiva
+     */
+    public boolean validarRespuesta(Long idPregunta, List<Long> opcionesElegidas) {
+        ClaveRespuestaSeleccion clave = obtenerClaveActiva(idPregunta, opcionesElegidas);
+        long elegidas = convertirAMascara(opcionesElegidas, clave.numeroOpciones());
+        boolean correcta = (elegidas ^ clave.mascaraCorrecta()) == 0L;
+        registrarIntento(idPregunta, clave.tematica(), "SELECCION_MULTIPLE", elegidas, correcta ? 1.0 : 0.0);
+        return correcta;
+    }
+    
+    /**
+     * Calcula la puntuación parcial de una respuesta en [0, 1]
+     * Cada opción correcta elegida suma y cada opción incorrecta elegida resta
+     * 
+     * Usado en:
+     * - API REST POST /api/preguntas/seleccion-multiple/{id}/validar
+     * - TestService para evaluaciones con puntuación parcial
+     * 
+     * @param idPregunta ID de la pregunta
+     * @param opcionesElegidas índices de las opciones elegidas
+     * @return puntuación entre 0.0 y 1.0
+     * @throws RecursoNoEncontradoException si no existe la pregunta
+     * @throws DatosInvalidosException si los parámetros son inválidos
+     * @throws IllegalStateException si la pregunta está inactiva
+     */
+    public double calcularPuntuacion(Long idPregunta, List<Long> opcionesElegidas) {
+        ClaveRespuestaSeleccion clave = obtenerClaveActiva(idPregunta, opcionesElegidas);
+        long elegidas = convertirAMascara(opcionesElegidas, clave.numeroOpciones());
+        double puntuacion = MascaraOpciones.puntuacionParcial(elegidas, clave.mascaraCorrecta());
+        registrarIntento(idPregunta, clave.tematica(), "SELECCION_MULTIPLE", elegidas, puntuacion);
+        return puntuacion;
+    }
+    
+    /**
+     * Obtiene una pregunta por ID con validación
+     * 
+     * @param id identificador de la pregunta
+     * @return la pregunta encontrada
+     * @throws RecursoNoEncontradoException si no existe
+     * @throws DatosInvalidosException si el ID es inválido
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PreguntaSeleccionMultiple obtenerPorId(Long id) {
+        return super.obtenerPorId(id);
+    }
+    
+    /**
+     * Valida los parámetros y obtiene la clave de respuesta de una pregunta activa
+     * 
+     * Llamado desde:
+     * - validarRespuesta()
+     * - calcularPuntuacion()
+     */
+    private ClaveRespuestaSeleccion obtenerClaveActiva(Long idPregunta, List<Long> opcionesElegidas) {
+        validarIdPositivo(idPregunta);
+        usarFragmentoDe(idPregunta);
+        validarRespuestaUsuario(opcionesElegidas);
+        
+        ClaveRespuestaSeleccion clave = repository.findClaveRespuesta(idPregunta)
+            .orElseThrow(() -> new RecursoNoEncontradoException("Pregunta Selección Múltiple", idPregunta));
+        
+        validarEstadoActivo(clave.activa(), idPregunta);
+        return clave;
+    }
+    
+    /**
+     * Valida datos específicos de una pregunta de Selección Múltiple
+     * Valida: enunciado, opciones, respuestas correctas, temática y explicación
+     * 
+     * @param pregunta pregunta a validar
+     * @throws DatosInvalidosException si los datos son inválidos
+     */
+    private void validarDatosPregunta(PreguntaSeleccionMultiple pregunta) {
+        validarNoNulo(pregunta, "Pregunta");
+        validarEnunciado(pregunta.getEnunciado());
+        validarOpciones(pregunta.getOpciones());
+        validarMascaraCorrecta(pregunta.getMascaraCorrecta(), pregunta.getOpciones().size());
+        validarTematica(pregunta.getTematica());
+        validarExplicacion(pregunta.getExplicacion());
+    }
+}
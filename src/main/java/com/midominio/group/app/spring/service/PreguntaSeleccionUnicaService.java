@@ -0,0 +1,236 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.dto.ActualizacionSeleccionRequest;
+import com.midominio.group.app.spring.dto.ClaveRespuestaSeleccion;
+import com.midominio.group.app.spring.entity.PreguntaSeleccionUnica;
+import com.midominio.group.app.spring.exception.ConflictoVersionException;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import com.midominio.group.app.spring.repository.PreguntaSeleccionUnicaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service específico para preguntas de tipo Selección Única.
+ * Solo contiene métodos que son exclusivos de este tipo de pregunta.
+ * 
+ * Hereda de:
+ * - AbstractPreguntaService<PreguntaSeleccionUnica> para funcionalidades comunes
+ * 
+ * La corrección lee solo la clave de respuesta (estado, número de opciones y máscara)
+ * y compara máscaras de bits, sin cargar la entidad ni sus opciones.
+ * 
+ * Usado en:
+ * - PreguntaSeleccionUnicaController (API REST) para operaciones CRUD específicas
+ * - TestService para validación de respuestas en evaluaciones
+ * 
+ * Excepciones lanzadas:
+ * - RecursoNoEncontradoException: cuando no existe una pregunta con el ID solicitado
+ * - DatosInvalidosException: cuando los datos de entrada no cumplen las validaciones
+ * - IllegalStateException: cuando se intenta usar una pregunta inactiva
+ */
+@Service
+@Transactional
+public class PreguntaSeleccionUnicaService extends AbstractPreguntaService<PreguntaSeleccionUnica> {
+    
+    @Autowired
+    private PreguntaSeleccionUnicaRepository repository;
+    
+    @Override
+    protected JpaRepository<PreguntaSeleccionUnica, Long> getRepository() {
+        return repository;
+    }
+    
+    @Override
+    protected Class<PreguntaSeleccionUnica> getTipoEntidad() {
+        return PreguntaSeleccionUnica.class;
+    }
+    
+    /**
+     * Crea una nueva pregunta de tipo Selección Única
+     * 
+     * Usado en: 
+     * - API REST POST /api/preguntas/seleccion-unica
+     * 
+     * @param pregunta objeto con los datos de la nueva pregunta
+     * @return la pregunta guardada con su ID generado
+     * @throws DatosInvalidosException si los datos de entrada son inválidos
+     */
+    public PreguntaSeleccionUnica crear(PreguntaSeleccionUnica pregunta) {
+        validarDatosPregunta(pregunta);
+        
+        comprobarDuplicados(pregunta.getEnunciado(), null);
+        
+        if (pregunta.getActiva() == null) {
+            pregunta.setActiva(true);
+        }
+        
+        usarFragmentoDeTematica(pregunta.getTematica());
+        return registrarEnunciado(repository.save(pregunta));
+    }
+    
+    /**
+     * Actualiza una pregunta de tipo Selección Única existente
+     * 
+     * Usado en: 
+     * - API REST PUT /api/preguntas/seleccion-unica/{id}
+     * 
+     * @param id identificador de la pregunta a actualizar
+     * @param preguntaActualizada datos actualizados
+     * @return la pregunta actualizada
+     * @throws RecursoNoEncontradoException si no existe la pregunta con ese ID
+     * @throws IllegalStateException si la pregunta está archivada (409: hay que restaurarla antes)
+     * @throws DatosInvalidosException si los datos de entrada son inválidos
+     */
+    public PreguntaSeleccionUnica actualizar(Long id, PreguntaSeleccionUnica preguntaActualizada) {
+        validarIdPositivo(id);
+        usarFragmentoDe(id);
+        validarDatosPregunta(preguntaActualizada);
+        comprobarDuplicados(preguntaActualizada.getEnunciado(), id);
+        
+        PreguntaSeleccionUnica preguntaExistente = obtenerParaModificar(id, "Pregunta Selección Única");
+        
+        preguntaExistente.setEnunciado(preguntaActualizada.getEnunciado());
+        preguntaExistente.setTematica(preguntaActualizada.getTematica());
+        preguntaExistente.setActiva(preguntaActualizada.getActiva());
+        preguntaExistente.setOpciones(preguntaActualizada.getOpciones());
+        preguntaExistente.setMascaraCorrecta(preguntaActualizada.getMascaraCorrecta());
+        preguntaExistente.setExplicacion(preguntaActualizada.getExplicacion());
+        
+        return registrarEnunciado(repository.save(preguntaExistente));
+    }
+    
+    /**
+     * Actualiza solo los campos enviados de una pregunta de Selección Única (PATCH)
+     * Mismo comportamiento que PreguntaVerdaderoFalsoService.actualizarParcial():
+     * bloqueo optimista, UPDATE solo de columnas modificadas y sin escritura si nada cambia
+     * 
+     * Usado en: 
+     * - API REST PATCH /api/preguntas/seleccion-unica/{id}
+     * 
+     * @param id identificador de la pregunta a actualizar
+     * @param cambios versión leída y campos a modificar (null = sin cambios)
+     * @return la pregunta actualizada (con su nueva versión)
+     * @throws RecursoNoEncontradoException si no existe la pregunta con ese ID
+     * @throws IllegalStateException si la pregunta está archivada (409: hay que restaurarla antes)
+     * @throws DatosInvalidosException si algún valor nuevo es inválido o falta la versión
+     * @throws ConflictoVersionException si la versión no es la actual
+     */
+    public PreguntaSeleccionUnica actualizarParcial(Long id, ActualizacionSeleccionRequest cambios) {
+        validarIdPositivo(id);
+        usarFragmentoDe(id);
+        validarNoNulo(cambios, "Cambios");
+        
+        PreguntaSeleccionUnica pregunta = obtenerParaModificar(id, "Pregunta Selección Única");
+        comprobarVersion(pregunta, cambios.version());
+        
+        boolean modificada = aplicarCambiosComunes(pregunta, cambios.enunciado(), cambios.tematica(), cambios.activa());
+        
+        // Opciones y máscara se validan juntas (la máscara depende del número de opciones)
+        boolean cambianOpciones = cambia(cambios.opciones(), pregunta.getOpciones());
+        boolean cambiaMascara = cambia(cambios.mascaraCorrecta(), pregunta.getMascaraCorrecta());
+        if (cambianOpciones || cambiaMascara) {
+            if (cambianOpciones) {
+                validarOpciones(cambios.opciones());
+            }
+            int numeroOpciones = cambianOpciones ? cambios.opciones().size() : pregunta.getNumeroOpciones();
+            Long mascara = cambiaMascara ? cambios.mascaraCorrecta() : pregunta.getMascaraCorrecta();
+            validarMascaraCorrecta(mascara, numeroOpciones);
+            if (Long.bitCount(mascara) != 1) {
+                throw new DatosInvalidosException(
+                    "mascaraCorrecta",
+                    "Una pregunta de selección única debe tener exactamente una opción correcta"
+                );
+            }
+            
+            if (cambianOpciones) {
+                pregunta.setOpciones(cambios.opciones());
+            }
+            pregunta.setMascaraCorrecta(mascara);
+            modificada = true;
+        }
+        if (cambia(cambios.explicacion(), pregunta.getExplicacion())) {
+            validarExplicacion(cambios.explicacion());
+            pregunta.setExplicacion(cambios.explicacion());
+            modificada = true;
+        }
+        
+        if (!modificada) {
+            return pregunta;
+        }
+        return repository.saveAndFlush(pregunta);
+    }
+    
+    /**
+     * Valida si la opción elegida por un usuario es la correcta
+     * 
+     * Usado en: 
+     * - API REST POST /api/preguntas/seleccion-unica/{id}/validar
+     * - TestService al procesar respuestas de evaluaciones
+     * 
+     * @param idPregunta ID de la pregunta
+     * @param opcionElegida índice de la opción elegida (0..numeroOpciones-1)
+     * @return true si la respuesta es correcta, false si es incorrecta
+     * @throws RecursoNoEncontradoException si no existe la pregunta
+     * @throws DatosInvalidosException si los parámetros son inválidos
+     * @throws IllegalStateException si la pregunta está inactiva
+     */
+    public boolean validarRespuesta(Long idPregunta, Long opcionElegida) {
+        validarIdPositivo(idPregunta);
+        usarFragmentoDe(idPregunta);
+        if (opcionElegida == null) {
+            throw new DatosInvalidosException("respuesta", "La respuesta no puede ser nula");
+        }
+        
+        ClaveRespuestaSeleccion clave = repository.findClaveRespuesta(idPregunta)
+            .orElseThrow(() -> new RecursoNoEncontradoException("Pregunta Selección Única", idPregunta));
+        
+        validarEstadoActivo(clave.activa(), idPregunta);
+        if (opcionElegida < 0 || opcionElegida >= clave.numeroOpciones()) {
+            throw new DatosInvalidosException("respuesta", "Opción fuera de rango: " + opcionElegida);
+        }
+        
+        boolean correcta = (1L << opcionElegida) == clave.mascaraCorrecta();
+        registrarIntento(idPregunta, clave.tematica(), "SELECCION_UNICA", 1L << opcionElegida, correcta ? 1.0 : 0.0);
+        return correcta;
+    }
+    
+    /**
+     * Obtiene una pregunta por ID con validación
+     * 
+     * @param id identificador de la pregunta
+     * @return la pregunta encontrada
+     * @throws RecursoNoEncontradoException si no existe
+     * @throws DatosInvalidosException si el ID es inválido
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PreguntaSeleccionUnica obtenerPorId(Long id) {
+        return super.obtenerPorId(id);
+    }
+    
+    /**
+     * Valida datos específicos de una pregunta de Selección Única
+     * Valida: enunciado, opciones, una única respuesta correcta, temática y explicación
+     * 
+     * @param pregunta pregunta a validar
+     * @throws DatosInvalidosException si los datos son inválidos
+     */
+    private void validarDatosPregunta(PreguntaSeleccionUnica pregunta) {
+        validarNoNulo(pregunta, "Pregunta");
+        validarEnunciado(pregunta.getEnunciado());
+        validarOpciones(pregunta.getOpciones());
+        validarMascaraCorrecta(pregunta.getMascaraCorrecta(), pregunta.getOpciones().size());
+        if (Long.bitCount(pregunta.getMascaraCorrecta()) != 1) {
+            throw new DatosInvalidosException(
+                "mascaraCorrecta",
+                "Una pregunta de selección única debe tener exactamente una opción correcta"
+            );
+        }
+        validarTematica(pregunta.getTematica());
+        validarExplicacion(pregunta.getExplicacion());
+    }
+}
@@ -1,17 +1,58 @@
 package com.midominio.group.app.spring.service;
 
 
+import com.midominio.group.app.spring.coalescencia.CoalescedorLecturas;
+import com.midominio.group.app.spring.dto.LotePreguntasResponse;
+import com.midominio.group.app.spring.dto.VersionPregunta;
+import com.midominio.group.app.spring.duplicados.DetectorDuplicados;
+import com.midominio.group.app.spring.duplicados.IndiceLsh;
 import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
 import com.midominio.group.app.spring.exception.DatosInvalidosException;
 import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.entity.PreguntaSeleccionMultiple;
+import com.midominio.group.app.spring.entity.PreguntaSeleccionUnica;
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.entity.Trabajo;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.fragmentos.FusionPaginas;
+import com.midominio.group.app.spring.metadatos.ColumnasPreguntas;
+import com.midominio.group.app.spring.metadatos.FiltroPreguntas;
+import com.midominio.group.app.spring.metadatos.IndicePreguntas;
+import com.midominio.group.app.spring.repository.AdjuntoPreguntaRepository;
+import com.midominio.group.app.spring.proyeccion.CampoPregunta;
+import com.midominio.group.app.spring.proyeccion.ProyeccionPreguntas;
 import com.midominio.group.app.spring.repository.PreguntaRepository;
+import com.midominio.group.app.spring.repository.PreguntaSeleccionMultipleRepository;
+import com.midominio.group.app.spring.repository.PreguntaSeleccionUnicaRepository;
+import com.midominio.group.app.spring.repository.PreguntaVerdaderoFalsoRepository;
+import com.midominio.group.app.spring.trabajos.MotorTrabajos;
+import com.midominio.group.app.spring.trabajos.TrabajoCambioEstado;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * Service genérico para todas las preguntas (polimórfico).
@@ -25,13 +66,26 @@ import java.util.List;
  * 
  * Para operaciones específicas de cada tipo usar:
  * - PreguntaVerdaderoFalsoService
- * - PreguntaSeleccionUnicaService (futuro)
- * - PreguntaSeleccionMultipleService (futuro)
+ * - PreguntaSeleccionUnicaService
+ * - PreguntaSeleccionMultipleService
  * 
  * Excepciones lanzadas:
  * - RecursoNoEncontradoException: cuando no existe una pregunta con el ID solicitado
  * - DatosInvalidosException: cuando los parámetros de búsqueda son inválidos
+ * 
+ * Los listados, filtros y recuentos se resuelven en el índice columnar en memoria (IndicePreguntas)
+ * y solo se cargan de la base de datos las preguntas de la página pedida; mientras el índice
+ * se carga, o si se ordena por algo distinto del ID, se consulta la base de datos.
+ * Las lecturas idénticas simultáneas (mismo ID, mismos filtros y página) comparten una sola
+ * consulta (CoalescedorLecturas), como al empezar un examen: esos métodos no abren transacción
+ * (Propagation.SUPPORTS) y solo la llamada que consulta abre la suya, así las que esperan no
+ * ocupan conexiones del pool.
+ * 
+ * Con varios fragmentos (app.fragmentos.urls) las operaciones sobre una pregunta van al fragmento
+ * de su ID, y los listados, recuentos y lecturas por lotes consultan todos los fragmentos en paralelo
+ * y mezclan los resultados (ver Fragmentos y FusionPaginas).
  */
+@Lazy
 @Service
 @Transactional
 public class PreguntaService {
@@ -39,9 +93,63 @@ public class PreguntaService {
     @Autowired
     private PreguntaRepository repository;
     
+    @Autowired
+    private DetectorDuplicados detectorDuplicados;
+    
+    @Autowired
+    private ArchivoPreguntasService archivo;
+    
+    @Autowired
+    private MotorTrabajos motor;
+    
+    @Autowired
+    private AdjuntoPreguntaRepository adjuntos;
+    
+    @Autowired
+    private IndicePreguntas indice;
+    
+    @Autowired
+    private CoalescedorLecturas coalescedor;
+    
+    @Autowired
+    private ProyeccionPreguntas proyeccion;
+    
+    @Autowired
+    private PreguntaVerdaderoFalsoRepository repositoryVerdaderoFalso;
+    
+    @Autowired
+    private PreguntaSeleccionUnicaRepository repositorySeleccionUnica;
+    
+    @Autowired
+    private PreguntaSeleccionMultipleRepository repositorySeleccionMultiple;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    // Transacción de solo lectura de las lecturas coalescidas (ver coalescer())
+    private TransactionTemplate lectura;
+    
+    @Autowired
+    void setTransacciones(PlatformTransactionManager transacciones) {
+        lectura = new TransactionTemplate(transacciones);
+        lectura.setReadOnly(true);
+    }
+    
     // Constantes de validación
     private static final List<String> TIPOS_PERMITIDOS = List.of("VerdaderoFalso", "SeleccionUnica", "SeleccionMultiple");
+    // Clase y valor del discriminador (columna tipo_pregunta) de cada tipo permitido
+    private static final Map<String, Class<? extends Pregunta>> CLASES_TIPO = Map.of(
+            "VerdaderoFalso", PreguntaVerdaderoFalso.class,
+            "SeleccionUnica", PreguntaSeleccionUnica.class,
+            "SeleccionMultiple", PreguntaSeleccionMultiple.class);
+    private static final Map<String, String> DISCRIMINADORES_TIPO = Map.of(
+            "VerdaderoFalso", "VERDADERO_FALSO",
+            "SeleccionUnica", "SELECCION_UNICA",
+            "SeleccionMultiple", "SELECCION_MULTIPLE");
     private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_LOTE = 500;
+    // IDs por consulta IN en la lectura por lotes
+    private static final int TAMANO_BLOQUE_IN = 100;
     
     /**
      * Obtiene todas las preguntas con paginación
@@ -54,9 +162,10 @@ public class PreguntaService {
      * @return página de preguntas
      * @throws DatosInvalidosException si la configuración de paginación es inválida
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Pregunta> listarTodas(Pageable pageable) {
         validarPaginacion(pageable);
-        return repository.findAll(pageable);
+        return buscar(null, null, null, null, null, pageable);
     }
     
     /**
@@ -70,11 +179,12 @@ public class PreguntaService {
      * @return página de preguntas activas
      * @throws DatosInvalidosException si la configuración de paginación es inválida
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Pregunta> listarActivas(Pageable pageable) {
         // Validación preventiva de paginación
         validarPaginacion(pageable);
         
-        return repository.findByActivaTrue(pageable);
+        return buscar(null, true, null, null, null, pageable);
     }
     
     /**
@@ -90,10 +200,11 @@ public class PreguntaService {
      * @return página de preguntas filtradas
      * @throws DatosInvalidosException si los parámetros son inválidos
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Pregunta> filtrarPorTematica(String tematica, Pageable pageable) {
         validarTematica(tematica);
         validarPaginacion(pageable);
-        return repository.findByTematicaContainingIgnoreCase(tematica, pageable);
+        return buscar(tematica.trim(), null, null, null, null, pageable);
     }
     
     /**
@@ -101,7 +212,7 @@ public class PreguntaService {
      * 
      * Usado en:
      * - Filtrar solo preguntas de Verdadero/Falso
-     * - Filtrar solo preguntas de Selección Única (futuro)
+     * - Filtrar solo preguntas de Selección Única
      * - API REST GET /api/preguntas?tipo=VerdaderoFalso
      * 
      * @param tipo tipo de pregunta (ej: "VerdaderoFalso", "SeleccionUnica")
@@ -109,10 +220,11 @@ public class PreguntaService {
      * @return página de preguntas del tipo especificado
      * @throws DatosInvalidosException si los parámetros son inválidos
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Pregunta> filtrarPorTipo(String tipo, Pageable pageable) {
         validarTipo(tipo);
         validarPaginacion(pageable);
-        return repository.findByDtype(tipo, pageable);
+        return buscar(null, null, tipo, null, null, pageable);
     }
     
     /**
@@ -128,31 +240,85 @@ public class PreguntaService {
      * @return página de preguntas filtradas
      * @throws DatosInvalidosException si la paginación es inválida
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Pregunta> filtrarPorTematicaYEstado(String tematica, Boolean activa, Pageable pageable) {
+        return filtrar(tematica, activa, null, null, null, pageable);
+    }
+    
+    /**
+     * Filtra preguntas por cualquier combinación de temática, estado, tipo y fecha de creación
+     * 
+     * Usado en:
+     * - API REST GET /api/preguntas?tematica=Java&activa=true&tipo=SeleccionUnica&desde=2025-01-01T00:00:00
+     * - filtrarPorTematicaYEstado()
+     * 
+     * @param tematica texto contenido en la temática (null o vacía para no filtrar)
+     * @param activa true para activas, false para inactivas, null para todas
+     * @param tipo tipo de pregunta (ej: "VerdaderoFalso"), null para todos
+     * @param desde fecha de creación mínima (incluida), o null
+     * @param hasta fecha de creación máxima (incluida), o null
+     * @param pageable configuración de paginación
+     * @return página de preguntas filtradas
+     * @throws DatosInvalidosException si el tipo, el rango de fechas o la paginación son inválidos
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<Pregunta> filtrar(String tematica, Boolean activa, String tipo,
+            LocalDateTime desde, LocalDateTime hasta, Pageable pageable) {
+        validarFiltros(tipo, desde, hasta);
         validarPaginacion(pageable);
+        return buscar(esTematicaVacia(tematica) ? null : tematica.trim(), activa, tipo, desde, hasta, pageable);
+    }
+    
+    /**
+     * Igual que filtrar(), pero devolviendo solo los campos pedidos de cada pregunta (sparse fieldsets)
+     * 
+     * Los IDs de la página salen del índice columnar (o de una consulta de solo IDs) y los campos
+     * de una proyección JPQL: no se leen las columnas ni se unen las tablas de tipo que no se piden.
+     * 
+     * Usado en:
+     * - API REST GET /api/preguntas?campos=enunciado,tematica (listados ligeros para clientes móviles)
+     * 
+     * @param campos nombres de campo separados por comas (el ID se incluye siempre)
+     * @return página de mapas campo -> valor
+     * @throws DatosInvalidosException si algún campo, el tipo, el rango de fechas o la paginación son inválidos
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> filtrarCampos(String tematica, Boolean activa, String tipo,
+            LocalDateTime desde, LocalDateTime hasta, String campos, Pageable pageable) {
+        Set<CampoPregunta> seleccion = CampoPregunta.desdeTexto(campos);
+        validarFiltros(tipo, desde, hasta);
+        validarPaginacion(pageable);
+        String tematicaFiltro = esTematicaVacia(tematica) ? null : tematica.trim();
         
-        // Si no se especifica temática ni estado, devolver todas
-        if (esTematicaVacia(tematica) && activa == null) {
-            return repository.findAll(pageable);
-        }
-        
-        // Si solo se especifica estado
-        if (esTematicaVacia(tematica)) {
-            return activa ? repository.findByActivaTrue(pageable) 
-                         : repository.findByActivaFalse(pageable);
-        }
-        
-        // Si solo se especifica temática
-        if (activa == null) {
-            return repository.findByTematicaContainingIgnoreCase(tematica, pageable);
+        Page<Long> ids = paginaIds(tematicaFiltro, activa, tipo, desde, hasta, pageable);
+        return new PageImpl<>(proyectar(ids.getContent(), seleccion), pageable, ids.getTotalElements());
+    }
+    
+    /**
+     * Cuenta las preguntas que cumplen un filtro (mismos criterios que filtrar())
+     * 
+     * Usado en:
+     * - Dashboard de administración (recuentos por temática, tipo o periodo)
+     * - API REST GET /api/preguntas/contar?tematica=Java&activa=true
+     * 
+     * @return número de preguntas calientes (no archivadas) que cumplen el filtro
+     * @throws DatosInvalidosException si el tipo o el rango de fechas son inválidos
+     */
+    @Transactional(readOnly = true)
+    public long contar(String tematica, Boolean activa, String tipo, LocalDateTime desde, LocalDateTime hasta) {
+        validarFiltros(tipo, desde, hasta);
+        String tematicaFiltro = esTematicaVacia(tematica) ? null : tematica.trim();
+        if (indice.listo()) {
+            return indice.contar(filtroIndice(tematicaFiltro, activa, tipo, desde, hasta));
         }
-        
-        // Si se especifican ambos filtros
-        return repository.findByTematicaContainingIgnoreCaseAndActiva(tematica, activa, pageable);
+        List<Class<? extends Pregunta>> clases = clasesTipo(tipo);
+        return sumar(fragmentos.enTodos(fragmento ->
+                repository.contarPorFiltros(tematicaFiltro, activa, clases, desde, hasta)));
     }
     
     /**
      * Obtiene una pregunta por ID (polimórfico)
+     * Si no está en las tablas calientes, la busca en el archivo (ver ArchivoPreguntasService)
      * 
      * Usado en:
      * - Vistas de detalle de pregunta
@@ -160,13 +326,70 @@ public class PreguntaService {
      * 
      * @param id identificador de la pregunta
      * @return la pregunta encontrada (puede ser de cualquier tipo)
-     * @throws RecursoNoEncontradoException si no existe
+     * @throws RecursoNoEncontradoException si no existe en ningún nivel
      * @throws DatosInvalidosException si el ID es inválido
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Pregunta obtenerPorId(Long id) {
         validarIdPositivo(id);
-        return repository.findById(id)
-            .orElseThrow(() -> new RecursoNoEncontradoException("Pregunta", id));
+        return coalescer(CoalescedorLecturas.clave("obtenerPorId", Pregunta.class, id), () -> {
+            fragmentos.fijarPorId(id);
+            return repository.findById(id)
+                .or(() -> archivo.buscarArchivada(id))
+                .orElseThrow(() -> new RecursoNoEncontradoException("Pregunta", id));
+        }, Pregunta::copiar);
+    }
+    
+    /**
+     * Obtiene varias preguntas por ID en una sola llamada (para clientes con caché local)
+     * 
+     * Primero lee id, versión y tipo de la tabla base; luego carga solo las preguntas que el cliente
+     * no tiene al día, agrupadas por tipo, de modo que cada consulta une la tabla base con la de su
+     * subtipo y no con las tres. Los IDs que faltan se buscan después en el archivo.
+     * Todas las consultas son IN por bloques de TAMANO_BLOQUE_IN; con varios fragmentos,
+     * cada fragmento resuelve sus IDs en paralelo.
+     * 
+     * Usado en:
+     * - API REST POST /api/preguntas/lote
+     * 
+     * @param ids IDs a leer (como mucho MAX_LOTE)
+     * @param versionesConocidas versión que el cliente ya tiene de cada ID (puede ser null)
+     * @return preguntas a reenviar, IDs sin cambios e IDs inexistentes, en el orden de la petición
+     * @throws DatosInvalidosException si la lista está vacía, es demasiado larga o tiene IDs inválidos
+     */
+    @Transactional(readOnly = true)
+    public LotePreguntasResponse obtenerLote(List<Long> ids, Map<Long, Long> versionesConocidas) {
+        validarLote(ids);
+        Map<Long, Long> versiones = versionesConocidas == null ? Map.of() : versionesConocidas;
+        List<Long> unicos = List.copyOf(new LinkedHashSet<>(ids));
+        
+        Map<Integer, List<Long>> grupos = fragmentos.agruparPorId(unicos);
+        Map<Long, VersionPregunta> calientes = new HashMap<>();
+        Map<Long, Pregunta> encontradas = new HashMap<>();
+        Map<Long, Long> versionesArchivadas = new HashMap<>();
+        for (LoteFragmento lote : fragmentos.enTodos(fragmento ->
+                cargarLote(grupos.getOrDefault(fragmento, List.of()), versiones))) {
+            calientes.putAll(lote.calientes());
+            encontradas.putAll(lote.encontradas());
+            versionesArchivadas.putAll(lote.versionesArchivadas());
+        }
+        
+        List<Pregunta> preguntas = new ArrayList<>();
+        List<Long> sinCambios = new ArrayList<>();
+        List<Long> noEncontradas = new ArrayList<>();
+        for (Long id : unicos) {
+            VersionPregunta caliente = calientes.get(id);
+            Long versionActual = caliente != null ? caliente.version() : versionesArchivadas.get(id);
+            if (alDia(versionActual, versiones.get(id))) {
+                sinCambios.add(id);
+            } else if (encontradas.containsKey(id)) {
+                preguntas.add(encontradas.get(id));
+            } else {
+                // Eliminada entre la lectura de versiones y la carga, o inexistente
+                noEncontradas.add(id);
+            }
+        }
+        return new LotePreguntasResponse(preguntas, sinCambios, noEncontradas);
     }
     
     /**
@@ -176,22 +399,31 @@ public class PreguntaService {
      * - Panel de administración al eliminar preguntas
      * - API REST DELETE /api/preguntas/{id}
      * 
-     * @param id identificador de la pregunta a eliminar
+     * @param id identificador de la pregunta a eliminar (activa, inactiva o archivada)
      * @throws RecursoNoEncontradoException si no existe la pregunta
      * @throws DatosInvalidosException si el ID es inválido
      */
     public void eliminar(Long id) {
         validarIdPositivo(id);
+        fragmentos.fijarPorId(id);
         
         if (!repository.existsById(id)) {
-            throw new RecursoNoEncontradoException("Pregunta", id);
+            if (!archivo.eliminar(id)) {
+                throw new RecursoNoEncontradoException("Pregunta", id);
+            }
+            adjuntos.deleteByPreguntaId(id);
+            return;
         }
         
         repository.deleteById(id);
+        // El contenido multimedia permanece en el almacén (puede compartirlo otra pregunta)
+        adjuntos.deleteByPreguntaId(id);
+        detectorDuplicados.eliminar(id);
     }
     
     /**
      * Activa o desactiva una pregunta
+     * Activar una pregunta archivada la restaura en las tablas calientes con su mismo ID
      * 
      * Usado en:
      * - Panel de administración para activar/desactivar preguntas
@@ -205,20 +437,34 @@ public class PreguntaService {
      */
     public Pregunta cambiarEstado(Long id, Boolean activa) {
         validarIdPositivo(id);
+        fragmentos.fijarPorId(id);
         
         if (activa == null) {
             throw new DatosInvalidosException("activa", "El estado no puede ser nulo");
         }
         
-        Pregunta pregunta = repository.findById(id)
-            .orElseThrow(() -> new RecursoNoEncontradoException("Pregunta", id));
+        Optional<Pregunta> caliente = repository.findById(id);
+        if (caliente.isEmpty()) {
+            if (!activa) {
+                // Una pregunta archivada ya está inactiva
+                return archivo.buscarArchivada(id)
+                    .orElseThrow(() -> new RecursoNoEncontradoException("Pregunta", id));
+            }
+            if (!archivo.restaurar(id)) {
+                throw new RecursoNoEncontradoException("Pregunta", id);
+            }
+            caliente = repository.findById(id);
+            caliente.ifPresent(restaurada -> detectorDuplicados.registrar(restaurada.getId(), restaurada.getEnunciado()));
+        }
         
+        Pregunta pregunta = caliente
+            .orElseThrow(() -> new RecursoNoEncontradoException("Pregunta", id));
         pregunta.setActiva(activa);
         return repository.save(pregunta);
     }
     
     /**
-     * Obtiene el total de preguntas en la base de datos
+     * Obtiene el total de preguntas en la base de datos (incluidas las archivadas)
      * 
      * Usado en:
      * - Dashboard de administración para estadísticas
@@ -227,7 +473,7 @@ public class PreguntaService {
      * @return número total de preguntas
      */
     public long contarTotal() {
-        return repository.count();
+        return sumar(fragmentos.enTodos(fragmento -> repository.count() + archivo.contarArchivadas()));
     }
     
     /**
@@ -240,7 +486,10 @@ public class PreguntaService {
      * @return número de preguntas activas
      */
     public long contarActivas() {
-        return repository.countByActivaTrue();
+        if (indice.listo()) {
+            return indice.contar(new FiltroPreguntas(null, true, null, null, null));
+        }
+        return sumar(fragmentos.enTodos(fragmento -> repository.countByActivaTrue()));
     }
     
     /**
@@ -254,7 +503,8 @@ public class PreguntaService {
      */
     public List<String> obtenerTematicasDisponibles() {
         // Definido en: PreguntaRepository.findDistinctTematicas()
-        List<String> tematicas = repository.findDistinctTematicas();
+        List<List<String>> porFragmento = fragmentos.enTodos(fragmento -> repository.findDistinctTematicas());
+        List<String> tematicas = porFragmento.size() == 1 ? porFragmento.get(0) : unirOrdenadas(porFragmento);
         
         // Validar que existan temáticas
         if (tematicas == null || tematicas.isEmpty()) {
@@ -265,6 +515,355 @@ public class PreguntaService {
         return tematicas;
     }
     
+    /**
+     * Encola ahora el archivado de las preguntas inactivas desde hace más de app.archivo.inactividad-minima
+     * (normalmente lo hace la tarea programada)
+     * 
+     * Usado en:
+     * - API REST POST /api/preguntas/archivar
+     * 
+     * @return el trabajo en segundo plano (consultar en /api/trabajos/{id})
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Trabajo archivarInactivas() {
+        return archivo.archivarInactivas();
+    }
+    
+    /**
+     * Encola la activación o desactivación de todas las preguntas de una temática (o de todas)
+     * Se ejecuta por bloques en el pool de trabajos, sin ocupar hilos ni conexiones del tráfico interactivo
+     * 
+     * Usado en:
+     * - API REST POST /api/preguntas/estado-masivo?tematica=Java&activa=false
+     * 
+     * @param tematica temática (sin distinguir mayúsculas); null o vacía para todas las preguntas
+     * @param activa nuevo estado
+     * @return el trabajo en segundo plano (consultar en /api/trabajos/{id})
+     * @throws DatosInvalidosException si el estado es nulo
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Trabajo cambiarEstadoMasivo(String tematica, Boolean activa) {
+        if (activa == null) {
+            throw new DatosInvalidosException("activa", "El estado no puede ser nulo");
+        }
+        
+        Map<String, String> parametros = new HashMap<>();
+        parametros.put(TrabajoCambioEstado.PARAM_ACTIVA, activa.toString());
+        if (!esTematicaVacia(tematica)) {
+            parametros.put(TrabajoCambioEstado.PARAM_TEMATICA, tematica.trim());
+        }
+        return motor.enviar(TrabajoCambioEstado.NOMBRE, parametros);
+    }
+    
+    /**
+     * Busca preguntas cuyo enunciado es casi idéntico al indicado (índice MinHash/LSH en memoria)
+     * 
+     * Usado en:
+     * - Formularios de alta para avisar antes de guardar
+     * - API REST GET /api/preguntas/duplicados/similares?enunciado=...
+     * 
+     * @param enunciado enunciado a comprobar
+     * @return preguntas similares (id y similitud) de mayor a menor similitud
+     * @throws DatosInvalidosException si el enunciado está vacío
+     */
+    public List<IndiceLsh.Similar> buscarCasiDuplicados(String enunciado) {
+        if (enunciado == null || enunciado.trim().isEmpty()) {
+            throw new DatosInvalidosException("enunciado", "El enunciado no puede estar vacío");
+        }
+        return detectorDuplicados.buscarSimilares(enunciado, null);
+    }
+    
+    /**
+     * Obtiene los clusters de preguntas casi duplicadas existentes
+     * 
+     * Usado en:
+     * - Panel de administración para revisar duplicados
+     * - API REST GET /api/preguntas/duplicados
+     * 
+     * @return clusters (listas de IDs) de mayor a menor tamaño
+     */
+    public List<List<Long>> informeDuplicados() {
+        return detectorDuplicados.informeClusters();
+    }
+    
+    /**
+     * Método privado que resuelve todos los listados filtrados
+     * Filtra en el índice columnar y carga solo los IDs de la página, en el orden del índice;
+     * recurre a la base de datos si el índice no está listo o la ordenación no es por ID
+     * 
+     * Llamado desde:
+     * - listarTodas(), listarActivas(), filtrarPorTematica(), filtrarPorTipo() y filtrar()
+     */
+    private Page<Pregunta> buscar(String tematica, Boolean activa, String tipo,
+            LocalDateTime desde, LocalDateTime hasta, Pageable pageable) {
+        return coalescer(CoalescedorLecturas.clave("buscar", tematica, activa, tipo, desde, hasta, pageable),
+                () -> cargarPagina(tematica, activa, tipo, desde, hasta, pageable),
+                pagina -> pagina.map(Pregunta::copiar));
+    }
+    
+    private Page<Pregunta> cargarPagina(String tematica, Boolean activa, String tipo,
+            LocalDateTime desde, LocalDateTime hasta, Pageable pageable) {
+        if (!indice.listo() || ordenPorId(pageable.getSort()).isEmpty()) {
+            return buscarEnFragmentos(tematica, activa, tipo, desde, hasta, pageable);
+        }
+        
+        Page<Long> pagina = paginaIds(tematica, activa, tipo, desde, hasta, pageable);
+        List<Long> ids = pagina.getContent();
+        Map<Long, Pregunta> porId = new HashMap<>();
+        cargarPorIds(ids).forEach(pregunta -> porId.put(pregunta.getId(), pregunta));
+        
+        List<Pregunta> preguntas = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Pregunta pregunta = porId.get(id);
+            if (pregunta != null) { // eliminada entre el filtrado y la carga
+                preguntas.add(pregunta);
+            }
+        }
+        return new PageImpl<>(preguntas, pageable, pagina.getTotalElements());
+    }
+    
+    /**
+     * IDs de una página del filtro: del índice columnar si está listo y se ordena por ID,
+     * de la base de datos en otro caso
+     */
+    private Page<Long> paginaIds(String tematica, Boolean activa, String tipo,
+            LocalDateTime desde, LocalDateTime hasta, Pageable pageable) {
+        Optional<Boolean> descendente = ordenPorId(pageable.getSort());
+        if (!indice.listo() || descendente.isEmpty()) {
+            if (fragmentos.total() == 1) {
+                return repository.buscarIdsPorFiltros(tematica, activa, clasesTipo(tipo), desde, hasta, pageable);
+            }
+            // Para mezclar las páginas de los fragmentos hacen falta los valores de ordenación
+            return buscarEnFragmentos(tematica, activa, tipo, desde, hasta, pageable).map(Pregunta::getId);
+        }
+        ColumnasPreguntas.ResultadoFiltro resultado = indice.filtrar(
+                filtroIndice(tematica, activa, tipo, desde, hasta),
+                pageable.getOffset(), pageable.getPageSize(), descendente.get());
+        List<Long> ids = new ArrayList<>(resultado.ids().length);
+        for (long id : resultado.ids()) {
+            ids.add(id);
+        }
+        return new PageImpl<>(ids, pageable, resultado.total());
+    }
+    
+    /**
+     * Página del filtro consultando la base de datos: con varios fragmentos, cada uno devuelve
+     * hasta el final de la página pedida y se mezclan en orden (FusionPaginas)
+     */
+    private Page<Pregunta> buscarEnFragmentos(String tematica, Boolean activa, String tipo,
+            LocalDateTime desde, LocalDateTime hasta, Pageable pageable) {
+        List<Class<? extends Pregunta>> clases = clasesTipo(tipo);
+        if (fragmentos.total() == 1) {
+            return repository.buscarPorFiltros(tematica, activa, clases, desde, hasta, pageable);
+        }
+        Pageable porFragmento = FusionPaginas.hastaFinDePagina(pageable);
+        List<Page<Pregunta>> paginas = fragmentos.enTodos(fragmento ->
+                repository.buscarPorFiltros(tematica, activa, clases, desde, hasta, porFragmento));
+        return FusionPaginas.fusionar(paginas, pageable, FusionPaginas.comparador(porFragmento.getSort()));
+    }
+    
+    /**
+     * Carga preguntas por ID, cada grupo de IDs en su fragmento (sin orden garantizado)
+     */
+    private List<Pregunta> cargarPorIds(List<Long> ids) {
+        if (fragmentos.total() == 1) {
+            return repository.findAllById(ids);
+        }
+        Map<Integer, List<Long>> grupos = fragmentos.agruparPorId(ids);
+        List<Pregunta> preguntas = new ArrayList<>(ids.size());
+        fragmentos.enTodos(fragmento -> grupos.containsKey(fragmento)
+                ? repository.findAllById(grupos.get(fragmento))
+                : List.<Pregunta>of()).forEach(preguntas::addAll);
+        return preguntas;
+    }
+    
+    /**
+     * Proyección de campos de las preguntas indicadas, cada grupo de IDs en su fragmento, en el orden de ids
+     */
+    private List<Map<String, Object>> proyectar(List<Long> ids, Set<CampoPregunta> campos) {
+        if (fragmentos.total() == 1) {
+            return proyeccion.cargar(ids, campos);
+        }
+        Map<Integer, List<Long>> grupos = fragmentos.agruparPorId(ids);
+        Map<Object, Map<String, Object>> porId = new HashMap<>();
+        fragmentos.enTodos(fragmento -> grupos.containsKey(fragmento)
+                ? proyeccion.cargar(grupos.get(fragmento), campos)
+                : List.<Map<String, Object>>of())
+                .forEach(filas -> filas.forEach(fila -> porId.put(fila.get(CampoPregunta.ID.nombre()), fila)));
+        
+        List<Map<String, Object>> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Map<String, Object> fila = porId.get(id);
+            if (fila != null) {
+                resultado.add(fila);
+            }
+        }
+        return resultado;
+    }
+    
+    /**
+     * Parte de obtenerLote() que se resuelve en un fragmento: versiones, carga por tipo y archivo
+     */
+    private LoteFragmento cargarLote(List<Long> ids, Map<Long, Long> versiones) {
+        Map<Long, VersionPregunta> calientes = new HashMap<>();
+        Map<Long, Pregunta> encontradas = new HashMap<>();
+        Map<Long, Long> versionesArchivadas = new HashMap<>();
+        if (ids.isEmpty()) {
+            return new LoteFragmento(calientes, encontradas, versionesArchivadas);
+        }
+        
+        for (List<Long> bloque : bloques(ids)) {
+            repository.findVersiones(bloque).forEach(version -> calientes.put(version.id(), version));
+        }
+        
+        Map<Class<? extends Pregunta>, List<Long>> pendientesPorTipo = new LinkedHashMap<>();
+        List<Long> noCalientes = new ArrayList<>();
+        for (Long id : ids) {
+            VersionPregunta actual = calientes.get(id);
+            if (actual == null) {
+                noCalientes.add(id);
+            } else if (!alDia(actual.version(), versiones.get(id))) {
+                pendientesPorTipo.computeIfAbsent(actual.tipo(), tipo -> new ArrayList<>()).add(id);
+            }
+        }
+        
+        pendientesPorTipo.forEach((tipo, idsTipo) -> {
+            for (List<Long> bloque : bloques(idsTipo)) {
+                repositorioDeTipo(tipo).findAllById(bloque).forEach(pregunta -> encontradas.put(pregunta.getId(), pregunta));
+            }
+        });
+        for (List<Long> bloque : bloques(noCalientes)) {
+            for (Pregunta archivada : archivo.buscarArchivadas(bloque)) {
+                versionesArchivadas.put(archivada.getId(), archivada.getVersion());
+                encontradas.put(archivada.getId(), archivada);
+            }
+        }
+        return new LoteFragmento(calientes, encontradas, versionesArchivadas);
+    }
+    
+    /**
+     * Si la versión que tiene el cliente es la actual
+     * Una versión nula (filas anteriores a la columna version) nunca está al día: se reenvía siempre
+     */
+    private static boolean alDia(Long versionActual, Long versionCliente) {
+        return versionActual != null && versionActual.equals(versionCliente);
+    }
+    
+    /**
+     * Resultado de cargarLote() en un fragmento
+     */
+    private record LoteFragmento(Map<Long, VersionPregunta> calientes, Map<Long, Pregunta> encontradas,
+            Map<Long, Long> versionesArchivadas) {
+    }
+    
+    private static long sumar(List<Long> porFragmento) {
+        long total = 0;
+        for (Long valor : porFragmento) {
+            total += valor;
+        }
+        return total;
+    }
+    
+    private static List<String> unirOrdenadas(List<List<String>> listas) {
+        Set<String> unidas = new TreeSet<>();
+        listas.forEach(unidas::addAll);
+        return List.copyOf(unidas);
+    }
+    
+    /**
+     * Comparte la carga con las llamadas idénticas simultáneas, solo fuera de una transacción:
+     * la llamada que carga abre la suya de solo lectura y las que esperan no piden conexión
+     * (dentro de una transacción las entidades deben pertenecer al contexto de persistencia propio)
+     * Las llamadas que esperan reciben copias no gestionadas, nunca entidades de otro hilo
+     */
+    private <R> R coalescer(CoalescedorLecturas.Clave clave, Supplier<R> carga, UnaryOperator<R> copiar) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return carga.get();
+        }
+        return coalescedor.cargar(clave, carga, copiar, propia -> lectura.execute(estado -> propia.get()));
+    }
+    
+    private JpaRepository<? extends Pregunta, Long> repositorioDeTipo(Class<? extends Pregunta> tipo) {
+        if (tipo == PreguntaVerdaderoFalso.class) {
+            return repositoryVerdaderoFalso;
+        }
+        if (tipo == PreguntaSeleccionUnica.class) {
+            return repositorySeleccionUnica;
+        }
+        if (tipo == PreguntaSeleccionMultiple.class) {
+            return repositorySeleccionMultiple;
+        }
+        throw new IllegalStateException("Tipo de pregunta sin repository: " + tipo.getName());
+    }
+    
+    private static List<List<Long>> bloques(List<Long> ids) {
+        List<List<Long>> bloques = new ArrayList<>((ids.size() + TAMANO_BLOQUE_IN - 1) / TAMANO_BLOQUE_IN);
+        for (int desde = 0; desde < ids.size(); desde += TAMANO_BLOQUE_IN) {
+            bloques.add(ids.subList(desde, Math.min(ids.size(), desde + TAMANO_BLOQUE_IN)));
+        }
+        return bloques;
+    }
+    
+    /**
+     * Sentido de la ordenación si es por ID (sin ordenación = ID ascendente), vacío en otro caso
+     */
+    private Optional<Boolean> ordenPorId(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Optional.of(false);
+        }
+        List<Sort.Order> ordenes = sort.toList();
+        if (ordenes.size() == 1 && "id".equals(ordenes.get(0).getProperty())) {
+            return Optional.of(ordenes.get(0).isDescending());
+        }
+        return Optional.empty();
+    }
+    
+    private FiltroPreguntas filtroIndice(String tematica, Boolean activa, String tipo,
+            LocalDateTime desde, LocalDateTime hasta) {
+        return new FiltroPreguntas(
+                tematica,
+                activa,
+                tipo == null ? null : DISCRIMINADORES_TIPO.get(tipo),
+                desde == null ? null : IndicePreguntas.aEpochSegundos(desde),
+                hasta == null ? null : IndicePreguntas.aEpochSegundos(hasta));
+    }
+    
+    private List<Class<? extends Pregunta>> clasesTipo(String tipo) {
+        return tipo == null ? List.copyOf(CLASES_TIPO.values()) : List.of(CLASES_TIPO.get(tipo));
+    }
+    
+    /**
+     * Método privado para validar los filtros opcionales de filtrar() y contar()
+     * 
+     * @throws DatosInvalidosException si el tipo no es válido o desde es posterior a hasta
+     */
+    private void validarFiltros(String tipo, LocalDateTime desde, LocalDateTime hasta) {
+        if (tipo != null) {
+            validarTipo(tipo);
+        }
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            throw new DatosInvalidosException("desde", "La fecha inicial no puede ser posterior a la final");
+        }
+    }
+    
+    /**
+     * Método privado para validar la lista de IDs de obtenerLote()
+     * 
+     * @param ids IDs pedidos
+     * @throws DatosInvalidosException si está vacía, supera MAX_LOTE o contiene IDs no positivos
+     */
+    private void validarLote(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new DatosInvalidosException("ids", "La lista de IDs no puede estar vacía");
+        }
+        if (ids.size() > MAX_LOTE) {
+            throw new DatosInvalidosException("ids", "No se pueden pedir más de " + MAX_LOTE + " preguntas a la vez");
+        }
+        for (Long id : ids) {
+            validarIdPositivo(id);
+        }
+    }
+    
     /**
      * Método privado para validar configuración de paginación
      * Centraliza validaciones para evitar código duplicado
@@ -274,7 +873,7 @@ public class PreguntaService {
      * - listarActivas()
      * - filtrarPorTematica()
      * - filtrarPorTipo()
-     * - filtrarPorTematicaYEstado()
+     * - filtrar()
      * 
      * @param pageable configuración a validar
      * @throws DatosInvalidosException si la configuración es inválida
@@ -325,7 +924,7 @@ public class PreguntaService {
     
     /**
      * Método privado para validar que una temática esté vacía
-     * Utilizado en filtrarPorTematicaYEstado() para condiciones lógicas
+     * Utilizado en filtrar() y contar() para condiciones lógicas
      * 
      * @param tematica temática a evaluar
      * @return true si la temática es nula o está vacía, false en caso contrario
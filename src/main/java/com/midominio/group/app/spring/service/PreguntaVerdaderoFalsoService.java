@@ -1,14 +1,21 @@
 package com.midominio.group.app.spring.service;
 
+import com.midominio.group.app.spring.dto.ActualizacionVerdaderoFalsoRequest;
+import com.midominio.group.app.spring.dto.PreguntaTestResponse;
 import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.exception.ConflictoVersionException;
 import com.midominio.group.app.spring.exception.DatosInvalidosException;
 import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
 import com.midominio.group.app.spring.repository.PreguntaVerdaderoFalsoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 /**
  * Service específico para preguntas de tipo Verdadero/Falso.
  * Solo contiene métodos que son exclusivos de este tipo de pregunta.
@@ -33,6 +40,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class PreguntaVerdaderoFalsoService extends AbstractPreguntaService<PreguntaVerdaderoFalso> {
     
+    private static final int TEST_MAX_PREGUNTAS = 50;
+    
     @Autowired
     private PreguntaVerdaderoFalsoRepository repository;
     
@@ -41,6 +50,11 @@ public class PreguntaVerdaderoFalsoService extends AbstractPreguntaService<Pregu
         return repository;
     }
     
+    @Override
+    protected Class<PreguntaVerdaderoFalso> getTipoEntidad() {
+        return PreguntaVerdaderoFalso.class;
+    }
+    
     /**
      * Crea una nueva pregunta de tipo Verdadero/Falso
      * 
@@ -57,12 +71,15 @@ public class PreguntaVerdaderoFalsoService extends AbstractPreguntaService<Pregu
         // Lanza DatosInvalidosException si hay errores
         validarDatosPregunta(pregunta);
         
+        comprobarDuplicados(pregunta.getEnunciado(), null);
+        
         // Asegura que las nuevas preguntas estén activas por defecto
         if (pregunta.getActiva() == null) {
             pregunta.setActiva(true);
         }
         
-        return repository.save(pregunta);
+        usarFragmentoDeTematica(pregunta.getTematica());
+        return registrarEnunciado(repository.save(pregunta));
     }
     
     /**
@@ -76,17 +93,16 @@ public class PreguntaVerdaderoFalsoService extends AbstractPreguntaService<Pregu
      * @param preguntaActualizada datos actualizados
      * @return la pregunta actualizada
      * @throws RecursoNoEncontradoException si no existe la pregunta con ese ID
+     * @throws IllegalStateException si la pregunta está archivada (409: hay que restaurarla antes)
      * @throws DatosInvalidosException si los datos de entrada son inválidos
      */
     public PreguntaVerdaderoFalso actualizar(Long id, PreguntaVerdaderoFalso preguntaActualizada) {
         validarIdPositivo(id);
+        usarFragmentoDe(id);
         validarDatosPregunta(preguntaActualizada);
+        comprobarDuplicados(preguntaActualizada.getEnunciado(), id);
         
-        PreguntaVerdaderoFalso preguntaExistente = repository.findById(id)
-            .orElseThrow(() -> new RecursoNoEncontradoException(
-                "Pregunta Verdadero/Falso", 
-                id
-            ));
+        PreguntaVerdaderoFalso preguntaExistente = obtenerParaModificar(id, "Pregunta Verdadero/Falso");
         
         preguntaExistente.setEnunciado(preguntaActualizada.getEnunciado());
         preguntaExistente.setTematica(preguntaActualizada.getTematica());
@@ -94,7 +110,7 @@ public class PreguntaVerdaderoFalsoService extends AbstractPreguntaService<Pregu
         preguntaExistente.setRespuestaCorrecta(preguntaActualizada.getRespuestaCorrecta());
         preguntaExistente.setExplicacion(preguntaActualizada.getExplicacion());
         
-        return repository.save(preguntaExistente);
+        return registrarEnunciado(repository.save(preguntaExistente));
     }
     
     /**
@@ -113,6 +129,7 @@ public class PreguntaVerdaderoFalsoService extends AbstractPreguntaService<Pregu
      */
     public boolean validarRespuesta(Long idPregunta, Boolean respuestaUsuario) {
         validarIdPositivo(idPregunta);
+        usarFragmentoDe(idPregunta);
         validarRespuestaUsuario(respuestaUsuario);
         
         PreguntaVerdaderoFalso pregunta = repository.findById(idPregunta)
@@ -122,7 +139,94 @@ public class PreguntaVerdaderoFalsoService extends AbstractPreguntaService<Pregu
             ));
         
         validarPreguntaActiva(pregunta, idPregunta);
-        return pregunta.validarRespuesta(respuestaUsuario);
+        boolean correcta = pregunta.validarRespuesta(respuestaUsuario);
+        registrarIntento(idPregunta, pregunta.getTematica(), "VERDADERO_FALSO", respuestaUsuario ? 1L : 0L, correcta ? 1.0 : 0.0);
+        return correcta;
+    }
+    
+    /**
+     * Actualiza solo los campos enviados de una pregunta Verdadero/Falso (PATCH)
+     * 
+     * - Bloqueo optimista: si la pregunta ha cambiado desde que el cliente la leyó, HTTP 409
+     *   en lugar de sobrescribir los cambios de otro usuario
+     * - El UPDATE solo incluye las columnas modificadas (@DynamicUpdate) y la versión
+     * - Si ningún campo cambia, no se escribe nada ni cambia la versión
+     * 
+     * Usado en: 
+     * - API REST PATCH /api/preguntas/verdadero-falso/{id}
+     * 
+     * @param id identificador de la pregunta a actualizar
+     * @param cambios versión leída y campos a modificar (null = sin cambios)
+     * @return la pregunta actualizada (con su nueva versión)
+     * @throws RecursoNoEncontradoException si no existe la pregunta con ese ID
+     * @throws IllegalStateException si la pregunta está archivada (409: hay que restaurarla antes)
+     * @throws DatosInvalidosException si algún valor nuevo es inválido o falta la versión
+     * @throws ConflictoVersionException si la versión no es la actual
+     */
+    public PreguntaVerdaderoFalso actualizarParcial(Long id, ActualizacionVerdaderoFalsoRequest cambios) {
+        validarIdPositivo(id);
+        usarFragmentoDe(id);
+        validarNoNulo(cambios, "Cambios");
+        
+        PreguntaVerdaderoFalso pregunta = obtenerParaModificar(id, "Pregunta Verdadero/Falso");
+        comprobarVersion(pregunta, cambios.version());
+        
+        boolean modificada = aplicarCambiosComunes(pregunta, cambios.enunciado(), cambios.tematica(), cambios.activa());
+        if (cambia(cambios.respuestaCorrecta(), pregunta.getRespuestaCorrecta())) {
+            pregunta.setRespuestaCorrecta(cambios.respuestaCorrecta());
+            modificada = true;
+        }
+        if (cambia(cambios.explicacion(), pregunta.getExplicacion())) {
+            validarExplicacion(cambios.explicacion());
+            pregunta.setExplicacion(cambios.explicacion());
+            modificada = true;
+        }
+        
+        if (!modificada) {
+            return pregunta;
+        }
+        // Flush inmediato: un conflicto con otra transacción se detecta aquí (UPDATE ... WHERE version = ?)
+        return repository.saveAndFlush(pregunta);
+    }
+    
+    /**
+     * Genera un test para el alumno con preguntas Verdadero/Falso activas elegidas al azar,
+     * sin respuestas correctas ni explicaciones
+     * 
+     * Usado en: 
+     * - API REST GET /api/preguntas/verdadero-falso/aleatorias?cantidad=10
+     * 
+     * @param cantidad número de preguntas (entre 1 y 50)
+     * @return hasta cantidad preguntas activas en orden aleatorio
+     * @throws DatosInvalidosException si la cantidad está fuera de rango
+     */
+    @Transactional(readOnly = true)
+    public List<PreguntaTestResponse> generarTest(Integer cantidad) {
+        return generarTestAleatorio(cantidad).stream()
+            .map(pregunta -> new PreguntaTestResponse(pregunta.getId(), pregunta.getEnunciado(), pregunta.getTematica()))
+            .toList();
+    }
+    
+    /**
+     * Elige al azar preguntas Verdadero/Falso activas (entidades completas, con su respuesta correcta)
+     * 
+     * Usado en: 
+     * - generarTest()
+     * - ExamenService.iniciar() (preguntas de un examen cronometrado)
+     * 
+     * @param cantidad número de preguntas (entre 1 y 50)
+     * @return hasta cantidad preguntas activas en orden aleatorio
+     * @throws DatosInvalidosException si la cantidad está fuera de rango
+     */
+    @Transactional(readOnly = true)
+    public List<PreguntaVerdaderoFalso> generarTestAleatorio(Integer cantidad) {
+        if (cantidad == null || cantidad < 1 || cantidad > TEST_MAX_PREGUNTAS) {
+            throw new DatosInvalidosException(
+                "cantidad",
+                "La cantidad de preguntas debe estar entre 1 y " + TEST_MAX_PREGUNTAS
+            );
+        }
+        return elegirAlAzar(cantidad, () -> repository.findRandomPreguntas(PageRequest.of(0, cantidad)));
     }
     
     /**
@@ -137,6 +241,8 @@ public class PreguntaVerdaderoFalsoService extends AbstractPreguntaService<Pregu
      * @throws RecursoNoEncontradoException si no existe
      * @throws DatosInvalidosException si el ID es inválido
      */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PreguntaVerdaderoFalso obtenerPorId(Long id) {
         return super.obtenerPorId(id);
     }
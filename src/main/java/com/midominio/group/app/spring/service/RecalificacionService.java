@@ -0,0 +1,223 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.dto.ClaveRespuestaSeleccion;
+import com.midominio.group.app.spring.dto.ClaveRespuestaVerdaderoFalso;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.recalificacion.ArchivoEntregas;
+import com.midominio.group.app.spring.recalificacion.ClavesRespuesta;
+import com.midominio.group.app.spring.recalificacion.JdbcDestinoResultados;
+import com.midominio.group.app.spring.recalificacion.MotorRecalificacion;
+import com.midominio.group.app.spring.recalificacion.RecalificacionProperties;
+import com.midominio.group.app.spring.recalificacion.TrabajoRecalificacion;
+import com.midominio.group.app.spring.repository.PreguntaSeleccionMultipleRepository;
+import com.midominio.group.app.spring.repository.PreguntaSeleccionUnicaRepository;
+import com.midominio.group.app.spring.repository.PreguntaVerdaderoFalsoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Service de recalificación masiva de entregas archivadas.
+ * 
+ * Cuando se corrigen claves de respuesta con actualizar(), las entregas archivadas
+ * se recalifican offline:
+ * - Las claves de todas las preguntas se cargan una vez por trabajo (tres consultas de proyección,
+ *   en cada fragmento si hay varios)
+ * - Las entregas se leen del fichero por bloques y se califican en un ForkJoinPool propio
+ * - Los resultados se escriben por lotes JDBC en resultados_recalificacion
+ * 
+ * Los trabajos se ejecutan en un hilo coordinador propio (uno a la vez; el resto espera en cola),
+ * nunca en los hilos de las peticiones HTTP.
+ * 
+ * Usado en:
+ * - RecalificacionController (API REST /api/recalificaciones)
+ * 
+ * Excepciones lanzadas:
+ * - RecursoNoEncontradoException: trabajo o fichero inexistente
+ * - DatosInvalidosException: nombre de fichero inválido
+ * - IllegalStateException: cancelar un trabajo ya terminado
+ */
+@Lazy
+@Service
+@EnableConfigurationProperties(RecalificacionProperties.class)
+public class RecalificacionService {
+    
+    @Autowired
+    private RecalificacionProperties propiedades;
+    
+    @Autowired
+    private PreguntaVerdaderoFalsoRepository verdaderoFalsoRepository;
+    
+    @Autowired
+    private PreguntaSeleccionUnicaRepository seleccionUnicaRepository;
+    
+    @Autowired
+    private PreguntaSeleccionMultipleRepository seleccionMultipleRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    private final Map<String, TrabajoRecalificacion> trabajos = new ConcurrentHashMap<>();
+    
+    private ForkJoinPool pool;
+    private ExecutorService escritor;
+    private ExecutorService coordinador;
+    private MotorRecalificacion motor;
+    
+    @PostConstruct
+    void iniciarPools() {
+        pool = new ForkJoinPool(propiedades.paralelismo());
+        escritor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("recalificacion-escritor").factory());
+        coordinador = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("recalificacion").factory());
+        motor = new MotorRecalificacion(pool, escritor, propiedades.tamanoBloque());
+    }
+    
+    @PreDestroy
+    void detenerPools() {
+        trabajos.values().forEach(TrabajoRecalificacion::cancelar);
+        coordinador.shutdown();
+        escritor.shutdown();
+        pool.shutdown();
+    }
+    
+    /**
+     * Inicia la recalificación de un fichero de entregas archivadas
+     * 
+     * Usado en:
+     * - API REST POST /api/recalificaciones
+     * 
+     * @param nombreArchivo fichero dentro de app.recalificacion.directorio
+     * @return el trabajo creado (estado PENDIENTE o EN_CURSO)
+     * @throws DatosInvalidosException si el nombre es inválido o sale del directorio
+     * @throws RecursoNoEncontradoException si el fichero no existe
+     */
+    public TrabajoRecalificacion iniciar(String nombreArchivo) {
+        Path archivo = resolverArchivo(nombreArchivo);
+        TrabajoRecalificacion trabajo = new TrabajoRecalificacion(UUID.randomUUID().toString(), nombreArchivo);
+        descartarTerminados();
+        trabajos.put(trabajo.getId(), trabajo);
+        
+        coordinador.submit(() -> motor.ejecutar(
+                this::cargarClaves,
+                new ArchivoEntregas(archivo),
+                new JdbcDestinoResultados(jdbcTemplate, trabajo.getId(), propiedades.tamanoLoteEscritura()),
+                trabajo));
+        return trabajo;
+    }
+    
+    /**
+     * Obtiene el estado y progreso de un trabajo
+     * 
+     * Usado en:
+     * - API REST GET /api/recalificaciones/{id}
+     * 
+     * @param id identificador del trabajo
+     * @return el trabajo con su progreso actual
+     * @throws RecursoNoEncontradoException si no existe (o ya se descartó: solo se conservan app.recalificacion.max-terminados terminados)
+     */
+    public TrabajoRecalificacion obtenerEstado(String id) {
+        TrabajoRecalificacion trabajo = trabajos.get(id);
+        if (trabajo == null) {
+            throw new RecursoNoEncontradoException("Recalificación", id);
+        }
+        return trabajo;
+    }
+    
+    /**
+     * Cancela un trabajo: se detiene al terminar el bloque en curso
+     * 
+     * Usado en:
+     * - API REST DELETE /api/recalificaciones/{id}
+     * 
+     * @param id identificador del trabajo
+     * @return el trabajo
+     * @throws RecursoNoEncontradoException si no existe
+     * @throws IllegalStateException si el trabajo ya terminó
+     */
+    public TrabajoRecalificacion cancelar(String id) {
+        TrabajoRecalificacion trabajo = obtenerEstado(id);
+        TrabajoRecalificacion.Estado estado = trabajo.getEstado();
+        if (estado != TrabajoRecalificacion.Estado.PENDIENTE && estado != TrabajoRecalificacion.Estado.EN_CURSO) {
+            throw new IllegalStateException("La recalificación " + id + " ya ha terminado (" + estado + ")");
+        }
+        trabajo.cancelar();
+        return trabajo;
+    }
+    
+    /**
+     * Carga las claves de respuesta de todos los tipos de pregunta en una instantánea
+     */
+    private ClavesRespuesta cargarClaves() {
+        // Cada pregunta está en un solo fragmento: basta con juntar las claves de todos
+        List<ClaveRespuestaVerdaderoFalso> verdaderoFalso = juntar(fragmentos.enTodos(f -> verdaderoFalsoRepository.findAllClaves()));
+        List<ClaveRespuestaSeleccion> unica = juntar(fragmentos.enTodos(f -> seleccionUnicaRepository.findAllClaves()));
+        List<ClaveRespuestaSeleccion> multiple = juntar(fragmentos.enTodos(f -> seleccionMultipleRepository.findAllClaves()));
+        
+        ClavesRespuesta.Builder builder = ClavesRespuesta.builder(verdaderoFalso.size() + unica.size() + multiple.size());
+        for (ClaveRespuestaVerdaderoFalso clave : verdaderoFalso) {
+            builder.anadir(clave.id(), ClavesRespuesta.VERDADERO_FALSO, Boolean.TRUE.equals(clave.respuestaCorrecta()) ? 1L : 0L);
+        }
+        for (ClaveRespuestaSeleccion clave : unica) {
+            builder.anadir(clave.id(), ClavesRespuesta.SELECCION_UNICA, clave.mascaraCorrecta());
+        }
+        for (ClaveRespuestaSeleccion clave : multiple) {
+            builder.anadir(clave.id(), ClavesRespuesta.SELECCION_MULTIPLE, clave.mascaraCorrecta());
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Conserva solo los app.recalificacion.max-terminados trabajos terminados más recientes
+     * (los que siguen en cola o en curso no se descartan nunca)
+     */
+    private void descartarTerminados() {
+        List<TrabajoRecalificacion> terminados = trabajos.values().stream()
+            .filter(trabajo -> trabajo.getFin() != null)
+            .sorted(Comparator.comparing(TrabajoRecalificacion::getFin).reversed())
+            .toList();
+        for (int i = propiedades.maxTerminados(); i < terminados.size(); i++) {
+            trabajos.remove(terminados.get(i).getId());
+        }
+    }
+    
+    private static <T> List<T> juntar(List<List<T>> porFragmento) {
+        return porFragmento.size() == 1 ? porFragmento.get(0) : porFragmento.stream().flatMap(List::stream).toList();
+    }
+    
+    private Path resolverArchivo(String nombreArchivo) {
+        if (nombreArchivo == null || nombreArchivo.trim().isEmpty()) {
+            throw new DatosInvalidosException("archivo", "El nombre del archivo es obligatorio");
+        }
+        
+        Path directorio = Paths.get(propiedades.directorio()).toAbsolutePath().normalize();
+        Path archivo = directorio.resolve(nombreArchivo).normalize();
+        if (!archivo.startsWith(directorio)) {
+            throw new DatosInvalidosException("archivo", "El archivo debe estar dentro del directorio de recalificaciones");
+        }
+        if (!Files.isRegularFile(archivo)) {
+            throw new RecursoNoEncontradoException("Archivo", nombreArchivo);
+        }
+        return archivo;
+    }
+}
@@ -0,0 +1,105 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.entity.EstadoTrabajo;
+import com.midominio.group.app.spring.entity.Trabajo;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import com.midominio.group.app.spring.repository.TrabajoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service de consulta y cancelación de trabajos en segundo plano.
+ * La ejecución la gestiona MotorTrabajos.
+ * 
+ * Usado en:
+ * - TrabajoController (sondeo de progreso y cancelación)
+ * 
+ * Excepciones lanzadas:
+ * - RecursoNoEncontradoException: cuando no existe el trabajo
+ * - DatosInvalidosException: cuando la paginación es inválida
+ * - IllegalStateException: al cancelar un trabajo ya terminado
+ */
+@Lazy
+@Service
+@Transactional
+public class TrabajoService {
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    @Autowired
+    private TrabajoRepository repository;
+    
+    /**
+     * Obtiene el estado y progreso de un trabajo
+     * 
+     * Usado en:
+     * - API REST GET /api/trabajos/{id}
+     * 
+     * @param id identificador del trabajo
+     * @return el trabajo
+     * @throws RecursoNoEncontradoException si no existe
+     */
+    @Transactional(readOnly = true)
+    public Trabajo obtenerEstado(String id) {
+        return repository.findById(id)
+            .orElseThrow(() -> new RecursoNoEncontradoException("Trabajo", id));
+    }
+    
+    /**
+     * Lista los trabajos (más recientes primero), opcionalmente filtrados por estado
+     * 
+     * Usado en:
+     * - API REST GET /api/trabajos?estado=EN_CURSO
+     * 
+     * @param estado estado a filtrar (null para todos)
+     * @param pageable paginación
+     * @return página de trabajos
+     * @throws DatosInvalidosException si la paginación es inválida
+     */
+    @Transactional(readOnly = true)
+    public Page<Trabajo> listar(EstadoTrabajo estado, Pageable pageable) {
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            throw new DatosInvalidosException("size", "El tamaño de página no puede superar " + MAX_PAGE_SIZE);
+        }
+        
+        if (estado == null) {
+            return repository.findAllByOrderByFechaCreacionDesc(pageable);
+        }
+        return repository.findByEstadoOrderByFechaCreacionDesc(estado, pageable);
+    }
+    
+    /**
+     * Cancela un trabajo
+     * - PENDIENTE: se cancela inmediatamente
+     * - EN_CURSO: se marca y el motor lo detiene antes del siguiente bloque
+     *   (los bloques ya confirmados no se deshacen)
+     * 
+     * Usado en:
+     * - API REST DELETE /api/trabajos/{id}
+     * 
+     * @param id identificador del trabajo
+     * @return el trabajo con la cancelación registrada
+     * @throws RecursoNoEncontradoException si no existe
+     * @throws IllegalStateException si el trabajo ya ha terminado
+     */
+    public Trabajo cancelar(String id) {
+        Trabajo trabajo = repository.findById(id)
+            .orElseThrow(() -> new RecursoNoEncontradoException("Trabajo", id));
+        
+        if (trabajo.getEstado().esFinal()) {
+            throw new IllegalStateException("El trabajo ya ha terminado con estado " + trabajo.getEstado());
+        }
+        
+        if (trabajo.getEstado() == EstadoTrabajo.PENDIENTE) {
+            trabajo.finalizar(EstadoTrabajo.CANCELADO, null);
+        } else {
+            trabajo.solicitarCancelacion();
+        }
+        return trabajo;
+    }
+}
@@ -0,0 +1,276 @@
+package com.midominio.group.app.spring.trabajos;
+
+import com.midominio.group.app.spring.entity.EstadoTrabajo;
+import com.midominio.group.app.spring.entity.Trabajo;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.repository.TrabajoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Motor local de trabajos en segundo plano con cola persistente (tabla trabajos).
+ * 
+ * - Pool de hilos propio y acotado (app.trabajos.hilos), separado de los hilos HTTP:
+ *   las operaciones masivas nunca ocupan más de ese número de hilos ni de conexiones a BD
+ * - Límite de concurrencia por tipo (TipoTrabajo.maxConcurrentes)
+ * - Ejecución por bloques: cada bloque y su checkpoint se confirman en la misma transacción
+ * - Reanudación: al arrancar, los trabajos EN_CURSO (interrumpidos) vuelven a la cola
+ *   y continúan desde su checkpoint
+ * - Cancelación cooperativa: se comprueba antes de cada bloque
+ * 
+ * Diseñado para una sola instancia de la aplicación (la cola no se reparte entre nodos).
+ * 
+ * Usado en:
+ * - TrabajoService (consulta y cancelación)
+ * - PreguntaService y ArchivoPreguntasService (envío de trabajos masivos)
+ */
+@Component
+@EnableConfigurationProperties(TrabajosProperties.class)
+public class MotorTrabajos {
+    
+    private static final Logger log = LoggerFactory.getLogger(MotorTrabajos.class);
+    private static final int ERROR_MAX_LENGTH = 1000;
+    
+    private final TrabajoRepository repository;
+    private final TrabajosProperties propiedades;
+    private final TransactionTemplate transaccion;
+    // Los tipos se resuelven al primer uso: algunos dependen de servicios que a su vez envían trabajos
+    private final ObjectProvider<TipoTrabajo> proveedorTipos;
+    private volatile Map<String, TipoTrabajo> tipos;
+    
+    private final Set<String> enEjecucion = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicInteger> enEjecucionPorTipo = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor pool;
+    private volatile boolean activo = true;
+    
+    public MotorTrabajos(TrabajoRepository repository, TrabajosProperties propiedades,
+                         PlatformTransactionManager transactionManager, ObjectProvider<TipoTrabajo> proveedorTipos) {
+        this.repository = repository;
+        this.propiedades = propiedades;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.proveedorTipos = proveedorTipos;
+    }
+    
+    @PostConstruct
+    public void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        // Cola acotada a hilos: el despacho nunca reserva más de hilos trabajos, pero un hilo que termina
+        // despacha al siguiente antes de volver al pool y esa entrega tiene que poder esperar en la cola
+        pool = new ThreadPoolExecutor(propiedades.hilos(), propiedades.hilos(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(propiedades.hilos()), tarea -> {
+                    Thread hilo = new Thread(tarea, "trabajo-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+    }
+    
+    /**
+     * Devuelve a la cola los trabajos interrumpidos por una parada y empieza el despacho
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudarInterrumpidos() {
+        int reanudados = transaccion.execute(estado -> {
+            List<Trabajo> interrumpidos = repository.findByEstadoOrderByFechaCreacionAsc(EstadoTrabajo.EN_CURSO);
+            interrumpidos.forEach(Trabajo::reanudar);
+            return interrumpidos.size();
+        });
+        if (reanudados > 0) {
+            log.info("Reanudando {} trabajos interrumpidos desde su último checkpoint", reanudados);
+        }
+        despachar();
+    }
+    
+    /**
+     * Encola un trabajo (se ejecuta en cuanto haya capacidad)
+     * Si hay una transacción activa, el despacho se hace tras el commit
+     * 
+     * @param tipo nombre del tipo de trabajo
+     * @param parametros parámetros del trabajo
+     * @return el trabajo creado (PENDIENTE)
+     * @throws DatosInvalidosException si el tipo no existe o los parámetros son inválidos
+     */
+    public Trabajo enviar(String tipo, Map<String, String> parametros) {
+        TipoTrabajo tipoTrabajo = obtenerTipo(tipo);
+        tipoTrabajo.validarParametros(parametros);
+        
+        Trabajo trabajo = new Trabajo(tipo, parametros);
+        trabajo.setTotal(tipoTrabajo.estimarTotal(parametros));
+        Trabajo guardado = transaccion.execute(estado -> repository.save(trabajo));
+        
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    despachar();
+                }
+            });
+        } else {
+            despachar();
+        }
+        return guardado;
+    }
+    
+    /**
+     * Entrega trabajos pendientes a los hilos libres respetando los límites por tipo
+     * También se ejecuta periódicamente por si algún envío no llegó a despacharse
+     * 
+     * El trabajo se entrega al pool antes de marcarlo EN_CURSO (lo marca el propio hilo al empezar):
+     * si el pool lo rechaza (parada) solo se deshace la reserva en memoria y sigue PENDIENTE
+     */
+    @Scheduled(fixedDelayString = "${app.trabajos.intervalo-sondeo:2s}")
+    public synchronized void despachar() {
+        if (!activo || enEjecucion.size() >= propiedades.hilos()) {
+            return;
+        }
+        
+        for (Trabajo pendiente : repository.findByEstadoOrderByFechaCreacionAsc(EstadoTrabajo.PENDIENTE)) {
+            if (enEjecucion.size() >= propiedades.hilos()) {
+                return;
+            }
+            TipoTrabajo tipo = getTipos().get(pendiente.getTipo());
+            if (tipo == null) {
+                finalizar(pendiente.getId(), EstadoTrabajo.FALLIDO, "Tipo de trabajo desconocido: " + pendiente.getTipo());
+                continue;
+            }
+            AtomicInteger enCursoTipo = enEjecucionPorTipo.computeIfAbsent(tipo.nombre(), k -> new AtomicInteger());
+            if (enCursoTipo.get() >= tipo.maxConcurrentes() || enEjecucion.contains(pendiente.getId())) {
+                continue;
+            }
+            
+            String id = pendiente.getId();
+            enEjecucion.add(id);
+            enCursoTipo.incrementAndGet();
+            try {
+                pool.execute(() -> ejecutar(id, tipo, enCursoTipo));
+            } catch (RejectedExecutionException e) {
+                liberar(id, enCursoTipo);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Ejecuta un trabajo bloque a bloque hasta terminar, fallar, cancelarse o pararse la aplicación
+     */
+    private void ejecutar(String id, TipoTrabajo tipo, AtomicInteger enCursoTipo) {
+        try {
+            // Solo empieza si sigue PENDIENTE: pudo cancelarse mientras esperaba en la cola del pool
+            boolean iniciado = Boolean.TRUE.equals(transaccion.execute(estado -> repository.findById(id)
+                .filter(trabajo -> trabajo.getEstado() == EstadoTrabajo.PENDIENTE)
+                .map(trabajo -> {
+                    trabajo.iniciar();
+                    return true;
+                })
+                .orElse(false)));
+            while (iniciado && activo) {
+                ResultadoBloque bloque = transaccion.execute(estado -> {
+                    Trabajo trabajo = repository.findById(id).orElseThrow();
+                    if (trabajo.getCancelacionSolicitada()) {
+                        trabajo.finalizar(EstadoTrabajo.CANCELADO, null);
+                        return null;
+                    }
+                    ResultadoBloque resultado = tipo.procesarBloque(trabajo.getParametros(),
+                            trabajo.getCheckpoint(), propiedades.tamanoBloque());
+                    trabajo.avanzar(resultado.checkpoint(), resultado.procesados());
+                    if (resultado.terminado()) {
+                        trabajo.finalizar(EstadoTrabajo.COMPLETADO, null);
+                    }
+                    return resultado;
+                });
+                if (bloque == null || bloque.terminado()) {
+                    return;
+                }
+                pausar();
+            }
+            // Parada de la aplicación: el trabajo queda EN_CURSO y se reanuda al arrancar
+        } catch (RuntimeException e) {
+            log.error("Trabajo {} ({}) fallido", id, tipo.nombre(), e);
+            finalizar(id, EstadoTrabajo.FALLIDO, String.valueOf(e.getMessage()));
+        } finally {
+            liberar(id, enCursoTipo);
+            try {
+                despachar();
+            } catch (RuntimeException e) {
+                // El sondeo periódico lo volverá a intentar
+                log.warn("No se pudo despachar el siguiente trabajo tras {}", id, e);
+            }
+        }
+    }
+    
+    private void liberar(String id, AtomicInteger enCursoTipo) {
+        enEjecucion.remove(id);
+        enCursoTipo.decrementAndGet();
+    }
+    
+    private void finalizar(String id, EstadoTrabajo estadoFinal, String error) {
+        String mensaje = error != null && error.length() > ERROR_MAX_LENGTH ? error.substring(0, ERROR_MAX_LENGTH) : error;
+        transaccion.executeWithoutResult(estado -> repository.findById(id)
+            .ifPresent(trabajo -> trabajo.finalizar(estadoFinal, mensaje)));
+    }
+    
+    private void pausar() {
+        long nanos = propiedades.pausaEntreBloques().toNanos();
+        if (nanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                activo = false;
+            }
+        }
+    }
+    
+    private TipoTrabajo obtenerTipo(String tipo) {
+        TipoTrabajo tipoTrabajo = getTipos().get(tipo);
+        if (tipoTrabajo == null) {
+            throw new DatosInvalidosException("tipo", "Tipo de trabajo desconocido: " + tipo);
+        }
+        return tipoTrabajo;
+    }
+    
+    private Map<String, TipoTrabajo> getTipos() {
+        Map<String, TipoTrabajo> resueltos = tipos;
+        if (resueltos == null) {
+            resueltos = proveedorTipos.orderedStream()
+                .collect(Collectors.toUnmodifiableMap(TipoTrabajo::nombre, Function.identity()));
+            tipos = resueltos;
+        }
+        return resueltos;
+    }
+    
+    /**
+     * Para el pool: los bloques en curso terminan y sus trabajos se reanudan en el siguiente arranque
+     */
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        activo = false;
+        pool.shutdown();
+        if (!pool.awaitTermination(30, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+    }
+}
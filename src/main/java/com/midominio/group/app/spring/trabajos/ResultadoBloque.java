@@ -0,0 +1,11 @@
+package com.midominio.group.app.spring.trabajos;
+
+/**
+ * Resultado de procesar un bloque de un trabajo en segundo plano.
+ * 
+ * @param checkpoint posición a partir de la cual continuar
+ * @param procesados elementos procesados en el bloque
+ * @param terminado true si no queda nada por procesar
+ */
+public record ResultadoBloque(String checkpoint, long procesados, boolean terminado) {
+}
@@ -0,0 +1,53 @@
+package com.midominio.group.app.spring.trabajos;
+
+import java.util.Map;
+
+/**
+ * Tipo de trabajo en segundo plano ejecutable por MotorTrabajos.
+ * 
+ * Cada implementación es un bean de Spring. El motor llama a procesarBloque()
+ * repetidamente, cada vez en una transacción nueva junto con la actualización
+ * del checkpoint, hasta que devuelve terminado = true.
+ * 
+ * Para que la reanudación tras un reinicio sea exacta, todo el trabajo de un bloque
+ * debe hacerse en la base de datos dentro de esa transacción.
+ */
+public interface TipoTrabajo {
+    
+    /**
+     * Nombre del tipo (columna trabajos.tipo)
+     */
+    String nombre();
+    
+    /**
+     * Máximo de trabajos de este tipo ejecutándose a la vez
+     */
+    default int maxConcurrentes() {
+        return 1;
+    }
+    
+    /**
+     * Valida los parámetros al enviar el trabajo
+     * 
+     * @throws com.midominio.group.app.spring.exception.DatosInvalidosException si son inválidos
+     */
+    default void validarParametros(Map<String, String> parametros) {
+    }
+    
+    /**
+     * Estimación del número de elementos a procesar (para el progreso), o null
+     */
+    default Long estimarTotal(Map<String, String> parametros) {
+        return null;
+    }
+    
+    /**
+     * Procesa el siguiente bloque a partir del checkpoint
+     * 
+     * @param parametros parámetros del trabajo
+     * @param checkpoint posición del último bloque confirmado (null en el primero)
+     * @param tamanoBloque número máximo de elementos del bloque
+     * @return nuevo checkpoint, elementos procesados y si el trabajo ha terminado
+     */
+    ResultadoBloque procesarBloque(Map<String, String> parametros, String checkpoint, int tamanoBloque);
+}
@@ -0,0 +1,81 @@
+package com.midominio.group.app.spring.trabajos;
+
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.service.ArchivoPreguntasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Trabajo ARCHIVADO: mueve al archivo las preguntas inactivas desde antes de una fecha límite.
+ * 
+ * Parámetros:
+ * - limite: fecha ISO (yyyy-MM-ddTHH:mm:ss); se fija al encolar, no al ejecutar
+ * 
+ * Dentro de un fragmento no necesita posición: las preguntas archivadas salen de la tabla
+ * caliente, así que la búsqueda de candidatas continúa donde lo dejó el último bloque confirmado.
+ * El checkpoint es el fragmento en curso (con varios fragmentos se recorren uno tras otro;
+ * cada bloque se confirma en su fragmento y se puede repetir sin efecto).
+ * 
+ * Usado en:
+ * - ArchivoPreguntasService.archivarInactivas() (tarea programada y POST /api/preguntas/archivar)
+ */
+@Component
+public class TrabajoArchivado implements TipoTrabajo {
+    
+    public static final String NOMBRE = "ARCHIVADO";
+    public static final String PARAM_LIMITE = "limite";
+    
+    @Autowired
+    private ArchivoPreguntasService archivo;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    @Override
+    public String nombre() {
+        return NOMBRE;
+    }
+    
+    @Override
+    public void validarParametros(Map<String, String> parametros) {
+        limite(parametros);
+    }
+    
+    @Override
+    public Long estimarTotal(Map<String, String> parametros) {
+        LocalDateTime limite = limite(parametros);
+        return fragmentos.enTodos(fragmento -> archivo.contarCandidatas(limite)).stream()
+            .mapToLong(Long::longValue)
+            .sum();
+    }
+    
+    @Override
+    public ResultadoBloque procesarBloque(Map<String, String> parametros, String checkpoint, int tamanoBloque) {
+        LocalDateTime limite = limite(parametros);
+        int fragmento = checkpoint == null ? 0 : Integer.parseInt(checkpoint);
+        int archivadas = fragmentos.escribirEn(fragmento, () -> archivo.archivarLote(limite, tamanoBloque));
+        if (archivadas > 0) {
+            return new ResultadoBloque(checkpoint, archivadas, false);
+        }
+        // Fragmento terminado: se sigue con el siguiente, si queda alguno
+        boolean ultimo = fragmento + 1 >= fragmentos.total();
+        return new ResultadoBloque(ultimo ? checkpoint : String.valueOf(fragmento + 1), 0, ultimo);
+    }
+    
+    private LocalDateTime limite(Map<String, String> parametros) {
+        String valor = parametros.get(PARAM_LIMITE);
+        if (valor == null) {
+            throw new DatosInvalidosException(PARAM_LIMITE, "La fecha límite es obligatoria");
+        }
+        try {
+            return LocalDateTime.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new DatosInvalidosException(PARAM_LIMITE, "Fecha límite inválida: " + valor);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.midominio.group.app.spring.trabajos;
+
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import com.midominio.group.app.spring.fragmentos.Fragmentos;
+import com.midominio.group.app.spring.repository.PreguntaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trabajo CAMBIO_ESTADO: activa o desactiva todas las preguntas (opcionalmente de una temática).
+ * 
+ * Parámetros:
+ * - activa: "true" o "false" (obligatorio)
+ * - tematica: temática exacta, sin distinguir mayúsculas (opcional; sin ella, todas las preguntas)
+ * 
+ * Recorre las preguntas por paginación por clave, un fragmento tras otro; el checkpoint es
+ * "fragmento:último ID procesado" (un ID solo, sin fragmento, es del fragmento 0). Con varios
+ * fragmentos cada bloque se confirma en su fragmento antes que el checkpoint: si se repite
+ * tras una caída, vuelve a poner el mismo estado.
+ * 
+ * Usado en:
+ * - PreguntaService.cambiarEstadoMasivo() (POST /api/preguntas/estado-masivo)
+ */
+@Component
+public class TrabajoCambioEstado implements TipoTrabajo {
+    
+    public static final String NOMBRE = "CAMBIO_ESTADO";
+    public static final String PARAM_ACTIVA = "activa";
+    public static final String PARAM_TEMATICA = "tematica";
+    
+    @Autowired
+    private PreguntaRepository repository;
+    
+    @Autowired
+    private Fragmentos fragmentos;
+    
+    /**
+     * Bloque procesado en un fragmento
+     */
+    private record Bloque(int procesados, long ultimoId) {
+    }
+    
+    @Override
+    public String nombre() {
+        return NOMBRE;
+    }
+    
+    @Override
+    public void validarParametros(Map<String, String> parametros) {
+        activa(parametros);
+    }
+    
+    @Override
+    public Long estimarTotal(Map<String, String> parametros) {
+        boolean activa = activa(parametros);
+        String tematica = parametros.get(PARAM_TEMATICA);
+        return fragmentos.enTodos(fragmento -> repository.countParaCambioEstado(activa, tematica)).stream()
+            .mapToLong(Long::longValue)
+            .sum();
+    }
+    
+    @Override
+    public ResultadoBloque procesarBloque(Map<String, String> parametros, String checkpoint, int tamanoBloque) {
+        boolean activa = activa(parametros);
+        String tematica = parametros.get(PARAM_TEMATICA);
+        int separador = checkpoint == null ? -1 : checkpoint.indexOf(':');
+        int fragmento = separador < 0 ? 0 : Integer.parseInt(checkpoint.substring(0, separador));
+        long desde = checkpoint == null ? 0L : Long.parseLong(checkpoint.substring(separador + 1));
+        
+        Bloque bloque = fragmentos.escribirEn(fragmento, () -> {
+            List<Pregunta> preguntas = repository.findParaCambioEstadoDesde(desde, activa, tematica,
+                    PageRequest.of(0, tamanoBloque));
+            // Entidades gestionadas: el flush al confirmar la transacción guarda los cambios
+            preguntas.forEach(pregunta -> pregunta.setActiva(activa));
+            return new Bloque(preguntas.size(), preguntas.isEmpty() ? desde : preguntas.get(preguntas.size() - 1).getId());
+        });
+        
+        if (bloque.procesados() == tamanoBloque) {
+            return new ResultadoBloque(fragmento + ":" + bloque.ultimoId(), bloque.procesados(), false);
+        }
+        // Fragmento terminado: se sigue con el siguiente, si queda alguno
+        boolean ultimo = fragmento + 1 >= fragmentos.total();
+        String siguiente = ultimo ? fragmento + ":" + bloque.ultimoId() : (fragmento + 1) + ":0";
+        return new ResultadoBloque(siguiente, bloque.procesados(), ultimo);
+    }
+    
+    private boolean activa(Map<String, String> parametros) {
+        String valor = parametros.get(PARAM_ACTIVA);
+        if (!"true".equals(valor) && !"false".equals(valor)) {
+            throw new DatosInvalidosException(PARAM_ACTIVA, "El estado debe ser true o false");
+        }
+        return Boolean.parseBoolean(valor);
+    }
+}
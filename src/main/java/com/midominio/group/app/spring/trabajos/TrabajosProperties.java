@@ -0,0 +1,28 @@
+package com.midominio.group.app.spring.trabajos;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del motor de trabajos en segundo plano.
+ * Propiedades con prefijo app.trabajos en application.properties.
+ * 
+ * @param hilos hilos del pool de trabajos (separado de los hilos HTTP; limita también las conexiones a BD que usan)
+ * @param tamanoBloque elementos procesados por transacción
+ * @param pausaEntreBloques pausa tras cada bloque para ceder conexiones y CPU al tráfico interactivo
+ * @param intervaloSondeo cada cuánto se revisa la cola de trabajos pendientes
+ */
+@ConfigurationProperties(prefix = "app.trabajos")
+public record TrabajosProperties(Integer hilos, Integer tamanoBloque, Duration pausaEntreBloques, Duration intervaloSondeo) {
+    
+    /**
+     * Valores por defecto para las propiedades no configuradas
+     */
+    public TrabajosProperties {
+        hilos = hilos == null ? 2 : hilos;
+        tamanoBloque = tamanoBloque == null ? 500 : tamanoBloque;
+        pausaEntreBloques = pausaEntreBloques == null ? Duration.ofMillis(20) : pausaEntreBloques;
+        intervaloSondeo = intervaloSondeo == null ? Duration.ofSeconds(2) : intervaloSondeo;
+    }
+}
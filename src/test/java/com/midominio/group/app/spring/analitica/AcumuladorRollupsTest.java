@@ -0,0 +1,87 @@
+package com.midominio.group.app.spring.analitica;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AcumuladorRollupsTest {
+
+	private static final LocalDateTime DIEZ = LocalDateTime.of(2025, 3, 10, 10, 0);
+
+	@Test
+	void agregaPorTematicaTipoYHora() {
+		AcumuladorRollups acumulador = new AcumuladorRollups();
+		acumulador.registrar("Java", "VERDADERO_FALSO", 1.0, DIEZ.plusMinutes(5));
+		acumulador.registrar("Java", "VERDADERO_FALSO", 0.0, DIEZ.plusMinutes(50));
+		acumulador.registrar("Java", "SELECCION_MULTIPLE", 0.5, DIEZ.plusMinutes(20));
+
+		List<AcumuladorRollups.Delta> deltas = acumulador.drenar(DIEZ);
+
+		assertEquals(2, deltas.size());
+		AcumuladorRollups.Delta vf = deltas.stream()
+			.filter(d -> d.clave().tipoPregunta().equals("VERDADERO_FALSO")).findFirst().orElseThrow();
+		assertEquals(DIEZ, vf.clave().inicioHora());
+		assertEquals(2, vf.intentos());
+		assertEquals(1, vf.aciertos());
+		assertEquals(1000, vf.puntosMilesimas());
+	}
+
+	@Test
+	void drenarPoneACeroYEliminaHorasCerradas() {
+		AcumuladorRollups acumulador = new AcumuladorRollups();
+		acumulador.registrar("Java", "SELECCION_UNICA", 1.0, DIEZ);
+		acumulador.registrar("SQL", "SELECCION_UNICA", 1.0, DIEZ.plusHours(1));
+
+		assertEquals(2, acumulador.drenar(DIEZ.plusHours(1)).size());
+		assertEquals(1, acumulador.tamano());
+		assertTrue(acumulador.drenar(DIEZ.plusHours(1)).isEmpty());
+	}
+
+	@Test
+	void drenarMientrasSeRegistraNoPierdeIntentos() throws InterruptedException {
+		AcumuladorRollups acumulador = new AcumuladorRollups();
+		ExecutorService hilos = Executors.newFixedThreadPool(4);
+		for (int hilo = 0; hilo < 4; hilo++) {
+			hilos.submit(() -> {
+				for (int i = 0; i < 50_000; i++) {
+					acumulador.registrar("Java", "VERDADERO_FALSO", 1.0, DIEZ);
+				}
+			});
+		}
+		hilos.shutdown();
+
+		long intentos = 0;
+		long puntos = 0;
+		boolean terminado = false;
+		while (!terminado) {
+			terminado = hilos.isTerminated();
+			for (AcumuladorRollups.Delta delta : acumulador.drenar(DIEZ)) {
+				intentos += delta.intentos();
+				puntos += delta.puntosMilesimas();
+			}
+		}
+
+		assertEquals(200_000L, intentos);
+		assertEquals(200_000_000L, puntos);
+	}
+
+	@Test
+	void restaurarDevuelveLosDeltasAlSiguienteDrenado() {
+		AcumuladorRollups acumulador = new AcumuladorRollups();
+		acumulador.registrar("Java", "SELECCION_UNICA", 1.0, DIEZ);
+		List<AcumuladorRollups.Delta> deltas = acumulador.drenar(DIEZ);
+
+		acumulador.restaurar(deltas);
+		acumulador.registrar("Java", "SELECCION_UNICA", 0.0, DIEZ);
+
+		AcumuladorRollups.Delta delta = acumulador.drenar(DIEZ).get(0);
+		assertEquals(2, delta.intentos());
+		assertEquals(1, delta.aciertos());
+	}
+}
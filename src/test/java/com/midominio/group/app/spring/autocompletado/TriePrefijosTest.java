@@ -0,0 +1,75 @@
+package com.midominio.group.app.spring.autocompletado;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TriePrefijosTest {
+
+	private final TriePrefijos trie = new TriePrefijos();
+
+	@Test
+	void devuelveLosMasPopularesYAIgualCuentaEnOrdenAlfabetico() {
+		trie.sumar("java", "Java", 5);
+		trie.sumar("javascript", "JavaScript", 9);
+		trie.sumar("jakarta", "Jakarta", 5);
+		trie.sumar("python", "Python", 20);
+
+		assertEquals(List.of(
+				new TriePrefijos.Completado("JavaScript", 9),
+				new TriePrefijos.Completado("Jakarta", 5),
+				new TriePrefijos.Completado("Java", 5)), trie.completar("ja", 10));
+		assertEquals(List.of(new TriePrefijos.Completado("JavaScript", 9)), trie.completar("ja", 1));
+		assertEquals(List.of(new TriePrefijos.Completado("JavaScript", 9)), trie.completar("javas", 10));
+		assertTrue(trie.completar("jz", 10).isEmpty());
+	}
+
+	@Test
+	void restarHastaCeroEliminaElTerminoYPodaLaRama() {
+		trie.sumar("herencia", "herencia", 2);
+		trie.sumar("heredar", "heredar", 1);
+
+		trie.sumar("herencia", null, -2);
+
+		assertEquals(List.of(new TriePrefijos.Completado("heredar", 1)), trie.completar("her", 10));
+		assertEquals(1, trie.tamano());
+		trie.sumar("heredar", null, -1);
+		assertTrue(trie.completar("h", 10).isEmpty());
+		assertEquals(0, trie.tamano());
+	}
+
+	@Test
+	void coincideConUnRecorridoCompletoTrasCambiosAleatorios() {
+		Random aleatorio = new Random(7);
+		Map<String, Integer> esperado = new HashMap<>();
+		for (int i = 0; i < 20_000; i++) {
+			String termino = Integer.toString(aleatorio.nextInt(2_000), 4);
+			int delta = aleatorio.nextInt(3) == 0 ? -1 : 1;
+			int actual = esperado.getOrDefault(termino, 0);
+			if (actual + delta <= 0) {
+				esperado.remove(termino);
+			} else {
+				esperado.put(termino, actual + delta);
+			}
+			trie.sumar(termino, termino, delta);
+		}
+
+		for (String prefijo : List.of("1", "12", "303", "0")) {
+			List<TriePrefijos.Completado> porRecorrido = esperado.entrySet().stream()
+					.filter(entrada -> entrada.getKey().startsWith(prefijo))
+					.sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+					.limit(15)
+					.map(entrada -> new TriePrefijos.Completado(entrada.getKey(), entrada.getValue()))
+					.collect(Collectors.toList());
+			assertEquals(porRecorrido, trie.completar(prefijo, 15), prefijo);
+		}
+		assertEquals(esperado.size(), trie.tamano());
+	}
+}
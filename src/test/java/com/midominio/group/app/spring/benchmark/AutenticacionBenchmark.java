@@ -0,0 +1,73 @@
+package com.midominio.group.app.spring.benchmark;
+
+import com.midominio.group.app.spring.seguridad.CachePrincipales;
+import com.midominio.group.app.spring.seguridad.FirmaTokens;
+import com.midominio.group.app.spring.seguridad.TokenProperties;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark del coste de autenticación por petición en un solo hilo:
+ * 
+ * 1. HTTP Basic con contraseña en BCrypt (coste 10, el de Spring Security por defecto)
+ * 2. Token firmado sin caché (decodificación + HMAC-SHA256)
+ * 3. Token firmado con caché de principales (SHA-256 del token + búsqueda en mapa)
+ * 
+ * Uso:
+ *   java -cp target/test-classes:<classpath de test> \
+ *        com.midominio.group.app.spring.benchmark.AutenticacionBenchmark [segundosPorCaso]
+ * 
+ * El resultado es el máximo de peticiones por segundo y núcleo que cada modo
+ * permite antes de hacer ningún trabajo útil.
+ */
+public class AutenticacionBenchmark {
+    
+    private static final String SECRETO = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+    
+    // Evita que el JIT elimine las llamadas medidas
+    private static volatile Object sumidero;
+    
+    public static void main(String[] args) {
+        long segundos = args.length > 0 ? Long.parseLong(args[0]) : 3;
+        
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        String hash = bcrypt.encode("contraseña-de-prueba");
+        
+        TokenProperties propiedades = new TokenProperties("k1", Map.of("k1", SECRETO),
+                Duration.ofHours(1), Duration.ofMinutes(5), 10_000);
+        FirmaTokens firma = new FirmaTokens(propiedades);
+        CachePrincipales cache = new CachePrincipales(firma, propiedades);
+        long expira = System.currentTimeMillis() / 1000 + 3600;
+        String token = firma.emitir("alumno", List.of("ROLE_USER"), expira);
+        long ahora = System.currentTimeMillis() / 1000;
+        
+        medir("HTTP Basic + BCrypt", segundos, () -> sumidero = bcrypt.matches("contraseña-de-prueba", hash));
+        medir("Token (sin caché)", segundos, () -> sumidero = firma.verificar(token, ahora));
+        medir("Token (con caché)", segundos, () -> sumidero = cache.autenticar(token));
+    }
+    
+    /**
+     * Calienta durante un segundo y mide operaciones por segundo durante el tiempo indicado
+     */
+    private static void medir(String nombre, long segundos, Runnable operacion) {
+        ejecutarDurante(Duration.ofSeconds(1).toNanos(), operacion);
+        long nanos = Duration.ofSeconds(segundos).toNanos();
+        long operaciones = ejecutarDurante(nanos, operacion);
+        double porSegundo = operaciones * 1e9 / nanos;
+        System.out.printf("%-22s %14.0f op/s  %12.2f µs/op%n", nombre, porSegundo, 1e6 / porSegundo);
+    }
+    
+    private static long ejecutarDurante(long nanos, Runnable operacion) {
+        long fin = System.nanoTime() + nanos;
+        long operaciones = 0;
+        while (System.nanoTime() < fin) {
+            operacion.run();
+            operaciones++;
+        }
+        return operaciones;
+    }
+}
@@ -0,0 +1,123 @@
+package com.midominio.group.app.spring.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Benchmark de arranque: mide el tiempo hasta la primera petición servida (time-to-first-request)
+ * de Application, lanzando cada iteración en una JVM nueva.
+ * 
+ * La medida va desde el lanzamiento del proceso hasta la primera respuesta 2xx de
+ * GET /api/preguntas/tematicas, que atraviesa seguridad, controller, service y base de datos.
+ * 
+ * Uso (tras mvn -Pfast-startup package):
+ *   java -cp target/test-classes com.midominio.group.app.spring.benchmark.StartupBenchmark \
+ *        target/extracted/app.spring-0.0.1-SNAPSHOT.jar [iteraciones] [maxMedianaMs] [flags JVM...]
+ * 
+ * Ejemplos de flags JVM para comparar:
+ *   -XX:SharedArchiveFile=target/application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup
+ * 
+ * Si se indica maxMedianaMs y la mediana lo supera, termina con código 1 (regresión).
+ */
+public class StartupBenchmark {
+    
+    private static final String RUTA = "/api/preguntas/tematicas";
+    private static final String USUARIO = "benchmark";
+    private static final String PASSWORD = "benchmark";
+    private static final Duration TIMEOUT_ARRANQUE = Duration.ofMinutes(2);
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Uso: StartupBenchmark <jar> [iteraciones] [maxMedianaMs] [flags JVM...]");
+            System.exit(2);
+        }
+        String jar = args[0];
+        int iteraciones = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long maxMedianaMs = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        List<String> flagsJvm = args.length > 3 ? Arrays.asList(args).subList(3, args.length) : List.of();
+        
+        List<Long> tiempos = new ArrayList<>();
+        for (int i = 0; i < iteraciones; i++) {
+            long ms = medirArranque(jar, flagsJvm);
+            tiempos.add(ms);
+            System.out.printf("Iteración %d: %d ms%n", i + 1, ms);
+        }
+        
+        Collections.sort(tiempos);
+        long mediana = tiempos.get(tiempos.size() / 2);
+        System.out.printf("time-to-first-request  min=%d ms  mediana=%d ms  max=%d ms  (n=%d)%n",
+                tiempos.get(0), mediana, tiempos.get(tiempos.size() - 1), tiempos.size());
+        
+        if (maxMedianaMs > 0 && mediana > maxMedianaMs) {
+            System.err.printf("REGRESIÓN: la mediana (%d ms) supera el máximo permitido (%d ms)%n",
+                    mediana, maxMedianaMs);
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Lanza la aplicación en una JVM nueva y mide el tiempo hasta la primera respuesta 2xx
+     */
+    private static long medirArranque(String jar, List<String> flagsJvm) throws Exception {
+        int puerto = puertoLibre();
+        List<String> comando = new ArrayList<>();
+        comando.add(ProcessHandle.current().info().command().orElse("java"));
+        comando.addAll(flagsJvm);
+        comando.add("-jar");
+        comando.add(jar);
+        comando.add("--server.port=" + puerto);
+        comando.add("--spring.security.user.name=" + USUARIO);
+        comando.add("--spring.security.user.password=" + PASSWORD);
+        
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + RUTA))
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString((USUARIO + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8)))
+                .GET()
+                .build();
+        
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long limite = inicio + TIMEOUT_ARRANQUE.toNanos();
+            while (System.nanoTime() < limite) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + proceso.exitValue());
+                }
+                try {
+                    HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                    if (respuesta.statusCode() / 100 == 2) {
+                        return (System.nanoTime() - inicio) / 1_000_000L;
+                    }
+                } catch (IOException e) {
+                    // Servidor aún no escucha
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("La aplicación no respondió en " + TIMEOUT_ARRANQUE);
+        } finally {
+            proceso.destroy();
+            proceso.waitFor();
+        }
+    }
+    
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.midominio.group.app.spring.benchmark.carga;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara dos informes de carga (resumen.txt) y muestra la variación de throughput
+ * y percentiles por operación.
+ * 
+ * Uso:
+ *   java -cp target/test-classes com.midominio.group.app.spring.benchmark.carga.ComparadorInformes \
+ *        target/carga/base target/carga/nueva [maxRegresionP99Porcentaje]
+ * 
+ * Si se indica maxRegresionP99Porcentaje y el p99 TOTAL empeora más de ese porcentaje,
+ * termina con código 1 (regresión).
+ */
+public class ComparadorInformes {
+    
+    private static final String[] COLUMNAS = {"rps", "p50_ms", "p90_ms", "p99_ms", "p999_ms", "max_ms"};
+    // Posición de cada columna en resumen.txt (tras operacion, peticiones, errores y descartadas)
+    private static final int PRIMERA_COLUMNA = 4;
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: ComparadorInformes <informeBase> <informeNuevo> [maxRegresionP99Porcentaje]");
+            System.exit(2);
+        }
+        Map<String, double[]> base = leer(Path.of(args[0]));
+        Map<String, double[]> nuevo = leer(Path.of(args[1]));
+        
+        System.out.printf(Locale.ROOT, "%-17s", "operacion");
+        for (String columna : COLUMNAS) {
+            System.out.printf(Locale.ROOT, " %22s", columna);
+        }
+        System.out.println();
+        
+        for (Map.Entry<String, double[]> entrada : nuevo.entrySet()) {
+            double[] anterior = base.get(entrada.getKey());
+            if (anterior == null) {
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "%-17s", entrada.getKey());
+            for (int i = 0; i < COLUMNAS.length; i++) {
+                System.out.printf(Locale.ROOT, " %9.2f -> %9.2f %s", anterior[i], entrada.getValue()[i],
+                        variacion(anterior[i], entrada.getValue()[i]));
+            }
+            System.out.println();
+        }
+        
+        if (args.length > 2 && base.containsKey("TOTAL") && nuevo.containsKey("TOTAL")) {
+            double maximo = Double.parseDouble(args[2]);
+            double p99Base = base.get("TOTAL")[3];
+            double p99Nuevo = nuevo.get("TOTAL")[3];
+            double porcentaje = p99Base > 0 ? (p99Nuevo - p99Base) * 100 / p99Base : 0;
+            if (porcentaje > maximo) {
+                System.err.printf(Locale.ROOT, "REGRESIÓN: el p99 total empeora un %.1f%% (máximo %.1f%%)%n",
+                        porcentaje, maximo);
+                System.exit(1);
+            }
+        }
+    }
+    
+    private static String variacion(double antes, double despues) {
+        if (antes == 0) {
+            return "(   n/a)";
+        }
+        return String.format(Locale.ROOT, "(%+5.0f%%)", (despues - antes) * 100 / antes);
+    }
+    
+    private static Map<String, double[]> leer(Path directorio) throws IOException {
+        Map<String, double[]> filas = new LinkedHashMap<>();
+        for (String linea : Files.readAllLines(directorio.resolve("resumen.txt"))) {
+            if (linea.isBlank() || linea.startsWith("#")) {
+                continue;
+            }
+            String[] campos = linea.trim().split("\\s+");
+            double[] valores = new double[COLUMNAS.length];
+            for (int i = 0; i < COLUMNAS.length; i++) {
+                valores[i] = Double.parseDouble(campos[PRIMERA_COLUMNA + i]);
+            }
+            filas.put(campos[0], valores);
+        }
+        return filas;
+    }
+}
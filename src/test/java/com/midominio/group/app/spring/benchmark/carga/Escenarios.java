@@ -0,0 +1,43 @@
+package com.midominio.group.app.spring.benchmark.carga;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.midominio.group.app.spring.benchmark.carga.Operacion.*;
+
+/**
+ * Escenarios de carga predefinidos.
+ * 
+ * Las tasas y duraciones se escalan con factorTasa y factorDuracion para adaptar
+ * el mismo perfil a máquinas distintas sin cambiar su forma.
+ */
+public final class Escenarios {
+    
+    private Escenarios() {
+    }
+    
+    /**
+     * Día de examen: tráfico normal de estudio, una ráfaga de validaciones al empezar
+     * el examen (todos los alumnos responden a la vez) y la cola posterior.
+     */
+    public static List<Fase> diaExamen(double factorTasa, double factorDuracion) {
+        Mezcla estudio = Mezcla.de(
+                VALIDAR_VF, 30, VALIDAR_UNICA, 15, VALIDAR_MULTIPLE, 15,
+                TEST_ALEATORIO, 10, LISTADO, 15, BUSQUEDA, 12, ALTA_PREGUNTA, 3);
+        Mezcla examen = Mezcla.de(
+                VALIDAR_VF, 45, VALIDAR_UNICA, 22, VALIDAR_MULTIPLE, 22,
+                TEST_ALEATORIO, 8, LISTADO, 2, BUSQUEDA, 1);
+        
+        return List.of(
+                fase("calentamiento", 15, 50, false, estudio, factorTasa, factorDuracion),
+                fase("estudio", 30, 100, true, estudio, factorTasa, factorDuracion),
+                fase("rafaga-examen", 20, 400, true, examen, factorTasa, factorDuracion),
+                fase("cola", 20, 100, true, estudio, factorTasa, factorDuracion));
+    }
+    
+    private static Fase fase(String nombre, int segundos, double rps, boolean medir, Mezcla mezcla,
+                             double factorTasa, double factorDuracion) {
+        Duration duracion = Duration.ofMillis(Math.max(1, Math.round(segundos * 1000 * factorDuracion)));
+        return new Fase(nombre, duracion, rps * factorTasa, medir, mezcla);
+    }
+}
@@ -0,0 +1,15 @@
+package com.midominio.group.app.spring.benchmark.carga;
+
+import java.time.Duration;
+
+/**
+ * Fase de un escenario de carga con tasa de llegadas constante (modelo abierto).
+ * 
+ * @param nombre nombre de la fase en el informe
+ * @param duracion duración de la fase
+ * @param peticionesPorSegundo tasa media de llegadas (proceso de Poisson)
+ * @param medir false para fases de calentamiento (no se registran latencias)
+ * @param mezcla proporción de operaciones
+ */
+public record Fase(String nombre, Duration duracion, double peticionesPorSegundo, boolean medir, Mezcla mezcla) {
+}
@@ -0,0 +1,179 @@
+package com.midominio.group.app.spring.benchmark.carga;
+
+import com.midominio.group.app.spring.Application;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga HTTP contra Application con el escenario "día de examen".
+ * 
+ * Modelo abierto: las peticiones llegan según un proceso de Poisson a la tasa de cada fase,
+ * independientemente de cuánto tarde la aplicación en responder. Cada petición se envía
+ * en su propio hilo virtual y su latencia se mide desde el instante previsto de llegada
+ * (ver InformeLatencias), evitando la omisión coordinada de los generadores de bucle cerrado.
+ * 
+ * Sin --url arranca Application en este mismo proceso (H2 en memoria, puerto aleatorio,
+ * limitador de tasa y detección de duplicados desactivados). Para no compartir CPU con
+ * la aplicación, lanzarla aparte y pasar --url.
+ * 
+ * Uso:
+ *   mvn -Pload-test test-compile exec:java -Dexec.args="--factor-tasa=2 --salida=target/carga/v2"
+ * 
+ * Opciones:
+ *   --url=http://host:puerto       aplicación ya arrancada (por defecto, arranque en proceso)
+ *   --usuario=carga --password=carga  credenciales HTTP Basic
+ *   --factor-tasa=1.0              multiplica las peticiones por segundo de todas las fases
+ *   --factor-duracion=1.0          multiplica la duración de todas las fases
+ *   --preguntas=200                preguntas de cada tipo creadas antes de la prueba
+ *   --max-en-vuelo=10000           peticiones simultáneas máximas (el resto se cuentan como descartadas)
+ *   --salida=target/carga/<fecha>  directorio del informe
+ * 
+ * Para comparar dos ejecuciones: ComparadorInformes.
+ */
+public class GeneradorCarga {
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = leerOpciones(args);
+        String usuario = opciones.getOrDefault("usuario", "carga");
+        String password = opciones.getOrDefault("password", "carga");
+        double factorTasa = Double.parseDouble(opciones.getOrDefault("factor-tasa", "1.0"));
+        double factorDuracion = Double.parseDouble(opciones.getOrDefault("factor-duracion", "1.0"));
+        int preguntas = Integer.parseInt(opciones.getOrDefault("preguntas", "200"));
+        int maxEnVuelo = Integer.parseInt(opciones.getOrDefault("max-en-vuelo", "10000"));
+        Path salida = Path.of(opciones.getOrDefault("salida",
+                "target/carga/" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+        
+        ConfigurableApplicationContext contexto = null;
+        String url = opciones.get("url");
+        if (url == null) {
+            contexto = SpringApplication.run(Application.class,
+                    "--server.port=0",
+                    "--spring.security.user.name=" + usuario,
+                    "--spring.security.user.password=" + password,
+                    "--app.rate-limit.habilitado=false",
+                    "--app.duplicados.modo=DESACTIVADO",
+                    "--logging.level.root=WARN");
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+        
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        PeticionesApi peticiones = new PeticionesApi(url, usuario, password);
+        
+        try {
+            comprobarDisponible(cliente, peticiones);
+            System.out.printf("Cargando %d preguntas de cada tipo en %s...%n", preguntas, url);
+            peticiones.cargarDatos(cliente, preguntas);
+            
+            InformeLatencias informe = new InformeLatencias();
+            AtomicInteger enVuelo = new AtomicInteger();
+            // Al cerrar el executor se espera a todas las respuestas (las lentas cuentan en su latencia)
+            try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+                // Las fases se encadenan sin esperar respuestas: la cola de una ráfaga se solapa con la fase siguiente
+                for (Fase fase : Escenarios.diaExamen(factorTasa, factorDuracion)) {
+                    ejecutarFase(fase, cliente, peticiones, hilos, informe, enVuelo, maxEnVuelo);
+                }
+            }
+            informe.escribir(salida, System.out);
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+    
+    /**
+     * Lanza las peticiones de una fase a su tasa de llegadas, sin esperar respuestas
+     */
+    private static void ejecutarFase(Fase fase, HttpClient cliente, PeticionesApi peticiones,
+                                     ExecutorService hilos, InformeLatencias informe,
+                                     AtomicInteger enVuelo, int maxEnVuelo) {
+        System.out.printf("Fase %-15s %6.0f pet/s durante %s%n",
+                fase.nombre(), fase.peticionesPorSegundo(), fase.duracion());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double nanosEntreLlegadas = 1e9 / fase.peticionesPorSegundo();
+        
+        long inicio = System.nanoTime();
+        long fin = inicio + fase.duracion().toNanos();
+        double siguiente = inicio;
+        
+        while (true) {
+            // Tiempos entre llegadas exponenciales: proceso de Poisson
+            siguiente += -Math.log(1.0 - random.nextDouble()) * nanosEntreLlegadas;
+            long previsto = (long) siguiente;
+            if (previsto >= fin) {
+                break;
+            }
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            
+            Operacion operacion = fase.mezcla().elegir(random.nextDouble());
+            if (enVuelo.get() >= maxEnVuelo) {
+                if (fase.medir()) {
+                    informe.descartar(operacion);
+                }
+                continue;
+            }
+            
+            HttpRequest peticion = peticiones.construir(operacion);
+            enVuelo.incrementAndGet();
+            hilos.execute(() -> {
+                boolean correcta = false;
+                try {
+                    HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                    correcta = respuesta.statusCode() / 100 == 2;
+                } catch (Exception e) {
+                    // Timeout o error de conexión: se registra como error con su latencia
+                } finally {
+                    enVuelo.decrementAndGet();
+                    if (fase.medir()) {
+                        informe.registrar(operacion, System.nanoTime() - previsto, correcta);
+                    }
+                }
+            });
+        }
+        
+        if (fase.medir()) {
+            informe.sumarDuracion(fase.duracion().toNanos());
+        }
+    }
+    
+    private static void comprobarDisponible(HttpClient cliente, PeticionesApi peticiones) throws Exception {
+        HttpResponse<String> respuesta = cliente.send(peticiones.comprobacion(), HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("La aplicación no responde correctamente: HTTP " + respuesta.statusCode());
+        }
+    }
+    
+    private static Map<String, String> leerOpciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opción no válida: " + arg + " (formato --nombre=valor)");
+            }
+            int igual = arg.indexOf('=');
+            opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opciones;
+    }
+}
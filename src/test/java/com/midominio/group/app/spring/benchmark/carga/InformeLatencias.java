@@ -0,0 +1,116 @@
+package com.midominio.group.app.spring.benchmark.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y errores de una prueba de carga, por operación.
+ * 
+ * Las latencias se miden en microsegundos desde el instante PREVISTO de cada petición
+ * (no desde su envío real), de modo que los retrasos del propio generador o de la cola
+ * de conexiones cuentan como latencia y se evita la omisión coordinada.
+ * 
+ * Ficheros generados en el directorio de salida:
+ * - resumen.txt: una línea por operación (formato estable para comparar versiones)
+ * - <OPERACION>.hgrm y TOTAL.hgrm: distribución completa de percentiles de HdrHistogram
+ */
+public class InformeLatencias {
+    
+    private static final int DIGITOS_SIGNIFICATIVOS = 3;
+    
+    private final Map<Operacion, Histogram> histogramas = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, LongAdder> errores = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, LongAdder> descartadas = new EnumMap<>(Operacion.class);
+    private final LongAdder nanosMedidos = new LongAdder();
+    
+    public InformeLatencias() {
+        for (Operacion operacion : Operacion.values()) {
+            histogramas.put(operacion, new ConcurrentHistogram(DIGITOS_SIGNIFICATIVOS));
+            errores.put(operacion, new LongAdder());
+            descartadas.put(operacion, new LongAdder());
+        }
+    }
+    
+    /**
+     * Registra una petición completada (o fallida) con su latencia desde el instante previsto
+     */
+    public void registrar(Operacion operacion, long latenciaNanos, boolean correcta) {
+        histogramas.get(operacion).recordValue(Math.max(1, latenciaNanos / 1000));
+        if (!correcta) {
+            errores.get(operacion).increment();
+        }
+    }
+    
+    /**
+     * Registra una petición que el generador no llegó a enviar (límite de peticiones en vuelo)
+     */
+    public void descartar(Operacion operacion) {
+        descartadas.get(operacion).increment();
+    }
+    
+    /**
+     * Suma la duración de una fase medida (para calcular el throughput)
+     */
+    public void sumarDuracion(long nanos) {
+        nanosMedidos.add(nanos);
+    }
+    
+    /**
+     * Imprime la tabla de resultados y escribe los ficheros del informe
+     */
+    public void escribir(Path directorio, PrintStream salida) throws IOException {
+        Files.createDirectories(directorio);
+        double segundos = nanosMedidos.sum() / 1e9;
+        Histogram total = new Histogram(DIGITOS_SIGNIFICATIVOS);
+        
+        StringBuilder resumen = new StringBuilder(
+                "# operacion peticiones errores descartadas rps p50_ms p90_ms p99_ms p999_ms max_ms\n");
+        for (Operacion operacion : Operacion.values()) {
+            Histogram histograma = histogramas.get(operacion);
+            if (histograma.getTotalCount() == 0 && descartadas.get(operacion).sum() == 0) {
+                continue;
+            }
+            total.add(histograma);
+            resumen.append(linea(operacion.name(), histograma, errores.get(operacion).sum(),
+                    descartadas.get(operacion).sum(), segundos));
+            escribirDistribucion(directorio.resolve(operacion.name() + ".hgrm"), histograma);
+        }
+        long erroresTotales = errores.values().stream().mapToLong(LongAdder::sum).sum();
+        long descartadasTotales = descartadas.values().stream().mapToLong(LongAdder::sum).sum();
+        resumen.append(linea("TOTAL", total, erroresTotales, descartadasTotales, segundos));
+        escribirDistribucion(directorio.resolve("TOTAL.hgrm"), total);
+        
+        Files.writeString(directorio.resolve("resumen.txt"), resumen);
+        salida.print(resumen);
+        salida.printf("Informe escrito en %s%n", directorio.toAbsolutePath());
+    }
+    
+    private static String linea(String nombre, Histogram histograma, long errores, long descartadas, double segundos) {
+        return String.format(Locale.ROOT, "%-17s %10d %8d %8d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                nombre, histograma.getTotalCount(), errores, descartadas,
+                segundos > 0 ? histograma.getTotalCount() / segundos : 0.0,
+                ms(histograma.getValueAtPercentile(50)), ms(histograma.getValueAtPercentile(90)),
+                ms(histograma.getValueAtPercentile(99)), ms(histograma.getValueAtPercentile(99.9)),
+                ms(histograma.getMaxValue()));
+    }
+    
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+    
+    private static void escribirDistribucion(Path fichero, Histogram histograma) throws IOException {
+        try (PrintStream salida = new PrintStream(Files.newOutputStream(fichero), false, "UTF-8")) {
+            // Valores en microsegundos, escalados a milisegundos en el fichero
+            histograma.outputPercentileDistribution(salida, 1000.0);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.midominio.group.app.spring.benchmark.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Proporción de cada operación dentro de una fase de carga (pesos relativos).
+ */
+public final class Mezcla {
+    
+    private final Operacion[] operaciones;
+    private final double[] acumulado;
+    
+    private Mezcla(Map<Operacion, Integer> pesos) {
+        operaciones = pesos.keySet().toArray(new Operacion[0]);
+        acumulado = new double[operaciones.length];
+        double total = pesos.values().stream().mapToInt(Integer::intValue).sum();
+        double suma = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            suma += pesos.get(operaciones[i]) / total;
+            acumulado[i] = suma;
+        }
+    }
+    
+    /**
+     * Crea una mezcla a partir de pares (operación, peso)
+     * Ejemplo: Mezcla.de(Operacion.LISTADO, 3, Operacion.BUSQUEDA, 1)
+     */
+    public static Mezcla de(Object... operacionesYPesos) {
+        Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+        for (int i = 0; i < operacionesYPesos.length; i += 2) {
+            pesos.put((Operacion) operacionesYPesos[i], (Integer) operacionesYPesos[i + 1]);
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla necesita al menos una operación");
+        }
+        return new Mezcla(pesos);
+    }
+    
+    /**
+     * Elige una operación según los pesos
+     * 
+     * @param u número aleatorio uniforme en [0, 1)
+     */
+    public Operacion elegir(double u) {
+        for (int i = 0; i < acumulado.length - 1; i++) {
+            if (u < acumulado[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+}
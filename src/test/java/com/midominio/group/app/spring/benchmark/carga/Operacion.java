@@ -0,0 +1,16 @@
+package com.midominio.group.app.spring.benchmark.carga;
+
+/**
+ * Operaciones de la API que genera la prueba de carga.
+ * Cada una tiene su propio histograma de latencias en el informe.
+ */
+public enum Operacion {
+    
+    VALIDAR_VF,
+    VALIDAR_UNICA,
+    VALIDAR_MULTIPLE,
+    TEST_ALEATORIO,
+    LISTADO,
+    BUSQUEDA,
+    ALTA_PREGUNTA
+}
@@ -0,0 +1,130 @@
+package com.midominio.group.app.spring.benchmark.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Construye las peticiones HTTP de cada operación y carga los datos iniciales.
+ * 
+ * Las preguntas se crean por la propia API antes de la prueba (una sola vez)
+ * y sus IDs se reutilizan para las validaciones.
+ */
+public class PeticionesApi {
+    
+    private static final String[] TEMATICAS = {"Java", "SQL", "Redes", "Spring", "Algoritmos"};
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    
+    private final String baseUrl;
+    private final String autorizacion;
+    
+    private final List<Long> idsVerdaderoFalso = new ArrayList<>();
+    private final List<Long> idsSeleccionUnica = new ArrayList<>();
+    private final List<Long> idsSeleccionMultiple = new ArrayList<>();
+    private final AtomicLong secuenciaAltas = new AtomicLong();
+    
+    public PeticionesApi(String baseUrl, String usuario, String password) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.autorizacion = "Basic " + Base64.getEncoder()
+                .encodeToString((usuario + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Crea preguntasPorTipo preguntas de cada tipo y guarda sus IDs
+     */
+    public void cargarDatos(HttpClient cliente, int preguntasPorTipo) throws IOException, InterruptedException {
+        for (int i = 0; i < preguntasPorTipo; i++) {
+            String tematica = TEMATICAS[i % TEMATICAS.length];
+            idsVerdaderoFalso.add(crear(cliente, "/api/preguntas/verdadero-falso", """
+                    {"enunciado":"Carga V/F %d: ¿%s es una afirmación verdadera?","tematica":"%s",\
+                    "respuestaCorrecta":%b,"explicacion":"Generada por la prueba de carga"}"""
+                    .formatted(i, tematica, tematica, i % 2 == 0)));
+            idsSeleccionUnica.add(crear(cliente, "/api/preguntas/seleccion-unica", """
+                    {"enunciado":"Carga única %d: ¿qué opción describe %s?","tematica":"%s",\
+                    "opciones":["Opción A","Opción B","Opción C","Opción D"],"mascaraCorrecta":%d,\
+                    "explicacion":"Generada por la prueba de carga"}"""
+                    .formatted(i, tematica, tematica, 1L << (i % 4))));
+            idsSeleccionMultiple.add(crear(cliente, "/api/preguntas/seleccion-multiple", """
+                    {"enunciado":"Carga múltiple %d: ¿qué opciones aplican a %s?","tematica":"%s",\
+                    "opciones":["Opción A","Opción B","Opción C","Opción D"],"mascaraCorrecta":%d,\
+                    "explicacion":"Generada por la prueba de carga"}"""
+                    .formatted(i, tematica, tematica, 5L)));
+        }
+    }
+    
+    /**
+     * Construye una petición aleatoria de la operación indicada
+     */
+    public HttpRequest construir(Operacion operacion) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operacion) {
+            case VALIDAR_VF -> post("/api/preguntas/verdadero-falso/" + elegir(idsVerdaderoFalso, random) + "/validar",
+                    "{\"respuesta\":" + random.nextBoolean() + "}");
+            case VALIDAR_UNICA -> post("/api/preguntas/seleccion-unica/" + elegir(idsSeleccionUnica, random) + "/validar",
+                    "{\"opcion\":" + random.nextInt(4) + "}");
+            case VALIDAR_MULTIPLE -> post("/api/preguntas/seleccion-multiple/" + elegir(idsSeleccionMultiple, random) + "/validar",
+                    "{\"opciones\":" + (random.nextBoolean() ? "[0,2]" : "[1]") + "}");
+            case TEST_ALEATORIO -> get("/api/preguntas/verdadero-falso/aleatorias?cantidad=10");
+            case LISTADO -> get("/api/preguntas?page=" + random.nextInt(10) + "&size=20");
+            case BUSQUEDA -> get("/api/preguntas?tematica=" + TEMATICAS[random.nextInt(TEMATICAS.length)].substring(0, 3)
+                    + "&activa=true&size=20");
+            case ALTA_PREGUNTA -> post("/api/preguntas/verdadero-falso", """
+                    {"enunciado":"Alta de carga %d-%d: ¿la afirmación es correcta?","tematica":"Carga",\
+                    "respuestaCorrecta":true,"explicacion":"Generada por la prueba de carga"}"""
+                    .formatted(ProcessHandle.current().pid(), secuenciaAltas.incrementAndGet()));
+        };
+    }
+    
+    /**
+     * Petición GET /api/preguntas/tematicas usada para comprobar que la aplicación responde
+     */
+    public HttpRequest comprobacion() {
+        return get("/api/preguntas/tematicas");
+    }
+    
+    private long crear(HttpClient cliente, String ruta, String json) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = cliente.send(post(ruta, json), HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != 201) {
+            throw new IllegalStateException("Error al cargar datos en " + ruta + ": HTTP "
+                    + respuesta.statusCode() + " " + respuesta.body());
+        }
+        Matcher matcher = ID.matcher(respuesta.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Respuesta sin ID en " + ruta + ": " + respuesta.body());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+    
+    private static long elegir(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+    
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                .header("Authorization", autorizacion)
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+    }
+    
+    private HttpRequest post(String ruta, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                .header("Authorization", autorizacion)
+                .header("Content-Type", "application/json")
+                .timeout(TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
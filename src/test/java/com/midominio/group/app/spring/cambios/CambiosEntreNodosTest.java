@@ -0,0 +1,116 @@
+package com.midominio.group.app.spring.cambios;
+
+import com.midominio.group.app.spring.Application;
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.metadatos.FiltroPreguntas;
+import com.midominio.group.app.spring.metadatos.IndicePreguntas;
+import com.midominio.group.app.spring.service.PreguntaService;
+import com.midominio.group.app.spring.service.PreguntaVerdaderoFalsoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dos contextos de la aplicación (dos "nodos") contra la misma base de datos H2 en memoria
+ */
+class CambiosEntreNodosTest {
+
+	private static final long ESPERA_MAXIMA_MS = 10_000;
+
+	@TempDir
+	Path directorio;
+
+	private final String baseDatos = "jdbc:h2:mem:cambios-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+	private ConfigurableApplicationContext nodoA;
+	private ConfigurableApplicationContext nodoB;
+
+	@BeforeEach
+	void arrancarNodos() {
+		nodoA = arrancar("a");
+		nodoB = arrancar("b");
+	}
+
+	@AfterEach
+	void pararNodos() {
+		nodoA.getBean(JdbcTemplate.class).execute("DROP ALL OBJECTS");
+		nodoB.close();
+		nodoA.close();
+	}
+
+	@Test
+	void losCambiosDeUnNodoLleganALasCachesDelOtro() {
+		IndicePreguntas indiceB = nodoB.getBean(IndicePreguntas.class);
+		FiltroPreguntas filtro = new FiltroPreguntas("outbox", true, null, null, null);
+
+		PreguntaVerdaderoFalso creada = nodoA.getBean(PreguntaVerdaderoFalsoService.class).crear(nueva());
+		esperar(() -> indiceB.contar(filtro) == 1);
+
+		nodoA.getBean(PreguntaService.class).cambiarEstado(creada.getId(), false);
+		esperar(() -> indiceB.contar(filtro) == 0);
+
+		nodoA.getBean(PreguntaService.class).eliminar(creada.getId());
+		esperar(() -> indiceB.contar(FiltroPreguntas.todas()) == 0);
+	}
+
+	@Test
+	void unHuecoQueNoSeRellenaProvocaUnaRecargaCompleta() {
+		JdbcTemplate jdbc = nodoA.getBean(JdbcTemplate.class);
+		IndicePreguntas indiceB = nodoB.getBean(IndicePreguntas.class);
+
+		PreguntaVerdaderoFalso creada = nodoA.getBean(PreguntaVerdaderoFalsoService.class).crear(nueva());
+		esperar(() -> indiceB.contar(FiltroPreguntas.todas()) == 1);
+
+		// Cambio sin evento en el outbox (invisible para B) y secuencia consumida sin fila (transacción revertida)
+		jdbc.update("UPDATE preguntas SET tematica = 'Recargada' WHERE id = ?", creada.getId());
+		Long siguiente = jdbc.queryForObject("SELECT MAX(id) + 5 FROM cambios_pregunta", Long.class);
+		jdbc.execute("ALTER TABLE cambios_pregunta ALTER COLUMN id RESTART WITH " + siguiente);
+		nodoA.getBean(PreguntaVerdaderoFalsoService.class).crear(nueva());
+
+		esperar(() -> indiceB.contar(new FiltroPreguntas("recargada", null, null, null, null)) == 1);
+	}
+
+	private ConfigurableApplicationContext arrancar(String nodo) {
+		return new SpringApplicationBuilder(Application.class).properties(
+				"server.port=0",
+				"spring.datasource.url=" + baseDatos,
+				"spring.jpa.hibernate.ddl-auto=update",
+				"spring.h2.console.enabled=false",
+				"app.cambios.intervalo-sondeo=20ms",
+				"app.cambios.espera-huecos=300ms",
+				"app.duplicados.modo=DESACTIVADO",
+				"app.eventos.directorio=" + directorio.resolve(nodo).resolve("eventos"),
+				"app.multimedia.directorio=" + directorio.resolve(nodo).resolve("multimedia"),
+				"app.recalificacion.directorio=" + directorio.resolve(nodo).resolve("recalificaciones"))
+				.run();
+	}
+
+	private static PreguntaVerdaderoFalso nueva() {
+		PreguntaVerdaderoFalso pregunta = new PreguntaVerdaderoFalso(true, null);
+		pregunta.setEnunciado("El outbox se escribe en la misma transacción " + UUID.randomUUID());
+		pregunta.setTematica("Outbox");
+		return pregunta;
+	}
+
+	private static void esperar(BooleanSupplier condicion) {
+		long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+		while (!condicion.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < limite, "el otro nodo no recibió el cambio a tiempo");
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.midominio.group.app.spring.clasificacion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ListaSaltosClasificacionTest {
+
+	@Test
+	void coincideConOrdenarTodaLaClasificacion() {
+		ListaSaltosClasificacion lista = new ListaSaltosClasificacion();
+		Map<String, Long> puntos = new HashMap<>();
+		Random aleatorio = new Random(7);
+
+		for (int i = 0; i < 5_000; i++) {
+			String usuario = "u" + aleatorio.nextInt(300);
+			if (aleatorio.nextInt(10) == 0) {
+				assertEquals(puntos.remove(usuario) != null, lista.eliminar(usuario));
+			} else {
+				// Pocos valores distintos: muchos empates
+				long nuevos = aleatorio.nextInt(50);
+				lista.fijar(usuario, nuevos);
+				puntos.put(usuario, nuevos);
+			}
+
+			if (i % 50 == 0) {
+				List<String> ordenados = new ArrayList<>(puntos.keySet());
+				ordenados.sort(Comparator.<String>comparingLong(puntos::get).reversed().thenComparing(u -> u));
+				assertEquals(ordenados.size(), lista.tamano());
+				for (int posicion = 1; posicion <= ordenados.size(); posicion++) {
+					assertEquals(posicion, lista.posicion(ordenados.get(posicion - 1)));
+				}
+				int desde = 1 + aleatorio.nextInt(ordenados.size() + 1);
+				List<ListaSaltosClasificacion.Entrada> rango = lista.rango(desde, 10);
+				assertEquals(Math.max(0, Math.min(10, ordenados.size() - desde + 1)), rango.size());
+				for (ListaSaltosClasificacion.Entrada entrada : rango) {
+					assertEquals(ordenados.get(entrada.posicion() - 1), entrada.usuario());
+					assertEquals((long) puntos.get(entrada.usuario()), entrada.puntos());
+				}
+			}
+		}
+		assertEquals(0, lista.posicion("desconocido"));
+	}
+
+	@Test
+	void aIgualdadDePuntosOrdenaPorUsuario() {
+		ListaSaltosClasificacion lista = new ListaSaltosClasificacion();
+		lista.fijar("carla", 10);
+		lista.fijar("ana", 10);
+		lista.fijar("bruno", 30);
+
+		assertEquals(List.of(
+				new ListaSaltosClasificacion.Entrada(1, "bruno", 30),
+				new ListaSaltosClasificacion.Entrada(2, "ana", 10),
+				new ListaSaltosClasificacion.Entrada(3, "carla", 10)), lista.rango(1, 5));
+	}
+
+	@Test
+	void lasSumasConcurrentesNoSePierden() throws InterruptedException {
+		Clasificacion clasificacion = new Clasificacion();
+		ExecutorService hilos = Executors.newFixedThreadPool(4);
+		for (int hilo = 0; hilo < 4; hilo++) {
+			hilos.submit(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					clasificacion.sumar("u" + (i % 20), 1);
+				}
+			});
+		}
+		hilos.shutdown();
+		assertTrue(hilos.awaitTermination(30, TimeUnit.SECONDS));
+
+		assertEquals(20, clasificacion.tamano());
+		clasificacion.rango(1, 20).forEach(entrada -> assertEquals(2_000, entrada.puntos()));
+		Map<String, Long> pendientes = clasificacion.drenar();
+		assertEquals(40_000L, pendientes.values().stream().mapToLong(Long::longValue).sum());
+		assertTrue(clasificacion.drenar().isEmpty());
+	}
+}
@@ -0,0 +1,195 @@
+package com.midominio.group.app.spring.coalescencia;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescedorLecturasTest {
+
+	private static final int LLAMADAS = 8;
+
+	private final ExecutorService hilos = Executors.newFixedThreadPool(LLAMADAS);
+	private final CoalescedorLecturas coalescedor = new CoalescedorLecturas(new CoalescenciaProperties(true, 1));
+
+	@AfterEach
+	void parar() {
+		hilos.shutdownNow();
+	}
+
+	@Test
+	void lasLlamadasSimultaneasCompartenUnaSolaCarga() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		AtomicInteger cargas = new AtomicInteger();
+		Object resultado = new Object();
+
+		List<Future<Object>> llamadas = new ArrayList<>();
+		for (int i = 0; i < LLAMADAS; i++) {
+			llamadas.add(hilos.submit(() -> coalescedor.cargar(CoalescedorLecturas.clave("obtenerPorId", 7L), () -> {
+				cargas.incrementAndGet();
+				esperar(liberar);
+				return resultado;
+			})));
+		}
+		esperarCompartidas(LLAMADAS - 1);
+		liberar.countDown();
+
+		for (Future<Object> llamada : llamadas) {
+			assertSame(resultado, llamada.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, cargas.get());
+		assertEquals(1, coalescedor.metricas().cargas());
+		assertEquals(LLAMADAS - 1, coalescedor.metricas().compartidas());
+		assertEquals(0, coalescedor.metricas().enCurso());
+	}
+
+	@Test
+	void conCopiaNingunaLlamadaRecibeElObjetoDeOtra() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		AtomicInteger copias = new AtomicInteger();
+		List<String> resultado = new ArrayList<>(List.of("opción A", "opción B"));
+		UnaryOperator<List<String>> copiar = lista -> {
+			copias.incrementAndGet();
+			return new ArrayList<>(lista);
+		};
+
+		List<Future<List<String>>> llamadas = new ArrayList<>();
+		for (int i = 0; i < LLAMADAS; i++) {
+			llamadas.add(hilos.submit(() -> coalescedor.cargar(CoalescedorLecturas.clave("obtenerPorId", 8L), () -> {
+				esperar(liberar);
+				return resultado;
+			}, copiar)));
+		}
+		esperarCompartidas(LLAMADAS - 1);
+		liberar.countDown();
+
+		Set<List<String>> distintas = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Future<List<String>> llamada : llamadas) {
+			List<String> recibida = llamada.get(5, TimeUnit.SECONDS);
+			assertEquals(resultado, recibida);
+			distintas.add(recibida);
+		}
+		assertEquals(LLAMADAS, distintas.size());
+		assertTrue(distintas.contains(resultado));
+		// Una copia publicada por la carga y una por cada llamada que esperaba
+		assertEquals(LLAMADAS, copias.get());
+
+		copias.set(0);
+		assertSame(resultado, coalescedor.cargar(CoalescedorLecturas.clave("obtenerPorId", 8L), () -> resultado, copiar));
+		assertEquals(0, copias.get());
+	}
+
+	@Test
+	void soloLaLlamadaQueCargaEntraEnElAmbitoYCopiaDentroDeEl() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		ThreadLocal<Boolean> dentro = ThreadLocal.withInitial(() -> false);
+		AtomicInteger entradas = new AtomicInteger();
+		AtomicInteger copiasFuera = new AtomicInteger();
+		List<String> resultado = new ArrayList<>(List.of("opción A"));
+		UnaryOperator<List<String>> copiar = lista -> {
+			if (!dentro.get()) {
+				copiasFuera.incrementAndGet();
+			}
+			return new ArrayList<>(lista);
+		};
+
+		List<Future<List<String>>> llamadas = new ArrayList<>();
+		for (int i = 0; i < LLAMADAS; i++) {
+			llamadas.add(hilos.submit(() -> coalescedor.cargar(CoalescedorLecturas.clave("obtenerPorId", 9L), () -> {
+				esperar(liberar);
+				return resultado;
+			}, copiar, carga -> {
+				entradas.incrementAndGet();
+				dentro.set(true);
+				try {
+					return carga.get();
+				} finally {
+					dentro.set(false);
+				}
+			})));
+		}
+		esperarCompartidas(LLAMADAS - 1);
+		liberar.countDown();
+
+		for (Future<List<String>> llamada : llamadas) {
+			assertEquals(resultado, llamada.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, entradas.get());
+		// Solo las copias de las llamadas que esperaban se hacen fuera: la publicada, dentro del ámbito
+		assertEquals(LLAMADAS - 1, copiasFuera.get());
+	}
+
+	@Test
+	void propagaLaExcepcionATodasLasLlamadasYNoLaGuarda() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		IllegalStateException fallo = new IllegalStateException("fallo de la base de datos");
+
+		List<Future<Object>> llamadas = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			llamadas.add(hilos.submit(() -> coalescedor.cargar(CoalescedorLecturas.clave("buscar", null, 0), () -> {
+				esperar(liberar);
+				throw fallo;
+			})));
+		}
+		esperarCompartidas(1);
+		liberar.countDown();
+
+		for (Future<Object> llamada : llamadas) {
+			Exception e = assertThrows(Exception.class, () -> llamada.get(5, TimeUnit.SECONDS));
+			assertSame(fallo, e.getCause());
+		}
+		assertEquals(1, coalescedor.metricas().errores());
+		assertEquals("ok", coalescedor.cargar(CoalescedorLecturas.clave("buscar", null, 0), () -> "ok"));
+	}
+
+	@Test
+	void porEncimaDeMaxClavesCargaSinCoalescer() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		Future<Object> ocupada = hilos.submit(() -> coalescedor.cargar(CoalescedorLecturas.clave("a"), () -> {
+			esperar(liberar);
+			return "a";
+		}));
+		long limite = System.currentTimeMillis() + 5000;
+		while (coalescedor.metricas().enCurso() == 0) {
+			assertTrue(System.currentTimeMillis() < limite);
+			Thread.sleep(5);
+		}
+
+		assertEquals("b", coalescedor.cargar(CoalescedorLecturas.clave("b"), () -> "b"));
+		assertEquals(1, coalescedor.metricas().desbordadas());
+		liberar.countDown();
+		assertEquals("a", ocupada.get(5, TimeUnit.SECONDS));
+	}
+
+	private void esperarCompartidas(long esperadas) throws InterruptedException {
+		long limite = System.currentTimeMillis() + 5000;
+		while (coalescedor.metricas().compartidas() < esperadas) {
+			assertTrue(System.currentTimeMillis() < limite, "las llamadas no llegaron a coalescerse");
+			Thread.sleep(5);
+		}
+	}
+
+	private static void esperar(CountDownLatch liberar) {
+		try {
+			liberar.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.midominio.group.app.spring.compartimentos;
+
+import com.midominio.group.app.spring.ratelimit.CategoriaLimite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PlanificadorCompartimentosTest {
+
+	private final ExecutorService hilos = Executors.newCachedThreadPool();
+
+	private final PlanificadorCompartimentos planificador = new PlanificadorCompartimentos(new CompartimentosProperties(
+			true,
+			new CompartimentosProperties.Particion(1, 4, Duration.ofSeconds(5), 0),
+			new CompartimentosProperties.Particion(1, 1, Duration.ofMillis(100), 2),
+			new CompartimentosProperties.Particion(1, 1, Duration.ofMillis(100), 1),
+			2));
+
+	@AfterEach
+	void parar() {
+		hilos.shutdownNow();
+	}
+
+	@Test
+	void rechazaConColaLlenaYTrasAgotarLaEspera() throws Exception {
+		assertEquals(Compartimento.Admision.ADMITIDA, planificador.admitir(CategoriaLimite.BUSQUEDA));
+		assertEquals(CategoriaLimite.BUSQUEDA, planificador.categoriaActual());
+
+		Future<Compartimento.Admision> enCola = hilos.submit(() -> planificador.admitir(CategoriaLimite.BUSQUEDA));
+		esperarCola(CategoriaLimite.BUSQUEDA, 1);
+		assertEquals(Compartimento.Admision.COLA_LLENA, hilos.submit(() -> planificador.admitir(CategoriaLimite.BUSQUEDA)).get());
+		assertEquals(Compartimento.Admision.ESPERA_AGOTADA, enCola.get());
+
+		// Otra clase no se ve afectada por el compartimento lleno
+		assertEquals(Compartimento.Admision.ADMITIDA, hilos.submit(() -> planificador.admitir(CategoriaLimite.ADMINISTRACION)).get());
+
+		planificador.finalizar(CategoriaLimite.BUSQUEDA);
+		assertNull(planificador.categoriaActual());
+		MetricasCompartimento metricas = planificador.compartimento(CategoriaLimite.BUSQUEDA).metricas();
+		assertEquals(1, metricas.admitidas());
+		assertEquals(1, metricas.rechazadasColaLlena());
+		assertEquals(1, metricas.rechazadasEsperaAgotada());
+		assertEquals(0, metricas.enCurso());
+	}
+
+	@Test
+	void laSaturacionDeLaCalificacionRechazaPrimeroLaAdministracion() throws Exception {
+		assertEquals(Compartimento.Admision.ADMITIDA, planificador.admitir(CategoriaLimite.CALIFICACION));
+		hilos.submit(() -> planificador.admitir(CategoriaLimite.CALIFICACION));
+		esperarCola(CategoriaLimite.CALIFICACION, 1);
+
+		assertEquals(Compartimento.Admision.PRIORIDAD, hilos.submit(() -> planificador.admitir(CategoriaLimite.ADMINISTRACION)).get());
+		assertEquals(Compartimento.Admision.ADMITIDA, hilos.submit(() -> planificador.admitir(CategoriaLimite.BUSQUEDA)).get());
+
+		hilos.submit(() -> planificador.admitir(CategoriaLimite.CALIFICACION));
+		esperarCola(CategoriaLimite.CALIFICACION, 2);
+		assertEquals(Compartimento.Admision.PRIORIDAD, hilos.submit(() -> planificador.admitir(CategoriaLimite.BUSQUEDA)).get());
+		assertEquals(1, planificador.compartimento(CategoriaLimite.ADMINISTRACION).metricas().rechazadasPrioridad());
+	}
+
+	@Test
+	void limitaLasConexionesDeCadaClase() throws Exception {
+		Compartimento administracion = planificador.compartimento(CategoriaLimite.ADMINISTRACION);
+
+		assertEquals(true, administracion.adquirirConexion());
+		assertEquals(false, administracion.adquirirConexion());
+		assertEquals(1, administracion.metricas().conexionesEnUso());
+		administracion.liberarConexion();
+		assertEquals(true, administracion.adquirirConexion());
+		assertEquals(1, administracion.metricas().esperasConexionAgotadas());
+	}
+
+	private void esperarCola(CategoriaLimite categoria, int esperadas) throws InterruptedException {
+		long limite = System.currentTimeMillis() + 5000;
+		while (planificador.compartimento(categoria).enCola() < esperadas && System.currentTimeMillis() < limite) {
+			Thread.sleep(5);
+		}
+		assertEquals(esperadas, planificador.compartimento(categoria).enCola());
+	}
+}
@@ -0,0 +1,23 @@
+package com.midominio.group.app.spring.consultas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HuellaConsultaTest {
+
+	@Test
+	void losValoresYLasListasInSeNormalizan() {
+		String huella = HuellaConsulta.de("select p1_0.id from preguntas p1_0\n  where p1_0.id in (?, ?,?) "
+				+ "and p1_0.tematica = 'Java''s' and p1_0.version > -3.5 limit 10");
+
+		assertEquals("select p1_0.id from preguntas p1_0 where p1_0.id in (?...) "
+				+ "and p1_0.tematica = ? and p1_0.version > ? limit ?", huella);
+	}
+
+	@Test
+	void listasDeDistintaLongitudTienenLaMismaHuella() {
+		assertEquals(HuellaConsulta.de("select * from t where id in (?, ?)"),
+				HuellaConsulta.de("select * from t where id in (?, ?, ?, ?)"));
+	}
+}
@@ -0,0 +1,104 @@
+package com.midominio.group.app.spring.consultas;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Soporte para tests de presupuesto de consultas: mide una llamada y comprueba cuántas sentencias
+ * ejecuta, cuántas filas devuelve cada una y cuántas entidades carga Hibernate.
+ * 
+ * Las filas son las que llegan a la aplicación, no las que recorre la base de datos: una
+ * consulta sin índice que recorre toda la tabla para devolver una fila no se detecta aquí.
+ * 
+ * Las sentencias y filas salen de la captura del hilo del test (MedidorConsultas), así que no cuentan
+ * las de las tareas programadas. Las entidades salen de las estadísticas de Hibernate, que son
+ * globales: el contexto del test necesita spring.jpa.properties.hibernate.generate_statistics=true.
+ * 
+ * Ejemplo:
+ * 
+ * presupuesto.medir(() -> service.obtenerPorId(id))
+ *         .consultas(1)
+ *         .filasDevueltas(1)
+ *         .sinCargasPerezosas();
+ */
+public final class PresupuestoConsultas {
+
+	private final MedidorConsultas medidor;
+	private final Statistics estadisticas;
+
+	public PresupuestoConsultas(MedidorConsultas medidor, EntityManagerFactory entityManagerFactory) {
+		this.medidor = medidor;
+		this.estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		assertTrue(estadisticas.isStatisticsEnabled(), "faltan las estadísticas de Hibernate (hibernate.generate_statistics=true)");
+	}
+
+	/**
+	 * Ejecuta la llamada capturando sus sentencias
+	 */
+	public Medicion medir(Runnable llamada) {
+		long cargadasAntes = estadisticas.getEntityLoadCount();
+		long perezosasAntes = estadisticas.getEntityFetchCount() + estadisticas.getCollectionFetchCount();
+		CapturaConsultas captura;
+		try (CapturaConsultas abierta = medidor.capturar()) {
+			llamada.run();
+			captura = abierta;
+		}
+		return new Medicion(captura,
+				estadisticas.getEntityLoadCount() - cargadasAntes,
+				estadisticas.getEntityFetchCount() + estadisticas.getCollectionFetchCount() - perezosasAntes);
+	}
+
+	/**
+	 * Resultado de una medición, con las comprobaciones encadenables
+	 */
+	public static final class Medicion {
+
+		private final CapturaConsultas captura;
+		private final long entidadesCargadas;
+		private final long cargasPerezosas;
+
+		private Medicion(CapturaConsultas captura, long entidadesCargadas, long cargasPerezosas) {
+			this.captura = captura;
+			this.entidadesCargadas = entidadesCargadas;
+			this.cargasPerezosas = cargasPerezosas;
+		}
+
+		/**
+		 * Número exacto de sentencias (detecta N+1 y consultas nuevas)
+		 */
+		public Medicion consultas(int esperadas) {
+			assertEquals(esperadas, captura.total(), () -> "sentencias ejecutadas: " + captura.huellas());
+			return this;
+		}
+
+		/**
+		 * Máximo de filas devueltas por una sola sentencia (detecta páginas y lotes sin límite)
+		 */
+		public Medicion filasDevueltas(long maximo) {
+			assertTrue(captura.filasDevueltasMaximas() <= maximo,
+					() -> captura.filasDevueltasMaximas() + " filas devueltas (máximo " + maximo + "): " + captura.huellas());
+			return this;
+		}
+
+		/**
+		 * Máximo de entidades cargadas por Hibernate
+		 */
+		public Medicion entidadesCargadas(long maximo) {
+			assertTrue(entidadesCargadas <= maximo,
+					() -> entidadesCargadas + " entidades cargadas (máximo " + maximo + ")");
+			return this;
+		}
+
+		/**
+		 * Ninguna entidad ni colección cargada de forma perezosa (fuente típica de N+1)
+		 */
+		public Medicion sinCargasPerezosas() {
+			assertEquals(0, cargasPerezosas, "cargas perezosas de entidades o colecciones");
+			return this;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.midominio.group.app.spring.duplicados;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceLshTest {
+
+	private static final String JAVA = "¿Java es un lenguaje de programación orientado a objetos?";
+	private static final String JAVA_SIN_TILDES = "Java es un lenguaje de programacion orientado a objetos";
+	private static final String PYTHON = "¿Python es un lenguaje compilado a código máquina?";
+
+	@Test
+	void encuentraCasiDuplicadosYExcluyeLaPropiaPregunta() {
+		IndiceLsh indice = new IndiceLsh();
+		indice.indexar(1, MinHash.firma(JAVA));
+		indice.indexar(2, MinHash.firma(JAVA_SIN_TILDES));
+		indice.indexar(3, MinHash.firma(PYTHON));
+
+		List<IndiceLsh.Similar> similares = indice.buscarSimilares(MinHash.firma(JAVA), 0.85, 1);
+
+		assertEquals(1, similares.size());
+		assertEquals(2, similares.get(0).id());
+	}
+
+	@Test
+	void reindexarYEliminarActualizanLosClusters() {
+		IndiceLsh indice = new IndiceLsh();
+		indice.indexar(1, MinHash.firma(JAVA));
+		indice.indexar(2, MinHash.firma(JAVA_SIN_TILDES));
+		indice.indexar(3, MinHash.firma(PYTHON));
+		assertArrayEquals(new long[] { 1, 2 }, indice.clusters(0.85).get(0));
+
+		indice.indexar(2, MinHash.firma(PYTHON));
+		assertArrayEquals(new long[] { 2, 3 }, indice.clusters(0.85).get(0));
+
+		indice.eliminar(3);
+		assertTrue(indice.clusters(0.85).isEmpty());
+		assertEquals(2, indice.tamano());
+	}
+}
@@ -0,0 +1,28 @@
+package com.midominio.group.app.spring.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MascaraOpcionesTest {
+
+	@Test
+	void convierteIndicesEnMascara() {
+		assertEquals(0b101L, MascaraOpciones.desdeIndices(List.of(0L, 2L), 4));
+		assertEquals(0L, MascaraOpciones.desdeIndices(List.of(), 4));
+		assertThrows(IllegalArgumentException.class, () -> MascaraOpciones.desdeIndices(List.of(4L), 4));
+	}
+
+	@Test
+	void puntuacionParcialRestaOpcionesIncorrectas() {
+		long correctas = 0b0111L;
+
+		assertEquals(1.0, MascaraOpciones.puntuacionParcial(0b0111L, correctas));
+		assertEquals(2.0 / 3, MascaraOpciones.puntuacionParcial(0b0011L, correctas));
+		assertEquals(1.0 / 3, MascaraOpciones.puntuacionParcial(0b1011L, correctas));
+		assertEquals(0.0, MascaraOpciones.puntuacionParcial(0b1000L, correctas));
+	}
+}
@@ -0,0 +1,143 @@
+package com.midominio.group.app.spring.eventos;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegistroEventosTest {
+
+	private static final int REGISTROS_POR_SEGMENTO = 4;
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void reproduceLosEventosEnOrdenEntreSegmentos() throws Exception {
+		try (RegistroEventos registro = abrir()) {
+			for (int i = 0; i < 10; i++) {
+				registro.registrar(evento(1_000 + i, i));
+			}
+
+			List<EventoRespuesta> eventos = new ArrayList<>();
+			long siguiente = registro.reproducir(0, 100, eventos::add);
+
+			assertEquals(10, siguiente);
+			assertEquals(10, eventos.size());
+			assertEquals(evento(1_009, 9), eventos.get(9));
+
+			eventos.clear();
+			assertEquals(6, registro.reproducir(3, 3, eventos::add));
+			assertEquals(List.of(evento(1_003, 3), evento(1_004, 4), evento(1_005, 5)), eventos);
+		}
+	}
+
+	@Test
+	void descartaRegistrosIncompletosAlRecuperar() throws Exception {
+		try (RegistroEventos registro = abrir()) {
+			for (int i = 0; i < 6; i++) {
+				registro.registrar(evento(1_000 + i, i));
+			}
+		}
+		// Simula una caída: el registro 6 quedó a medias y el 7 llegó a disco antes que él
+		try (FileChannel canal = FileChannel.open(directorio.resolve("eventos-00000000000000000004.log"),
+				StandardOpenOption.WRITE)) {
+			ByteBuffer completo = ByteBuffer.allocate(EventoRespuesta.TAMANO);
+			evento(9_999, 99).escribir(completo, 0);
+			canal.write(completo, 3L * EventoRespuesta.TAMANO);
+			canal.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), 2L * EventoRespuesta.TAMANO);
+		}
+
+		try (RegistroEventos registro = abrir()) {
+			assertEquals(6, registro.siguienteSecuencia());
+			assertEquals(6, registro.registrar(evento(2_000, 6)));
+			assertEquals(7, registro.registrar(evento(2_001, 7)));
+
+			List<EventoRespuesta> eventos = new ArrayList<>();
+			registro.reproducir(0, 100, eventos::add);
+			assertEquals(8, eventos.size());
+			assertEquals(evento(2_001, 7), eventos.get(7));
+		}
+	}
+
+	@Test
+	void siNoSePuedeCrearElSegmentoSiguienteNoSeSobrescribeElLleno() throws Exception {
+		Path siguiente = directorio.resolve("eventos-00000000000000000004.log");
+		try (RegistroEventos registro = abrir()) {
+			for (int i = 0; i < 4; i++) {
+				registro.registrar(evento(1_000 + i, i));
+			}
+			// Un directorio con el nombre del segmento siguiente hace fallar su creación
+			Files.createDirectory(siguiente);
+			assertThrows(UncheckedIOException.class, () -> registro.registrar(evento(1_004, 4)));
+			assertEquals(4, registro.siguienteSecuencia());
+
+			Files.delete(siguiente);
+			assertEquals(4, registro.registrar(evento(1_004, 4)));
+
+			List<EventoRespuesta> eventos = new ArrayList<>();
+			registro.reproducir(0, 100, eventos::add);
+			assertEquals(List.of(evento(1_000, 0), evento(1_001, 1), evento(1_002, 2), evento(1_003, 3), evento(1_004, 4)),
+					eventos);
+		}
+	}
+
+	@Test
+	void laRetencionBorraSegmentosAntiguosSalvoElActual() throws Exception {
+		try (RegistroEventos registro = abrir()) {
+			for (int i = 0; i < 10; i++) {
+				registro.registrar(evento(1_000 + i, i));
+			}
+
+			assertEquals(1, registro.aplicarRetencion(1_005, Long.MAX_VALUE));
+			assertEquals(4, registro.primeraSecuencia());
+			assertEquals(1, registro.aplicarRetencion(Long.MAX_VALUE, Long.MAX_VALUE));
+			assertEquals(8, registro.primeraSecuencia());
+
+			List<EventoRespuesta> eventos = new ArrayList<>();
+			registro.reproducir(0, 100, eventos::add);
+			assertEquals(2, eventos.size());
+		}
+	}
+
+	@Test
+	void conservaElUsuarioCompletoOUnoUnicoSiNoCabe() {
+		ByteBuffer buffer = ByteBuffer.allocate(EventoRespuesta.TAMANO);
+		String largo = "profesora.de.matemáticas.del.segundo.ciclo@instituto-de-educación-secundaria.ejemplo.es";
+		EventoRespuesta evento = new EventoRespuesta(1_000, 1, "VERDADERO_FALSO", 1, true, 1.0, largo);
+		evento.escribir(buffer, 0);
+		assertEquals(evento, EventoRespuesta.leer(buffer, 0));
+
+		String muyLargo = largo + ".departamento-de-ciencias";
+		new EventoRespuesta(1_000, 1, "VERDADERO_FALSO", 1, true, 1.0, muyLargo).escribir(buffer, 0);
+		String guardado = EventoRespuesta.leer(buffer, 0).usuario();
+		new EventoRespuesta(1_000, 1, "VERDADERO_FALSO", 1, true, 1.0, muyLargo + "-b").escribir(buffer, 0);
+		String otro = EventoRespuesta.leer(buffer, 0).usuario();
+
+		assertTrue(guardado.startsWith("profesora.de.matemáticas"));
+		assertTrue(guardado.getBytes(StandardCharsets.UTF_8).length <= EventoRespuesta.MAX_BYTES_USUARIO);
+		assertNotEquals(guardado, otro);
+	}
+
+	private RegistroEventos abrir() throws Exception {
+		return new RegistroEventos(directorio, REGISTROS_POR_SEGMENTO, Duration.ofMillis(1), true);
+	}
+
+	private static EventoRespuesta evento(long instanteMs, long preguntaId) {
+		return new EventoRespuesta(instanteMs, preguntaId, "SELECCION_MULTIPLE", 0b101, false, 0.5, "alumno");
+	}
+}
@@ -0,0 +1,105 @@
+package com.midominio.group.app.spring.examenes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuedaTemporizadoresTest {
+
+	private static final long ORIGEN = 1_000_000L;
+
+	@Test
+	void venceEnElPrimerTickQueEmpiezaTrasElVencimiento() {
+		RuedaTemporizadores<Long> rueda = new RuedaTemporizadores<>(ORIGEN, 100);
+		rueda.programar(1L, ORIGEN + 250);
+
+		assertTrue(rueda.avanzarHasta(ORIGEN + 299).isEmpty());
+		assertEquals(List.of(1L), rueda.avanzarHasta(ORIGEN + 300));
+		assertEquals(0, rueda.tamano());
+	}
+
+	@Test
+	void losVencimientosLejanosDesciendenDeNivel() {
+		RuedaTemporizadores<Long> rueda = new RuedaTemporizadores<>(ORIGEN, 1);
+		// Uno por nivel y otro más allá del alcance de la rueda (64^4 ticks)
+		long[] vencimientos = {ORIGEN + 10, ORIGEN + 1_000, ORIGEN + 100_000, ORIGEN + 10_000_000, ORIGEN + 20_000_000};
+		for (int i = 0; i < vencimientos.length; i++) {
+			rueda.programar((long) i, vencimientos[i]);
+		}
+
+		for (int i = 0; i < vencimientos.length; i++) {
+			assertTrue(rueda.avanzarHasta(vencimientos[i] - 1).isEmpty());
+			assertEquals(List.of((long) i), rueda.avanzarHasta(vencimientos[i]));
+		}
+	}
+
+	@Test
+	void cancelarDesenganchaElTemporizador() {
+		RuedaTemporizadores<Long> rueda = new RuedaTemporizadores<>(ORIGEN, 10);
+		RuedaTemporizadores.Temporizador<Long> temporizador = rueda.programar(1L, ORIGEN + 5_000);
+		rueda.programar(2L, ORIGEN + 5_000);
+
+		assertTrue(rueda.cancelar(temporizador));
+		assertFalse(rueda.cancelar(temporizador));
+		assertEquals(List.of(2L), rueda.avanzarHasta(ORIGEN + 5_000));
+	}
+
+	@Test
+	void coincideConUnaListaRecorridaEnteraEnOperacionesAleatorias() {
+		Random aleatorio = new Random(42);
+		long milisPorTick = 7;
+		RuedaTemporizadores<Integer> rueda = new RuedaTemporizadores<>(ORIGEN, milisPorTick);
+		Map<Integer, RuedaTemporizadores.Temporizador<Integer>> temporizadores = new HashMap<>();
+		// Tick en que debe vencer cada temporizador vivo: los pasados, en el siguiente tick por procesar
+		Map<Integer, Long> ticks = new HashMap<>();
+		long ahora = ORIGEN;
+		long siguienteTick = 0;
+
+		for (int paso = 0; paso < 50_000; paso++) {
+			int operacion = aleatorio.nextInt(10);
+			if (operacion < 5) {
+				long vencimiento = ahora - aleatorio.nextInt(50)
+						+ (long) (Math.pow(aleatorio.nextDouble(), 4) * milisPorTick * 20_000_000);
+				temporizadores.put(paso, rueda.programar(paso, vencimiento));
+				ticks.put(paso, Math.max(Math.floorDiv(vencimiento - ORIGEN + milisPorTick - 1, milisPorTick), siguienteTick));
+			} else if (operacion < 7 && !ticks.isEmpty()) {
+				Integer valor = ticks.keySet().iterator().next();
+				assertTrue(rueda.cancelar(temporizadores.remove(valor)));
+				ticks.remove(valor);
+			} else {
+				ahora += (long) (Math.pow(aleatorio.nextDouble(), 3) * milisPorTick * 200_000);
+				long ultimoTick = Math.floorDiv(ahora - ORIGEN, milisPorTick);
+				Set<Integer> esperados = new HashSet<>();
+				ticks.forEach((valor, tick) -> {
+					if (tick <= ultimoTick) {
+						esperados.add(valor);
+					}
+				});
+
+				List<Integer> vencidos = rueda.avanzarHasta(ahora);
+				assertEquals(esperados, new HashSet<>(vencidos));
+				assertEquals(esperados.size(), vencidos.size());
+				List<Long> ticksVencidos = new ArrayList<>();
+				for (Integer valor : vencidos) {
+					ticksVencidos.add(ticks.remove(valor));
+					assertFalse(rueda.cancelar(temporizadores.remove(valor)));
+				}
+				for (int i = 1; i < ticksVencidos.size(); i++) {
+					assertTrue(ticksVencidos.get(i - 1) <= ticksVencidos.get(i), "en orden de vencimiento");
+				}
+				siguienteTick = Math.max(siguienteTick, ultimoTick + 1);
+			}
+			assertEquals(ticks.size(), rueda.tamano());
+		}
+	}
+}
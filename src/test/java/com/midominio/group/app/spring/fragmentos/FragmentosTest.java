@@ -0,0 +1,157 @@
+package com.midominio.group.app.spring.fragmentos;
+
+import com.midominio.group.app.spring.Application;
+import com.midominio.group.app.spring.dto.LotePreguntasResponse;
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.service.PreguntaService;
+import com.midominio.group.app.spring.service.PreguntaVerdaderoFalsoService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Banco de preguntas repartido en tres bases de datos H2 en memoria
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FragmentosTest {
+
+	private static final int FRAGMENTOS = 3;
+	private static final int PREGUNTAS_POR_TEMATICA = 4;
+
+	@TempDir
+	Path directorio;
+
+	private final List<String> urls = new ArrayList<>();
+	private ConfigurableApplicationContext contexto;
+	private Fragmentos fragmentos;
+	private final List<PreguntaVerdaderoFalso> creadas = new ArrayList<>();
+
+	@BeforeAll
+	void arrancar() {
+		String prefijo = "jdbc:h2:mem:fragmentos-" + UUID.randomUUID() + "-";
+		for (int i = 0; i < FRAGMENTOS; i++) {
+			urls.add(prefijo + i + ";DB_CLOSE_DELAY=-1");
+		}
+		contexto = new SpringApplicationBuilder(Application.class).properties(
+				"server.port=0",
+				"spring.datasource.url=" + urls.get(0),
+				"spring.datasource.username=sa",
+				"spring.jpa.hibernate.ddl-auto=update",
+				"spring.h2.console.enabled=false",
+				"app.fragmentos.urls=" + urls.get(1) + "," + urls.get(2),
+				"app.duplicados.modo=DESACTIVADO",
+				"app.eventos.directorio=" + directorio.resolve("eventos"),
+				"app.multimedia.directorio=" + directorio.resolve("multimedia"),
+				"app.recalificacion.directorio=" + directorio.resolve("recalificaciones"))
+				.run();
+		fragmentos = contexto.getBean(Fragmentos.class);
+
+		PreguntaVerdaderoFalsoService service = contexto.getBean(PreguntaVerdaderoFalsoService.class);
+		for (String tematica : unaTematicaPorFragmento()) {
+			for (int i = 0; i < PREGUNTAS_POR_TEMATICA; i++) {
+				PreguntaVerdaderoFalso pregunta = new PreguntaVerdaderoFalso(i % 2 == 0, null);
+				pregunta.setEnunciado("Enunciado " + (char) ('a' + creadas.size() * 7 % 26) + " de " + tematica);
+				pregunta.setTematica(tematica);
+				creadas.add(service.crear(pregunta));
+			}
+		}
+	}
+
+	@AfterAll
+	void parar() {
+		for (String url : urls) {
+			jdbc(url).execute("DROP ALL OBJECTS");
+		}
+		contexto.close();
+	}
+
+	@Test
+	void cadaPreguntaSeGuardaEnElFragmentoDeSuTematicaConIdsSinChoques() {
+		Set<Long> ids = new HashSet<>();
+		for (PreguntaVerdaderoFalso pregunta : creadas) {
+			assertTrue(ids.add(pregunta.getId()), "ID repetido: " + pregunta.getId());
+			int fragmento = fragmentos.porId(pregunta.getId());
+			assertEquals(fragmentos.porTematica(pregunta.getTematica()), fragmento);
+			assertEquals(1, jdbc(urls.get(fragmento)).queryForObject(
+					"SELECT COUNT(*) FROM preguntas WHERE id = ?", Integer.class, pregunta.getId()));
+		}
+		for (String url : urls) {
+			assertEquals(PREGUNTAS_POR_TEMATICA, jdbc(url).queryForObject("SELECT COUNT(*) FROM preguntas", Integer.class));
+		}
+	}
+
+	@Test
+	void losListadosRecuentosYLotesReunenTodosLosFragmentos() {
+		PreguntaService service = contexto.getBean(PreguntaService.class);
+
+		assertEquals(creadas.size(), service.contar(null, null, null, null, null));
+		assertEquals(creadas.size(), service.contarTotal());
+		assertEquals(FRAGMENTOS, service.obtenerTematicasDisponibles().size());
+
+		List<Long> porEnunciado = creadas.stream()
+				.sorted(Comparator.comparing(Pregunta::getEnunciado).thenComparing(Pregunta::getId))
+				.map(Pregunta::getId)
+				.toList();
+		Page<Pregunta> pagina = service.filtrar(null, null, null, null, null,
+				PageRequest.of(1, 5, Sort.by("enunciado")));
+		assertEquals(creadas.size(), pagina.getTotalElements());
+		assertEquals(porEnunciado.subList(5, 10), pagina.getContent().stream().map(Pregunta::getId).toList());
+
+		List<Long> porId = creadas.stream().map(Pregunta::getId).sorted(Comparator.reverseOrder()).toList();
+		Page<Pregunta> descendente = service.filtrar(null, null, null, null, null,
+				PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "id")));
+		assertEquals(porId.subList(0, 5), descendente.getContent().stream().map(Pregunta::getId).toList());
+
+		List<Long> todos = creadas.stream().map(Pregunta::getId).toList();
+		LotePreguntasResponse lote = service.obtenerLote(todos, Map.of(todos.get(0), creadas.get(0).getVersion()));
+		assertEquals(todos.subList(1, todos.size()), lote.preguntas().stream().map(Pregunta::getId).toList());
+		assertEquals(List.of(todos.get(0)), lote.sinCambios());
+
+		for (PreguntaVerdaderoFalso creada : creadas) {
+			assertEquals(creada.getEnunciado(), service.obtenerPorId(creada.getId()).getEnunciado());
+		}
+	}
+
+	/**
+	 * Temáticas "Fragmento n" hasta tener una que caiga en cada fragmento
+	 */
+	private List<String> unaTematicaPorFragmento() {
+		String[] elegidas = new String[FRAGMENTOS];
+		int encontradas = 0;
+		for (int n = 0; encontradas < FRAGMENTOS; n++) {
+			String tematica = "Fragmento " + n;
+			int fragmento = fragmentos.porTematica(tematica);
+			if (elegidas[fragmento] == null) {
+				elegidas[fragmento] = tematica;
+				encontradas++;
+			}
+		}
+		return List.of(elegidas);
+	}
+
+	private static JdbcTemplate jdbc(String url) {
+		return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+	}
+}
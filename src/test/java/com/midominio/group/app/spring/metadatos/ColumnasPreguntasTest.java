@@ -0,0 +1,53 @@
+package com.midominio.group.app.spring.metadatos;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnasPreguntasTest {
+
+	private final ColumnasPreguntas columnas = new ColumnasPreguntas();
+
+	@Test
+	void filtraYCuentaCombinandoColumnas() {
+		for (long id = 1; id <= 200; id++) {
+			columnas.guardar(id, id % 2 == 0, id % 3 == 0 ? "Java Básico" : "Redes",
+					id % 5 == 0 ? "SELECCION_UNICA" : "VERDADERO_FALSO", 1000 + id);
+		}
+
+		assertEquals(100, columnas.contar(new FiltroPreguntas(null, true, null, null, null)));
+		assertEquals(66, columnas.contar(new FiltroPreguntas("java", null, null, null, null)));
+		// pares, múltiplos de 3 y de 5 -> múltiplos de 30
+		assertEquals(6, columnas.contar(new FiltroPreguntas("JAVA", true, "SELECCION_UNICA", null, null)));
+		assertEquals(11, columnas.contar(new FiltroPreguntas(null, null, null, 1100L, 1110L)));
+		assertEquals(0, columnas.contar(new FiltroPreguntas(null, null, "SELECCION_MULTIPLE", null, null)));
+
+		ColumnasPreguntas.ResultadoFiltro pagina = columnas.filtrar(
+				new FiltroPreguntas("java", true, null, null, null), 2, 3, false);
+		assertEquals(33, pagina.total());
+		assertArrayEquals(new long[] {18, 24, 30}, pagina.ids());
+
+		ColumnasPreguntas.ResultadoFiltro ultimas = columnas.filtrar(FiltroPreguntas.todas(), 0, 2, true);
+		assertArrayEquals(new long[] {200, 199}, ultimas.ids());
+	}
+
+	@Test
+	void mantieneElOrdenYLosBitsAlInsertarYEliminarEnMedio() {
+		for (long id = 10; id <= 700; id += 10) {
+			columnas.guardar(id, true, "A", "VERDADERO_FALSO", 0);
+		}
+		columnas.guardar(15, false, "B", "VERDADERO_FALSO", 0);
+		columnas.eliminar(20);
+		columnas.guardar(30, false, "A", "VERDADERO_FALSO", 0);
+
+		assertEquals(70, columnas.tamano());
+		assertEquals(68, columnas.contar(new FiltroPreguntas(null, true, null, null, null)));
+		assertArrayEquals(new long[] {10, 15, 30, 40},
+				columnas.filtrar(FiltroPreguntas.todas(), 0, 4, false).ids());
+		assertArrayEquals(new long[] {15, 30},
+				columnas.filtrar(new FiltroPreguntas(null, false, null, null, null), 0, 10, false).ids());
+		assertArrayEquals(new long[] {700},
+				columnas.filtrar(new FiltroPreguntas(null, true, null, null, null), 67, 10, false).ids());
+	}
+}
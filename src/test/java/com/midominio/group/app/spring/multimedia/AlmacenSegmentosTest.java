@@ -0,0 +1,136 @@
+package com.midominio.group.app.spring.multimedia;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlmacenSegmentosTest {
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void deduplicaContenidoYLeeFragmentos() throws Exception {
+		try (AlmacenSegmentos almacen = new AlmacenSegmentos(directorio, 1024)) {
+			AlmacenSegmentos.Ubicacion primera = almacen.guardar(contenido("diagrama de clases"), "image/png");
+			AlmacenSegmentos.Ubicacion repetida = almacen.guardar(contenido("diagrama de clases"), "image/png");
+
+			assertEquals(primera, repetida);
+			assertEquals(1, almacen.totalContenidos());
+			assertEquals("clases", leer(almacen, primera, 12, 6));
+		}
+	}
+
+	@Test
+	void reconstruyeElIndiceYDescartaRegistrosIncompletos() throws Exception {
+		AlmacenSegmentos.Ubicacion guardada;
+		try (AlmacenSegmentos almacen = new AlmacenSegmentos(directorio, 1024)) {
+			guardada = almacen.guardar(contenido("imagen"), "image/gif");
+		}
+		Path segmento = directorio.resolve("segmento-000001.dat");
+		long tamanoValido = Files.size(segmento);
+		try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.APPEND)) {
+			canal.write(ByteBuffer.wrap(new byte[] {0x4D, 0x4D, 0x53, 0x31, 7, 7}));
+		}
+
+		try (AlmacenSegmentos almacen = new AlmacenSegmentos(directorio, 1024)) {
+			assertEquals(guardada, almacen.buscar(guardada.hash()).orElseThrow());
+			assertEquals(tamanoValido, Files.size(segmento));
+			assertEquals("imagen", leer(almacen, guardada, 0, guardada.longitud()));
+		}
+	}
+
+	@Test
+	void empiezaSegmentoNuevoAlSuperarElTamanoMaximo() throws Exception {
+		try (AlmacenSegmentos almacen = new AlmacenSegmentos(directorio, 100)) {
+			AlmacenSegmentos.Ubicacion primera = almacen.guardar(contenido("a".repeat(40)), "image/png");
+			AlmacenSegmentos.Ubicacion segunda = almacen.guardar(contenido("b".repeat(40)), "image/png");
+
+			assertEquals(1, primera.segmento());
+			assertEquals(2, segunda.segmento());
+			assertTrue(Files.exists(directorio.resolve("segmento-000002.dat")));
+		}
+	}
+
+	@Test
+	void unaEscrituraFallidaNoDejaBasuraEntreRegistros() throws Exception {
+		AlmacenSegmentos.Ubicacion antes;
+		AlmacenSegmentos.Ubicacion despues;
+		try (AlmacenSegmentos almacen = new AlmacenSegmentos(directorio, 1024)) {
+			antes = almacen.guardar(contenido("antes del fallo"), "image/png");
+			long tamanoValido = Files.size(directorio.resolve("segmento-000001.dat"));
+
+			// Origen que entrega 4 bytes de 100 y falla: la cabecera ya está escrita
+			ReadableByteChannel roto = new ReadableByteChannel() {
+				private boolean entregado;
+
+				@Override
+				public int read(ByteBuffer destino) throws IOException {
+					if (entregado) {
+						throw new IOException("Disco desconectado");
+					}
+					entregado = true;
+					destino.put(new byte[] {1, 2, 3, 4});
+					return 4;
+				}
+
+				@Override
+				public boolean isOpen() {
+					return true;
+				}
+
+				@Override
+				public void close() {
+				}
+			};
+			assertThrows(IOException.class, () -> almacen.anadir("ab".repeat(32), "image/png", roto, 100));
+			assertEquals(tamanoValido, Files.size(directorio.resolve("segmento-000001.dat")));
+			assertTrue(almacen.buscar("ab".repeat(32)).isEmpty());
+
+			despues = almacen.guardar(contenido("después del fallo"), "image/png");
+		}
+
+		// Al reabrir no se descarta nada: el registro posterior al fallo sigue ahí
+		try (AlmacenSegmentos almacen = new AlmacenSegmentos(directorio, 1024)) {
+			assertEquals(2, almacen.totalContenidos());
+			assertEquals("antes del fallo", leer(almacen, almacen.buscar(antes.hash()).orElseThrow(), 0, antes.longitud()));
+			assertEquals("después del fallo", leer(almacen, almacen.buscar(despues.hash()).orElseThrow(), 0, despues.longitud()));
+		}
+	}
+
+	@Test
+	void interpretaLaCabeceraRange() {
+		assertEquals(new RangoBytes(0, 4, true), RangoBytes.parsear("bytes=0-4", 10));
+		assertEquals(new RangoBytes(7, 9, true), RangoBytes.parsear("bytes=-3", 10));
+		assertEquals(new RangoBytes(5, 9, true), RangoBytes.parsear("bytes=5-100", 10));
+		assertEquals(RangoBytes.completo(10), RangoBytes.parsear("bytes=0-1,4-5", 10));
+		assertNull(RangoBytes.parsear("bytes=10-", 10));
+	}
+
+	private static ByteArrayInputStream contenido(String texto) {
+		return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String leer(AlmacenSegmentos almacen, AlmacenSegmentos.Ubicacion ubicacion,
+			long inicio, long longitud) throws Exception {
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+		almacen.transferir(ubicacion, inicio, longitud, Channels.newChannel(salida));
+		return salida.toString(StandardCharsets.UTF_8);
+	}
+}
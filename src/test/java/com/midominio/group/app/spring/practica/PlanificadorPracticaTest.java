@@ -0,0 +1,189 @@
+package com.midominio.group.app.spring.practica;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlanificadorPracticaTest {
+
+	private static final long AHORA = 1_700_000_000_000L;
+	private static final String USUARIO = "alumno";
+	private static final String TEMATICA = "java";
+
+	@Test
+	void elMonticuloDevuelveSiempreElVencimientoMinimo() {
+		MonticuloPractica monticulo = new MonticuloPractica();
+		Map<Long, Long> esperado = new HashMap<>();
+		Random aleatorio = new Random(42);
+
+		for (int i = 0; i < 20_000; i++) {
+			long id = 1 + aleatorio.nextInt(500);
+			if (aleatorio.nextInt(4) == 0) {
+				assertEquals(esperado.remove(id) != null, monticulo.eliminar(id));
+			} else {
+				long vencimiento = aleatorio.nextInt(1_000_000);
+				monticulo.fijar(id, vencimiento, id * 3);
+				esperado.put(id, vencimiento);
+			}
+			assertEquals(esperado.size(), monticulo.tamano());
+			if (!esperado.isEmpty()) {
+				long minimo = esperado.values().stream().mapToLong(Long::longValue).min().getAsLong();
+				assertEquals(minimo, monticulo.vencimientoCima());
+				assertEquals(minimo, (long) esperado.get(monticulo.idCima()));
+			}
+		}
+		for (long id : esperado.keySet()) {
+			assertTrue(monticulo.contiene(id));
+			assertEquals(id * 3, monticulo.datos(id, -1L));
+		}
+	}
+
+	@Test
+	void sirveNuevasHastaQueAlgunRepasoVence() {
+		PlanificadorPractica planificador = new PlanificadorPractica((usuario, tematica, destino) -> { }, 100);
+		PlanificadorPractica.Candidatas candidatas = new PlanificadorPractica.Candidatas(1L, new long[] {10, 20, 30});
+
+		PlanificadorPractica.Seleccion primera = planificador.siguiente(USUARIO, TEMATICA, candidatas, AHORA);
+		assertTrue(primera.nueva());
+		// Hasta que se responde, se repite la misma
+		assertEquals(primera, planificador.siguiente(USUARIO, TEMATICA, candidatas, AHORA));
+
+		long vencimiento = planificador.registrar(USUARIO, TEMATICA, primera.idPregunta(), false, AHORA);
+		assertEquals(AHORA + ProgramacionRepaso.INTERVALO_FALLO * 1000L, vencimiento);
+
+		// Mientras la fallada no vence, se sirven las que no ha visto
+		Set<Long> vistas = new HashSet<>(List.of(primera.idPregunta()));
+		for (int i = 0; i < 2; i++) {
+			PlanificadorPractica.Seleccion nueva = planificador.siguiente(USUARIO, TEMATICA, candidatas, AHORA + 1);
+			assertTrue(nueva.nueva());
+			assertTrue(vistas.add(nueva.idPregunta()));
+			planificador.registrar(USUARIO, TEMATICA, nueva.idPregunta(), true, AHORA + 1);
+		}
+
+		PlanificadorPractica.Seleccion repaso = planificador.siguiente(USUARIO, TEMATICA, candidatas, vencimiento);
+		assertFalse(repaso.nueva());
+		assertEquals(primera.idPregunta(), repaso.idPregunta());
+		assertEquals(vencimiento, repaso.vencimiento());
+	}
+
+	@Test
+	void descartaLasPreguntasQueDejanDeSerCandidatas() {
+		PlanificadorPractica planificador = new PlanificadorPractica((usuario, tematica, destino) -> {
+			destino.fijar(10, AHORA - 1, ProgramacionRepaso.NUEVA);
+			destino.fijar(20, AHORA + 1_000, ProgramacionRepaso.NUEVA);
+		}, 100);
+
+		PlanificadorPractica.Candidatas sinLaDiez = new PlanificadorPractica.Candidatas(1L, new long[] {20});
+		PlanificadorPractica.Seleccion seleccion = planificador.siguiente(USUARIO, TEMATICA, sinLaDiez, AHORA);
+		// Sin nuevas ni vencidas, se adelanta el repaso más próximo
+		assertEquals(20L, seleccion.idPregunta());
+		assertFalse(seleccion.nueva());
+
+		assertNull(planificador.siguiente(USUARIO, TEMATICA, new PlanificadorPractica.Candidatas(2L, new long[0]), AHORA));
+	}
+
+	@Test
+	void elVolcadoAgrupaLasRespuestasYPermiteDesalojar() {
+		PlanificadorPractica planificador = new PlanificadorPractica((usuario, tematica, destino) -> { }, 100);
+		planificador.registrar(USUARIO, TEMATICA, 10, true, AHORA);
+		planificador.registrar(USUARIO, TEMATICA, 10, true, AHORA + 1);
+		planificador.registrar("otro", TEMATICA, 10, false, AHORA);
+
+		// Con cambios sin guardar no se desaloja
+		assertEquals(0, planificador.desalojarInactivos(AHORA + 10));
+
+		List<PlanificadorPractica.Cambio> lote = planificador.drenar(100);
+		assertEquals(2, lote.size());
+		List<Integer> aciertos = new ArrayList<>();
+		lote.forEach(cambio -> aciertos.add(ProgramacionRepaso.aciertosSeguidos(cambio.datos())));
+		assertTrue(aciertos.contains(2));
+
+		planificador.restaurar(lote);
+		List<PlanificadorPractica.Cambio> reintento = planificador.drenar(100);
+		assertEquals(2, reintento.size());
+		planificador.confirmar(reintento);
+		assertEquals(2, planificador.desalojarInactivos(AHORA + 10));
+		assertEquals(0, planificador.tamano());
+	}
+
+	@Test
+	void elTopeDeEstadosSeRespetaConUsuariosNuevosSimultaneos() throws Exception {
+		int hilos = 8;
+		int maxEstados = 50;
+		PlanificadorPractica planificador = new PlanificadorPractica((usuario, tematica, destino) -> { }, maxEstados);
+		PlanificadorPractica.Candidatas candidatas = new PlanificadorPractica.Candidatas(1L, new long[] {10, 20, 30});
+
+		ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+		try {
+			List<Future<?>> tareas = new ArrayList<>();
+			for (int h = 0; h < hilos; h++) {
+				int hilo = h;
+				tareas.add(ejecutor.submit(() -> {
+					for (int i = 0; i < 2_000; i++) {
+						planificador.siguiente("usuario-" + hilo + "-" + i, TEMATICA, candidatas, AHORA + i);
+					}
+				}));
+			}
+			for (Future<?> tarea : tareas) {
+				tarea.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			ejecutor.shutdownNow();
+		}
+		// Como mucho un estado de más por hilo que acaba de entrar
+		assertTrue(planificador.tamano() <= maxEstados + hilos, "estados en memoria: " + planificador.tamano());
+	}
+
+	@Test
+	void elTopeNoDesalojaEstadosConCambiosSinGuardar() {
+		Map<String, AtomicInteger> cargas = new ConcurrentHashMap<>();
+		PlanificadorPractica planificador = new PlanificadorPractica(
+				(usuario, tematica, destino) -> cargas.computeIfAbsent(usuario, u -> new AtomicInteger()).incrementAndGet(), 3);
+		PlanificadorPractica.Candidatas candidatas = new PlanificadorPractica.Candidatas(1L, new long[] {10, 20, 30});
+
+		planificador.registrar(USUARIO, TEMATICA, 10, true, AHORA);
+		for (int i = 0; i < 100; i++) {
+			planificador.siguiente("otro-" + i, TEMATICA, candidatas, AHORA + i);
+		}
+		assertTrue(planificador.tamano() <= 3);
+
+		planificador.siguiente(USUARIO, TEMATICA, candidatas, AHORA + 100);
+		assertEquals(1, cargas.get(USUARIO).get());
+		assertEquals(1, cargas.get("otro-0").get());
+		planificador.siguiente("otro-0", TEMATICA, candidatas, AHORA + 101);
+		assertEquals(2, cargas.get("otro-0").get());
+	}
+
+	@Test
+	void cadaAciertoSeguidoAlargaElIntervalo() {
+		long datos = ProgramacionRepaso.NUEVA;
+		long anterior = 0;
+		for (int i = 0; i < 6; i++) {
+			datos = ProgramacionRepaso.responder(datos, true);
+			assertTrue(ProgramacionRepaso.intervaloSegundos(datos) > anterior);
+			anterior = ProgramacionRepaso.intervaloSegundos(datos);
+		}
+		long fallada = ProgramacionRepaso.responder(datos, false);
+		assertEquals(ProgramacionRepaso.INTERVALO_FALLO, ProgramacionRepaso.intervaloSegundos(fallada));
+		assertEquals(0, ProgramacionRepaso.aciertosSeguidos(fallada));
+		assertNotEquals(ProgramacionRepaso.facilidad(datos), ProgramacionRepaso.facilidad(fallada));
+	}
+}
@@ -0,0 +1,53 @@
+package com.midominio.group.app.spring.proyeccion;
+
+import com.midominio.group.app.spring.entity.PreguntaSeleccionUnica;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProyeccionPreguntasTest {
+
+	@Test
+	void elIdSeIncluyeSiempreYElOrdenEsElDeLaEnumeracion() {
+		Set<CampoPregunta> campos = CampoPregunta.desdeTexto("tematica, enunciado,");
+
+		assertEquals(List.of(CampoPregunta.ID, CampoPregunta.ENUNCIADO, CampoPregunta.TEMATICA), List.copyOf(campos));
+	}
+
+	@Test
+	void unCampoDesconocidoSeRechaza() {
+		DatosInvalidosException error = assertThrows(DatosInvalidosException.class,
+				() -> CampoPregunta.desdeTexto("enunciado,contraseña"));
+
+		assertTrue(error.getMessage().contains("contraseña"));
+	}
+
+	@Test
+	void losCamposBaseNoTocanLasTablasDeTipo() {
+		String consulta = ProyeccionPreguntas.consulta(List.copyOf(CampoPregunta.desdeTexto("enunciado,tematica")));
+
+		assertEquals("SELECT p.id, p.enunciado, p.tematica FROM Pregunta p WHERE p.id IN :ids", consulta);
+		assertFalse(consulta.contains("TREAT"));
+	}
+
+	@Test
+	void unCampoDeTipoSoloTocaLasTablasQueLoTienen() {
+		String consulta = ProyeccionPreguntas.consulta(List.copyOf(CampoPregunta.desdeTexto("respuestaCorrecta")));
+
+		assertTrue(consulta.contains("TREAT(p AS PreguntaVerdaderoFalso).respuestaCorrecta"));
+		assertFalse(consulta.contains("PreguntaSeleccion"));
+	}
+
+	@Test
+	void elTipoSeDevuelveComoDiscriminadorYLosCamposDeVariosTiposTomanElNoNulo() {
+		assertEquals("SELECCION_UNICA", CampoPregunta.TIPO_PREGUNTA.valor(new Object[] {PreguntaSeleccionUnica.class}));
+		assertEquals("Porque sí", CampoPregunta.EXPLICACION.valor(new Object[] {null, "Porque sí", null}));
+	}
+}
@@ -0,0 +1,42 @@
+package com.midominio.group.app.spring.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+	private final AtomicLong reloj = new AtomicLong();
+
+	@Test
+	void permiteRafagaHastaCapacidadYLuegoRechaza() {
+		TokenBucket bucket = new TokenBucket(3, 1.0, reloj::get);
+
+		assertTrue(bucket.intentarConsumir());
+		assertTrue(bucket.intentarConsumir());
+		assertTrue(bucket.intentarConsumir());
+		assertFalse(bucket.intentarConsumir());
+		assertEquals(1000, bucket.msHastaSiguienteToken());
+	}
+
+	@Test
+	void recargaSegunTiempoTranscurridoSinSuperarCapacidad() {
+		TokenBucket bucket = new TokenBucket(2, 4.0, reloj::get);
+		bucket.intentarConsumir();
+		bucket.intentarConsumir();
+
+		reloj.addAndGet(250);
+		assertTrue(bucket.intentarConsumir());
+		assertFalse(bucket.intentarConsumir());
+
+		reloj.addAndGet(60_000);
+		assertTrue(bucket.intentarConsumir());
+		assertTrue(bucket.intentarConsumir());
+		assertFalse(bucket.intentarConsumir());
+		assertEquals(reloj.get(), bucket.ultimoAccesoMs());
+	}
+}
@@ -0,0 +1,89 @@
+package com.midominio.group.app.spring.recalificacion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MotorRecalificacionTest {
+
+	private final ClavesRespuesta claves = ClavesRespuesta.builder(3)
+			.anadir(20, ClavesRespuesta.SELECCION_MULTIPLE, 0b011L)
+			.anadir(10, ClavesRespuesta.VERDADERO_FALSO, 1L)
+			.anadir(15, ClavesRespuesta.SELECCION_UNICA, 0b100L)
+			.build();
+
+	@Test
+	void calificaEntregaConPuntuacionParcialYPreguntasSinClave() {
+		Entrega entrega = ArchivoEntregas.parsear("7;alumno;10=true,15=1,20=0,99=false", claves);
+
+		ResultadoEntrega resultado = MotorRecalificacion.calificar(claves, entrega);
+
+		assertEquals(1, resultado.correctas());
+		assertEquals(3, resultado.total());
+		assertEquals(1, resultado.sinClave());
+		assertEquals(1.5, resultado.puntuacion());
+	}
+
+	@Test
+	void interpretaCadaRespuestaSegunElTipoDeSuPregunta() {
+		// "true" y la opción 0 se codificarían igual: una respuesta del otro tipo invalida la línea
+		assertThrows(IllegalArgumentException.class, () -> ArchivoEntregas.parsear("8;alumno;15=true", claves));
+		assertThrows(IllegalArgumentException.class, () -> ArchivoEntregas.parsear("8;alumno;10=1", claves));
+
+		Entrega entrega = ArchivoEntregas.parsear("8;alumno;10=true,15=2,20=", claves);
+		assertEquals(2, MotorRecalificacion.calificar(claves, entrega).correctas());
+	}
+
+	@Test
+	void recalificaTodasLasEntregasEnParaleloYEscribeTodosLosResultados() {
+		int numeroEntregas = 5_000;
+		List<ResultadoEntrega> escritos = Collections.synchronizedList(new ArrayList<>());
+		TrabajoRecalificacion trabajo = new TrabajoRecalificacion("t1", "memoria");
+		ExecutorService escritor = Executors.newSingleThreadExecutor();
+		try {
+			MotorRecalificacion motor = new MotorRecalificacion(new ForkJoinPool(4), escritor, 1_000);
+			motor.ejecutar(() -> claves, fuente(numeroEntregas), escritos::addAll, trabajo);
+		} finally {
+			escritor.shutdown();
+		}
+
+		assertEquals(TrabajoRecalificacion.Estado.COMPLETADO, trabajo.getEstado());
+		assertEquals(numeroEntregas, trabajo.getCalificadas());
+		assertEquals(numeroEntregas, trabajo.getEscritas());
+		assertEquals(numeroEntregas, escritos.size());
+		assertEquals(numeroEntregas, escritos.stream().filter(r -> r.correctas() == 1).count());
+	}
+
+	private FuenteEntregas fuente(int total) {
+		return new FuenteEntregas() {
+			private int leidas;
+
+			@Override
+			public List<Entrega> leer(int maximo, ClavesRespuesta claves) {
+				List<Entrega> bloque = new ArrayList<>();
+				while (bloque.size() < maximo && leidas < total) {
+					leidas++;
+					bloque.add(new Entrega(leidas, "alumno" + leidas, new long[] { 10 }, new long[] { 1 }));
+				}
+				return bloque;
+			}
+
+			@Override
+			public long invalidas() {
+				return 0;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
+}
@@ -0,0 +1,70 @@
+package com.midominio.group.app.spring.seguridad;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachePrincipalesTest {
+
+	private static final String SECRETO = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+	private final AtomicLong reloj = new AtomicLong(1_700_000_000_000L);
+	private final TokenProperties propiedades = new TokenProperties("k1", Map.of("k1", SECRETO),
+			Duration.ofHours(1), Duration.ofMinutes(1), 2);
+	private final FirmaTokens firma = new FirmaTokens(propiedades);
+	private final CachePrincipales cache = new CachePrincipales(firma, propiedades, reloj::get);
+
+	@Test
+	void autenticaConUsuarioYRolesDelTokenYReutilizaLaEntrada() {
+		String token = firma.emitir("profesor", List.of("ROLE_USER", "ROLE_ADMIN"), segundos() + 3600);
+
+		Authentication primera = cache.autenticar(token);
+		assertEquals("profesor", primera.getName());
+		assertEquals(2, primera.getAuthorities().size());
+		assertTrue(primera.isAuthenticated());
+		// Tipo propio: SecurityConfig no emite tokens a partir de un token
+		assertTrue(primera instanceof AutenticacionToken);
+		assertSame(primera, cache.autenticar(token));
+		assertEquals(1, cache.totalEntradas());
+	}
+
+	@Test
+	void rechazaTokensManipuladosOCaducados() {
+		String token = firma.emitir("alumno", List.of("ROLE_USER"), segundos() + 30);
+		String manipulado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+		assertThrows(BadCredentialsException.class, () -> cache.autenticar(manipulado));
+		assertThrows(BadCredentialsException.class, () -> cache.autenticar("k9" + token.substring(2)));
+		assertThrows(BadCredentialsException.class, () -> cache.autenticar("no-es-un-token"));
+
+		cache.autenticar(token);
+		// La entrada en caché no sobrevive al token
+		reloj.addAndGet(31_000);
+		assertThrows(BadCredentialsException.class, () -> cache.autenticar(token));
+	}
+
+	@Test
+	void noSuperaElMaximoDeEntradas() {
+		for (int i = 0; i < 5; i++) {
+			cache.autenticar(firma.emitir("usuario" + i, List.of(), segundos() + 3600));
+		}
+		assertEquals(2, cache.totalEntradas());
+
+		reloj.addAndGet(Duration.ofMinutes(2).toMillis());
+		assertEquals(2, cache.desalojarCaducadas());
+	}
+
+	private long segundos() {
+		return reloj.get() / 1000;
+	}
+}
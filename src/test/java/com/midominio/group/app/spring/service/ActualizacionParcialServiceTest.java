@@ -0,0 +1,76 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.dto.ActualizacionVerdaderoFalsoRequest;
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.exception.ConflictoVersionException;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Actualizaciones parciales (PATCH) con control de concurrencia optimista: la versión enviada
+ * debe ser la actual; si no, ConflictoVersionException (409) y la pregunta no cambia.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ActualizacionParcialServiceTest {
+
+	private static final String TEMATICA = "Conflictos";
+
+	@Autowired
+	private PreguntaVerdaderoFalsoService verdaderoFalsoService;
+
+	@Test
+	void conLaVersionActualSeAplicaYLaVersionAvanza() {
+		PreguntaVerdaderoFalso pregunta = PreguntasPrueba.crear(verdaderoFalsoService,
+				"Pregunta que se actualiza con la versión actual", TEMATICA);
+
+		PreguntaVerdaderoFalso actualizada = verdaderoFalsoService.actualizarParcial(pregunta.getId(),
+				new ActualizacionVerdaderoFalsoRequest(pregunta.getVersion(), null, "Otra temática", null, null, null));
+
+		assertEquals("Otra temática", actualizada.getTematica());
+		assertEquals(pregunta.getVersion() + 1, actualizada.getVersion());
+	}
+
+	@Test
+	void conUnaVersionAntiguaHayConflicto() {
+		PreguntaVerdaderoFalso pregunta = PreguntasPrueba.crear(verdaderoFalsoService,
+				"Pregunta que dos usuarios editan a la vez", TEMATICA);
+		Long leida = pregunta.getVersion();
+		verdaderoFalsoService.actualizarParcial(pregunta.getId(),
+				new ActualizacionVerdaderoFalsoRequest(leida, null, null, null, false, null));
+
+		ConflictoVersionException conflicto = assertThrows(ConflictoVersionException.class,
+				() -> verdaderoFalsoService.actualizarParcial(pregunta.getId(),
+						new ActualizacionVerdaderoFalsoRequest(leida, null, "Cambio perdido", null, null, null)));
+
+		assertEquals(leida, conflicto.getVersionEsperada());
+		assertEquals(leida + 1, conflicto.getVersionActual());
+		assertEquals(TEMATICA, verdaderoFalsoService.obtenerPorId(pregunta.getId()).getTematica());
+	}
+
+	@Test
+	void sinVersionLosDatosSonInvalidos() {
+		PreguntaVerdaderoFalso pregunta = PreguntasPrueba.crear(verdaderoFalsoService,
+				"Pregunta que se actualiza sin versión", TEMATICA);
+
+		assertThrows(DatosInvalidosException.class, () -> verdaderoFalsoService.actualizarParcial(pregunta.getId(),
+				new ActualizacionVerdaderoFalsoRequest(null, null, "Otra temática", null, null, null)));
+	}
+
+	@Test
+	void sinCambiosLaVersionNoAvanza() {
+		PreguntaVerdaderoFalso pregunta = PreguntasPrueba.crear(verdaderoFalsoService,
+				"Pregunta que se actualiza con los mismos valores", TEMATICA);
+
+		PreguntaVerdaderoFalso igual = verdaderoFalsoService.actualizarParcial(pregunta.getId(),
+				new ActualizacionVerdaderoFalsoRequest(pregunta.getVersion(), pregunta.getEnunciado(), TEMATICA, null, true, null));
+
+		assertEquals(pregunta.getVersion(), igual.getVersion());
+	}
+}
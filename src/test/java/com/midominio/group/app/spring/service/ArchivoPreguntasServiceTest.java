@@ -0,0 +1,77 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Archivado de preguntas inactivas: lectura con respaldo en el archivo, rechazo de las escrituras
+ * sobre preguntas archivadas (409 en vez de un fallo de bloqueo optimista) y restauración.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ArchivoPreguntasServiceTest {
+
+	@Autowired
+	private ArchivoPreguntasService archivo;
+
+	@Autowired
+	private PreguntaService preguntaService;
+
+	@Autowired
+	private PreguntaVerdaderoFalsoService verdaderoFalsoService;
+
+	@Test
+	void laPreguntaArchivadaSeLeeDelArchivo() {
+		Long id = crearYArchivar("Pregunta archivada que se sigue leyendo");
+
+		assertFalse(archivo.buscarArchivada(id).isEmpty());
+		Pregunta leida = preguntaService.obtenerPorId(id);
+		assertEquals(id, leida.getId());
+		assertFalse(leida.getActiva());
+		assertEquals(id, verdaderoFalsoService.obtenerPorId(id).getId());
+	}
+
+	@Test
+	void lasEscriturasSobreUnaPreguntaArchivadaDevuelvenConflicto() {
+		Long id = crearYArchivar("Pregunta archivada que no se puede modificar");
+
+		PreguntaVerdaderoFalso cambios = new PreguntaVerdaderoFalso(false, null);
+		cambios.setEnunciado("Enunciado modificado sobre una pregunta archivada");
+		cambios.setTematica("Archivo");
+		assertThrows(IllegalStateException.class, () -> verdaderoFalsoService.actualizar(id, cambios));
+		assertThrows(RecursoNoEncontradoException.class, () -> verdaderoFalsoService.actualizar(Long.MAX_VALUE, cambios));
+	}
+
+	@Test
+	void activarUnaPreguntaArchivadaLaRestaura() {
+		Long id = crearYArchivar("Pregunta archivada que se restaura");
+
+		assertTrue(preguntaService.cambiarEstado(id, true).getActiva());
+		assertTrue(archivo.buscarArchivada(id).isEmpty());
+
+		PreguntaVerdaderoFalso cambios = new PreguntaVerdaderoFalso(false, null);
+		cambios.setEnunciado("Pregunta restaurada y modificada después");
+		cambios.setTematica("Archivo");
+		assertEquals("Pregunta restaurada y modificada después", verdaderoFalsoService.actualizar(id, cambios).getEnunciado());
+	}
+
+	private Long crearYArchivar(String enunciado) {
+		Long id = PreguntasPrueba.crear(verdaderoFalsoService, enunciado, "Archivo").getId();
+		preguntaService.cambiarEstado(id, false);
+		// Todas las inactivas hasta ahora: las de otros tests ya estaban archivadas o se archivan igual
+		assertTrue(archivo.archivarLote(LocalDateTime.now().plusSeconds(1), 100) > 0);
+		return id;
+	}
+}
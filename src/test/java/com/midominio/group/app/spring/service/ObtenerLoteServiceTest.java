@@ -0,0 +1,107 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.dto.LotePreguntasResponse;
+import com.midominio.group.app.spring.entity.Pregunta;
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.exception.DatosInvalidosException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Lectura por lotes para clientes con caché local (POST /api/preguntas/lote): orden de la petición,
+ * IDs sin cambios e inexistentes, respaldo en el archivo, versiones nulas y tamaño máximo del lote.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ObtenerLoteServiceTest {
+
+	private static final long INEXISTENTE = 999_999L;
+	private static final String TEMATICA = "Lotes";
+
+	@Autowired
+	private PreguntaService preguntaService;
+
+	@Autowired
+	private PreguntaVerdaderoFalsoService verdaderoFalsoService;
+
+	@Autowired
+	private ArchivoPreguntasService archivo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private PreguntaVerdaderoFalso primera;
+	private PreguntaVerdaderoFalso segunda;
+	private PreguntaVerdaderoFalso sinVersion;
+	private Long archivada;
+
+	@BeforeAll
+	void crearPreguntas() {
+		primera = PreguntasPrueba.crear(verdaderoFalsoService, "Primera pregunta del lote", TEMATICA);
+		segunda = PreguntasPrueba.crear(verdaderoFalsoService, "Segunda pregunta del lote", TEMATICA);
+		sinVersion = PreguntasPrueba.crear(verdaderoFalsoService, "Pregunta anterior a la columna de versión", TEMATICA);
+		jdbcTemplate.update("UPDATE preguntas SET version = NULL WHERE id = ?", sinVersion.getId());
+
+		archivada = PreguntasPrueba.crear(verdaderoFalsoService, "Pregunta del lote que está archivada", TEMATICA).getId();
+		preguntaService.cambiarEstado(archivada, false);
+		archivo.archivarLote(LocalDateTime.now().plusSeconds(1), 100);
+	}
+
+	@Test
+	void devuelveLasPreguntasEnElOrdenDeLaPeticion() {
+		LotePreguntasResponse lote = preguntaService.obtenerLote(
+				List.of(segunda.getId(), INEXISTENTE, archivada, primera.getId(), segunda.getId()), null);
+
+		assertEquals(List.of(segunda.getId(), archivada, primera.getId()), ids(lote.preguntas()));
+		assertEquals(List.of(), lote.sinCambios());
+		assertEquals(List.of(INEXISTENTE), lote.noEncontradas());
+	}
+
+	@Test
+	void noReenviaLasQueElClienteTieneAlDia() {
+		Long versionArchivada = preguntaService.obtenerPorId(archivada).getVersion();
+		LotePreguntasResponse lote = preguntaService.obtenerLote(
+				List.of(primera.getId(), segunda.getId(), archivada),
+				Map.of(primera.getId(), primera.getVersion(), segunda.getId(), segunda.getVersion() - 1, archivada, versionArchivada));
+
+		assertEquals(List.of(segunda.getId()), ids(lote.preguntas()));
+		assertEquals(List.of(primera.getId(), archivada), lote.sinCambios());
+	}
+
+	@Test
+	void unaVersionNulaSeReenviaSiempre() {
+		LotePreguntasResponse lote = preguntaService.obtenerLote(List.of(sinVersion.getId()), Map.of(sinVersion.getId(), 0L));
+
+		assertEquals(List.of(sinVersion.getId()), ids(lote.preguntas()));
+		assertEquals(List.of(), lote.sinCambios());
+		assertEquals(List.of(), lote.noEncontradas());
+	}
+
+	@Test
+	void rechazaLotesVaciosODemasiadoGrandes() {
+		assertThrows(DatosInvalidosException.class, () -> preguntaService.obtenerLote(List.of(), null));
+		assertThrows(DatosInvalidosException.class, () -> preguntaService.obtenerLote(
+				LongStream.rangeClosed(1, 501).boxed().toList(), null));
+
+		LotePreguntasResponse maximo = preguntaService.obtenerLote(LongStream.rangeClosed(1, 500).boxed().toList(), null);
+		assertEquals(500, maximo.preguntas().size() + maximo.sinCambios().size() + maximo.noEncontradas().size());
+	}
+
+	private static List<Long> ids(List<Pregunta> preguntas) {
+		return preguntas.stream().map(Pregunta::getId).toList();
+	}
+}
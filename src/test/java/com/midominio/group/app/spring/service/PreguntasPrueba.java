@@ -0,0 +1,30 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+
+/**
+ * Preguntas de prueba para los tests de integración de los services (perfil "test").
+ */
+final class PreguntasPrueba {
+
+	private PreguntasPrueba() {
+	}
+
+	/**
+	 * Crea y guarda una pregunta Verdadero/Falso cuya respuesta correcta es verdadero
+	 */
+	static PreguntaVerdaderoFalso crear(PreguntaVerdaderoFalsoService service, String enunciado, String tematica) {
+		return crear(service, enunciado, tematica, true);
+	}
+
+	/**
+	 * Crea y guarda una pregunta Verdadero/Falso
+	 */
+	static PreguntaVerdaderoFalso crear(PreguntaVerdaderoFalsoService service, String enunciado, String tematica,
+			boolean respuestaCorrecta) {
+		PreguntaVerdaderoFalso pregunta = new PreguntaVerdaderoFalso(respuestaCorrecta, null);
+		pregunta.setEnunciado(enunciado);
+		pregunta.setTematica(tematica);
+		return service.crear(pregunta);
+	}
+}
@@ -0,0 +1,149 @@
+package com.midominio.group.app.spring.service;
+
+import com.midominio.group.app.spring.consultas.MedidorConsultas;
+import com.midominio.group.app.spring.consultas.PresupuestoConsultas;
+import com.midominio.group.app.spring.entity.PreguntaVerdaderoFalso;
+import com.midominio.group.app.spring.exception.RecursoNoEncontradoException;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Presupuesto de consultas de los métodos de lectura de PreguntaService y PreguntaVerdaderoFalsoService.
+ * 
+ * Si un cambio añade una consulta (N+1, una carga perezosa, una comprobación de más) o trae más filas
+ * de las que devuelve el método, el test falla con la lista de sentencias ejecutadas. Si el cambio es
+ * intencionado, se actualiza aquí el presupuesto.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"app.consultas.habilitado=true"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PresupuestoConsultasServiceTest {
+
+	private static final int PREGUNTAS = 30;
+	private static final int TAMANO_PAGINA = 10;
+	private static final String TEMATICA = "Presupuesto";
+
+	@Autowired
+	private PreguntaService preguntaService;
+
+	@Autowired
+	private PreguntaVerdaderoFalsoService verdaderoFalsoService;
+
+	@Autowired
+	private MedidorConsultas medidor;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private PresupuestoConsultas presupuesto;
+	private final List<PreguntaVerdaderoFalso> creadas = new ArrayList<>();
+
+	@BeforeAll
+	void crearPreguntas() {
+		presupuesto = new PresupuestoConsultas(medidor, entityManagerFactory);
+		for (int i = 0; i < PREGUNTAS; i++) {
+			creadas.add(PreguntasPrueba.crear(verdaderoFalsoService, "Pregunta de presupuesto número " + i, TEMATICA, i % 2 == 0));
+		}
+	}
+
+	@Test
+	void obtenerPorIdEsUnaSolaConsulta() {
+		Long id = creadas.get(0).getId();
+
+		presupuesto.medir(() -> preguntaService.obtenerPorId(id))
+				.consultas(1)
+				.filasDevueltas(1)
+				.entidadesCargadas(1)
+				.sinCargasPerezosas();
+		presupuesto.medir(() -> verdaderoFalsoService.obtenerPorId(id))
+				.consultas(1)
+				.filasDevueltas(1)
+				.sinCargasPerezosas();
+	}
+
+	@Test
+	void unIdInexistenteSoloConsultaLaTablaCalienteYElArchivo() {
+		presupuesto.medir(() -> assertThrows(RecursoNoEncontradoException.class,
+						() -> verdaderoFalsoService.obtenerPorId(Long.MAX_VALUE)))
+				.consultas(2)
+				.filasDevueltas(0);
+	}
+
+	@Test
+	void validarRespuestaEsUnaSolaConsulta() {
+		PreguntaVerdaderoFalso pregunta = creadas.get(1);
+
+		presupuesto.medir(() -> verdaderoFalsoService.validarRespuesta(pregunta.getId(), pregunta.getRespuestaCorrecta()))
+				.consultas(1)
+				.filasDevueltas(1)
+				.sinCargasPerezosas();
+	}
+
+	@Test
+	void unaPaginaFiltradaSoloLeeSusFilas() {
+		PageRequest pagina = PageRequest.of(1, TAMANO_PAGINA);
+
+		// Índice columnar: filtrado y recuento en memoria, una consulta para cargar la página
+		presupuesto.medir(() -> preguntaService.filtrar(TEMATICA, true, null, null, null, pagina))
+				.consultas(1)
+				.filasDevueltas(TAMANO_PAGINA)
+				.entidadesCargadas(TAMANO_PAGINA)
+				.sinCargasPerezosas();
+		presupuesto.medir(() -> preguntaService.filtrarCampos(TEMATICA, true, null, null, null, "enunciado", pagina))
+				.consultas(1)
+				.filasDevueltas(TAMANO_PAGINA)
+				.entidadesCargadas(0);
+		presupuesto.medir(() -> preguntaService.contar(TEMATICA, true, null, null, null))
+				.consultas(0);
+	}
+
+	@Test
+	void ordenarPorOtroCampoVaALaBaseDeDatosConPaginaYRecuento() {
+		PageRequest pagina = PageRequest.of(0, TAMANO_PAGINA, Sort.by("enunciado"));
+
+		presupuesto.medir(() -> preguntaService.filtrar(TEMATICA, null, null, null, null, pagina))
+				.consultas(2)
+				.filasDevueltas(TAMANO_PAGINA)
+				.sinCargasPerezosas();
+	}
+
+	@Test
+	void unLoteSinCambiosSoloLeeLasVersiones() {
+		List<Long> ids = new ArrayList<>();
+		Map<Long, Long> versiones = new HashMap<>();
+		for (PreguntaVerdaderoFalso pregunta : creadas.subList(0, TAMANO_PAGINA)) {
+			ids.add(pregunta.getId());
+			versiones.put(pregunta.getId(), pregunta.getVersion());
+		}
+
+		presupuesto.medir(() -> preguntaService.obtenerLote(ids, versiones))
+				.consultas(1)
+				.filasDevueltas(TAMANO_PAGINA)
+				.entidadesCargadas(0);
+	}
+
+	@Test
+	void unTestAleatorioEsUnaSolaConsulta() {
+		presupuesto.medir(() -> verdaderoFalsoService.generarTestAleatorio(5))
+				.consultas(1)
+				.filasDevueltas(5)
+				.sinCargasPerezosas();
+	}
+}
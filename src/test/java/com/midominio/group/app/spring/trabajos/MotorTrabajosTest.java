@@ -0,0 +1,152 @@
+package com.midominio.group.app.spring.trabajos;
+
+import com.midominio.group.app.spring.entity.EstadoTrabajo;
+import com.midominio.group.app.spring.entity.Trabajo;
+import com.midominio.group.app.spring.repository.TrabajoRepository;
+import com.midominio.group.app.spring.service.TrabajoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Motor de trabajos con un tipo de prueba que procesa un número fijo de bloques:
+ * despacho con más trabajos que hilos, cancelación de un trabajo en curso y
+ * reanudación desde el checkpoint de un trabajo interrumpido.
+ */
+@SpringBootTest(properties = {
+		"app.trabajos.hilos=2",
+		"app.trabajos.pausa-entre-bloques=5ms",
+		"app.trabajos.intervalo-sondeo=100ms"
+})
+@ActiveProfiles("test")
+class MotorTrabajosTest {
+
+	private static final String TIPO = "PRUEBA_BLOQUES";
+	private static final long ESPERA_MAXIMA_MS = 10_000;
+
+	/** Checkpoints recibidos por cada trabajo de prueba (clave = parámetro "clave") */
+	private static final Map<String, List<String>> CHECKPOINTS = new ConcurrentHashMap<>();
+
+	@Autowired
+	private MotorTrabajos motor;
+
+	@Autowired
+	private TrabajoService trabajoService;
+
+	@Autowired
+	private TrabajoRepository repository;
+
+	@Test
+	void despachaMasTrabajosQueHilos() {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			ids.add(motor.enviar(TIPO, Map.of("clave", "lote-" + i, "bloques", "3", "esperaMs", "10")).getId());
+		}
+
+		for (String id : ids) {
+			assertEquals(EstadoTrabajo.COMPLETADO, esperarFinal(id).getEstado());
+		}
+		for (int i = 0; i < 7; i++) {
+			assertEquals(List.of("0", "1", "2"), CHECKPOINTS.get("lote-" + i));
+		}
+		assertTrue(repository.findByEstadoOrderByFechaCreacionAsc(EstadoTrabajo.EN_CURSO).isEmpty());
+	}
+
+	@Test
+	void cancelaUnTrabajoEnCurso() {
+		String id = motor.enviar(TIPO, Map.of("clave", "cancelado", "bloques", "100000", "esperaMs", "5")).getId();
+		esperarHasta(() -> CHECKPOINTS.containsKey("cancelado"));
+
+		trabajoService.cancelar(id);
+
+		Trabajo cancelado = esperarFinal(id);
+		assertEquals(EstadoTrabajo.CANCELADO, cancelado.getEstado());
+		assertTrue(cancelado.getProcesados() < 100000);
+	}
+
+	@Test
+	void reanudaDesdeElCheckpointTrasUnReinicio() {
+		// Un trabajo EN_CURSO en la tabla al arrancar es uno que se interrumpió tras confirmar dos bloques
+		Trabajo interrumpido = new Trabajo(TIPO, Map.of("clave", "reanudado", "bloques", "4", "esperaMs", "0"));
+		interrumpido.iniciar();
+		interrumpido.avanzar("2", 2);
+		String id = repository.save(interrumpido).getId();
+
+		motor.reanudarInterrumpidos();
+
+		Trabajo reanudado = esperarFinal(id);
+		assertEquals(EstadoTrabajo.COMPLETADO, reanudado.getEstado());
+		assertEquals(4L, reanudado.getProcesados());
+		assertEquals(List.of("2", "3"), CHECKPOINTS.get("reanudado"));
+	}
+
+	private Trabajo esperarFinal(String id) {
+		esperarHasta(() -> repository.findById(id).orElseThrow().getEstado().esFinal());
+		return repository.findById(id).orElseThrow();
+	}
+
+	private static void esperarHasta(BooleanSupplier condicion) {
+		long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+		while (!condicion.getAsBoolean()) {
+			if (System.currentTimeMillis() > limite) {
+				fail("La condición no se cumplió en " + ESPERA_MAXIMA_MS + " ms");
+			}
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail("Interrumpido");
+			}
+		}
+	}
+
+	@TestConfiguration
+	static class TipoPrueba {
+
+		/**
+		 * Un bloque por elemento: el checkpoint es el número de bloques ya confirmados
+		 */
+		@Bean
+		TipoTrabajo tipoPruebaBloques() {
+			return new TipoTrabajo() {
+				@Override
+				public String nombre() {
+					return TIPO;
+				}
+
+				@Override
+				public int maxConcurrentes() {
+					return 10;
+				}
+
+				@Override
+				public ResultadoBloque procesarBloque(Map<String, String> parametros, String checkpoint, int tamanoBloque) {
+					int hechos = checkpoint == null ? 0 : Integer.parseInt(checkpoint);
+					CHECKPOINTS.computeIfAbsent(parametros.get("clave"), k -> new CopyOnWriteArrayList<>())
+						.add(String.valueOf(hechos));
+					try {
+						Thread.sleep(Long.parseLong(parametros.get("esperaMs")));
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					int siguiente = hechos + 1;
+					return new ResultadoBloque(String.valueOf(siguiente), 1, siguiente >= Integer.parseInt(parametros.get("bloques")));
+				}
+			};
+		}
+	}
+}